@@ -0,0 +1,122 @@
+package com.dependabot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor configuration for background work
+ * Keeps slow GitHub calls off request-handling threads
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${cache.refresh.pool-size:4}")
+    private int refreshPoolSize;
+
+    @Value("${cache.refresh.queue-capacity:100}")
+    private int refreshQueueCapacity;
+
+    @Value("${github.sync.concurrency:4}")
+    private int syncConcurrency;
+
+    @Value("${github.sync.queue-capacity:100}")
+    private int syncQueueCapacity;
+
+    @Value("${history.queue-capacity:1000}")
+    private int historyQueueCapacity;
+
+    @Value("${bulk.max-concurrency:4}")
+    private int bulkMaxConcurrency;
+
+    /**
+     * Executor used by the cache administration API to refresh repositories asynchronously
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshPoolSize);
+        executor.setMaxPoolSize(refreshPoolSize);
+        executor.setQueueCapacity(refreshQueueCapacity);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Single thread that applies syncs to the PR history store in arrival order, off the fetch path
+     * Every sync is a full snapshot of a repository, so when the queue is full the oldest is dropped
+     * and the next sync of that repository catches up
+     */
+    @Bean(name = "historyExecutor")
+    public ThreadPoolTaskExecutor historyExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(historyQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+        executor.setThreadNamePrefix("pr-history-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Workers for bulk PR actions; the dispatcher never hands out more than bulk.max-concurrency at once,
+     * the queue only absorbs a worker handing on to the next action before its own thread is free
+     */
+    @Bean(name = "bulkActionExecutor")
+    public ThreadPoolTaskExecutor bulkActionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(bulkMaxConcurrency);
+        executor.setMaxPoolSize(bulkMaxConcurrency);
+        executor.setQueueCapacity(bulkMaxConcurrency);
+        executor.setThreadNamePrefix("bulk-action-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Executor on which repositories sync concurrently when aggregating PRs
+     * Tasks never run on the submitting thread, so a caller waiting with a deadline can always give up;
+     * when the queue is full as well the task is rejected rather than run by the caller
+     */
+    @Bean(name = "githubSyncExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor githubSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(syncConcurrency);
+        executor.setMaxPoolSize(syncConcurrency);
+        executor.setQueueCapacity(syncQueueCapacity);
+        executor.setThreadNamePrefix("github-sync-");
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant used when spring.threads.virtual.enabled is set
+     * Every repository fetch gets its own virtual thread, so a blocked GitHub call costs no platform thread
+     */
+    @Bean(name = "githubSyncExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor githubSyncVirtualExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("github-sync-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Executor for shared cache tier calls made on behalf of asynchronous cache retrievals
+     * Those calls block on the shared store, so each gets a virtual thread rather than a caller's thread
+     */
+    @Bean(name = "sharedCacheExecutor")
+    public SimpleAsyncTaskExecutor sharedCacheExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("shared-cache-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
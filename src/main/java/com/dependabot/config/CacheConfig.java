@@ -1,13 +1,28 @@
 package com.dependabot.config;
 
+import com.dependabot.service.CacheEntryWeigher;
+import com.dependabot.service.JdbcSharedCacheStore;
+import com.dependabot.service.PRListCodec;
+import com.dependabot.service.SharedCacheStore;
+import com.dependabot.service.TwoTierCacheManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -18,20 +33,97 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Name of the cache holding Dependabot PR lists, keyed by repository name
+     */
+    public static final String GITHUB_PRS_CACHE = "github-prs";
+
+    /**
+     * Name of the cache holding fully built PRs, keyed by "owner/repo#number@updatedAt^baseSha"
+     */
+    public static final String GITHUB_PR_DETAILS_CACHE = "github-pr-details";
+
+    /**
+     * Name of the cache holding CI status by PR number, keyed by "owner/repo"
+     */
+    public static final String GITHUB_CI_STATUS_CACHE = "github-ci-status";
+
     @Value("${cache.ttl-ms:300000}")  // Default 5 minutes
     private long cacheTtlMs;
 
+    @Value("${cache.max-weight-bytes:33554432}")  // Default 32 MiB
+    private long maxWeightBytes;
+
+    // Mergeability can change without the PR being updated, e.g. when its base branch moves
+    @Value("${cache.pr-details.ttl-ms:3600000}")  // Default 1 hour
+    private long prDetailsTtlMs;
+
+    @Value("${cache.pr-details.max-weight-bytes:33554432}")  // Default 32 MiB
+    private long prDetailsMaxWeightBytes;
+
+    // Checks finish without the PR being updated; check_suite webhooks refresh it sooner
+    @Value("${cache.ci-status.ttl-ms:60000}")  // Default 1 minute
+    private long ciStatusTtlMs;
+
+    @Value("${cache.ci-status.max-weight-bytes:1048576}")  // Default 1 MiB
+    private long ciStatusMaxWeightBytes;
+
     /**
      * Configure Caffeine cache manager with TTL
+     * Async mode lets the reactive path share in-flight loads while @Cacheable keeps working on the synchronous view.
+     * With a shared store the PR cache gets a second tier every replica reads and invalidates.
+     * Built PRs are cached apart from the lists, so a refresh only spends detail calls on PRs that changed.
+     * CI status changes more often than the PRs themselves, so it is cached per repository with its own TTL.
+     * Each cache is bounded by the estimated bytes its entries retain rather than their count, as one repository
+     * may hold hundreds of PRs and another none
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("github-prs");
+    public CacheManager cacheManager(ObjectProvider<SharedCacheStore> sharedCacheStore,
+                                     @Qualifier("sharedCacheExecutor") Executor sharedCacheExecutor,
+                                     ApplicationEventPublisher eventPublisher) {
+        SharedCacheStore store = sharedCacheStore.getIfAvailable();
+        CaffeineCacheManager cacheManager = store == null
+                ? new CaffeineCacheManager()
+                : new TwoTierCacheManager(store, Map.of(GITHUB_PRS_CACHE, new PRListCodec()),
+                        Duration.ofMillis(cacheTtlMs), sharedCacheExecutor, eventPublisher);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(cacheTtlMs, TimeUnit.MILLISECONDS)
-                .maximumSize(100)  // Maximum 100 entries
+                .maximumWeight(maxWeightBytes)
+                .weigher(new CacheEntryWeigher())
                 .recordStats());   // Enable statistics
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of(GITHUB_PRS_CACHE));
+        cacheManager.registerCustomCache(GITHUB_PR_DETAILS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(prDetailsTtlMs, TimeUnit.MILLISECONDS)
+                .maximumWeight(prDetailsMaxWeightBytes)
+                .weigher(new CacheEntryWeigher())
+                .recordStats()
+                .buildAsync());
+        cacheManager.registerCustomCache(GITHUB_CI_STATUS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(ciStatusTtlMs, TimeUnit.MILLISECONDS)
+                .maximumWeight(ciStatusMaxWeightBytes)
+                .weigher(new CacheEntryWeigher())
+                .recordStats()
+                .buildAsync());
 
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    /**
+     * Shared cache tier on its own database, so it never takes the place of the history datasource
+     * Defining another SharedCacheStore bean (e.g. on Redis) replaces this one
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "cache.shared.enabled", havingValue = "true")
+    @ConditionalOnMissingBean(SharedCacheStore.class)
+    public JdbcSharedCacheStore jdbcSharedCacheStore(
+            @Value("${cache.shared.jdbc-url:jdbc:h2:file:./data/shared-cache;AUTO_SERVER=TRUE}") String jdbcUrl,
+            @Value("${cache.shared.username:sa}") String username,
+            @Value("${cache.shared.password:}") String password) {
+        return new JdbcSharedCacheStore(DataSourceBuilder.create()
+                .url(jdbcUrl)
+                .username(username)
+                .password(password)
+                .build());
+    }
+}
@@ -1,5 +1,8 @@
 package com.dependabot.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +12,7 @@ import org.springframework.validation.annotation.Validated;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 @Setter
@@ -27,8 +31,8 @@ public class GitHubProperties {
     /**
      * GitHub Installation ID
      * Identifies the installation of the GitHub App
+     * Required unless installations are listed under 'installations'
      */
-    @NotBlank(message = "GitHub Installation ID must not be blank")
     private String installationId;
 
     /**
@@ -47,8 +51,8 @@ public class GitHubProperties {
 
     /**
      * GitHub repository owner (username or organization)
+     * Required unless installations are listed under 'installations'
      */
-    @NotBlank(message = "GitHub Owner must not be blank")
     private String owner;
 
     /**
@@ -56,6 +60,94 @@ public class GitHubProperties {
      */
     private List<String> repos;
 
+    /**
+     * Base URL of the GitHub REST API
+     * Override for GitHub Enterprise Server
+     */
+    private String apiUrl = "https://api.github.com";
+
+    /**
+     * Milliseconds to wait for a connection to GitHub
+     */
+    private long connectTimeoutMs = 5000;
+
+    /**
+     * Milliseconds to wait for GitHub to start answering a request
+     */
+    private long readTimeoutMs = 10000;
+
+    /**
+     * Circuit breaker around every blocking GitHub call
+     */
+    @Valid
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    /**
+     * Cap on concurrent blocking GitHub calls
+     */
+    @Valid
+    private BulkheadSettings bulkhead = new BulkheadSettings();
+
+    /**
+     * Record GitHub exchanges to an archive, or serve them back from one instead of calling GitHub
+     */
+    private ReplaySettings replay = new ReplaySettings();
+
+    /**
+     * Discover the repositories each installation can access instead of relying on 'repos' alone
+     */
+    @Valid
+    private DiscoverySettings discovery = new DiscoverySettings();
+
+    /**
+     * Rate-limit requests to leave untouched for the top-level installation, of the core and the GraphQL budget alike
+     */
+    private int rateLimitReserve = 0;
+
+    /**
+     * Additional installations of the GitHub App, one per owner
+     * Each gets its own installation token, repository set and rate-limit budget
+     */
+    @Valid
+    private List<Installation> installations = new ArrayList<>();
+
+    /**
+     * Either the single owner/installation or at least one entry in 'installations' must be configured
+     */
+    @AssertTrue(message = "Configure 'github.owner' and 'github.installation-id', or at least one entry in 'github.installations'")
+    public boolean isInstallationConfigured() {
+        boolean single = hasText(owner) && hasText(installationId);
+        boolean partialSingle = hasText(owner) != hasText(installationId);
+        return !partialSingle && (single || (installations != null && !installations.isEmpty()));
+    }
+
+    /**
+     * All installations to sync
+     * The top-level owner/installation-id/repos, when set, is the first installation
+     *
+     * @return installations in configuration order
+     */
+    public List<Installation> getEffectiveInstallations() {
+        List<Installation> effective = new ArrayList<>();
+        if (hasText(owner) && hasText(installationId)) {
+            Installation primary = new Installation();
+            primary.setName(owner);
+            primary.setOwner(owner);
+            primary.setInstallationId(installationId);
+            primary.setRepos(repos != null ? repos : List.of());
+            primary.setRateLimitReserve(rateLimitReserve);
+            effective.add(primary);
+        }
+        if (installations != null) {
+            effective.addAll(installations);
+        }
+        return effective;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
     /**
      * Helper method to get the actual private key content
      * Reads from file if privateKeyFile is set, otherwise returns privateKey
@@ -77,4 +169,144 @@ public class GitHubProperties {
                 "Either 'github.private-key' or 'github.private-key-file' must be configured"
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * A single installation of the GitHub App on one owner
+     */
+    @Setter
+    @Getter
+    public static class Installation {
+
+        /**
+         * Display name used in logs and health reports
+         * Defaults to the owner
+         */
+        private String name;
+
+        /**
+         * GitHub Installation ID for this owner
+         */
+        @NotBlank(message = "Installation ID must not be blank")
+        private String installationId;
+
+        /**
+         * Repository owner (username or organization) the installation belongs to
+         */
+        @NotBlank(message = "Installation owner must not be blank")
+        private String owner;
+
+        /**
+         * Repository names to monitor under this owner
+         */
+        private List<String> repos = new ArrayList<>();
+
+        /**
+         * Rate-limit requests to leave untouched for this installation, of the core and the GraphQL budget alike
+         * Calls for the installation pause until a budget resets once its remaining drops to this value
+         */
+        private int rateLimitReserve = 0;
+
+        public String getName() {
+            return name != null && !name.isBlank() ? name : owner;
+        }
+    }
+
+    /**
+     * Circuit breaker settings
+     */
+    @Setter
+    @Getter
+    public static class CircuitBreakerSettings {
+
+        /**
+         * Consecutive failed GitHub calls that open the circuit
+         */
+        @Min(1)
+        private int failureThreshold = 5;
+
+        /**
+         * Milliseconds an open circuit rejects calls before probing GitHub again
+         */
+        @Min(1)
+        private long openDurationMs = 30000;
+
+        /**
+         * Probe calls let through at once while half-open
+         */
+        @Min(1)
+        private int halfOpenProbes = 1;
+    }
+
+    /**
+     * Bulkhead settings
+     */
+    @Setter
+    @Getter
+    public static class BulkheadSettings {
+
+        /**
+         * GitHub calls allowed in flight at once across all installations
+         */
+        @Min(1)
+        private int maxConcurrentCalls = 8;
+
+        /**
+         * Milliseconds a call waits for a free slot before being rejected
+         */
+        @Min(0)
+        private long maxWaitMs = 500;
+    }
+
+    /**
+     * Repository discovery settings
+     */
+    @Setter
+    @Getter
+    public static class DiscoverySettings {
+
+        /**
+         * Sync every active repository the installation can access, in addition to those listed in 'repos'
+         */
+        private boolean enabled = false;
+
+        /**
+         * Milliseconds between full re-listings of each installation's repositories
+         * Webhooks keep the list current in between
+         */
+        @Min(1)
+        private long refreshIntervalMs = 21600000;
+
+        /**
+         * Repositories without a push for this many days are skipped; 0 keeps every unarchived repository
+         */
+        @Min(0)
+        private int inactiveDays = 365;
+    }
+
+    /**
+     * Record and replay settings
+     */
+    @Setter
+    @Getter
+    public static class ReplaySettings {
+
+        public enum Mode { OFF, RECORD, REPLAY }
+
+        public enum Timing { ORIGINAL, FAST }
+
+        /**
+         * OFF calls GitHub, RECORD calls GitHub and archives every exchange, REPLAY serves the archive only
+         */
+        private Mode mode = Mode.OFF;
+
+        /**
+         * Archive file, gzip-compressed JSON lines
+         */
+        private String archive = "github-archive.jsonl.gz";
+
+        /**
+         * ORIGINAL replays with the recorded GitHub response times, FAST answers at once
+         */
+        private Timing timing = Timing.FAST;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dependabot.config;
+
+import com.dependabot.service.JdbcSyncLeaderLock;
+import com.dependabot.service.SharedCacheStore;
+import com.dependabot.service.SyncLeaderLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Leader election configuration
+ * Only created when sync.leader.enabled is true; without a lock every replica syncs from GitHub itself.
+ * Followers only learn of the leader's syncs through the shared cache, so startup fails without a SharedCacheStore
+ */
+@Configuration
+@ConditionalOnProperty(name = "sync.leader.enabled", havingValue = "true")
+public class SyncLeaderConfig {
+
+    public SyncLeaderConfig(ObjectProvider<SharedCacheStore> sharedCacheStore) {
+        if (sharedCacheStore.getIfAvailable() == null) {
+            throw new IllegalStateException("sync.leader.enabled needs the shared cache (cache.shared.enabled or a "
+                    + "SharedCacheStore bean): without it followers never see the leader's syncs");
+        }
+    }
+
+    /**
+     * Lease lock on its own connection pool, so it never takes the place of the history datasource
+     * Defining another SyncLeaderLock bean replaces this one
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(SyncLeaderLock.class)
+    public JdbcSyncLeaderLock jdbcSyncLeaderLock(
+            @Value("${sync.leader.jdbc-url:jdbc:h2:file:./data/shared-cache;AUTO_SERVER=TRUE}") String jdbcUrl,
+            @Value("${sync.leader.username:sa}") String username,
+            @Value("${sync.leader.password:}") String password) {
+        return new JdbcSyncLeaderLock(DataSourceBuilder.create()
+                .url(jdbcUrl)
+                .username(username)
+                .password(password)
+                .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.dependabot.config;
+
+import com.dependabot.service.PRQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Request argument resolution for both web stacks
+ * PRQuery is read straight from the request parameters: generic data binding builds a binder and bean wrapper
+ * on every request, which was most of what a cached /api/prs call allocated
+ */
+@Configuration
+public class WebConfig {
+
+    /**
+     * Servlet stack, including the non-blocking controller when it runs on the servlet stack
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletConfig implements WebMvcConfigurer {
+
+        @Override
+        public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+            resolvers.add(new HandlerMethodArgumentResolver() {
+                @Override
+                public boolean supportsParameter(MethodParameter parameter) {
+                    return parameter.getParameterType() == PRQuery.class;
+                }
+
+                @Override
+                public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                              NativeWebRequest request, WebDataBinderFactory binderFactory)
+                        throws ServletRequestBindingException {
+                    try {
+                        return PRQuery.parse(request.getParameterValues("bumpType"),
+                                request.getParameter("sort"), request.getParameter("order"));
+                    } catch (IllegalArgumentException e) {
+                        throw new ServletRequestBindingException(e.getMessage(), e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Reactive stack, used under the reactive profile
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveConfig implements WebFluxConfigurer {
+
+        @Override
+        public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+            configurer.addCustomResolver(new SyncHandlerMethodArgumentResolver() {
+                @Override
+                public boolean supportsParameter(MethodParameter parameter) {
+                    return parameter.getParameterType() == PRQuery.class;
+                }
+
+                @Override
+                public Object resolveArgumentValue(MethodParameter parameter, BindingContext bindingContext,
+                                                   ServerWebExchange exchange) {
+                    var params = exchange.getRequest().getQueryParams();
+                    List<String> bumpTypes = params.get("bumpType");
+                    try {
+                        return PRQuery.parse(bumpTypes != null ? bumpTypes.toArray(String[]::new) : null,
+                                params.getFirst("sort"), params.getFirst("order"));
+                    } catch (IllegalArgumentException e) {
+                        throw new ServerWebInputException(e.getMessage(), parameter, e);
+                    }
+                }
+            });
+        }
+    }
+}
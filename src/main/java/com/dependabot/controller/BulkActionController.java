@@ -0,0 +1,153 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.BulkJobDto;
+import com.dependabot.service.BulkActionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * REST API controller for approving, merging and rebasing Dependabot PRs in bulk
+ * Actions are queued and applied in the background at a pace GitHub accepts; callers poll the returned job.
+ * Requests must carry "Authorization: Bearer" with the configured API token; with no token configured every request
+ * is refused
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/prs/bulk")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+@Tag(name = "Pull Requests", description = "Endpoints for managing Dependabot pull requests")
+public class BulkActionController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkActionController.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final BulkActionService bulkActionService;
+    private final byte[] apiToken;
+
+    public BulkActionController(BulkActionService bulkActionService,
+                                @Value("${bulk.api-token:}") String apiToken) {
+        this.bulkActionService = bulkActionService;
+        this.apiToken = apiToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Queue an action on a set of PRs
+     */
+    @Operation(
+            summary = "Approve, merge or rebase PRs in bulk",
+            description = "Queues the action for every open Dependabot PR and returns a job handle to poll; other PRs "
+                    + "fail without reaching GitHub. PRs of one repository are handled one at a time, and GitHub rate "
+                    + "limits pause the queue instead of failing the job"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Actions queued",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkJobDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request, or a repository with no installation for its owner or not configured",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "API token missing or invalid, or no API token configured",
+                    content = @Content
+            )
+    })
+    @PostMapping
+    public ResponseEntity<BulkJobDto> submit(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Valid @RequestBody BulkActionRequest request) {
+        if (!isAuthorized(authorization)) {
+            log.warn("Refused bulk request with a missing or invalid API token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        log.debug("POST /api/prs/bulk - Queueing {} of {} PRs", request.getAction(), request.getPrs().size());
+        BulkJobDto job;
+        try {
+            job = bulkActionService.submit(request);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected bulk request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/prs/bulk/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Poll a bulk job
+     */
+    @Operation(
+            summary = "Get bulk job status",
+            description = "Returns the progress of a bulk job and the state of each of its PRs"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkJobDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "API token missing or invalid, or no API token configured",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or purged job",
+                    content = @Content
+            )
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkJobDto> getJob(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Parameter(description = "Job identifier returned by a bulk request")
+            @PathVariable String jobId) {
+        if (!isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return bulkActionService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Check the bearer token against the configured API token, in constant time
+     */
+    private boolean isAuthorized(String authorization) {
+        if (apiToken.length == 0 || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] token = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(apiToken, token);
+    }
+}
@@ -0,0 +1,226 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.CacheEntryDto;
+import com.dependabot.dto.CacheStatsDto;
+import com.dependabot.dto.CoalescingStatsDto;
+import com.dependabot.dto.RefreshJobDto;
+import com.dependabot.service.CacheAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * REST API controller for administering the github-prs cache
+ * Provides inspection, invalidation and asynchronous refresh without blocking request threads
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache Administration", description = "Endpoints for inspecting, invalidating and refreshing the PR cache")
+public class CacheAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheAdminController.class);
+
+    private final CacheAdminService cacheAdminService;
+
+    public CacheAdminController(CacheAdminService cacheAdminService) {
+        this.cacheAdminService = cacheAdminService;
+    }
+
+    /**
+     * List cached repositories with their age and size
+     */
+    @Operation(
+            summary = "List cache entries",
+            description = "Lists every cached repository with the entry age, time to expiry, number of PRs and estimated bytes"
+    )
+    @GetMapping("/entries")
+    public ResponseEntity<List<CacheEntryDto>> getEntries() {
+        log.debug("GET /api/admin/cache/entries - Listing cache entries");
+        return ResponseEntity.ok(cacheAdminService.listEntries());
+    }
+
+    /**
+     * Report Caffeine statistics
+     */
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Reports Caffeine hit, miss, load and eviction statistics and the estimated weight of the PR cache"
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsDto> getStats() {
+        log.debug("GET /api/admin/cache/stats - Reporting cache statistics");
+        return ResponseEntity.ok(cacheAdminService.getStats());
+    }
+
+    /**
+     * Report Caffeine statistics of any cache
+     */
+    @Operation(
+            summary = "Get statistics of a named cache",
+            description = "Reports Caffeine statistics and estimated weight for github-prs, github-pr-details or github-ci-status"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cache found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CacheStatsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown cache",
+                    content = @Content
+            )
+    })
+    @GetMapping("/stats/{cacheName}")
+    public ResponseEntity<CacheStatsDto> getStats(
+            @Parameter(description = "Cache name", example = "github-pr-details")
+            @PathVariable String cacheName) {
+        log.debug("GET /api/admin/cache/stats/{} - Reporting cache statistics", cacheName);
+        return cacheAdminService.getStats(cacheName)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Report request coalescing statistics
+     */
+    @Operation(
+            summary = "Get coalescing statistics",
+            description = "Reports how many concurrent callers shared each GitHub fetch instead of starting their own"
+    )
+    @GetMapping("/coalescing")
+    public ResponseEntity<CoalescingStatsDto> getCoalescingStats() {
+        log.debug("GET /api/admin/cache/coalescing - Reporting coalescing statistics");
+        return ResponseEntity.ok(cacheAdminService.getCoalescingStats());
+    }
+
+    /**
+     * Invalidate the cached entry for one repository
+     */
+    @Operation(
+            summary = "Invalidate one repository",
+            description = "Drops the cached PR list for the repository; the next request fetches it from GitHub"
+    )
+    @DeleteMapping("/entries/{repository}")
+    public ResponseEntity<Void> invalidate(
+            @Parameter(description = "Repository name", example = "techronymsService")
+            @PathVariable String repository) {
+        log.debug("DELETE /api/admin/cache/entries/{} - Invalidating cache entry", repository);
+        cacheAdminService.invalidate(repository);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Invalidate every cached entry
+     */
+    @Operation(
+            summary = "Invalidate all repositories",
+            description = "Drops every cached PR list"
+    )
+    @DeleteMapping("/entries")
+    public ResponseEntity<Void> invalidateAll() {
+        log.debug("DELETE /api/admin/cache/entries - Invalidating all cache entries");
+        cacheAdminService.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Refresh one repository asynchronously
+     */
+    @Operation(
+            summary = "Refresh one repository",
+            description = "Re-fetches the repository from GitHub in the background and returns a job handle to poll"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Refresh accepted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RefreshJobDto.class)
+                    )
+            )
+    })
+    @PostMapping("/refresh/{repository}")
+    public ResponseEntity<RefreshJobDto> refresh(
+            @Parameter(description = "Repository name", example = "techronymsService")
+            @PathVariable String repository) {
+        log.debug("POST /api/admin/cache/refresh/{} - Scheduling refresh", repository);
+        return accepted(cacheAdminService.refresh(repository));
+    }
+
+    /**
+     * Refresh every configured repository asynchronously
+     */
+    @Operation(
+            summary = "Refresh all repositories",
+            description = "Re-fetches every configured repository in the background and returns a job handle to poll"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Refresh accepted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RefreshJobDto.class)
+                    )
+            )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<RefreshJobDto> refreshAll() {
+        log.debug("POST /api/admin/cache/refresh - Scheduling refresh of all repositories");
+        return accepted(cacheAdminService.refreshAll());
+    }
+
+    /**
+     * Poll a refresh job
+     */
+    @Operation(
+            summary = "Get refresh job status",
+            description = "Returns the progress of a refresh job"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RefreshJobDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired job",
+                    content = @Content
+            )
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<RefreshJobDto> getJob(
+            @Parameter(description = "Job identifier returned by a refresh request")
+            @PathVariable String jobId) {
+        return cacheAdminService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<RefreshJobDto> accepted(RefreshJobDto job) {
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/admin/cache/jobs/" + job.getJobId()))
+                .body(job);
+    }
+}
@@ -0,0 +1,151 @@
+package com.dependabot.controller;
+
+import com.dependabot.service.GitHubService;
+import com.dependabot.service.RepositoryDiscoveryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Receiver for the GitHub App's webhook deliveries
+ * check_suite events on a PR refresh the CI status of the repository's cached PRs without fetching the lists again.
+ * With repository discovery, installation_repositories and repository events add and remove synced repositories.
+ * Deliveries must carry a valid X-Hub-Signature-256; with no secret configured every delivery is refused
+ */
+@RestController
+@RequestMapping("/webhooks/github")
+@Tag(name = "Webhooks", description = "Receiver for GitHub App webhook deliveries")
+public class GitHubWebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(GitHubWebhookController.class);
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final GitHubService gitHubService;
+    private final RepositoryDiscoveryService discoveryService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final byte[] secret;
+
+    public GitHubWebhookController(GitHubService gitHubService,
+                                   RepositoryDiscoveryService discoveryService,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("cacheRefreshExecutor") Executor executor,
+                                   @Value("${github.webhook.secret:}") String secret) {
+        this.gitHubService = gitHubService;
+        this.discoveryService = discoveryService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Accept a webhook delivery
+     * The refresh runs in the background, as GitHub gives up on a delivery after ten seconds
+     */
+    @Operation(
+            summary = "Receive a GitHub webhook delivery",
+            description = "Refreshes the CI status of a repository's cached PRs on check_suite events, and with repository "
+                    + "discovery enabled updates the synced repositories on installation_repositories and repository "
+                    + "events; other events are acknowledged and ignored"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "CI status refresh or repository list update started"),
+            @ApiResponse(responseCode = "204", description = "Event needs no action"),
+            @ApiResponse(responseCode = "400", description = "Payload is not valid JSON"),
+            @ApiResponse(responseCode = "401", description = "Signature missing or invalid, or no webhook secret configured"),
+            @ApiResponse(responseCode = "503", description = "Refresh queue full; GitHub may redeliver")
+    })
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestHeader(value = "X-GitHub-Event", required = false) String event,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] payload) {
+        if (!isSignedDelivery(payload, signature)) {
+            log.warn("Refused GitHub webhook delivery for {} with a missing or invalid signature", event);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        boolean discoveryEvent = "installation_repositories".equals(event) || "repository".equals(event);
+        if (!"check_suite".equals(event) && !(discoveryEvent && discoveryService.isEnabled())) {
+            return ResponseEntity.noContent().build();
+        }
+
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (discoveryEvent) {
+            log.debug("POST /webhooks/github - {} {}", event, body.path("action").asText());
+            return submit(event, () -> {
+                int changed = "repository".equals(event)
+                        ? discoveryService.onRepository(body)
+                        : discoveryService.onInstallationRepositories(body);
+                log.debug("Applied {} delivery: {} repositories added or removed", event, changed);
+            });
+        }
+
+        String owner = body.path("repository").path("owner").path("login").asText(null);
+        String repository = body.path("repository").path("name").asText(null);
+        // Suites on branches without a PR, e.g. the default branch, do not affect any PR's status
+        if (owner == null || repository == null || body.path("check_suite").path("pull_requests").isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        log.debug("POST /webhooks/github - check_suite {} on {}/{}", body.path("action").asText(), owner, repository);
+        return submit(event, () -> {
+            int updated = gitHubService.refreshCIStatuses(owner, repository);
+            log.debug("Refreshed CI status of {} cached PR lists for {}/{}", updated, owner, repository);
+        });
+    }
+
+    private ResponseEntity<Void> submit(String event, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Refresh queue full, dropping {} event", event);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Check the delivery's HMAC-SHA256 signature against the configured secret, in constant time
+     */
+    private boolean isSignedDelivery(byte[] payload, String signature) {
+        if (secret.length == 0 || signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] expected = mac.doFinal(payload);
+            byte[] actual = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
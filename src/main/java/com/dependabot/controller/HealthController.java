@@ -1,5 +1,8 @@
 package com.dependabot.controller;
 
+import com.dependabot.dto.ReadinessDto;
+import com.dependabot.service.ReadinessProbeService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,11 +12,17 @@ import java.util.Map;
 
 /**
  * Health check controller for service monitoring
- * Provides basic health status without requiring authentication
+ * Provides liveness and readiness status without requiring authentication
  */
 @RestController
 public class HealthController {
 
+    private final ReadinessProbeService readinessProbeService;
+
+    public HealthController(ReadinessProbeService readinessProbeService) {
+        this.readinessProbeService = readinessProbeService;
+    }
+
     /**
      * Health check endpoint
      *
@@ -27,4 +36,29 @@ public class HealthController {
 
         return ResponseEntity.ok(healthResponse);
     }
-}
\ No newline at end of file
+
+    /**
+     * Liveness check endpoint
+     * Reports only that the process is running; never depends on GitHub
+     *
+     * @return Map containing service status and name
+     */
+    @GetMapping("/health/liveness")
+    public ResponseEntity<Map<String, String>> liveness() {
+        return health();
+    }
+
+    /**
+     * Readiness check endpoint
+     * Served from the cached background probe, so polling it adds no GitHub traffic
+     *
+     * @return readiness report with 200 when ready, degraded included, 503 otherwise
+     */
+    @GetMapping("/health/readiness")
+    public ResponseEntity<ReadinessDto> readiness() {
+        ReadinessDto readiness = readinessProbeService.getReadiness();
+        HttpStatus status = "DOWN".equals(readiness.getStatus()) ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK;
+
+        return ResponseEntity.status(status).body(readiness);
+    }
+}
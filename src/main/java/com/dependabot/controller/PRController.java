@@ -1,7 +1,9 @@
 package com.dependabot.controller;
 
+import com.dependabot.dto.BatchPRRequest;
 import com.dependabot.dto.PRDto;
 import com.dependabot.service.GitHubService;
+import com.dependabot.service.PRQuery;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,18 +11,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API controller for Dependabot pull requests
  * Provides endpoints to retrieve PR information
+ * Servlet stack only; under the reactive profile ReactivePRController serves /api/prs
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/prs")
 @CrossOrigin(origins = "${cors.allowed-origins}")
 @Tag(name = "Pull Requests", description = "Endpoints for managing Dependabot pull requests")
@@ -39,7 +49,8 @@ public class PRController {
      */
     @Operation(
             summary = "Get all Dependabot pull requests",
-            description = "Retrieves all open Dependabot pull requests from all configured repositories"
+            description = "Retrieves all open Dependabot pull requests from all configured repositories across every installation, "
+                    + "optionally filtered by bump type and sorted"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -49,13 +60,21 @@ public class PRController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = PRDto.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "504",
+                    description = "Request deadline passed before GitHub answered; GitHub calls no other request awaits were cancelled",
+                    content = @Content
             )
     })
     @GetMapping
-    public ResponseEntity<List<PRDto>> getAllPRs() {
+    public ResponseEntity<List<PRDto>> getAllPRs(
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestDeadlineFilter.DEADLINE_ATTRIBUTE, required = false) Instant deadline,
+            @ParameterObject PRQuery query) {
         log.debug("GET /api/prs - Fetching all Dependabot PRs");
 
-        List<PRDto> prs = gitHubService.getAllDependabotPRs();
+        List<PRDto> prs = query.apply(gitHubService.getAllDependabotPRs(deadline));
 
         log.debug("Returning {} PRs", prs.size());
         return ResponseEntity.ok(prs);
@@ -86,12 +105,86 @@ public class PRController {
     @GetMapping("/{repository}")
     public ResponseEntity<List<PRDto>> getPRsByRepository(
             @Parameter(description = "Repository name", example = "techronymsService")
-            @PathVariable String repository) {
+            @PathVariable String repository,
+            @ParameterObject PRQuery query) {
         log.debug("GET /api/prs/{} - Fetching PRs for repository", repository);
 
-        List<PRDto> prs = gitHubService.getDependabotPRs(repository);
+        List<PRDto> prs = query.apply(gitHubService.getDependabotPRs(repository));
 
         log.debug("Returning {} PRs for repository: {}", prs.size(), repository);
         return ResponseEntity.ok(prs);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get Dependabot PRs for a repository under a specific owner
+     * Disambiguates repositories with the same name across installations
+     */
+    @Operation(
+            summary = "Get pull requests for a repository of a specific owner",
+            description = "Retrieves all open Dependabot pull requests for owner/repository using that owner's installation"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved pull requests for the repository",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PRDto.class)
+                    )
+            )
+    })
+    @GetMapping("/{owner}/{repository}")
+    public ResponseEntity<List<PRDto>> getPRsByOwnerAndRepository(
+            @Parameter(description = "Repository owner", example = "derynLeigh")
+            @PathVariable String owner,
+            @Parameter(description = "Repository name", example = "techronymsService")
+            @PathVariable String repository,
+            @ParameterObject PRQuery query) {
+        log.debug("GET /api/prs/{}/{} - Fetching PRs for repository", owner, repository);
+
+        List<PRDto> prs = query.apply(gitHubService.getDependabotPRs(owner + "/" + repository));
+
+        log.debug("Returning {} PRs for repository: {}/{}", prs.size(), owner, repository);
+        return ResponseEntity.ok(prs);
+    }
+
+    /**
+     * Get Dependabot PRs for several repositories in one request
+     */
+    @Operation(
+            summary = "Get pull requests for a batch of repositories",
+            description = "Retrieves open Dependabot pull requests for each listed repository, keyed by repository. "
+                    + "Cached repositories are answered at once and the rest are fetched concurrently"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved pull requests for every repository",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No repositories, a blank name, or more than " + BatchPRRequest.MAX_REPOSITORIES,
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "504",
+                    description = "Request deadline passed before GitHub answered; GitHub calls no other request awaits were cancelled",
+                    content = @Content
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, List<PRDto>>> getPRsForRepositories(
+            @Valid @RequestBody BatchPRRequest request,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestDeadlineFilter.DEADLINE_ATTRIBUTE, required = false) Instant deadline,
+            @ParameterObject PRQuery query) {
+        log.debug("POST /api/prs/batch - Fetching PRs for {} repositories", request.getRepositories().size());
+
+        Map<String, List<PRDto>> prs = new LinkedHashMap<>();
+        gitHubService.getDependabotPRsByRepository(request.getRepositories(), deadline)
+                .forEach((repository, repositoryPrs) -> prs.put(repository, query.apply(repositoryPrs)));
+
+        return ResponseEntity.ok(prs);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.OpenCountDto;
+import com.dependabot.dto.PRTransitionDto;
+import com.dependabot.dto.TimeToMergeDto;
+import com.dependabot.service.PRHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API controller for Dependabot PR history
+ * Answers trend questions from the daily rollups written as syncs are recorded
+ */
+@RestController
+@RequestMapping("/api/history")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+@Tag(name = "PR History", description = "Endpoints for trends over recorded Dependabot PR transitions")
+public class PRHistoryController {
+
+    private static final Logger log = LoggerFactory.getLogger(PRHistoryController.class);
+
+    private final PRHistoryService historyService;
+
+    public PRHistoryController(PRHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    /**
+     * Open PR count per repository and day
+     */
+    @Operation(
+            summary = "Get open PR counts",
+            description = "Returns the number of open Dependabot PRs per repository as of the last sync of each day (UTC)"
+    )
+    @GetMapping("/open-counts")
+    public ResponseEntity<List<OpenCountDto>> getOpenCounts(
+            @Parameter(description = "Number of days up to and including today", example = "90")
+            @RequestParam(defaultValue = "90") int days,
+            @Parameter(description = "Repository identifier; all repositories when omitted", example = "techronymsService")
+            @RequestParam(required = false) String repository) {
+        log.debug("GET /api/history/open-counts - Open counts over {} days", days);
+        return ResponseEntity.ok(historyService.getOpenCounts(days, repository));
+    }
+
+    /**
+     * Mean time to merge per dependency
+     */
+    @Operation(
+            summary = "Get mean time to merge",
+            description = "Returns the mean milliseconds from opening to merge per dependency, over PRs merged within the window"
+    )
+    @GetMapping("/time-to-merge")
+    public ResponseEntity<List<TimeToMergeDto>> getTimeToMerge(
+            @Parameter(description = "Number of days up to and including today", example = "90")
+            @RequestParam(defaultValue = "90") int days,
+            @Parameter(description = "Dependency name; all dependencies when omitted", example = "spring-boot")
+            @RequestParam(required = false) String dependency) {
+        log.debug("GET /api/history/time-to-merge - Time to merge over {} days", days);
+        return ResponseEntity.ok(historyService.getTimeToMerge(days, dependency));
+    }
+
+    /**
+     * Recorded transitions of one PR
+     */
+    @Operation(
+            summary = "Get PR transitions",
+            description = "Returns the recorded transitions of a pull request, oldest first"
+    )
+    @GetMapping("/transitions/{repository}/{number}")
+    public ResponseEntity<List<PRTransitionDto>> getTransitions(
+            @Parameter(description = "Repository identifier", example = "techronymsService")
+            @PathVariable String repository,
+            @Parameter(description = "Pull request number", example = "123")
+            @PathVariable int number) {
+        log.debug("GET /api/history/transitions/{}/{} - Listing transitions", repository, number);
+        return ResponseEntity.ok(historyService.getTransitions(repository, number));
+    }
+}
@@ -0,0 +1,83 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.DependencyRollupDto;
+import com.dependabot.dto.DependencyVersionsDto;
+import com.dependabot.dto.PRSummaryDto;
+import com.dependabot.service.DependencyRollupView;
+import com.dependabot.service.PRSummaryView;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API controller for aggregate views over Dependabot PRs
+ * Views are kept up to date as repositories sync, so these endpoints never call GitHub
+ */
+@RestController
+@RequestMapping("/api/prs")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+@Tag(name = "PR Summaries", description = "Aggregate views over the latest synced Dependabot pull requests")
+public class PRSummaryController {
+
+    private static final Logger log = LoggerFactory.getLogger(PRSummaryController.class);
+
+    private final PRSummaryView summaryView;
+    private final DependencyRollupView rollupView;
+
+    public PRSummaryController(PRSummaryView summaryView, DependencyRollupView rollupView) {
+        this.summaryView = summaryView;
+        this.rollupView = rollupView;
+    }
+
+    /**
+     * Summarise open PRs across repositories
+     */
+    @Operation(
+            summary = "Get PR summary",
+            description = "Returns open PR counts per repository, dependency and age bucket, conflict counts and the oldest PR "
+                    + "per repository, as of each repository's latest sync"
+    )
+    @GetMapping("/summary")
+    public ResponseEntity<PRSummaryDto> getSummary() {
+        log.debug("GET /api/prs/summary - Summarising PRs");
+        return ResponseEntity.ok(summaryView.summarize());
+    }
+
+    /**
+     * Group open PRs by dependency bump across repositories
+     */
+    @Operation(
+            summary = "Get dependency rollup",
+            description = "Groups open PRs by dependency and proposed version, listing the affected repositories and PR URLs"
+    )
+    @GetMapping("/rollup")
+    public ResponseEntity<List<DependencyRollupDto>> getRollup(
+            @Parameter(description = "Dependency name; all dependencies when omitted", example = "spring-boot")
+            @RequestParam(required = false) String dependency,
+            @Parameter(description = "Leave out bumps open in fewer repositories", example = "2")
+            @RequestParam(defaultValue = "1") int minRepositories) {
+        log.debug("GET /api/prs/rollup - Grouping PRs by dependency bump");
+        return ResponseEntity.ok(rollupView.getRollup(dependency, minRepositories));
+    }
+
+    /**
+     * Current version of each dependency per repository
+     */
+    @Operation(
+            summary = "Get dependency version matrix",
+            description = "Returns the current version of each dependency in every repository with an open PR bumping it"
+    )
+    @GetMapping("/versions")
+    public ResponseEntity<List<DependencyVersionsDto>> getVersionMatrix(
+            @Parameter(description = "Dependency name; all dependencies when omitted", example = "spring-boot")
+            @RequestParam(required = false) String dependency) {
+        log.debug("GET /api/prs/versions - Building version matrix");
+        return ResponseEntity.ok(rollupView.getVersionMatrix(dependency));
+    }
+}
@@ -0,0 +1,123 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.BatchPRRequest;
+import com.dependabot.dto.PRDto;
+import com.dependabot.service.PRQuery;
+import com.dependabot.service.ReactiveGitHubService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking REST API controller for Dependabot pull requests
+ * Served under /api/reactive/prs on the servlet stack and takes over /api/prs under the reactive profile
+ */
+@RestController
+@RequestMapping("${api.reactive.base-path:/api/reactive/prs}")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+@Tag(name = "Pull Requests (non-blocking)", description = "Non-blocking endpoints for Dependabot pull requests")
+public class ReactivePRController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePRController.class);
+
+    private final ReactiveGitHubService reactiveGitHubService;
+
+    public ReactivePRController(ReactiveGitHubService reactiveGitHubService) {
+        this.reactiveGitHubService = reactiveGitHubService;
+    }
+
+    /**
+     * Get all Dependabot PRs from configured repositories
+     */
+    @Operation(
+            summary = "Get all Dependabot pull requests",
+            description = "Retrieves all open Dependabot pull requests from all configured repositories without blocking a request thread"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved all pull requests",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PRDto.class))
+                    )
+            )
+    })
+    @GetMapping
+    public Flux<PRDto> getAllPRs(@ParameterObject PRQuery query) {
+        log.debug("GET all PRs (non-blocking)");
+        Flux<PRDto> prs = reactiveGitHubService.getAllDependabotPRs();
+        // Filtering alone could stream, but ordering needs every PR, so collect only when the query changes the list
+        return query.isEmpty() ? prs : prs.collectList().flatMapIterable(query::apply);
+    }
+
+    /**
+     * Get Dependabot PRs for a specific repository
+     */
+    @Operation(
+            summary = "Get pull requests for a specific repository",
+            description = "Retrieves all open Dependabot pull requests for the specified repository without blocking a request thread"
+    )
+    @GetMapping("/{repository}")
+    public Flux<PRDto> getPRsByRepository(
+            @Parameter(description = "Repository name", example = "techronymsService")
+            @PathVariable String repository,
+            @ParameterObject PRQuery query) {
+        log.debug("GET PRs for repository {} (non-blocking)", repository);
+        return reactiveGitHubService.getDependabotPRs(repository).flatMapIterable(query::apply);
+    }
+
+    /**
+     * Get Dependabot PRs for a repository under a specific owner
+     */
+    @Operation(
+            summary = "Get pull requests for a repository of a specific owner",
+            description = "Retrieves all open Dependabot pull requests for owner/repository without blocking a request thread"
+    )
+    @GetMapping("/{owner}/{repository}")
+    public Flux<PRDto> getPRsByOwnerAndRepository(
+            @Parameter(description = "Repository owner", example = "derynLeigh")
+            @PathVariable String owner,
+            @Parameter(description = "Repository name", example = "techronymsService")
+            @PathVariable String repository,
+            @ParameterObject PRQuery query) {
+        log.debug("GET PRs for repository {}/{} (non-blocking)", owner, repository);
+        return reactiveGitHubService.getDependabotPRs(owner + "/" + repository).flatMapIterable(query::apply);
+    }
+
+    /**
+     * Get Dependabot PRs for several repositories in one request
+     */
+    @Operation(
+            summary = "Get pull requests for a batch of repositories",
+            description = "Retrieves open Dependabot pull requests for each listed repository, keyed by repository, without blocking a request thread"
+    )
+    @PostMapping("/batch")
+    public Mono<Map<String, List<PRDto>>> getPRsForRepositories(
+            @Valid @RequestBody BatchPRRequest request,
+            @ParameterObject PRQuery query) {
+        log.debug("POST batch of {} repositories (non-blocking)", request.getRepositories().size());
+        return reactiveGitHubService.getDependabotPRsByRepository(request.getRepositories())
+                .map(byRepository -> {
+                    Map<String, List<PRDto>> prs = new LinkedHashMap<>();
+                    byRepository.forEach((repository, repositoryPrs) -> prs.put(repository, query.apply(repositoryPrs)));
+                    return prs;
+                });
+    }
+}
@@ -0,0 +1,67 @@
+package com.dependabot.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Stamps every API request with a deadline
+ * Clients may ask for a shorter budget with the X-Request-Timeout-Ms header; the configured maximum always applies
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the deadline as an Instant
+     */
+    public static final String DEADLINE_ATTRIBUTE = "com.dependabot.requestDeadline";
+
+    /**
+     * Header a client can use to request a shorter deadline, in milliseconds
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    private final long maxDeadlineMs;
+
+    public RequestDeadlineFilter(@Value("${api.request.deadline-ms:30000}") long maxDeadlineMs) {
+        this.maxDeadlineMs = maxDeadlineMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(DEADLINE_ATTRIBUTE, Instant.now().plusMillis(budgetMs(request.getHeader(TIMEOUT_HEADER))));
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    private long budgetMs(String requested) {
+        if (requested == null) {
+            return maxDeadlineMs;
+        }
+        try {
+            long requestedMs = Long.parseLong(requested.trim());
+            return requestedMs > 0 ? Math.min(requestedMs, maxDeadlineMs) : maxDeadlineMs;
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid {} header: {}", TIMEOUT_HEADER, requested);
+            return maxDeadlineMs;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body naming the repositories to fetch PRs for in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Repositories to fetch Dependabot PRs for")
+public class BatchPRRequest {
+
+    /**
+     * Upper bound on repositories per batch, so one request cannot monopolise the GitHub budget
+     */
+    public static final int MAX_REPOSITORIES = 100;
+
+    @NotEmpty
+    @Size(max = MAX_REPOSITORIES)
+    @Schema(description = "Repository names or owner/repo identifiers", example = "[\"techronymsService\", \"derynLeigh/dependabot-pr-summariser\"]")
+    private List<@NotBlank String> repositories;
+}
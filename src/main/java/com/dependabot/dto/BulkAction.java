@@ -0,0 +1,9 @@
+package com.dependabot.dto;
+
+/**
+ * Action applied to every PR of a bulk request
+ * REBASE comments "@dependabot rebase" on the PR, which Dependabot acts on
+ */
+public enum BulkAction {
+    APPROVE, MERGE, REBASE
+}
@@ -0,0 +1,69 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body naming an action and the PRs to apply it to
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Action to apply to a set of Dependabot PRs")
+public class BulkActionRequest {
+
+    /**
+     * Upper bound on PRs per request, so one request cannot monopolise the GitHub budget
+     */
+    public static final int MAX_PRS = 500;
+
+    /**
+     * Merge methods offered by GitHub
+     */
+    public enum MergeMethod {
+        MERGE, SQUASH, REBASE
+    }
+
+    @NotNull
+    @Schema(description = "Action to apply", example = "MERGE")
+    private BulkAction action;
+
+    @Schema(description = "How to merge, for MERGE; the repository's default when absent", example = "SQUASH")
+    private MergeMethod mergeMethod;
+
+    @NotEmpty
+    @Size(max = MAX_PRS)
+    @Schema(description = "PRs to apply the action to")
+    private List<@Valid @NotNull Target> prs;
+
+    /**
+     * One PR of a bulk request
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Pull request to act on")
+    public static class Target {
+
+        @NotBlank
+        @Schema(description = "Repository name or owner/repo identifier", example = "derynLeigh/techronymsService")
+        private String repository;
+
+        @NotNull
+        @Positive
+        @Schema(description = "Pull request number", example = "42")
+        private Integer number;
+    }
+}
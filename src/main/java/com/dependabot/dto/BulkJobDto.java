@@ -0,0 +1,103 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a queued bulk PR action and the progress of each of its PRs
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Handle for a bulk PR action")
+public class BulkJobDto {
+
+    /**
+     * Lifecycle of a bulk job; FAILED means every PR is done and at least one failed
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * Lifecycle of one PR of a job
+     */
+    public enum ItemState {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    @Schema(description = "Job identifier used for polling", example = "3f2b8c1e-6a3d-4e8e-9b7a-1c2d3e4f5a6b")
+    private String jobId;
+
+    @Schema(description = "Current job status", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Action applied to every PR", example = "MERGE")
+    private BulkAction action;
+
+    @Schema(description = "Merge method, for MERGE", example = "SQUASH")
+    private BulkActionRequest.MergeMethod mergeMethod;
+
+    @Schema(description = "PRs in the job", example = "12")
+    private Integer total;
+
+    @Schema(description = "PRs the action succeeded on", example = "9")
+    private Integer succeeded;
+
+    @Schema(description = "PRs the action failed on", example = "1")
+    private Integer failed;
+
+    @Schema(description = "Progress of each PR")
+    private List<Item> items;
+
+    @Schema(description = "When the job was submitted", example = "2024-01-15T10:30:00Z")
+    private Instant submittedAt;
+
+    @Schema(description = "When the last PR finished", example = "2024-01-15T10:30:42Z")
+    private Instant completedAt;
+
+    /**
+     * Progress of one PR
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Progress of one PR of a bulk job")
+    public static class Item {
+
+        @Schema(description = "Repository as owner/repo", example = "derynLeigh/techronymsService")
+        private String repository;
+
+        @Schema(description = "Pull request number", example = "42")
+        private Integer number;
+
+        @Schema(description = "Current state", example = "QUEUED")
+        private ItemState state;
+
+        @Schema(description = "Failed attempts that were retried; rate-limited attempts are not counted", example = "0")
+        private Integer retries;
+
+        @Schema(description = "Why the last attempt failed", example = "Pull Request is not mergeable")
+        private String error;
+
+        @Schema(description = "Earliest time a queued PR will be tried", example = "2024-01-15T10:31:00Z")
+        private Instant notBefore;
+
+        @Schema(description = "When the PR finished", example = "2024-01-15T10:30:05Z")
+        private Instant completedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.dependabot.dto;
+
+/**
+ * Size of a dependency bump by the most significant version number it changes
+ */
+public enum BumpType {
+    MAJOR, MINOR, PATCH
+}
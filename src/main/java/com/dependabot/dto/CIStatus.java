@@ -0,0 +1,9 @@
+package com.dependabot.dto;
+
+/**
+ * Combined result of the checks and commit statuses on a PR's head commit, as rolled up by GitHub
+ * NONE means no check or status has been reported for the commit
+ */
+public enum CIStatus {
+    SUCCESS, PENDING, EXPECTED, FAILURE, ERROR, NONE
+}
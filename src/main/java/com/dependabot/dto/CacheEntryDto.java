@@ -0,0 +1,33 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing a single cached repository entry
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cached PR list for a single repository")
+public class CacheEntryDto {
+
+    @Schema(description = "Repository name (cache key)", example = "techronymsService")
+    private String repository;
+
+    @Schema(description = "Number of PRs held in the entry", example = "4")
+    private Integer size;
+
+    @Schema(description = "Estimated bytes retained by the entry", example = "18432")
+    private Integer weightBytes;
+
+    @Schema(description = "Milliseconds since the entry was written", example = "42000")
+    private Long ageMs;
+
+    @Schema(description = "Milliseconds until the entry expires", example = "258000")
+    private Long expiresInMs;
+}
@@ -0,0 +1,51 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for Caffeine cache statistics
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Caffeine statistics for a cache")
+public class CacheStatsDto {
+
+    @Schema(description = "Cache name", example = "github-prs")
+    private String cacheName;
+
+    @Schema(description = "Approximate number of entries", example = "3")
+    private Long estimatedSize;
+
+    @Schema(description = "Number of lookups that returned a cached value", example = "120")
+    private Long hitCount;
+
+    @Schema(description = "Number of lookups that found no cached value", example = "6")
+    private Long missCount;
+
+    @Schema(description = "Ratio of hits to lookups", example = "0.95")
+    private Double hitRate;
+
+    @Schema(description = "Number of successful loads", example = "6")
+    private Long loadSuccessCount;
+
+    @Schema(description = "Number of failed loads", example = "0")
+    private Long loadFailureCount;
+
+    @Schema(description = "Average time spent loading a value, in nanoseconds", example = "350000000")
+    private Double averageLoadPenaltyNanos;
+
+    @Schema(description = "Number of entries evicted by size or expiry", example = "2")
+    private Long evictionCount;
+
+    @Schema(description = "Estimated bytes retained by all entries", example = "1843200")
+    private Long weightedSizeBytes;
+
+    @Schema(description = "Estimated bytes the cache may retain before evicting", example = "33554432")
+    private Long maximumWeightBytes;
+}
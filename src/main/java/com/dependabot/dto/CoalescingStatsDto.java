@@ -0,0 +1,39 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for request coalescing statistics
+ * Counts how many callers shared a GitHub fetch started by another caller
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Coalescing statistics for GitHub fetches")
+public class CoalescingStatsDto {
+
+    @Schema(description = "GitHub fetches actually run", example = "12")
+    private Long loads;
+
+    @Schema(description = "Callers served by a fetch another caller started", example = "180")
+    private Long absorbedCallers;
+
+    @Schema(description = "Average callers absorbed per fetch", example = "15.0")
+    private Double averageAbsorbedPerLoad;
+
+    @Schema(description = "Most callers absorbed by a single fetch", example = "49")
+    private Long maxAbsorbedPerLoad;
+
+    @Schema(description = "Fetches currently in flight", example = "1")
+    private Integer inFlight;
+
+    @Schema(description = "Number of fetches by how many callers they absorbed, e.g. {\"0\": 10, \"1\": 1, \"2-4\": 0, \"5-9\": 0, \"10-49\": 1, \"50+\": 0}")
+    private Map<String, Long> absorbedHistogram;
+}
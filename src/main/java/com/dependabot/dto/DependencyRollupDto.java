@@ -0,0 +1,32 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object grouping the PRs that make the same dependency bump across repositories
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Open Dependabot PRs bumping one dependency to one version, across repositories")
+public class DependencyRollupDto {
+
+    @Schema(description = "Name of the dependency being updated", example = "spring-boot")
+    private String dependency;
+
+    @Schema(description = "Proposed new version", example = "3.2.1")
+    private String proposedVersion;
+
+    @Schema(description = "Repositories with an open PR for the bump, sorted", example = "[\"techronymsService\", \"techronyms-user-service\"]")
+    private List<String> repositories;
+
+    @Schema(description = "The PRs making the bump, by repository then number")
+    private List<PRRefDto> prs;
+}
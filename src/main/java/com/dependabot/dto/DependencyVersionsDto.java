@@ -0,0 +1,27 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for one row of the dependency version matrix
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Current version of a dependency in each repository with an open Dependabot PR for it")
+public class DependencyVersionsDto {
+
+    @Schema(description = "Name of the dependency", example = "spring-boot")
+    private String dependency;
+
+    @Schema(description = "Current version per repository; several open PRs from different versions are comma-separated",
+            example = "{\"techronymsService\": \"3.1.0\", \"techronyms-user-service\": \"3.0.4\"}")
+    private Map<String, String> currentVersions;
+}
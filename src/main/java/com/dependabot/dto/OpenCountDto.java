@@ -0,0 +1,29 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for the number of open Dependabot PRs of a repository on a day
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Open Dependabot PRs of a repository as of the last sync of a day (UTC)")
+public class OpenCountDto {
+
+    @Schema(description = "Repository identifier", example = "techronymsService")
+    private String repository;
+
+    @Schema(description = "Day (UTC)", example = "2024-01-15")
+    private LocalDate day;
+
+    @Schema(description = "Open Dependabot PRs at the last sync of the day", example = "4")
+    private Integer openCount;
+}
@@ -1,5 +1,6 @@
 package com.dependabot.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import java.time.Instant;
  * Data Transfer Object for Pull Request information
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Dependabot pull request information")
@@ -30,6 +31,9 @@ public class PRDto {
     @Schema(description = "PR author username", example = "dependabot[bot]")
     private String author;
 
+    @Schema(description = "Repository owner (user or organization)", example = "derynLeigh")
+    private String owner;
+
     @Schema(description = "Repository name", example = "techronymsService")
     private String repository;
 
@@ -54,6 +58,24 @@ public class PRDto {
     @Schema(description = "Proposed new version", example = "3.2.1")
     private String proposedVersion;
 
+    @Schema(description = "Most significant version number the PR changes; absent unless both versions are semantic versions",
+            example = "MINOR")
+    private BumpType bumpType;
+
+    /**
+     * Current version encoded by SemanticVersion, or 0 if it is not a semantic version
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private long currentVersionCode;
+
+    /**
+     * Proposed version encoded by SemanticVersion, or 0 if it is not a semantic version
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private long proposedVersionCode;
+
     @Schema(description = "PR description/body")
     private String body;
 
@@ -63,9 +85,16 @@ public class PRDto {
     @Schema(description = "Number of files changed", example = "2")
     private Integer filesChanged;
 
-    @Schema(description = "Whether the PR has merge conflicts", example = "false")
+    @Schema(description = "Whether the PR has merge conflicts; null while GitHub is still computing mergeability", example = "false")
     private Boolean hasConflicts;
 
+    @Schema(description = "Whether GitHub was still computing mergeability when the PR was fetched; it is re-checked in the background", example = "false")
+    private Boolean mergeabilityPending;
+
+    @Schema(description = "Combined check and status result of the PR's head commit; absent if it could not be fetched",
+            example = "SUCCESS")
+    private CIStatus ciStatus;
+
     /**
      * Backward compatibility: map 'repo' to 'repository'
      */
@@ -0,0 +1,45 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object referring to a Dependabot PR from an aggregate view
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Reference to a Dependabot pull request")
+public class PRRefDto {
+
+    @Schema(description = "Repository identifier", example = "techronymsService")
+    private String repository;
+
+    @Schema(description = "GitHub PR number", example = "123")
+    private Integer number;
+
+    @Schema(description = "PR title", example = "Bump spring-boot from 3.1.0 to 3.2.1")
+    private String title;
+
+    @Schema(description = "Full URL to the PR", example = "https://github.com/owner/repo/pull/123")
+    private String url;
+
+    @Schema(description = "When the PR was created", example = "2024-01-15T10:30:00Z")
+    private Instant createdAt;
+
+    public static PRRefDto of(String repository, PRDto pr) {
+        return PRRefDto.builder()
+                .repository(repository)
+                .number(pr.getNumber())
+                .title(pr.getTitle())
+                .url(pr.getUrl())
+                .createdAt(pr.getCreatedAt())
+                .build();
+    }
+}
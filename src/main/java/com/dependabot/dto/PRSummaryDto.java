@@ -0,0 +1,41 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object summarising the open Dependabot PRs of every synced repository
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Rollup of open Dependabot PRs as of each repository's latest sync")
+public class PRSummaryDto {
+
+    @Schema(description = "Open PRs across all repositories", example = "42")
+    private Long total;
+
+    @Schema(description = "Open PRs per repository")
+    private Map<String, Long> byRepository;
+
+    @Schema(description = "Open PRs per dependency")
+    private Map<String, Long> byDependency;
+
+    @Schema(description = "Open PRs per age bucket, youngest first")
+    private Map<String, Long> byAge;
+
+    @Schema(description = "Open PRs with merge conflicts", example = "3")
+    private Long withConflicts;
+
+    @Schema(description = "Open PRs with merge conflicts per repository")
+    private Map<String, Long> conflictsByRepository;
+
+    @Schema(description = "Oldest open PR per repository")
+    private Map<String, PRRefDto> oldestByRepository;
+}
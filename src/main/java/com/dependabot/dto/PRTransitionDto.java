@@ -0,0 +1,35 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for a recorded state transition of a Dependabot PR
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State transition of a Dependabot PR observed by a sync")
+public class PRTransitionDto {
+
+    @Schema(description = "Repository identifier", example = "techronymsService")
+    private String repository;
+
+    @Schema(description = "GitHub PR number", example = "123")
+    private Integer number;
+
+    @Schema(description = "Name of the dependency being updated", example = "spring-boot")
+    private String dependency;
+
+    @Schema(description = "Transition", example = "MERGED", allowableValues = {"OPENED", "UPDATED", "CLOSED", "MERGED"})
+    private String transition;
+
+    @Schema(description = "When the transition happened on GitHub", example = "2024-01-16T14:20:00Z")
+    private Instant occurredAt;
+}
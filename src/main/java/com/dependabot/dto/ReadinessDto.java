@@ -0,0 +1,133 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the readiness check
+ * GitHub-facing fields come from the most recent background probe
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Readiness of the service to serve PR data")
+public class ReadinessDto {
+
+    @Schema(description = "Overall readiness; DEGRADED is ready, serving cached data while GitHub has problems",
+            example = "UP", allowableValues = {"UP", "DEGRADED", "DOWN"})
+    private String status;
+
+    @Schema(description = "Service name", example = "dependabot-pr-service")
+    private String service;
+
+    @Schema(description = "Reasons the service is not ready; empty when ready")
+    private List<String> reasons;
+
+    @Schema(description = "GitHub problems the service is serving around from cached or last known good data")
+    private List<String> degraded;
+
+    @Schema(description = "When GitHub was last probed", example = "2024-01-15T10:30:00Z")
+    private Instant checkedAt;
+
+    @Schema(description = "Whether the last probe reached GitHub for every installation", example = "true")
+    private Boolean githubReachable;
+
+    @Schema(description = "First error reported by the last probe")
+    private String githubError;
+
+    @Schema(description = "State of the circuit breaker around GitHub calls", example = "CLOSED",
+            allowableValues = {"CLOSED", "OPEN", "HALF_OPEN"})
+    private String githubCircuit;
+
+    @Schema(description = "When an open circuit next lets a call through to GitHub", example = "2024-01-15T10:30:30Z")
+    private Instant githubCircuitRetryAt;
+
+    @Schema(description = "Earliest installation token expiry", example = "2024-01-15T11:25:00Z")
+    private Instant tokenExpiresAt;
+
+    @Schema(description = "Core rate limit of the installation with the least budget left", example = "5000")
+    private Integer rateLimitLimit;
+
+    @Schema(description = "Lowest remaining core rate-limit budget across installations", example = "4870")
+    private Integer rateLimitRemaining;
+
+    @Schema(description = "When that installation's core rate limit resets", example = "2024-01-15T11:00:00Z")
+    private Instant rateLimitResetAt;
+
+    @Schema(description = "Whether every configured repository is cached", example = "true")
+    private Boolean cacheWarm;
+
+    @Schema(description = "Sync state per configured repository")
+    private List<RepositorySync> repositories;
+
+    @Schema(description = "Probe result per GitHub App installation")
+    private List<InstallationStatus> installations;
+
+    /**
+     * Probe result of a single GitHub App installation
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Probe result of a GitHub App installation")
+    public static class InstallationStatus {
+
+        @Schema(description = "Installation name", example = "derynLeigh")
+        private String name;
+
+        @Schema(description = "Owner the installation belongs to", example = "derynLeigh")
+        private String owner;
+
+        @Schema(description = "Whether the last probe reached GitHub", example = "true")
+        private Boolean reachable;
+
+        @Schema(description = "Error reported by the last failed probe")
+        private String error;
+
+        @Schema(description = "When the installation token expires", example = "2024-01-15T11:25:00Z")
+        private Instant tokenExpiresAt;
+
+        @Schema(description = "Core rate limit for the installation", example = "5000")
+        private Integer rateLimitLimit;
+
+        @Schema(description = "Remaining core rate-limit budget", example = "4870")
+        private Integer rateLimitRemaining;
+
+        @Schema(description = "When the core rate limit resets", example = "2024-01-15T11:00:00Z")
+        private Instant rateLimitResetAt;
+    }
+
+    /**
+     * Sync state of a single repository
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Sync state of a repository")
+    public static class RepositorySync {
+
+        @Schema(description = "Repository name", example = "techronymsService")
+        private String repository;
+
+        @Schema(description = "When PRs were last fetched successfully", example = "2024-01-15T10:29:00Z")
+        private Instant lastSuccessfulSync;
+
+        @Schema(description = "Milliseconds since the last successful sync", example = "60000")
+        private Long syncAgeMs;
+
+        @Schema(description = "Whether the repository is currently cached", example = "true")
+        private Boolean cached;
+
+        @Schema(description = "Whether a last known good list is held to serve while GitHub fails", example = "true")
+        private Boolean lastKnownGood;
+    }
+}
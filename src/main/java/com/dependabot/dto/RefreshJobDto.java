@@ -0,0 +1,62 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for an asynchronous cache refresh job
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Handle for an asynchronous cache refresh")
+public class RefreshJobDto {
+
+    /**
+     * Lifecycle of a refresh job
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Schema(description = "Job identifier used for polling", example = "3f2b8c1e-6a3d-4e8e-9b7a-1c2d3e4f5a6b")
+    private String jobId;
+
+    @Schema(description = "Current job status", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Repositories being refreshed")
+    private List<String> repositories;
+
+    @Schema(description = "Repositories refreshed successfully so far")
+    private List<String> completed;
+
+    @Schema(description = "Repositories that failed to refresh, with the error message")
+    private Map<String, String> failed;
+
+    @Schema(description = "PRs served from the detail cache because they had not changed since the last sync", example = "38")
+    private Integer detailsReused;
+
+    @Schema(description = "PRs whose details were fetched from GitHub", example = "2")
+    private Integer detailsFetched;
+
+    @Schema(description = "Share of PRs served from the detail cache", example = "0.95")
+    private Double detailHitRate;
+
+    @Schema(description = "When the job was submitted", example = "2024-01-15T10:30:00Z")
+    private Instant submittedAt;
+
+    @Schema(description = "When the job finished", example = "2024-01-15T10:30:02Z")
+    private Instant completedAt;
+}
@@ -0,0 +1,27 @@
+package com.dependabot.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for how long Dependabot PRs of a dependency took to merge
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mean time from opening to merge of a dependency's Dependabot PRs")
+public class TimeToMergeDto {
+
+    @Schema(description = "Name of the dependency", example = "spring-boot")
+    private String dependency;
+
+    @Schema(description = "PRs merged in the window", example = "6")
+    private Long mergedCount;
+
+    @Schema(description = "Mean milliseconds from opening to merge", example = "172800000")
+    private Long meanTimeToMergeMs;
+}
@@ -0,0 +1,108 @@
+package com.dependabot.scheduler;
+
+import com.dependabot.service.GitHubService;
+import com.dependabot.service.PRDetailCacheUsage;
+import com.dependabot.service.SyncLeaderElection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Refreshes the PR cache for every configured repository on a cron schedule
+ * Only created when scheduler.enabled is true; refreshes share in-flight fetches with concurrent requests.
+ * With leader election only the sync leader refreshes, and the other replicas pick its results up from the shared cache
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.enabled", havingValue = "true")
+public class PRRefreshScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PRRefreshScheduler.class);
+
+    private final GitHubService gitHubService;
+    private final SyncLeaderElection leaderElection;
+    private final int maxRetries;
+    private final long retryDelayMs;
+
+    public PRRefreshScheduler(GitHubService gitHubService,
+                              SyncLeaderElection leaderElection,
+                              @Value("${scheduler.max-retries:3}") int maxRetries,
+                              @Value("${scheduler.retry-delay-ms:5000}") long retryDelayMs) {
+        this.gitHubService = gitHubService;
+        this.leaderElection = leaderElection;
+        this.maxRetries = maxRetries;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /**
+     * Refresh every configured repository across all installations
+     */
+    @Scheduled(cron = "${scheduler.cron:0 0 7 * * *}")
+    public void refreshAll() {
+        if (!leaderElection.isLeader()) {
+            log.info("Skipping scheduled refresh; another replica is the GitHub sync leader");
+            return;
+        }
+        List<String> repositories = gitHubService.getRepositoryKeys();
+        log.info("Scheduled refresh of {} repositories started", repositories.size());
+
+        int failed = 0;
+        int detailsReused = 0;
+        int detailsFetched = 0;
+        for (String repository : repositories) {
+            if (!refreshWithRetry(repository)) {
+                failed++;
+            } else {
+                PRDetailCacheUsage usage = gitHubService.getLastDetailCacheUsage(repository).orElse(null);
+                if (usage != null) {
+                    detailsReused += usage.reused();
+                    detailsFetched += usage.fetched();
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Scheduled refresh interrupted");
+                return;
+            }
+        }
+
+        log.info("Scheduled refresh finished: {} refreshed, {} failed; {} PRs reused from the detail cache, {} fetched in detail ({}% hit rate)",
+                repositories.size() - failed, failed, detailsReused, detailsFetched,
+                Math.round(new PRDetailCacheUsage(detailsReused, detailsFetched).hitRate() * 100));
+    }
+
+    /**
+     * Refresh one repository, retrying up to max-retries times after the first attempt
+     *
+     * @param repository repository identifier
+     * @return true if the refresh eventually succeeded
+     */
+    boolean refreshWithRetry(String repository) {
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            try {
+                gitHubService.refreshDependabotPRs(repository);
+                return true;
+            } catch (Exception e) {
+                log.warn("Refresh of {} failed (attempt {} of {}): {}", repository, attempt + 1, maxRetries + 1, e.getMessage());
+            }
+            if (attempt < maxRetries && !sleep(retryDelayMs)) {
+                return false;
+            }
+        }
+        log.error("Giving up refreshing {} after {} attempts", repository, maxRetries + 1);
+        return false;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GitHub response whose body is already held in memory
+ */
+final class BufferedGitHubResponse extends GitHubConnectorResponse {
+
+    private final byte[] body;
+
+    BufferedGitHubResponse(GitHubConnectorRequest request, int status, Map<String, List<String>> headers, byte[] body) {
+        super(request, status, headers);
+        this.body = body;
+    }
+
+    @Override
+    protected InputStream rawBodyStream() {
+        return new ByteArrayInputStream(body);
+    }
+}
@@ -0,0 +1,320 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.BulkJobDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies bulk PR actions from the persistent queue at a pace GitHub accepts
+ * At most one action per repository runs at a time, at most max-concurrency overall, and starts are spaced by
+ * min-interval, as GitHub asks of content-creating requests. A rate-limited action is queued again for when GitHub
+ * says to retry and pauses every dispatch until then; other transient failures are retried with exponential backoff.
+ * Each merge removes the PR from the cached lists as it completes.
+ * Only the sync leader works the queue, as the limits are kept per node; with leader election the replicas must
+ * share the history database that holds it
+ */
+@Service
+public class BulkActionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkActionService.class);
+
+    /**
+     * Backoff when GitHub rate-limits without saying for how long, as its documentation suggests
+     */
+    static final Duration DEFAULT_RATE_LIMIT_BACKOFF = Duration.ofSeconds(60);
+
+    private final BulkActionStore store;
+    private final GitHubService gitHubService;
+    private final SyncLeaderElection leaderElection;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Duration minInterval;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration jobRetention;
+
+    private final Set<String> busyRepositories = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * When the earliest queued item is due, or null when the queue is empty; saves idle polls a query
+     */
+    private volatile Instant nextDue = Instant.EPOCH;
+    private volatile Instant pausedUntil = Instant.EPOCH;
+    private Instant nextStart = Instant.EPOCH;
+    private boolean recoveryPending = true;
+
+    public BulkActionService(BulkActionStore store,
+                             GitHubService gitHubService,
+                             SyncLeaderElection leaderElection,
+                             @Qualifier("bulkActionExecutor") Executor executor,
+                             @Value("${bulk.max-concurrency:4}") int maxConcurrency,
+                             @Value("${bulk.min-interval-ms:1000}") long minIntervalMs,
+                             @Value("${bulk.max-attempts:5}") int maxAttempts,
+                             @Value("${bulk.retry-delay-ms:5000}") long retryDelayMs,
+                             @Value("${bulk.job-retention-ms:604800000}") long jobRetentionMs) {
+        this.store = store;
+        this.gitHubService = gitHubService;
+        this.leaderElection = leaderElection;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.minInterval = Duration.ofMillis(minIntervalMs);
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        this.jobRetention = Duration.ofMillis(jobRetentionMs);
+    }
+
+    /**
+     * Queue again the actions left running by this node when it last stopped, or by the leader it takes over from
+     * GitHub may have applied some of them; approving, merging or commenting again fails or repeats harmlessly
+     */
+    private void recoverInterrupted() {
+        int recovered = store.requeueRunning();
+        if (recovered > 0) {
+            log.info("Queued {} interrupted bulk actions again", recovered);
+        }
+        nextDue = store.nextDue();
+    }
+
+    /**
+     * Queue an action on every PR of the request
+     * Only open Dependabot PRs of configured repositories are queued; any other PR fails without reaching GitHub
+     *
+     * @return job handle to poll
+     * @throws IllegalArgumentException if a repository resolves to no installation or is not configured
+     */
+    public BulkJobDto submit(BulkActionRequest request) {
+        List<BulkActionStore.Target> targets = request.getPrs().stream()
+                .map(pr -> new BulkActionStore.Target(gitHubService.configuredRepository(pr.getRepository()), pr.getNumber()))
+                .distinct()
+                .map(target -> gitHubService.isOpenDependabotPR(target.repository(), target.number())
+                        ? target
+                        : new BulkActionStore.Target(target.repository(), target.number(), "Not an open Dependabot PR"))
+                .toList();
+        BulkActionStore.Job job = new BulkActionStore.Job(UUID.randomUUID().toString(), request.getAction(),
+                request.getAction() == BulkAction.MERGE ? request.getMergeMethod() : null, Instant.now());
+        store.createJob(job, targets);
+        log.info("Queued bulk {} job {} for {} PRs, refused {}", job.action(), job.jobId(),
+                targets.stream().filter(target -> target.error() == null).count(),
+                targets.stream().filter(target -> target.error() != null).count());
+
+        nextDue = job.submittedAt();
+        dispatch();
+        return toDto(job, store.findItems(job.jobId()));
+    }
+
+    /**
+     * Look up a bulk job
+     *
+     * @param jobId job identifier
+     * @return the job, if it has not been purged
+     */
+    public Optional<BulkJobDto> getJob(String jobId) {
+        return store.findJob(jobId).map(job -> toDto(job, store.findItems(jobId)));
+    }
+
+    /**
+     * Start every due action the limits allow
+     * Runs on a fixed delay and whenever an action is queued or finishes. On a node that has just become the leader,
+     * interrupted actions are recovered first, once none of its own are still running
+     */
+    @Scheduled(fixedDelayString = "${bulk.poll-interval-ms:1000}")
+    public synchronized void dispatch() {
+        if (!leaderElection.isLeader()) {
+            recoveryPending = true;
+            return;
+        }
+        if (recoveryPending && running.get() == 0) {
+            recoveryPending = false;
+            recoverInterrupted();
+        }
+        Instant now = Instant.now();
+        Instant due = nextDue;
+        if (due == null || now.isBefore(due) || now.isBefore(pausedUntil)
+                || now.isBefore(nextStart) || running.get() >= maxConcurrency) {
+            return;
+        }
+
+        for (BulkActionStore.Item item : store.findDue(now, maxConcurrency * 4)) {
+            if (running.get() >= maxConcurrency || now.isBefore(nextStart) || now.isBefore(pausedUntil)) {
+                break;
+            }
+            if (busyRepositories.contains(item.repository()) || !store.claim(item.id())) {
+                continue;
+            }
+            busyRepositories.add(item.repository());
+            running.incrementAndGet();
+            nextStart = now.plus(minInterval);
+            try {
+                executor.execute(() -> run(item));
+            } catch (RejectedExecutionException e) {
+                store.requeue(item.id(), now, null, false);
+                release(item);
+                break;
+            }
+        }
+        nextDue = store.nextDue();
+    }
+
+    /**
+     * Delete finished jobs older than the retention, in the history purge window
+     */
+    @Scheduled(cron = "${history.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        int purged = store.purgeFinished(Instant.now().minus(jobRetention));
+        if (purged > 0) {
+            log.info("Purged {} finished bulk jobs", purged);
+        }
+    }
+
+    private void run(BulkActionStore.Item item) {
+        try {
+            GitHubInstallation.Response response = gitHubService.performBulkAction(
+                    item.repository(), item.number(), item.action(), item.mergeMethod());
+            Optional<Duration> backoff = rateLimitBackoff(response, Instant.now());
+            if (response.isSuccessful()) {
+                store.complete(item.id(), BulkJobDto.ItemState.SUCCEEDED, null, Instant.now());
+                if (item.action() == BulkAction.MERGE) {
+                    gitHubService.removeFromCachedLists(item.repository(), item.number());
+                }
+                log.debug("Bulk {} of {}#{} succeeded", item.action(), item.repository(), item.number());
+            } else if (backoff.isPresent()) {
+                Instant retryAt = Instant.now().plus(backoff.get());
+                pausedUntil = retryAt;
+                store.requeue(item.id(), retryAt, "Rate limited by GitHub until " + retryAt, false);
+                log.warn("GitHub rate-limited bulk {} of {}#{}; pausing bulk actions until {}",
+                        item.action(), item.repository(), item.number(), retryAt);
+            } else if (response.status() >= 500) {
+                retry(item, "GitHub answered HTTP " + response.status());
+            } else {
+                store.complete(item.id(), BulkJobDto.ItemState.FAILED, errorMessage(response), Instant.now());
+                log.info("Bulk {} of {}#{} failed: HTTP {}", item.action(), item.repository(), item.number(),
+                        response.status());
+            }
+        } catch (IOException e) {
+            retry(item, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Bulk {} of {}#{} failed", item.action(), item.repository(), item.number(), e);
+            store.complete(item.id(), BulkJobDto.ItemState.FAILED, e.getMessage(), Instant.now());
+        } finally {
+            release(item);
+            nextDue = Instant.EPOCH;
+            dispatch();
+        }
+    }
+
+    private void retry(BulkActionStore.Item item, String error) {
+        int attempt = item.retries() + 1;
+        if (attempt >= maxAttempts) {
+            store.complete(item.id(), BulkJobDto.ItemState.FAILED, error, Instant.now());
+            log.info("Bulk {} of {}#{} failed after {} attempts: {}", item.action(), item.repository(), item.number(),
+                    attempt, error);
+            return;
+        }
+        Instant retryAt = Instant.now().plus(retryDelay.multipliedBy(1L << (attempt - 1)));
+        store.requeue(item.id(), retryAt, error, true);
+        log.debug("Bulk {} of {}#{} failed (attempt {} of {}), retrying at {}: {}", item.action(), item.repository(),
+                item.number(), attempt, maxAttempts, retryAt, error);
+    }
+
+    private void release(BulkActionStore.Item item) {
+        busyRepositories.remove(item.repository());
+        running.decrementAndGet();
+    }
+
+    /**
+     * How long GitHub asks to wait, if the response is a primary or secondary rate limit
+     * A 403 that is neither is a permission error and is not retried
+     */
+    static Optional<Duration> rateLimitBackoff(GitHubInstallation.Response response, Instant now) {
+        if (response.status() != 403 && response.status() != 429) {
+            return Optional.empty();
+        }
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+            } catch (NumberFormatException e) {
+                return Optional.of(DEFAULT_RATE_LIMIT_BACKOFF);
+            }
+        }
+        String reset = response.header("X-RateLimit-Reset");
+        if ("0".equals(response.header("X-RateLimit-Remaining")) && reset != null) {
+            try {
+                Duration untilReset = Duration.between(now, Instant.ofEpochSecond(Long.parseLong(reset.trim())));
+                return Optional.of(untilReset.isNegative() ? Duration.ZERO : untilReset);
+            } catch (NumberFormatException e) {
+                return Optional.of(DEFAULT_RATE_LIMIT_BACKOFF);
+            }
+        }
+        if (response.status() == 429 || errorMessage(response).toLowerCase(Locale.ROOT).contains("rate limit")) {
+            return Optional.of(DEFAULT_RATE_LIMIT_BACKOFF);
+        }
+        return Optional.empty();
+    }
+
+    private static String errorMessage(GitHubInstallation.Response response) {
+        String message = response.body().path("message").asText("");
+        return message.isEmpty() ? "GitHub answered HTTP " + response.status() : message;
+    }
+
+    private static BulkJobDto toDto(BulkActionStore.Job job, List<BulkActionStore.Item> items) {
+        int succeeded = (int) items.stream().filter(item -> item.state() == BulkJobDto.ItemState.SUCCEEDED).count();
+        int failed = (int) items.stream().filter(item -> item.state() == BulkJobDto.ItemState.FAILED).count();
+        boolean started = items.stream().anyMatch(item -> item.state() != BulkJobDto.ItemState.QUEUED || item.retries() > 0
+                || item.error() != null);
+
+        BulkJobDto.Status status;
+        if (succeeded + failed == items.size()) {
+            status = failed > 0 ? BulkJobDto.Status.FAILED : BulkJobDto.Status.COMPLETED;
+        } else {
+            status = started ? BulkJobDto.Status.RUNNING : BulkJobDto.Status.PENDING;
+        }
+
+        return BulkJobDto.builder()
+                .jobId(job.jobId())
+                .status(status)
+                .action(job.action())
+                .mergeMethod(job.mergeMethod())
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(failed)
+                .items(items.stream()
+                        .map(item -> BulkJobDto.Item.builder()
+                                .repository(item.repository())
+                                .number(item.number())
+                                .state(item.state())
+                                .retries(item.retries())
+                                .error(item.error())
+                                .notBefore(item.state() == BulkJobDto.ItemState.QUEUED ? item.notBefore() : null)
+                                .completedAt(item.completedAt())
+                                .build())
+                        .toList())
+                .submittedAt(job.submittedAt())
+                .completedAt(status == BulkJobDto.Status.COMPLETED || status == BulkJobDto.Status.FAILED
+                        ? items.stream().map(BulkActionStore.Item::completedAt).filter(Objects::nonNull)
+                                .max(Instant::compareTo).orElse(job.submittedAt())
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.BulkJobDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent work queue of bulk PR actions
+ * Items move QUEUED -> RUNNING -> SUCCEEDED or FAILED; a RUNNING item goes back to QUEUED when it is rescheduled.
+ * Claiming is a conditional update, so an item is never handed to two workers
+ */
+@Repository
+public class BulkActionStore {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String ITEM_COLUMNS = "i.id, i.job_id, i.repository, i.number, i.state, i.retries, i.not_before, "
+            + "i.error, i.completed_at, j.action, j.merge_method";
+
+    /**
+     * A submitted job without its items
+     */
+    public record Job(String jobId, BulkAction action, BulkActionRequest.MergeMethod mergeMethod, Instant submittedAt) {
+    }
+
+    /**
+     * One PR of a job, with the job's action
+     *
+     * @param repository "owner/repo"
+     * @param retries failed attempts that were retried
+     */
+    public record Item(long id, String jobId, String repository, int number, BulkAction action,
+                       BulkActionRequest.MergeMethod mergeMethod, BulkJobDto.ItemState state, int retries,
+                       Instant notBefore, String error, Instant completedAt) {
+    }
+
+    /**
+     * A PR to queue
+     *
+     * @param repository "owner/repo"
+     * @param error why the PR is refused without being queued, or null to queue it
+     */
+    public record Target(String repository, int number, String error) {
+
+        public Target(String repository, int number) {
+            this(repository, number, null);
+        }
+    }
+
+    private static final RowMapper<Item> ITEM_MAPPER = (rs, row) -> new Item(
+            rs.getLong("id"),
+            rs.getString("job_id"),
+            rs.getString("repository"),
+            rs.getInt("number"),
+            BulkAction.valueOf(rs.getString("action")),
+            mergeMethod(rs),
+            BulkJobDto.ItemState.valueOf(rs.getString("state")),
+            rs.getInt("retries"),
+            instant(rs, "not_before"),
+            rs.getString("error"),
+            instant(rs, "completed_at"));
+
+    private final JdbcTemplate jdbc;
+
+    public BulkActionStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Queue a job with one item per target, all due immediately
+     * Targets carrying an error are recorded as FAILED with it instead
+     */
+    @Transactional
+    public void createJob(Job job, List<Target> targets) {
+        jdbc.update("INSERT INTO bulk_action_job (job_id, action, merge_method, submitted_at) VALUES (?, ?, ?, ?)",
+                job.jobId(), job.action().name(), job.mergeMethod() != null ? job.mergeMethod().name() : null,
+                timestamp(job.submittedAt()));
+        jdbc.batchUpdate("INSERT INTO bulk_action_item (job_id, repository, number, state, retries, not_before, error, "
+                        + "completed_at) VALUES (?, ?, ?, ?, 0, ?, ?, ?)",
+                targets.stream()
+                        .map(target -> new Object[]{job.jobId(), target.repository(), target.number(),
+                                target.error() == null ? "QUEUED" : "FAILED", timestamp(job.submittedAt()),
+                                truncate(target.error()), target.error() == null ? null : timestamp(job.submittedAt())})
+                        .toList());
+    }
+
+    public Optional<Job> findJob(String jobId) {
+        return jdbc.query("SELECT job_id, action, merge_method, submitted_at FROM bulk_action_job WHERE job_id = ?",
+                (rs, row) -> new Job(rs.getString("job_id"), BulkAction.valueOf(rs.getString("action")),
+                        mergeMethod(rs), instant(rs, "submitted_at")),
+                jobId).stream().findFirst();
+    }
+
+    /**
+     * @return the job's items in submission order
+     */
+    public List<Item> findItems(String jobId) {
+        return jdbc.query("SELECT " + ITEM_COLUMNS + " FROM bulk_action_item i JOIN bulk_action_job j ON j.job_id = i.job_id "
+                + "WHERE i.job_id = ? ORDER BY i.id", ITEM_MAPPER, jobId);
+    }
+
+    /**
+     * @param limit most items to return
+     * @return queued items due by the given time, oldest first
+     */
+    public List<Item> findDue(Instant now, int limit) {
+        return jdbc.query("SELECT " + ITEM_COLUMNS + " FROM bulk_action_item i JOIN bulk_action_job j ON j.job_id = i.job_id "
+                + "WHERE i.state = 'QUEUED' AND i.not_before <= ? ORDER BY i.not_before, i.id LIMIT ?",
+                ITEM_MAPPER, timestamp(now), limit);
+    }
+
+    /**
+     * @return when the earliest queued item is due, or null if nothing is queued
+     */
+    public Instant nextDue() {
+        OffsetDateTime next = jdbc.queryForObject("SELECT MIN(not_before) FROM bulk_action_item WHERE state = 'QUEUED'",
+                OffsetDateTime.class);
+        return next != null ? next.toInstant() : null;
+    }
+
+    /**
+     * Move a queued item to RUNNING
+     *
+     * @return false if another worker claimed it first
+     */
+    public boolean claim(long id) {
+        return jdbc.update("UPDATE bulk_action_item SET state = 'RUNNING' WHERE id = ? AND state = 'QUEUED'", id) == 1;
+    }
+
+    /**
+     * Record the outcome of a running item
+     *
+     * @param state SUCCEEDED or FAILED
+     * @param error why it failed, or null
+     */
+    public void complete(long id, BulkJobDto.ItemState state, String error, Instant completedAt) {
+        jdbc.update("UPDATE bulk_action_item SET state = ?, error = ?, completed_at = ? WHERE id = ?",
+                state.name(), truncate(error), timestamp(completedAt), id);
+    }
+
+    /**
+     * Put a running item back in the queue
+     *
+     * @param notBefore earliest time to try it again
+     * @param error why the attempt did not go through
+     * @param retry whether the attempt counts as a failed one; rate-limited attempts do not
+     */
+    public void requeue(long id, Instant notBefore, String error, boolean retry) {
+        jdbc.update("UPDATE bulk_action_item SET state = 'QUEUED', not_before = ?, error = ?, retries = retries + ? WHERE id = ?",
+                timestamp(notBefore), truncate(error), retry ? 1 : 0, id);
+    }
+
+    /**
+     * Queue again the items left running by a node that stopped; only safe while no worker is running
+     *
+     * @return number of items queued again
+     */
+    public int requeueRunning() {
+        return jdbc.update("UPDATE bulk_action_item SET state = 'QUEUED' WHERE state = 'RUNNING'");
+    }
+
+    /**
+     * Delete jobs submitted before the cutoff whose items have all finished
+     *
+     * @return number of jobs deleted
+     */
+    @Transactional
+    public int purgeFinished(Instant cutoff) {
+        String finished = "SELECT job_id FROM bulk_action_job j WHERE submitted_at < ? AND NOT EXISTS ("
+                + "SELECT 1 FROM bulk_action_item i WHERE i.job_id = j.job_id AND i.state IN ('QUEUED', 'RUNNING'))";
+        jdbc.update("DELETE FROM bulk_action_item WHERE job_id IN (" + finished + ")", timestamp(cutoff));
+        return jdbc.update("DELETE FROM bulk_action_job WHERE job_id IN (" + finished + ")", timestamp(cutoff));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static BulkActionRequest.MergeMethod mergeMethod(ResultSet rs) throws SQLException {
+        String value = rs.getString("merge_method");
+        return value != null ? BulkActionRequest.MergeMethod.valueOf(value) : null;
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : value.toInstant();
+    }
+}
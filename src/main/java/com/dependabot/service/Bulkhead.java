@@ -0,0 +1,71 @@
+package com.dependabot.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls to GitHub
+ * Callers wait up to max-wait for a free slot and are rejected after that
+ */
+public class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrentCalls, Duration maxWait) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("Max concurrent calls must be at least 1");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * Take a slot, waiting up to max-wait
+     * Every successful acquire must be followed by release
+     *
+     * @throws GitHubCallRejectedException if no slot frees up in time
+     * @throws InterruptedIOException if interrupted while waiting
+     */
+    public void acquire() throws IOException {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new GitHubCallRejectedException("All " + maxConcurrentCalls
+                        + " GitHub call slots busy for " + maxWait.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a GitHub call slot");
+        }
+    }
+
+    /**
+     * Take a slot only if one is free right now, for callers that must not block such as an event loop
+     * A successful acquire must be followed by release
+     *
+     * @return true if a slot was taken
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * @return calls currently holding a slot
+     */
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
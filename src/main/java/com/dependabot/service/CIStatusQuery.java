@@ -0,0 +1,89 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.CIStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL query for the statusCheckRollup of a batch of a repository's pull requests
+ * Each PR is an aliased pullRequest field, so one request covers up to MAX_BATCH PRs instead of one call per PR
+ */
+final class CIStatusQuery {
+
+    /**
+     * Most PRs asked for in one query, keeping it well inside GitHub's node limit
+     */
+    static final int MAX_BATCH = 100;
+
+    private CIStatusQuery() {
+    }
+
+    /**
+     * Split PR numbers into batches of at most MAX_BATCH
+     */
+    static List<List<Integer>> batches(Collection<Integer> numbers) {
+        List<Integer> all = List.copyOf(numbers);
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_BATCH) {
+            batches.add(all.subList(from, Math.min(all.size(), from + MAX_BATCH)));
+        }
+        return batches;
+    }
+
+    /**
+     * @param numbers PR numbers of one batch
+     * @return query text taking $owner and $name variables
+     */
+    static String query(Collection<Integer> numbers) {
+        StringBuilder query = new StringBuilder("query($owner: String!, $name: String!) { repository(owner: $owner, name: $name) {");
+        for (int number : numbers) {
+            query.append(" pr").append(number).append(": pullRequest(number: ").append(number)
+                    .append(") { commits(last: 1) { nodes { commit { statusCheckRollup { state } } } } }");
+        }
+        return query.append(" } }").toString();
+    }
+
+    static Map<String, Object> variables(String owner, String repositoryName) {
+        return Map.of("owner", owner, "name", repositoryName);
+    }
+
+    /**
+     * Read the rolled-up state of each PR in a query response
+     * PRs GitHub could not resolve are left out rather than failing the batch
+     *
+     * @param response GraphQL response document
+     * @param numbers PR numbers the query asked for
+     * @return CI status by PR number
+     * @throws IOException if GitHub returned errors instead of the repository
+     */
+    static Map<Integer, CIStatus> parse(JsonNode response, Collection<Integer> numbers) throws IOException {
+        JsonNode repository = response.path("data").path("repository");
+        if (!repository.isObject()) {
+            throw new IOException("GitHub GraphQL query for CI status failed: " + response.path("errors"));
+        }
+        Map<Integer, CIStatus> statuses = new HashMap<>();
+        for (int number : numbers) {
+            JsonNode pr = repository.path("pr" + number);
+            if (!pr.isObject()) {
+                continue;
+            }
+            JsonNode state = pr.path("commits").path("nodes").path(0).path("commit").path("statusCheckRollup").path("state");
+            if (!state.isTextual()) {
+                statuses.put(number, CIStatus.NONE);
+                continue;
+            }
+            try {
+                statuses.put(number, CIStatus.valueOf(state.asText()));
+            } catch (IllegalArgumentException e) {
+                // A state added by GitHub after this was written; report it as unknown
+            }
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,281 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.CacheEntryDto;
+import com.dependabot.dto.CacheStatsDto;
+import com.dependabot.dto.CoalescingStatsDto;
+import com.dependabot.dto.RefreshJobDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for inspecting and managing the github-prs cache
+ * Invalidation is immediate; refreshes run on a background executor and are tracked as jobs
+ */
+@Service
+public class CacheAdminService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheAdminService.class);
+
+    private final CacheManager cacheManager;
+    private final GitHubService gitHubService;
+    private final Executor cacheRefreshExecutor;
+    private final com.github.benmanes.caffeine.cache.Cache<String, RefreshJobDto> jobs;
+
+    public CacheAdminService(CacheManager cacheManager,
+                             GitHubService gitHubService,
+                             @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                             @Value("${cache.refresh.job-retention-ms:3600000}") long jobRetentionMs) {
+        this.cacheManager = cacheManager;
+        this.gitHubService = gitHubService;
+        this.cacheRefreshExecutor = cacheRefreshExecutor;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetentionMs, TimeUnit.MILLISECONDS)
+                .maximumSize(1000)
+                .build();
+    }
+
+    /**
+     * List cached repositories with their age and size
+     *
+     * @return one entry per cached repository, sorted by repository name
+     */
+    public List<CacheEntryDto> listEntries() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache();
+        Optional<Policy.FixedExpiration<Object, Object>> expiration = nativeCache.policy().expireAfterWrite();
+        Optional<Policy.Eviction<Object, Object>> eviction = nativeCache.policy().eviction();
+
+        List<CacheEntryDto> entries = new ArrayList<>();
+        nativeCache.asMap().forEach((key, value) -> {
+            Optional<Duration> age = expiration.flatMap(policy -> policy.ageOf(key));
+            entries.add(CacheEntryDto.builder()
+                    .repository(String.valueOf(key))
+                    .size(value instanceof Collection<?> prs ? prs.size() : null)
+                    .weightBytes(eviction.map(policy -> policy.weightOf(key))
+                            .filter(OptionalInt::isPresent)
+                            .map(OptionalInt::getAsInt)
+                            .orElse(null))
+                    .ageMs(age.map(Duration::toMillis).orElse(null))
+                    .expiresInMs(expiration.flatMap(policy -> age.map(a -> policy.getExpiresAfter().minus(a).toMillis()))
+                            .orElse(null))
+                    .build());
+        });
+        entries.sort(Comparator.comparing(CacheEntryDto::getRepository));
+        return entries;
+    }
+
+    /**
+     * Report Caffeine statistics for the github-prs cache
+     *
+     * @return cache statistics snapshot
+     */
+    public CacheStatsDto getStats() {
+        return stats(CacheConfig.GITHUB_PRS_CACHE, nativeCache());
+    }
+
+    /**
+     * Report Caffeine statistics for any configured cache
+     *
+     * @param cacheName e.g. github-pr-details
+     * @return cache statistics snapshot, or empty if no Caffeine cache has that name
+     */
+    public Optional<CacheStatsDto> getStats(String cacheName) {
+        if (!cacheManager.getCacheNames().contains(cacheName)
+                || !(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            return Optional.empty();
+        }
+        return Optional.of(stats(cacheName, caffeineCache.getNativeCache()));
+    }
+
+    private static CacheStatsDto stats(String cacheName, com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache) {
+        CacheStats stats = nativeCache.stats();
+        Optional<Policy.Eviction<Object, Object>> eviction = nativeCache.policy().eviction();
+
+        return CacheStatsDto.builder()
+                .cacheName(cacheName)
+                .estimatedSize(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyNanos(stats.averageLoadPenalty())
+                .evictionCount(stats.evictionCount())
+                .weightedSizeBytes(eviction.map(Policy.Eviction::weightedSize)
+                        .filter(OptionalLong::isPresent)
+                        .map(OptionalLong::getAsLong)
+                        .orElse(null))
+                .maximumWeightBytes(eviction.filter(Policy.Eviction::isWeighted).map(Policy.Eviction::getMaximum).orElse(null))
+                .build();
+    }
+
+    /**
+     * Report how many callers shared each GitHub fetch
+     *
+     * @return coalescing statistics snapshot
+     */
+    public CoalescingStatsDto getCoalescingStats() {
+        SingleFlight.Stats stats = gitHubService.getCoalescingStats();
+
+        return CoalescingStatsDto.builder()
+                .loads(stats.loads())
+                .absorbedCallers(stats.absorbedCallers())
+                .averageAbsorbedPerLoad(stats.loads() > 0 ? (double) stats.absorbedCallers() / stats.loads() : 0.0)
+                .maxAbsorbedPerLoad(stats.maxAbsorbed())
+                .inFlight(stats.inFlight())
+                .absorbedHistogram(stats.absorbedHistogram())
+                .build();
+    }
+
+    /**
+     * Drop the cached entry for one repository
+     *
+     * @param repositoryName repository to invalidate
+     * @return true if an entry was present
+     */
+    public boolean invalidate(String repositoryName) {
+        boolean present = prCache().evictIfPresent(repositoryName);
+        log.info("Invalidated cache entry for {} (present: {})", repositoryName, present);
+        return present;
+    }
+
+    /**
+     * Drop every cached entry
+     */
+    public void invalidateAll() {
+        prCache().invalidate();
+        log.info("Invalidated all cache entries");
+    }
+
+    /**
+     * Start an asynchronous refresh of one repository
+     *
+     * @param repositoryName repository to refresh
+     * @return job handle to poll
+     */
+    public RefreshJobDto refresh(String repositoryName) {
+        return submit(List.of(repositoryName));
+    }
+
+    /**
+     * Start an asynchronous refresh of every configured repository across all installations
+     *
+     * @return job handle to poll
+     */
+    public RefreshJobDto refreshAll() {
+        return submit(List.copyOf(gitHubService.getRepositoryKeys()));
+    }
+
+    /**
+     * Look up a refresh job
+     *
+     * @param jobId job identifier
+     * @return the job, if it is still retained
+     */
+    public Optional<RefreshJobDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private RefreshJobDto submit(List<String> repositories) {
+        RefreshJobDto job = RefreshJobDto.builder()
+                .jobId(UUID.randomUUID().toString())
+                .status(repositories.isEmpty() ? RefreshJobDto.Status.COMPLETED : RefreshJobDto.Status.PENDING)
+                .repositories(repositories)
+                .completed(List.of())
+                .failed(Map.of())
+                .detailsReused(0)
+                .detailsFetched(0)
+                .detailHitRate(0.0)
+                .submittedAt(Instant.now())
+                .completedAt(repositories.isEmpty() ? Instant.now() : null)
+                .build();
+        jobs.put(job.getJobId(), job);
+
+        log.info("Submitted cache refresh job {} for {}", job.getJobId(), repositories);
+
+        for (String repository : repositories) {
+            try {
+                CompletableFuture.runAsync(() -> refreshRepository(job.getJobId(), repository), cacheRefreshExecutor);
+            } catch (RuntimeException e) {
+                log.warn("Refresh of {} rejected for job {}", repository, job.getJobId(), e);
+                recordResult(job.getJobId(), repository, "Refresh rejected: " + e.getMessage(), null);
+            }
+        }
+        return jobs.asMap().getOrDefault(job.getJobId(), job);
+    }
+
+    private void refreshRepository(String jobId, String repository) {
+        jobs.asMap().computeIfPresent(jobId, (id, job) -> job.getStatus() == RefreshJobDto.Status.PENDING
+                ? job.toBuilder().status(RefreshJobDto.Status.RUNNING).build()
+                : job);
+        try {
+            gitHubService.refreshDependabotPRs(repository);
+            recordResult(jobId, repository, null, gitHubService.getLastDetailCacheUsage(repository).orElse(null));
+        } catch (Exception e) {
+            log.error("Error refreshing cache for repository: {}", repository, e);
+            recordResult(jobId, repository, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), null);
+        }
+    }
+
+    private void recordResult(String jobId, String repository, String error, PRDetailCacheUsage usage) {
+        jobs.asMap().computeIfPresent(jobId, (id, job) -> {
+            List<String> completed = new ArrayList<>(job.getCompleted());
+            Map<String, String> failed = new LinkedHashMap<>(job.getFailed());
+            if (error == null) {
+                completed.add(repository);
+            } else {
+                failed.put(repository, error);
+            }
+
+            boolean finished = completed.size() + failed.size() >= job.getRepositories().size();
+            RefreshJobDto.Status status = !finished
+                    ? RefreshJobDto.Status.RUNNING
+                    : failed.isEmpty() ? RefreshJobDto.Status.COMPLETED : RefreshJobDto.Status.FAILED;
+
+            int reused = job.getDetailsReused() + (usage != null ? usage.reused() : 0);
+            int fetched = job.getDetailsFetched() + (usage != null ? usage.fetched() : 0);
+
+            return job.toBuilder()
+                    .status(status)
+                    .completed(List.copyOf(completed))
+                    .failed(Collections.unmodifiableMap(failed))
+                    .detailsReused(reused)
+                    .detailsFetched(fetched)
+                    .detailHitRate(new PRDetailCacheUsage(reused, fetched).hitRate())
+                    .completedAt(finished ? Instant.now() : null)
+                    .build();
+        });
+    }
+
+    private Cache prCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CacheConfig.GITHUB_PRS_CACHE + "' is not configured");
+        }
+        return cache;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        Cache cache = prCache();
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new IllegalStateException("Cache '" + CacheConfig.GITHUB_PRS_CACHE + "' is not backed by Caffeine");
+        }
+        return caffeineCache.getNativeCache();
+    }
+}
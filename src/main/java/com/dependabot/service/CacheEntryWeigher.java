@@ -0,0 +1,73 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Caffeine weigher estimating the heap retained by a cache entry, in bytes
+ * Counts object headers, references and string contents of PR lists, single PRs and CI status maps, so a
+ * repository with hundreds of PRs and long bodies weighs what it costs. PRs shared between the list and detail
+ * caches are counted in both. The estimate assumes compressed references and Latin-1 strings
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int STRING = 24 + 16;
+    private static final int BOXED = 16;
+    private static final int INSTANT = 24;
+    private static final int PR_FIELDS = 20 * REFERENCE + 2 * Long.BYTES;
+    private static final int LIST = OBJECT_HEADER + 16;
+    private static final int MAP = OBJECT_HEADER + 16;
+    private static final int MAP_ENTRY = 32 + BOXED;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = weigh(key) + weigh(value);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return estimated bytes retained by the value, or a fixed small weight for types it does not know
+     */
+    static long weigh(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String string -> STRING + string.length();
+            case PRDto pr -> weigh(pr);
+            case Collection<?> collection -> {
+                long weight = LIST + (long) collection.size() * REFERENCE;
+                for (Object element : collection) {
+                    weight += weigh(element);
+                }
+                yield weight;
+            }
+            // CI status by PR number; the enum constants are shared
+            case Map<?, ?> map -> MAP + (long) map.size() * MAP_ENTRY;
+            default -> OBJECT_HEADER;
+        };
+    }
+
+    private static long weigh(PRDto pr) {
+        return OBJECT_HEADER + PR_FIELDS
+                + (pr.getNumber() != null ? BOXED : 0)
+                + (pr.getId() != null ? BOXED : 0)
+                + (pr.getCommits() != null ? BOXED : 0)
+                + (pr.getFilesChanged() != null ? BOXED : 0)
+                + (pr.getCreatedAt() != null ? INSTANT : 0)
+                + (pr.getUpdatedAt() != null ? INSTANT : 0)
+                + weigh(pr.getTitle())
+                + weigh(pr.getAuthor())
+                + weigh(pr.getOwner())
+                + weigh(pr.getRepository())
+                + weigh(pr.getUrl())
+                + weigh(pr.getState())
+                + weigh(pr.getDependency())
+                + weigh(pr.getCurrentVersion())
+                + weigh(pr.getProposedVersion())
+                + weigh(pr.getBody());
+    }
+}
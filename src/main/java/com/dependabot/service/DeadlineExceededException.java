@@ -0,0 +1,18 @@
+package com.dependabot.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request deadline passes before GitHub answered
+ * GitHub fetches for the request that no other request is waiting for have been cancelled when this is thrown
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,115 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.DependencyRollupDto;
+import com.dependabot.dto.DependencyVersionsDto;
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRRefDto;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Open Dependabot PRs grouped by the bump they make, and the current version of each dependency per repository
+ * Maintained per PR as repositories sync; PRs whose title names no dependency or version are left out
+ */
+@Component
+public class DependencyRollupView extends IncrementalPRView {
+
+    private record Bump(String dependency, String proposedVersion) {
+    }
+
+    private static final Comparator<Bump> BUMP_ORDER = Comparator.comparing(Bump::dependency)
+            .thenComparing(Bump::proposedVersion);
+
+    private final Map<Bump, Map<String, Map<Integer, PRRefDto>>> bumps = new HashMap<>();
+    private final Map<String, Map<String, Map<String, Integer>>> currentVersions = new HashMap<>();
+
+    @Override
+    protected void apply(String repository, PRDto pr) {
+        Bump bump = bumpOf(pr);
+        if (bump != null) {
+            bumps.computeIfAbsent(bump, key -> new HashMap<>())
+                    .computeIfAbsent(repository, key -> new HashMap<>())
+                    .put(pr.getNumber(), PRRefDto.of(repository, pr));
+        }
+        if (pr.getDependency() != null && pr.getCurrentVersion() != null) {
+            currentVersions.computeIfAbsent(pr.getDependency(), key -> new HashMap<>())
+                    .computeIfAbsent(repository, key -> new HashMap<>())
+                    .merge(pr.getCurrentVersion(), 1, Integer::sum);
+        }
+    }
+
+    @Override
+    protected void retract(String repository, PRDto pr) {
+        Bump bump = bumpOf(pr);
+        if (bump != null) {
+            Map<String, Map<Integer, PRRefDto>> byRepository = bumps.get(bump);
+            Map<Integer, PRRefDto> prs = byRepository.get(repository);
+            prs.remove(pr.getNumber());
+            if (prs.isEmpty() && byRepository.remove(repository) != null && byRepository.isEmpty()) {
+                bumps.remove(bump);
+            }
+        }
+        if (pr.getDependency() != null && pr.getCurrentVersion() != null) {
+            Map<String, Map<String, Integer>> byRepository = currentVersions.get(pr.getDependency());
+            Map<String, Integer> versions = byRepository.get(repository);
+            versions.computeIfPresent(pr.getCurrentVersion(), (version, count) -> count == 1 ? null : count - 1);
+            if (versions.isEmpty() && byRepository.remove(repository) != null && byRepository.isEmpty()) {
+                currentVersions.remove(pr.getDependency());
+            }
+        }
+    }
+
+    private static Bump bumpOf(PRDto pr) {
+        if (pr.getDependency() == null || pr.getProposedVersion() == null) {
+            return null;
+        }
+        return new Bump(pr.getDependency(), pr.getProposedVersion());
+    }
+
+    /**
+     * Group open PRs by the bump they make
+     *
+     * @param dependency only this dependency, or null for every dependency
+     * @param minRepositories leave out bumps open in fewer repositories
+     * @return bumps ordered by dependency then proposed version
+     */
+    public synchronized List<DependencyRollupDto> getRollup(String dependency, int minRepositories) {
+        return bumps.entrySet().stream()
+                .filter(entry -> dependency == null || entry.getKey().dependency().equals(dependency))
+                .filter(entry -> entry.getValue().size() >= minRepositories)
+                .sorted(Map.Entry.comparingByKey(BUMP_ORDER))
+                .map(entry -> DependencyRollupDto.builder()
+                        .dependency(entry.getKey().dependency())
+                        .proposedVersion(entry.getKey().proposedVersion())
+                        .repositories(entry.getValue().keySet().stream().sorted().toList())
+                        .prs(entry.getValue().values().stream()
+                                .flatMap(prs -> prs.values().stream())
+                                .sorted(Comparator.comparing(PRRefDto::getRepository).thenComparing(PRRefDto::getNumber))
+                                .toList())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Current version of each dependency per repository, from the open PRs that bump it
+     *
+     * @param dependency only this dependency, or null for every dependency
+     * @return one row per dependency, ordered by dependency, with repositories sorted
+     */
+    public synchronized List<DependencyVersionsDto> getVersionMatrix(String dependency) {
+        return currentVersions.entrySet().stream()
+                .filter(entry -> dependency == null || entry.getKey().equals(dependency))
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Map<String, String> versions = new TreeMap<>();
+                    entry.getValue().forEach((repository, counts) ->
+                            versions.put(repository, String.join(",", new TreeSet<>(counts.keySet()))));
+                    return DependencyVersionsDto.builder()
+                            .dependency(entry.getKey())
+                            .currentVersions(versions)
+                            .build();
+                })
+                .toList();
+    }
+}
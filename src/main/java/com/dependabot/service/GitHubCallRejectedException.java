@@ -0,0 +1,16 @@
+package com.dependabot.service;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling GitHub when the circuit is open or every call slot is busy
+ * An IOException so callers treat it like any other failed GitHub call
+ */
+public class GitHubCallRejectedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public GitHubCallRejectedException(String message) {
+        super(message);
+    }
+}
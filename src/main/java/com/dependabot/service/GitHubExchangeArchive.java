@@ -0,0 +1,123 @@
+package com.dependabot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk archive of GitHub HTTP exchanges: gzip-compressed JSON, one exchange per line
+ * Each entry is flushed as it is written, so an archive cut short by a crash still replays up to its last entry
+ */
+public final class GitHubExchangeArchive {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private GitHubExchangeArchive() {
+    }
+
+    /**
+     * A recorded request and its response
+     *
+     * @param method HTTP method
+     * @param path path and query of the request, without scheme and host, so archives replay against any API URL
+     * @param requestBodyHash hash of the request body, or null for a request without one; tells apart GraphQL
+     *                        queries, which all POST to the same path
+     * @param status response status code
+     * @param headers response headers, without transport and cookie headers
+     * @param durationMs time GitHub took to answer
+     * @param body decoded response body
+     */
+    public record Exchange(String method, String path, String requestBodyHash, int status,
+                           Map<String, List<String>> headers, long durationMs, String body) {
+
+        /**
+         * @return key identifying the request this exchange answers
+         */
+        public String key() {
+            return key(method, path, requestBodyHash);
+        }
+
+        static String key(String method, String path, String requestBodyHash) {
+            return requestBodyHash != null ? method + " " + path + " " + requestBodyHash : method + " " + path;
+        }
+
+        /**
+         * @return SHA-256 of the body in hex, or null if it is empty
+         */
+        static String requestBodyHash(byte[] body) {
+            if (body == null || body.length == 0) {
+                return null;
+            }
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        static String path(URL url) {
+            return url.getQuery() != null ? url.getPath() + "?" + url.getQuery() : url.getPath();
+        }
+    }
+
+    /**
+     * Appends exchanges to an archive file, replacing any existing file
+     */
+    static final class Writer implements Closeable {
+
+        private final GZIPOutputStream out;
+
+        Writer(Path file) throws IOException {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            this.out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), true);
+        }
+
+        synchronized void append(Exchange exchange) throws IOException {
+            out.write(MAPPER.writeValueAsBytes(exchange));
+            out.write('\n');
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Read every exchange in an archive, in recording order
+     *
+     * @param file archive file
+     * @return recorded exchanges
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Exchange> read(Path file) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    exchanges.add(MAPPER.readValue(line, Exchange.class));
+                }
+            }
+        } catch (EOFException e) {
+            // Recording stopped without closing the archive; everything flushed before that is intact
+        }
+        return exchanges;
+    }
+}
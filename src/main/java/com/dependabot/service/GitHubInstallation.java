@@ -0,0 +1,289 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A configured GitHub App installation with its own token manager and rate-limit budget
+ */
+public class GitHubInstallation {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final GitHubProperties.Installation config;
+    private final String apiUrl;
+    private final InstallationTokenManager tokenManager;
+    private volatile List<String> discoveredRepos;
+    private volatile List<String> repos;
+
+    public GitHubInstallation(GitHubProperties.Installation config, String apiUrl, Supplier<String> jwtSupplier) {
+        this(config, apiUrl, GitHubConnector.DEFAULT, jwtSupplier);
+    }
+
+    public GitHubInstallation(GitHubProperties.Installation config,
+                              String apiUrl,
+                              GitHubConnector connector,
+                              Supplier<String> jwtSupplier) {
+        this(config, apiUrl, new InstallationTokenManager(jwtSupplier, config::getInstallationId, apiUrl,
+                connector, InstallationTokenManager.DEFAULT_REFRESH_SKEW));
+    }
+
+    GitHubInstallation(GitHubProperties.Installation config, InstallationTokenManager tokenManager) {
+        this(config, InstallationTokenManager.DEFAULT_API_URL, tokenManager);
+    }
+
+    GitHubInstallation(GitHubProperties.Installation config, String apiUrl, InstallationTokenManager tokenManager) {
+        this.config = config;
+        this.apiUrl = apiUrl;
+        this.tokenManager = tokenManager;
+    }
+
+    public String getName() {
+        return config.getName();
+    }
+
+    public String getOwner() {
+        return config.getOwner();
+    }
+
+    /**
+     * @return configured repositories, followed by any discovered ones not configured
+     */
+    public List<String> getRepos() {
+        List<String> merged = repos;
+        return merged != null ? merged : getConfiguredRepos();
+    }
+
+    /**
+     * @return repositories found by discovery, or null if discovery has not listed this installation yet
+     */
+    public List<String> getDiscoveredRepos() {
+        return discoveredRepos;
+    }
+
+    /**
+     * Replace the discovered repositories; configured repositories stay listed whatever is discovered
+     *
+     * @param discovered repository names under this installation's owner
+     */
+    public synchronized void setDiscoveredRepos(Collection<String> discovered) {
+        Set<String> merged = new LinkedHashSet<>(getConfiguredRepos());
+        merged.addAll(discovered);
+        discoveredRepos = List.copyOf(discovered);
+        repos = List.copyOf(merged);
+    }
+
+    /**
+     * @return repositories listed in the configuration, which are synced whatever discovery finds
+     */
+    public List<String> getConfiguredRepos() {
+        return config.getRepos() != null ? config.getRepos() : List.of();
+    }
+
+    /**
+     * Get a client for this installation, refusing when its rate-limit budget is spent
+     *
+     * @return authenticated GitHub client
+     * @throws IOException if the budget is exhausted or authentication fails
+     */
+    public GitHub getClient() throws IOException {
+        checkRateLimitBudget("core");
+        return tokenManager.getClient();
+    }
+
+    /**
+     * Get an installation token for non-blocking clients, refusing when the rate-limit budget is spent
+     * The budget is judged from the last response seen by the blocking client
+     *
+     * @return installation access token
+     * @throws IOException if the budget is exhausted or authentication fails
+     */
+    public String getAccessToken() throws IOException {
+        checkRateLimitBudget("core");
+        return tokenManager.getToken();
+    }
+
+    /**
+     * @return base URL of the GitHub REST API this installation talks to
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * @return GitHub GraphQL endpoint; GitHub Enterprise Server serves REST under /api/v3 and GraphQL under /api/graphql
+     */
+    public String getGraphQLUrl() {
+        String base = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        return base.endsWith("/v3") ? base.substring(0, base.length() - 3) + "/graphql" : base + "/graphql";
+    }
+
+    /**
+     * Run a GraphQL query, refusing when the rate-limit budget is spent
+     * GitHub counts GraphQL queries against a budget of their own, which is checked as well
+     *
+     * @param query GraphQL query text
+     * @param variables values of the query's variables
+     * @return response document, which may carry errors next to or instead of data
+     * @throws IOException if GitHub cannot be reached or answers with an HTTP error
+     */
+    public JsonNode graphql(String query, Map<String, Object> variables) throws IOException {
+        checkRateLimitBudget("graphql");
+        Response response = send("POST", getGraphQLUrl(), Map.of("query", query, "variables", variables));
+        if (!response.isSuccessful()) {
+            throw new IOException("GitHub GraphQL API answered HTTP " + response.status());
+        }
+        return response.body();
+    }
+
+    /**
+     * Call a REST endpoint directly, refusing when the rate-limit budget is spent
+     * Unlike the client library this never waits out a rate limit: every response, Retry-After included,
+     * goes back to the caller
+     *
+     * @param method HTTP method
+     * @param path path below the API URL, e.g. "/repos/owner/repo/pulls/1/reviews"
+     * @param body request body, serialized as JSON
+     * @return GitHub's response, successful or not
+     * @throws IOException if GitHub cannot be reached
+     */
+    public Response call(String method, String path, Object body) throws IOException {
+        String base = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        return send(method, base + path, body);
+    }
+
+    /**
+     * Call an absolute GitHub URL, such as a pagination link, through the installation's connector
+     * The circuit breaker, bulkhead and recording or replay apply as for the client library's calls, and the
+     * rate limit the response reports counts against the budget the same way
+     *
+     * @param method HTTP method
+     * @param url absolute URL
+     * @param body request body, serialized as JSON, or null to send none
+     * @return GitHub's response, successful or not
+     * @throws IOException if GitHub cannot be reached
+     */
+    public Response send(String method, String url, Object body) throws IOException {
+        String token = getAccessToken();
+        byte[] requestBody = body != null ? JSON.writeValueAsBytes(body) : null;
+        JsonRequest request = new JsonRequest(method, URI.create(url).toURL(), token, requestBody);
+        try (GitHubConnectorResponse response = tokenManager.getConnector().send(request)) {
+            byte[] content;
+            try (InputStream in = response.bodyStream()) {
+                content = in != null ? in.readAllBytes() : new byte[0];
+            }
+            JsonNode json = content.length > 0 ? JSON.readTree(content) : JSON.missingNode();
+            return new Response(response.statusCode(), response.allHeaders(), json);
+        }
+    }
+
+    /**
+     * Probe GitHub by requesting this installation's rate limit
+     * The rate limit endpoint does not count against the quota, so the budget is not checked
+     *
+     * @return core rate limit for the installation token
+     * @throws IOException if GitHub cannot be reached or authentication fails
+     */
+    public GHRateLimit.Record probeRateLimit() throws IOException {
+        return tokenManager.getClient().getRateLimit().getCore();
+    }
+
+    /**
+     * @return when the current installation token expires, if one has been minted
+     */
+    public Optional<Instant> getTokenExpiresAt() {
+        return tokenManager.getTokenExpiresAt();
+    }
+
+    private static String headerValue(Map<String, List<String>> headers, String name) {
+        return headers.entrySet().stream()
+                .filter(header -> name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty())
+                .map(header -> header.getValue().get(0))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void checkRateLimitBudget(String resource) throws IOException {
+        int reserve = config.getRateLimitReserve();
+        if (reserve <= 0) {
+            return;
+        }
+        Optional<GHRateLimit.Record> limit = tokenManager.lastRateLimit(resource);
+        if (limit.isPresent() && !limit.get().isExpired() && limit.get().getRemaining() <= reserve) {
+            throw new IOException("Rate-limit budget for installation " + getName()
+                    + " exhausted until " + limit.get().getResetInstant());
+        }
+    }
+
+    /**
+     * Response of a call made around the client library
+     *
+     * @param body parsed JSON body, or a missing node when there is none
+     */
+    public record Response(int status, Map<String, List<String>> headers, JsonNode body) {
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * @return first value of the header, matched ignoring case, or null
+         */
+        public String header(String name) {
+            return headerValue(headers, name);
+        }
+    }
+
+    /**
+     * Request with an optional JSON body, which the client library only builds internally
+     */
+    private record JsonRequest(String method, URL url, String token, byte[] json) implements GitHubConnectorRequest {
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return Map.of("Authorization", List.of("Bearer " + token),
+                    "Accept", List.of("application/json"),
+                    "Content-Type", List.of(contentType()));
+        }
+
+        @Override
+        public String header(String name) {
+            return headerValue(allHeaders(), name);
+        }
+
+        @Override
+        public String contentType() {
+            return "application/json";
+        }
+
+        @Override
+        public boolean hasBody() {
+            return json != null;
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(json != null ? json : new byte[0]);
+        }
+    }
+}
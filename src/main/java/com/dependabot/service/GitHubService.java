@@ -1,21 +1,40 @@
 package com.dependabot.service;
 
+import com.dependabot.config.CacheConfig;
 import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.CIStatus;
 import com.dependabot.dto.PRDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PreDestroy;
 import org.kohsuke.github.*;
+import org.kohsuke.github.connector.GitHubConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -30,9 +49,99 @@ public class GitHubService {
     private static final String DEPENDABOT_APP = "dependabot";
 
     private final GitHubProperties gitHubProperties;
+    private final Executor syncExecutor;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncLeaderElection leaderElection;
+    private final List<GitHubInstallation> installations;
+    private final Map<String, Instant> lastSuccessfulSyncs = new ConcurrentHashMap<>();
+    private final SingleFlight<String, List<PRDto>> inFlightFetches;
+    private final Map<String, List<PRDto>> lastKnownGood = new ConcurrentHashMap<>();
+    private final Map<String, PRDetailCacheUsage> lastDetailCacheUsage = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final GitHubConnector connector;
+    private RecordingGitHubConnector recorder;
 
-    public GitHubService(GitHubProperties gitHubProperties) {
+    public GitHubService(GitHubProperties gitHubProperties, Executor syncExecutor) {
+        this(gitHubProperties, syncExecutor, new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE));
+    }
+
+    public GitHubService(GitHubProperties gitHubProperties, Executor syncExecutor, CacheManager cacheManager) {
+        this(gitHubProperties, syncExecutor, cacheManager, event -> { });
+    }
+
+    public GitHubService(GitHubProperties gitHubProperties, Executor syncExecutor, CacheManager cacheManager,
+                         ApplicationEventPublisher eventPublisher) {
+        this(gitHubProperties, syncExecutor, cacheManager, eventPublisher, null);
+    }
+
+    /**
+     * @param leaderElection decides whether this node may sync from GitHub; null when every node syncs itself
+     */
+    @Autowired
+    public GitHubService(GitHubProperties gitHubProperties,
+                         @Qualifier("githubSyncExecutor") Executor syncExecutor,
+                         CacheManager cacheManager,
+                         ApplicationEventPublisher eventPublisher,
+                         SyncLeaderElection leaderElection) {
         this.gitHubProperties = gitHubProperties;
+        this.syncExecutor = syncExecutor;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.leaderElection = leaderElection;
+        // Fetches run on the sync executor, so github.sync.concurrency caps them however many requests wait
+        this.inFlightFetches = new SingleFlight<>(syncExecutor);
+
+        GitHubProperties.CircuitBreakerSettings breaker = gitHubProperties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker(breaker.getFailureThreshold(),
+                Duration.ofMillis(breaker.getOpenDurationMs()), breaker.getHalfOpenProbes());
+        this.bulkhead = new Bulkhead(gitHubProperties.getBulkhead().getMaxConcurrentCalls(),
+                Duration.ofMillis(gitHubProperties.getBulkhead().getMaxWaitMs()));
+        // One breaker and bulkhead for all installations: an outage of GitHub affects every one of them
+        this.connector = new ResilientGitHubConnector(httpConnector(gitHubProperties), circuitBreaker, bulkhead);
+
+        this.installations = gitHubProperties.getEffectiveInstallations().stream()
+                .map(config -> new GitHubInstallation(config, gitHubProperties.getApiUrl(), connector, this::generateJWT))
+                .toList();
+    }
+
+    /**
+     * Connector that talks to GitHub, or to a recorded archive in replay mode
+     */
+    private GitHubConnector httpConnector(GitHubProperties gitHubProperties) {
+        GitHubConnector http = new JdkHttpGitHubConnector(Duration.ofMillis(gitHubProperties.getConnectTimeoutMs()),
+                Duration.ofMillis(gitHubProperties.getReadTimeoutMs()));
+
+        GitHubProperties.ReplaySettings replay = gitHubProperties.getReplay();
+        if (replay == null || replay.getMode() == GitHubProperties.ReplaySettings.Mode.OFF) {
+            return http;
+        }
+        Path archive = Path.of(replay.getArchive());
+        try {
+            if (replay.getMode() == GitHubProperties.ReplaySettings.Mode.RECORD) {
+                log.warn("Recording GitHub exchanges to {}", archive.toAbsolutePath());
+                recorder = new RecordingGitHubConnector(http, archive);
+                return recorder;
+            }
+            ReplayGitHubConnector replaying = new ReplayGitHubConnector(archive,
+                    replay.getTiming() == GitHubProperties.ReplaySettings.Timing.ORIGINAL);
+            log.warn("Replaying {} recorded GitHub requests from {} instead of calling GitHub",
+                    replaying.size(), archive.toAbsolutePath());
+            return replaying;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open GitHub archive " + archive.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Finish the recording archive, if recording
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (recorder != null) {
+            recorder.close();
+        }
     }
 
     /**
@@ -130,86 +239,898 @@ public class GitHubService {
     }
 
     /**
-     * Get authenticated GitHub client
+     * @return configured installations, each with its own token and rate-limit budget
+     */
+    public List<GitHubInstallation> getInstallations() {
+        return installations;
+    }
+
+    /**
+     * Identifiers of every configured repository across all installations
+     * Plain repository names with a single installation, "owner/repo" when several are configured
+     *
+     * @return repository identifiers accepted by getDependabotPRs
+     */
+    public List<String> getRepositoryKeys() {
+        boolean qualify = installations.size() > 1;
+        List<String> keys = new ArrayList<>();
+        for (GitHubInstallation installation : installations) {
+            for (String repo : installation.getRepos()) {
+                keys.add(qualify ? installation.getOwner() + "/" + repo : repo);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return time of the last successful GitHub fetch per repository
+     */
+    public Map<String, Instant> getLastSuccessfulSyncs() {
+        return Collections.unmodifiableMap(lastSuccessfulSyncs);
+    }
+
+    /**
+     * @param repositoryName repository name or "owner/repo" identifier, as used for the cache
+     * @return the last list fetched successfully for the repository, served while GitHub is failing
+     */
+    public Optional<List<PRDto>> getLastKnownGood(String repositoryName) {
+        return Optional.ofNullable(lastKnownGood.get(repositoryName));
+    }
+
+    /**
+     * Keep a list fetched outside this service, e.g. by the reactive path, as the last known good result
      *
-     * @return GitHub client
-     * @throws IOException if authentication fails
+     * @param repositoryName repository identifier as requested
+     * @param prs open Dependabot PRs as fetched
      */
-    private GitHub getGitHubClient() throws IOException {
-        String jwt = generateJWT();
+    void recordLastKnownGood(String repositoryName, List<PRDto> prs) {
+        lastKnownGood.put(repositoryName, prs);
+    }
+
+    /**
+     * Drop every last known good list, so a failing fetch is no longer served from an earlier sync
+     */
+    void clearLastKnownGood() {
+        lastKnownGood.clear();
+    }
+
+    /**
+     * Record a successful GitHub fetch, including those made outside this service, e.g. by the reactive path
+     * Publishes a PRsSyncedEvent so listeners such as the history store see every sync
+     *
+     * @param repositoryName repository identifier as requested
+     * @param prs open Dependabot PRs as fetched
+     */
+    void recordSuccessfulSync(String repositoryName, List<PRDto> prs) {
+        Instant now = Instant.now();
+        lastSuccessfulSyncs.put(repositoryName, now);
+        publishSync(repositoryName, prs, now);
+    }
+
+    /**
+     * Publish a repository's current PRs under its canonical "owner/repo" identifier
+     * A repository cached under both its plain name and "owner/repo" is then counted once by views and history
+     */
+    private void publishSync(String key, List<PRDto> prs, Instant syncedAt) {
+        eventPublisher.publishEvent(new PRsSyncedEvent(canonicalRepository(key), prs, syncedAt));
+    }
 
-        // Create GitHub client with JWT
-        GitHub gitHubApp = new GitHubBuilder()
-                .withJwtToken(jwt)
-                .build();
+    /**
+     * Take in a PR list another node fetched into the shared cache tier
+     * Reading it fills the local tier, and recording it keeps the fallback, sync times and history on this node
+     * as current as if the fetch had happened here
+     *
+     * @param event change published by another node
+     */
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onSharedCacheEvent(SharedCacheEvent event) {
+        if (event.type() != SharedCacheEvent.Type.PUT || !CacheConfig.GITHUB_PRS_CACHE.equals(event.cacheName())) {
+            return;
+        }
+        Cache.ValueWrapper cached = prCache().get(event.key());
+        if (cached != null && cached.get() instanceof List<?> prs) {
+            lastKnownGood.put(event.key(), (List<PRDto>) prs);
+            recordSuccessfulSync(event.key(), (List<PRDto>) prs);
+        }
+    }
+
+    /**
+     * Look up how a pull request that is no longer listed as open ended
+     *
+     * @param repositoryName repository name or "owner/repo"
+     * @param number pull request number
+     * @return whether and when it was closed or merged
+     * @throws IOException if the GitHub API call fails
+     */
+    public PullRequestOutcome getPullRequestOutcome(String repositoryName, int number) throws IOException {
+        RepositoryRef ref = resolve(repositoryName);
+        GHPullRequest pr = ref.installation().getClient()
+                .getRepository(ref.installation().getOwner() + "/" + ref.name())
+                .getPullRequest(number);
+        return new PullRequestOutcome(pr.isMerged(), pr.getClosedAt(), pr.getMergedAt());
+    }
 
-        // Get installation token
-        GHAppInstallation installation = gitHubApp.getApp()
-                .getInstallationById(Long.parseLong(gitHubProperties.getInstallationId()));
+    /**
+     * Ask GitHub again whether a pull request can be merged
+     *
+     * @param repositoryName repository name or "owner/repo"
+     * @param number pull request number
+     * @return whether it merges cleanly, or null while GitHub is still computing it
+     * @throws IOException if the GitHub API call fails
+     */
+    public Boolean getPullRequestMergeable(String repositoryName, int number) throws IOException {
+        RepositoryRef ref = resolve(repositoryName);
+        return ref.installation().getClient()
+                .getRepository(ref.installation().getOwner() + "/" + ref.name())
+                .getPullRequest(number)
+                .getMergeable();
+    }
 
-        GHAppInstallationToken token = installation.createToken().create();
+    /**
+     * Put a PR's mergeability, once GitHub has computed it, into the cached lists without fetching them again
+     * Lists a newer sync has replaced since are skipped, as that sync's own pending PRs are being resolved.
+     * Views and history see each corrected list as a sync at the time of the original fetch. The detail cache is
+     * left alone, as its key needs the base commit the mergeability was computed against
+     *
+     * @param repositoryName repository name or "owner/repo"
+     * @param pending the PR as cached, still marked pending
+     * @param mergeable whether GitHub says it merges cleanly
+     * @return true if a cached list was updated
+     */
+    @SuppressWarnings("unchecked")
+    boolean resolveMergeability(String repositoryName, PRDto pending, boolean mergeable) {
+        RepositoryRef ref = resolve(repositoryName);
+        PRDto resolved = pending.toBuilder().hasConflicts(!mergeable).mergeabilityPending(false).build();
+        boolean updatedAny = false;
+        for (String key : repositoryKeysFor(ref.installation().getOwner(), ref.name())) {
+            Cache.ValueWrapper cached = prCache().get(key);
+            if (cached == null || !(cached.get() instanceof List<?> prs) || prs.stream().noneMatch(pr -> pr == pending)) {
+                continue;
+            }
+            List<PRDto> updated = ((List<PRDto>) prs).stream().map(pr -> pr == pending ? resolved : pr).toList();
 
-        // Return authenticated client
-        return new GitHubBuilder()
-                .withAppInstallationToken(token.getToken())
-                .build();
+            prCache().put(key, updated);
+            lastKnownGood.put(key, updated);
+            publishSync(key, updated, lastSuccessfulSyncs.getOrDefault(key, Instant.now()));
+            updatedAny = true;
+        }
+        return updatedAny;
     }
 
     /**
      * Get Dependabot pull requests for a specific repository
-     * Results are cached to reduce API calls
+     * Results are cached to reduce API calls; concurrent misses for the same repository share one fetch.
+     * When GitHub fails, or the circuit is open, the last successfully fetched list is returned instead.
+     * A node that is not the sync leader never fetches: on a miss it serves the last known good list, or
+     * an empty one until the leader's sync reaches it through the shared cache
      *
-     * @param repositoryName name of the repository
+     * @param repositoryName repository name, or "owner/repo" to pick the installation explicitly
      * @return list of Dependabot PRs as DTOs
      */
-    @Cacheable(value = "github-prs", key = "#repositoryName")
+    @SuppressWarnings("unchecked")
     public List<PRDto> getDependabotPRs(String repositoryName) {
+        Cache.ValueWrapper cached = prCache().get(repositoryName);
+        if (cached != null) {
+            return withCurrentCIStatuses(repositoryName, (List<PRDto>) cached.get());
+        }
+        if (!isSyncLeader()) {
+            log.debug("Not the GitHub sync leader; serving {} without fetching", repositoryName);
+            return getLastKnownGood(repositoryName).orElse(Collections.emptyList());
+        }
         try {
-            GitHub github = getGitHubClient();
-            String owner = gitHubProperties.getOwner();
+            return loadDependabotPRs(repositoryName);
+        } catch (IOException e) {
+            List<PRDto> fallback = lastKnownGood.get(repositoryName);
+            if (fallback != null) {
+                log.warn("Serving last known good PRs for {} fetched at {}: {}",
+                        repositoryName, lastSuccessfulSyncs.get(repositoryName), e.getMessage());
+                return fallback;
+            }
+            if (isRejected(e)) {
+                log.warn("GitHub call for {} rejected: {}", repositoryName, e.getMessage());
+            } else {
+                log.error("Error fetching PRs for repository: {}", repositoryName, e);
+            }
+            return Collections.emptyList();
+        }
+    }
 
-            log.debug("Fetching Dependabot PRs for {}/{}", owner, repositoryName);
+    /**
+     * Get Dependabot pull requests for a repository without ever fetching them from GitHub
+     * Reading the cache takes in a list the sync leader put in the shared tier
+     *
+     * @param repositoryName repository name or "owner/repo" identifier, as used for the cache
+     * @return the cached list, else the last known good one, or empty if this node has neither
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<List<PRDto>> getCachedDependabotPRs(String repositoryName) {
+        Cache.ValueWrapper cached = prCache().get(repositoryName);
+        if (cached != null && cached.get() instanceof List<?> prs) {
+            return Optional.of((List<PRDto>) prs);
+        }
+        return getLastKnownGood(repositoryName);
+    }
 
-            GHRepository repository = github.getRepository(owner + "/" + repositoryName);
-            List<GHPullRequest> pullRequests = repository
-                    .queryPullRequests()
-                    .state(GHIssueState.OPEN)
-                    .list()
-                    .toList();
+    /**
+     * @return true if this node syncs from GitHub, always the case without leader election
+     */
+    public boolean isSyncLeader() {
+        return leaderElection == null || leaderElection.isLeader();
+    }
+
+    /**
+     * Re-fetch Dependabot pull requests for a repository, bypassing the cache
+     * The fresh result replaces the cached entry; on failure the existing entry is kept.
+     * Joins a fetch of the same repository that is already in flight instead of starting another
+     *
+     * @param repositoryName name of the repository
+     * @return freshly fetched list of Dependabot PRs as DTOs
+     * @throws IOException if the GitHub API call fails
+     */
+    public List<PRDto> refreshDependabotPRs(String repositoryName) throws IOException {
+        return loadDependabotPRs(repositoryName);
+    }
+
+    /**
+     * @return how many callers shared each GitHub fetch since startup
+     */
+    public SingleFlight.Stats getCoalescingStats() {
+        return inFlightFetches.stats();
+    }
+
+    /**
+     * @return circuit breaker shared by every GitHub call, blocking or not
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return bulkhead capping concurrent GitHub calls, blocking or not
+     */
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * @return connector every blocking GitHub call goes through: circuit breaker, bulkhead, then GitHub
+     *         or the recorded archive
+     */
+    public GitHubConnector getConnector() {
+        return connector;
+    }
+
+    /**
+     * Fetch from GitHub and cache the result, sharing the fetch with concurrent callers for the repository
+     * Failed fetches are not cached; successful ones are also kept as the last known good result,
+     * which outlives cache eviction. The fetch does not run on the caller's thread, so a caller cancelled when
+     * its deadline passes stops waiting while the fetch goes on for the other callers and fills the cache
+     *
+     * @param repositoryName name of the repository
+     * @return list of Dependabot PRs as DTOs
+     * @throws IOException if the GitHub API call fails, or the caller is interrupted while waiting
+     */
+    private List<PRDto> loadDependabotPRs(String repositoryName) throws IOException {
+        try {
+            return inFlightFetches.execute(repositoryName, () -> {
+                List<PRDto> prs = fetchDependabotPRs(repositoryName);
+                prCache().put(repositoryName, prs);
+                lastKnownGood.put(repositoryName, prs);
+                return prs;
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Sync queue full, refusing a fetch of {}", repositoryName);
+            throw new SyncQueueFullException("Too many repository syncs waiting; try again shortly", e);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a fetch of " + repositoryName);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            return pullRequests.stream()
+    /**
+     * The GitHub client wraps connector exceptions, so look through the causes
+     */
+    static boolean isRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GitHubCallRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Cache prCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CacheConfig.GITHUB_PRS_CACHE + "' is not configured");
+        }
+        return cache;
+    }
+
+    /**
+     * Fetch open Dependabot pull requests for a repository from GitHub
+     *
+     * @param repositoryName name of the repository
+     * @return list of Dependabot PRs as DTOs
+     * @throws IOException if the GitHub API call fails
+     */
+    List<PRDto> fetchDependabotPRs(String repositoryName) throws IOException {
+        RepositoryRef ref = resolve(repositoryName);
+        GitHub github = ref.installation().getClient();
+        String owner = ref.installation().getOwner();
+
+        log.debug("Fetching Dependabot PRs for {}/{}", owner, ref.name());
+
+        GHRepository repository = github.getRepository(owner + "/" + ref.name());
+        List<GHPullRequest> pullRequests = repository
+                .queryPullRequests()
+                .state(GHIssueState.OPEN)
+                .list()
+                .toList();
+
+        AtomicInteger reused = new AtomicInteger();
+        List<PRDto> prs;
+        try {
+            prs = pullRequests.stream()
                     .filter(this::isDependabotPR)
-                    .map(pr -> convertToPRDto(pr, repositoryName))
+                    .map(pr -> {
+                        PRDto cached = cachedPRDetails(owner, ref.name(), pr.getNumber(), updatedAt(pr), baseSha(pr));
+                        if (cached != null) {
+                            reused.incrementAndGet();
+                            return cached;
+                        }
+                        return convertToPRDto(pr, owner, ref.name());
+                    })
                     .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            // A failed detail call fails the fetch like any other GitHub error
+            throw e.getCause();
+        }
 
+        recordDetailCacheUsage(repositoryName, new PRDetailCacheUsage(reused.get(), prs.size() - reused.get()));
+        prs = withCIStatuses(ref, prs);
+        recordSuccessfulSync(repositoryName, prs);
+        return prs;
+    }
+
+    /**
+     * Fill in the CI status of a repository's PRs from the CI status cache, or else from GitHub in batched GraphQL queries
+     * CI status only adds to the PRs: when it cannot be fetched they are returned without it
+     *
+     * @param ref repository and the installation that reads it
+     * @param prs PRs as built from the REST API
+     * @return the PRs with their CI status
+     */
+    List<PRDto> withCIStatuses(RepositoryRef ref, List<PRDto> prs) {
+        if (prs.isEmpty()) {
+            return prs;
+        }
+        String owner = ref.installation().getOwner();
+        List<Integer> numbers = prs.stream().map(PRDto::getNumber).toList();
+        Map<Integer, CIStatus> statuses = cachedCIStatuses(owner, ref.name(), numbers);
+        if (statuses == null) {
+            try {
+                statuses = fetchCIStatuses(ref, numbers);
+                cacheCIStatuses(owner, ref.name(), statuses);
+            } catch (IOException e) {
+                log.warn("Could not fetch CI status for {}/{}: {}", owner, ref.name(), e.getMessage());
+                statuses = Map.of();
+            }
+        }
+        return applyCIStatuses(prs, statuses);
+    }
+
+    /**
+     * Query the statusCheckRollup of the given PRs, one GraphQL call per batch of up to 100 PRs
+     *
+     * @param ref repository and the installation that reads it
+     * @param numbers PR numbers
+     * @return CI status by PR number, leaving out PRs GitHub could not resolve
+     * @throws IOException if a GraphQL call fails
+     */
+    Map<Integer, CIStatus> fetchCIStatuses(RepositoryRef ref, Collection<Integer> numbers) throws IOException {
+        Map<String, Object> variables = CIStatusQuery.variables(ref.installation().getOwner(), ref.name());
+        Map<Integer, CIStatus> statuses = new HashMap<>();
+        for (List<Integer> batch : CIStatusQuery.batches(numbers)) {
+            JsonNode response = ref.installation().graphql(CIStatusQuery.query(batch), variables);
+            statuses.putAll(CIStatusQuery.parse(response, batch));
+        }
+        return statuses;
+    }
+
+    /**
+     * @param owner repository owner
+     * @param repositoryName bare repository name
+     * @param numbers PR numbers the caller needs
+     * @return cached CI status by PR number, or null unless every one of the PRs is covered
+     */
+    @SuppressWarnings("unchecked")
+    Map<Integer, CIStatus> cachedCIStatuses(String owner, String repositoryName, Collection<Integer> numbers) {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE);
+        if (cache == null) {
+            return null;
+        }
+        Map<Integer, CIStatus> statuses = cache.get(owner + "/" + repositoryName, Map.class);
+        return statuses != null && statuses.keySet().containsAll(numbers) ? statuses : null;
+    }
+
+    void cacheCIStatuses(String owner, String repositoryName, Map<Integer, CIStatus> statuses) {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE);
+        if (cache != null) {
+            cache.put(owner + "/" + repositoryName, Map.copyOf(statuses));
+        }
+    }
+
+    /**
+     * Bring the CI status of a cached list up to date with the CI status cache
+     * CI status expires sooner than the lists. Once a repository's entry has expired the sync leader fetches it
+     * again, once however many requests are waiting for it, and the updated list takes the place of the cached one.
+     * When that fetch fails, or on a follower, the list is served as cached
+     *
+     * @param repositoryName repository identifier the list is cached under
+     * @param prs the list as cached
+     * @return the list with current CI status
+     */
+    @SuppressWarnings("unchecked")
+    List<PRDto> withCurrentCIStatuses(String repositoryName, List<PRDto> prs) {
+        Cache ciCache = cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE);
+        if (prs.isEmpty() || ciCache == null) {
+            return prs;
+        }
+        RepositoryRef ref = resolve(repositoryName);
+        String key = ref.installation().getOwner() + "/" + ref.name();
+        Map<Integer, CIStatus> statuses = ciCache.get(key, Map.class);
+        if (statuses == null) {
+            if (!isSyncLeader()) {
+                return prs;
+            }
+            List<Integer> numbers = prs.stream().map(PRDto::getNumber).toList();
+            try {
+                statuses = ciCache.get(key, () -> Map.copyOf(fetchCIStatuses(ref, numbers)));
+            } catch (Cache.ValueRetrievalException e) {
+                log.warn("Could not refresh CI status for {}: {}", key, e.getCause().getMessage());
+                return prs;
+            }
+        }
+        List<PRDto> updated = applyCIStatuses(prs, statuses);
+        replaceCachedList(repositoryName, prs, updated);
+        return updated;
+    }
+
+    /**
+     * Put an updated copy of a cached list in its place, unless a sync has replaced the list in the meantime
+     * Views and history see the updated list as a sync at the time of the original fetch
+     *
+     * @param repositoryName repository identifier the list is cached under
+     * @param cached the list as read from the cache
+     * @param updated the list to put in its place
+     * @return true if the cached list was replaced
+     */
+    boolean replaceCachedList(String repositoryName, List<PRDto> cached, List<PRDto> updated) {
+        Cache.ValueWrapper current = prCache().get(repositoryName);
+        if (updated == cached || current == null || current.get() != cached) {
+            return false;
+        }
+        prCache().put(repositoryName, updated);
+        lastKnownGood.put(repositoryName, updated);
+        publishSync(repositoryName, updated, lastSuccessfulSyncs.getOrDefault(repositoryName, Instant.now()));
+        return true;
+    }
+
+    /**
+     * Set each PR's CI status, replacing the PRs whose status changed instead of updating them,
+     * as the detail cache and the views hold the same instances
+     *
+     * @return the list given if no status changed, otherwise a new list
+     */
+    static List<PRDto> applyCIStatuses(List<PRDto> prs, Map<Integer, CIStatus> statuses) {
+        List<PRDto> applied = null;
+        for (int i = 0; i < prs.size(); i++) {
+            PRDto pr = prs.get(i);
+            CIStatus status = statuses.get(pr.getNumber());
+            if (status != pr.getCiStatus()) {
+                if (applied == null) {
+                    applied = new ArrayList<>(prs);
+                }
+                applied.set(i, pr.toBuilder().ciStatus(status).build());
+            }
+        }
+        return applied != null ? applied : prs;
+    }
+
+    /**
+     * Fetch the CI status of a repository's PRs again and apply it to the cached PR lists of the repository
+     * Used when GitHub reports a check suite change, so the lists and their details are not fetched again.
+     * A list replaced by a fetch in the meantime is left alone, as that fetch has read CI status itself
+     *
+     * @param owner repository owner as reported by GitHub
+     * @param repositoryName bare repository name as reported by GitHub
+     * @return number of cached lists updated
+     */
+    @SuppressWarnings("unchecked")
+    public int refreshCIStatuses(String owner, String repositoryName) {
+        Cache ciCache = cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE);
+        if (ciCache != null) {
+            ciCache.evict(owner + "/" + repositoryName);
+        }
+        int updated = 0;
+        for (String key : repositoryKeysFor(owner, repositoryName)) {
+            Cache.ValueWrapper cached = prCache().get(key);
+            if (cached == null || !(cached.get() instanceof List<?> prs)) {
+                continue;
+            }
+            // The first list fetches; the cache serves any other key naming the same repository
+            if (replaceCachedList(key, (List<PRDto>) prs, withCIStatuses(resolve(key), (List<PRDto>) prs))) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Approve, merge or ask Dependabot to rebase one PR
+     * Goes around the client library, which waits out rate limits on the calling thread, so the caller sees
+     * Retry-After and can reschedule the action instead
+     *
+     * @param repository "owner/repo"
+     * @param number pull request number
+     * @param action what to do
+     * @param mergeMethod how to merge, for MERGE; null for the repository's default
+     * @return GitHub's response, successful or not
+     * @throws IOException if GitHub cannot be reached, the circuit is open or the rate-limit budget is spent
+     */
+    public GitHubInstallation.Response performBulkAction(String repository, int number, BulkAction action,
+                                                         BulkActionRequest.MergeMethod mergeMethod) throws IOException {
+        RepositoryRef ref = resolve(repository);
+        String path = "/repos/" + ref.installation().getOwner() + "/" + ref.name();
+        return switch (action) {
+            case APPROVE -> ref.installation().call("POST", path + "/pulls/" + number + "/reviews",
+                    Map.of("event", "APPROVE"));
+            case MERGE -> ref.installation().call("PUT", path + "/pulls/" + number + "/merge", mergeMethod != null
+                    ? Map.of("merge_method", mergeMethod.name().toLowerCase(Locale.ROOT))
+                    : Map.of());
+            case REBASE -> ref.installation().call("POST", path + "/issues/" + number + "/comments",
+                    Map.of("body", "@dependabot rebase"));
+        };
+    }
+
+    /**
+     * Whether a PR is one of the open Dependabot PRs of its repository, checked before acting on it
+     * Looks in the cached lists of the repository first and fetches the list only if none is cached
+     *
+     * @param repository "owner/repo"
+     * @param number pull request number
+     * @return true if the PR is open and authored by Dependabot
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isOpenDependabotPR(String repository, int number) {
+        RepositoryRef ref = resolve(repository);
+        String owner = ref.installation().getOwner();
+        List<PRDto> prs = repositoryKeysFor(owner, ref.name()).stream()
+                .map(key -> prCache().get(key))
+                .filter(cached -> cached != null && cached.get() instanceof List<?>)
+                .map(cached -> (List<PRDto>) cached.get())
+                .findFirst()
+                .orElseGet(() -> getDependabotPRs(owner + "/" + ref.name()));
+        return prs.stream()
+                .anyMatch(pr -> Objects.equals(pr.getNumber(), number) && isDependabotLogin(pr.getAuthor()));
+    }
+
+    /**
+     * Drop a PR merged through this service from the cached lists of its repository, without fetching them again
+     * Views and history see it leave as they would on the next sync
+     *
+     * @param repository "owner/repo"
+     * @param number pull request number
+     * @return number of cached lists updated
+     */
+    @SuppressWarnings("unchecked")
+    public int removeFromCachedLists(String repository, int number) {
+        RepositoryRef ref = resolve(repository);
+        int updated = 0;
+        for (String key : repositoryKeysFor(ref.installation().getOwner(), ref.name())) {
+            Cache.ValueWrapper cached = prCache().get(key);
+            if (cached == null || !(cached.get() instanceof List<?> prs)
+                    || prs.stream().noneMatch(pr -> Objects.equals(((PRDto) pr).getNumber(), number))) {
+                continue;
+            }
+            List<PRDto> remaining = ((List<PRDto>) prs).stream()
+                    .filter(pr -> !Objects.equals(pr.getNumber(), number))
+                    .toList();
+            prCache().put(key, remaining);
+            lastKnownGood.put(key, remaining);
+            publishSync(key, remaining, Instant.now());
+            updated++;
+        }
+        return updated;
+    }
+
+    /**
+     * Forget what is cached for a repository that is no longer synced
+     * Call before the repository leaves its installation's list, as that list maps it to its cache keys
+     *
+     * @param owner repository owner
+     * @param repositoryName bare repository name
+     */
+    public void forgetRepository(String owner, String repositoryName) {
+        Set<String> keys = repositoryKeysFor(owner, repositoryName);
+        for (String key : keys) {
+            prCache().evict(key);
+            lastKnownGood.remove(key);
+            lastSuccessfulSyncs.remove(key);
+        }
+        if (!keys.isEmpty()) {
+            eventPublisher.publishEvent(new RepositoryRemovedEvent(canonicalRepository(owner + "/" + repositoryName)));
+        }
+    }
+
+    /**
+     * @param repository repository name or "owner/repo"
+     * @return the repository as "owner/repo" of the installation it resolves to
+     * @throws IllegalArgumentException if no installation is configured for the owner
+     */
+    public String canonicalRepository(String repository) {
+        RepositoryRef ref = resolve(repository);
+        return ref.installation().getOwner() + "/" + ref.name();
+    }
+
+    /**
+     * Like canonicalRepository, but the repository must be listed by the installation it resolves to, instead of
+     * a plain name falling back to the first one, so writes only reach configured or discovered repositories
+     *
+     * @param repository repository name or "owner/repo"
+     * @return the repository as "owner/repo" of the installation it resolves to
+     * @throws IllegalArgumentException if no installation is configured for the owner, or the installation does not
+     *                                  list the repository
+     */
+    public String configuredRepository(String repository) {
+        RepositoryRef ref = resolve(repository);
+        if (ref.installation().getRepos().stream().noneMatch(ref.name()::equalsIgnoreCase)) {
+            throw new IllegalArgumentException("Repository is not configured in any installation: " + repository);
+        }
+        return ref.installation().getOwner() + "/" + ref.name();
+    }
+
+    /**
+     * Every identifier a repository may be cached under: "owner/repo" and any configured key resolving to it
+     */
+    private Set<String> repositoryKeysFor(String owner, String repositoryName) {
+        Set<String> keys = new LinkedHashSet<>();
+        boolean installed = installations.stream().anyMatch(installation -> installation.getOwner().equalsIgnoreCase(owner));
+        if (!installed) {
+            return keys;
+        }
+        keys.add(owner + "/" + repositoryName);
+        for (String key : getRepositoryKeys()) {
+            RepositoryRef ref = resolve(key);
+            if (ref.installation().getOwner().equalsIgnoreCase(owner) && ref.name().equalsIgnoreCase(repositoryName)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Look up a PR built by an earlier fetch, valid only while neither the PR nor its base branch has moved since
+     * GitHub recomputes mergeability when the base branch moves without touching the PR's updated_at,
+     * so the base commit is part of the key
+     *
+     * @param owner repository owner
+     * @param repositoryName bare repository name
+     * @param number pull request number
+     * @param updatedAt the PR's last update as listed now
+     * @param baseSha the PR's base commit as listed now
+     * @return the cached PR, or null if it has to be built again
+     */
+    PRDto cachedPRDetails(String owner, String repositoryName, int number, Instant updatedAt, String baseSha) {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PR_DETAILS_CACHE);
+        if (cache == null || updatedAt == null || baseSha == null) {
+            return null;
+        }
+        return cache.get(prDetailsKey(owner, repositoryName, number, updatedAt, baseSha), PRDto.class);
+    }
+
+    /**
+     * Keep a fully built PR for later fetches
+     * Callers skip PRs whose mergeability GitHub has not computed yet, so the next fetch asks again
+     *
+     * @param pr PR built from its detail call
+     * @param baseSha base commit the detail call computed mergeability against
+     */
+    void cachePRDetails(PRDto pr, String baseSha) {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PR_DETAILS_CACHE);
+        if (cache != null && pr.getUpdatedAt() != null && baseSha != null) {
+            cache.put(prDetailsKey(pr.getOwner(), pr.getRepository(), pr.getNumber(), pr.getUpdatedAt(), baseSha), pr);
+        }
+    }
+
+    /**
+     * Record and log how a fetch of one repository got its PR details
+     *
+     * @param repositoryName repository identifier as requested
+     * @param usage PRs reused from the detail cache and PRs fetched in detail
+     */
+    void recordDetailCacheUsage(String repositoryName, PRDetailCacheUsage usage) {
+        lastDetailCacheUsage.put(repositoryName, usage);
+        log.debug("Fetched {} Dependabot PRs for {}: {} reused from the detail cache, {} fetched in detail",
+                usage.reused() + usage.fetched(), repositoryName, usage.reused(), usage.fetched());
+    }
+
+    /**
+     * @param repositoryName repository identifier as requested
+     * @return detail cache usage of the last successful fetch, if the repository was fetched since startup
+     */
+    public Optional<PRDetailCacheUsage> getLastDetailCacheUsage(String repositoryName) {
+        return Optional.ofNullable(lastDetailCacheUsage.get(repositoryName));
+    }
+
+    private static String prDetailsKey(String owner, String repositoryName, int number, Instant updatedAt,
+                                       String baseSha) {
+        return owner + "/" + repositoryName + "#" + number + "@" + updatedAt + "^" + baseSha;
+    }
+
+    private static Instant updatedAt(GHPullRequest pr) {
+        try {
+            return pr.getUpdatedAt();
         } catch (IOException e) {
-            log.error("Error fetching PRs for repository: {}", repositoryName, e);
-            return Collections.emptyList();
+            return null;
         }
     }
 
+    private static String baseSha(GHPullRequest pr) {
+        return pr.getBase() != null ? pr.getBase().getSha() : null;
+    }
+
+    /**
+     * Resolve a repository identifier to its installation
+     * "owner/repo" selects the installation by owner; a plain name selects the installation listing it,
+     * falling back to the first installation for reads; configuredRepository refuses that fallback
+     *
+     * @param repository repository name or "owner/repo"
+     * @return installation and bare repository name
+     */
+    RepositoryRef resolve(String repository) {
+        if (installations.isEmpty()) {
+            throw new IllegalStateException("No GitHub installation is configured");
+        }
+
+        int slash = repository.indexOf('/');
+        if (slash > 0) {
+            String owner = repository.substring(0, slash);
+            String name = repository.substring(slash + 1);
+            return installations.stream()
+                    .filter(installation -> installation.getOwner().equalsIgnoreCase(owner))
+                    .findFirst()
+                    .map(installation -> new RepositoryRef(installation, name))
+                    .orElseThrow(() -> new IllegalArgumentException("No installation configured for owner: " + owner));
+        }
+
+        return installations.stream()
+                .filter(installation -> installation.getRepos().contains(repository))
+                .findFirst()
+                .map(installation -> new RepositoryRef(installation, repository))
+                .orElseGet(() -> new RepositoryRef(installations.get(0), repository));
+    }
+
     /**
      * Get Dependabot pull requests from multiple repositories
-     * Note: Calls getDependabotPRs which is @Cacheable. Each repository
-     * call will be cached individually when called externally.
+     * Each repository is fetched as a subtask on the sync executor, so repositories of different
+     * installations sync concurrently, each spending only its own rate-limit budget.
+     * Each repository is served from the cache, and misses coalesce with concurrent fetches of the same repository.
      *
-     * @param repositories list of repository names
-     * @return combined list of Dependabot PRs from all repositories
+     * @param repositories list of repository names or "owner/repo" identifiers
+     * @return combined list of Dependabot PRs from all repositories, in the order given
      */
-    @SuppressWarnings("SpringCacheableMethodCallsInspection")
     public List<PRDto> getAllDependabotPRs(List<String> repositories) {
-        return repositories.stream()
-                .flatMap(repo -> getDependabotPRs(repo).stream())
-                .collect(Collectors.toList());
+        return getAllDependabotPRs(repositories, null);
     }
 
     /**
-     * Get all Dependabot PRs from configured repositories
+     * Get Dependabot pull requests from multiple repositories within a deadline
+     * The per-repository fetches are structured subtasks of the calling thread: when the deadline passes,
+     * a fetch fails or the caller is interrupted, the subtasks stop waiting, and a GitHub fetch no other
+     * request is waiting for is cancelled
+     *
+     * @param repositories list of repository names or "owner/repo" identifiers
+     * @param deadline when to abandon unfinished fetches, or null to wait for all of them
+     * @return combined list of Dependabot PRs from all repositories, in the order given
+     * @throws DeadlineExceededException if the deadline passes first
+     * @throws SyncQueueFullException if the sync executor refuses a fetch
+     */
+    public List<PRDto> getAllDependabotPRs(List<String> repositories, Instant deadline) {
+        List<PRDto> combined = new ArrayList<>();
+        fetchConcurrently(repositories, deadline).forEach(combined::addAll);
+        return combined;
+    }
+
+    /**
+     * Get Dependabot pull requests for a set of repositories, keyed by repository
+     * Cached repositories are answered without forking; only the misses are fetched concurrently,
+     * sharing the sync executor and the GitHub bulkhead with every other request
+     *
+     * @param repositories repository names or "owner/repo" identifiers; duplicates are ignored
+     * @param deadline when to abandon unfinished fetches, or null to wait for all of them
+     * @return PRs per repository, in the order given
+     * @throws DeadlineExceededException if the deadline passes first
+     * @throws SyncQueueFullException if the sync executor refuses a fetch
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, List<PRDto>> getDependabotPRsByRepository(Collection<String> repositories, Instant deadline) {
+        Map<String, List<PRDto>> results = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String repository : new LinkedHashSet<>(repositories)) {
+            Cache.ValueWrapper cached = prCache().get(repository);
+            // Misses keep their place in the order with a null until fetched
+            results.put(repository, cached != null ? withCurrentCIStatuses(repository, (List<PRDto>) cached.get()) : null);
+            if (cached == null) {
+                misses.add(repository);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Batch of {} repositories: {} cached, fetching {}", results.size(),
+                    results.size() - misses.size(), misses.size());
+            List<List<PRDto>> fetched = fetchConcurrently(misses, deadline);
+            for (int i = 0; i < misses.size(); i++) {
+                results.put(misses.get(i), fetched.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Get Dependabot PRs of each repository as structured subtasks of the calling thread
+     * Each subtask only waits for its fetch, which runs on the sync executor, so subtasks get virtual threads
+     * rather than sync threads the fetches would queue behind
+     *
+     * @return PRs of each repository, in the order given
+     */
+    private List<List<PRDto>> fetchConcurrently(List<String> repositories, Instant deadline) {
+        try (SubtaskScope<List<PRDto>> scope = new SubtaskScope<>(
+                task -> Thread.ofVirtual().name("github-sync-wait").start(task), deadline)) {
+            for (String repo : repositories) {
+                scope.fork(() -> getDependabotPRs(repo));
+            }
+            scope.join();
+            return scope.results();
+        } catch (TimeoutException e) {
+            log.warn("Deadline passed while fetching {}; cancelled the GitHub fetches no other request awaits",
+                    repositories);
+            throw new DeadlineExceededException("Deadline passed before GitHub answered", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Fetching PRs was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Get all Dependabot PRs from configured repositories across every installation
      *
      * @return list of all Dependabot PRs
      */
     public List<PRDto> getAllDependabotPRs() {
-        return getAllDependabotPRs(gitHubProperties.getRepos());
+        return getAllDependabotPRs(getRepositoryKeys());
+    }
+
+    /**
+     * Get all Dependabot PRs from configured repositories within a deadline
+     *
+     * @param deadline when to abandon unfinished fetches, or null to wait for all of them
+     * @return list of all Dependabot PRs
+     * @throws DeadlineExceededException if the deadline passes first
+     */
+    public List<PRDto> getAllDependabotPRs(Instant deadline) {
+        return getAllDependabotPRs(getRepositoryKeys(), deadline);
     }
 
     /**
@@ -225,13 +1146,7 @@ public class GitHubService {
                 return false;
             }
 
-            String login = author.getLogin();
-            if (login == null) {
-                return false;
-            }
-
-            return DEPENDABOT_LOGIN.equalsIgnoreCase(login) ||
-                    login.toLowerCase().contains(DEPENDABOT_APP);
+            return isDependabotLogin(author.getLogin());
 
         } catch (NullPointerException e) {
             log.warn("Null pointer checking PR author");
@@ -239,20 +1154,38 @@ public class GitHubService {
         }
     }
 
+    /**
+     * Check if a login belongs to Dependabot
+     *
+     * @param login GitHub login of the PR author
+     * @return true if the login is Dependabot's
+     */
+    static boolean isDependabotLogin(String login) {
+        if (login == null) {
+            return false;
+        }
+        return DEPENDABOT_LOGIN.equalsIgnoreCase(login) ||
+                login.toLowerCase().contains(DEPENDABOT_APP);
+    }
+
     /**
      * Convert GitHub PR to DTO
+     * Reads the PR's details, and keeps the result in the detail cache once GitHub knows its mergeability.
+     * Until then the PR is marked pending and MergeabilityResolver checks it again in the background
      *
      * @param pr GitHub pull request
+     * @param owner repository owner
      * @param repositoryName repository name
      * @return PR DTO
      */
-    private PRDto convertToPRDto(GHPullRequest pr, String repositoryName) {
+    private PRDto convertToPRDto(GHPullRequest pr, String owner, String repositoryName) {
         try {
-            return PRDto.builder()
+            PRDto.PRDtoBuilder builder = PRDto.builder()
                     .number(pr.getNumber())
                     .id(pr.getId())
                     .title(pr.getTitle())
                     .author(pr.getUser().getLogin())
+                    .owner(owner)
                     .repository(repositoryName)
                     .url(pr.getHtmlUrl().toString())
                     .state(pr.getState().name())
@@ -260,86 +1193,25 @@ public class GitHubService {
                     .updatedAt(pr.getUpdatedAt())
                     .body(pr.getBody())
                     .commits(pr.getCommits())
-                    .filesChanged(pr.getChangedFiles())
-                    .hasConflicts(pr.getMergeable() != null && !pr.getMergeable())
-                    .dependency(extractDependency(pr.getTitle()))
-                    .currentVersion(extractCurrentVersion(pr.getTitle()))
-                    .proposedVersion(extractProposedVersion(pr.getTitle()))
+                    .filesChanged(pr.getChangedFiles());
+            Boolean mergeable = pr.getMergeable();
+            PRDto dto = PRTitleParser.withTitleDetails(builder
+                            .hasConflicts(mergeable != null ? !mergeable : null)
+                            .mergeabilityPending(mergeable == null), pr.getTitle())
                     .build();
-
-        } catch (IOException e) {
-            log.error("Error converting PR to DTO", e);
-            throw new RuntimeException("Error converting PR", e);
-        }
-    }
-
-    /**
-     * Extract dependency name from PR title
-     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "spring-boot"
-     *
-     * @param title PR title
-     * @return dependency name or null
-     */
-    private String extractDependency(String title) {
-        try {
-            if (title.toLowerCase().startsWith("bump ")) {
-                String withoutBump = title.substring(5); // Remove "Bump "
-                int fromIndex = withoutBump.toLowerCase().indexOf(" from ");
-                if (fromIndex > 0) {
-                    return withoutBump.substring(0, fromIndex).trim();
-                }
+            if (mergeable != null) {
+                cachePRDetails(dto, baseSha(pr));
             }
-        } catch (Exception e) {
-            log.debug("Could not extract dependency from title: {}", title);
-        }
-        return null;
-    }
+            return dto;
 
-    /**
-     * Extract current version from PR title
-     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "3.1.0"
-     *
-     * @param title PR title
-     * @return current version or null
-     */
-    private String extractCurrentVersion(String title) {
-        try {
-            int fromIndex = title.toLowerCase().indexOf(" from ");
-            int toIndex = title.toLowerCase().indexOf(" to ");
-            if (fromIndex > 0 && toIndex > fromIndex) {
-                return title.substring(fromIndex + 6, toIndex).trim();
-            }
-        } catch (Exception e) {
-            log.debug("Could not extract current version from title: {}", title);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error converting PR #" + pr.getNumber(), e);
         }
-        return null;
     }
 
     /**
-     * Extract proposed version from PR title
-     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "3.2.1"
-     *
-     * @param title PR title
-     * @return proposed version or null
+     * Repository name paired with the installation that can read it
      */
-    private String extractProposedVersion(String title) {
-        try {
-            int toIndex = title.toLowerCase().indexOf(" to ");
-            if (toIndex > 0) {
-                String afterTo = title.substring(toIndex + 4).trim();
-                // Remove any trailing text in parentheses or brackets
-                int endIndex = afterTo.length();
-                for (char c : new char[]{'(', '[', ' ', '\n'}) {
-                    int idx = afterTo.indexOf(c);
-                    if (idx > 0 && idx < endIndex) {
-                        endIndex = idx;
-                    }
-                }
-                return afterTo.substring(0, endIndex).trim();
-            }
-        } catch (Exception e) {
-            log.debug("Could not extract proposed version from title: {}", title);
-        }
-        return null;
+    record RepositoryRef(GitHubInstallation installation, String name) {
     }
-}
\ No newline at end of file
+}
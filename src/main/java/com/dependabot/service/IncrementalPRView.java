@@ -0,0 +1,73 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import org.springframework.context.event.EventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base for views over the latest synced PRs that are maintained incrementally
+ * Each sync replaces one repository's PRs, so a view only retracts that repository's previous PRs
+ * and applies the new ones; nothing is recomputed from the full PR list.
+ * Callbacks run under the view's lock, which subclasses also hold while reading
+ */
+public abstract class IncrementalPRView {
+
+    private final Map<String, List<PRDto>> current = new HashMap<>();
+
+    /**
+     * Apply a sync to the view, skipping it when the repository's PRs did not change
+     */
+    @EventListener
+    public synchronized void onSync(PRsSyncedEvent event) {
+        List<PRDto> prs = List.copyOf(event.prs());
+        List<PRDto> previous = current.put(event.repository(), prs);
+        if (prs.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            previous.forEach(pr -> retract(event.repository(), pr));
+        }
+        prs.forEach(pr -> apply(event.repository(), pr));
+        repositoryChanged(event.repository(), prs);
+    }
+
+    /**
+     * Drop a repository that is no longer synced from the view
+     */
+    @EventListener
+    public synchronized void onRemoved(RepositoryRemovedEvent event) {
+        List<PRDto> previous = current.remove(event.repository());
+        if (previous == null) {
+            return;
+        }
+        previous.forEach(pr -> retract(event.repository(), pr));
+        repositoryChanged(event.repository(), List.of());
+    }
+
+    /**
+     * @param repository repository identifier
+     * @return the repository's PRs as of its latest sync, empty if it was never synced
+     */
+    protected List<PRDto> prsOf(String repository) {
+        return current.getOrDefault(repository, List.of());
+    }
+
+    /**
+     * Add a PR of the repository's latest sync to the view
+     */
+    protected abstract void apply(String repository, PRDto pr);
+
+    /**
+     * Remove a PR of the repository's previous sync from the view
+     */
+    protected abstract void retract(String repository, PRDto pr);
+
+    /**
+     * Called once all PRs of a sync have been applied, for per-repository state that is cheaper to rebuild
+     */
+    protected void repositoryChanged(String repository, List<PRDto> prs) {
+    }
+}
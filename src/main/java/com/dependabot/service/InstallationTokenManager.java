@@ -0,0 +1,231 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.GHAppInstallationToken;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Holds the installation access token for a GitHub App installation
+ * Reuses the token and its authenticated client until shortly before expiry instead of minting one per call
+ */
+public class InstallationTokenManager {
+
+    private static final Logger log = LoggerFactory.getLogger(InstallationTokenManager.class);
+
+    /**
+     * Tokens are renewed this long before GitHub expires them
+     */
+    static final Duration DEFAULT_REFRESH_SKEW = Duration.ofMinutes(5);
+
+    static final String DEFAULT_API_URL = "https://api.github.com";
+
+    private final Supplier<String> jwtSupplier;
+    private final Supplier<String> installationIdSupplier;
+    private final String apiUrl;
+    private final GitHubConnector connector;
+    private final Duration refreshSkew;
+
+    /**
+     * Guards minting; a lock rather than synchronized so a virtual thread waiting on GitHub does not pin its carrier
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile GitHub client;
+    private volatile String token;
+    private volatile Instant tokenExpiresAt;
+    private final Map<String, GHRateLimit.Record> lastRateLimits = new ConcurrentHashMap<>();
+
+    public InstallationTokenManager(Supplier<String> jwtSupplier, Supplier<String> installationIdSupplier) {
+        this(jwtSupplier, installationIdSupplier, DEFAULT_API_URL, DEFAULT_REFRESH_SKEW);
+    }
+
+    public InstallationTokenManager(Supplier<String> jwtSupplier,
+                                    Supplier<String> installationIdSupplier,
+                                    String apiUrl) {
+        this(jwtSupplier, installationIdSupplier, apiUrl, DEFAULT_REFRESH_SKEW);
+    }
+
+    public InstallationTokenManager(Supplier<String> jwtSupplier,
+                                    Supplier<String> installationIdSupplier,
+                                    String apiUrl,
+                                    Duration refreshSkew) {
+        this(jwtSupplier, installationIdSupplier, apiUrl, GitHubConnector.DEFAULT, refreshSkew);
+    }
+
+    /**
+     * @param connector HTTP connector used for every call, including minting tokens
+     */
+    public InstallationTokenManager(Supplier<String> jwtSupplier,
+                                    Supplier<String> installationIdSupplier,
+                                    String apiUrl,
+                                    GitHubConnector connector,
+                                    Duration refreshSkew) {
+        this.jwtSupplier = jwtSupplier;
+        this.installationIdSupplier = installationIdSupplier;
+        this.apiUrl = apiUrl;
+        this.connector = connector;
+        this.refreshSkew = refreshSkew;
+    }
+
+    /**
+     * Get a client authenticated with a valid installation token
+     * Mints a new token when none is held or the current one is about to expire
+     *
+     * @return authenticated GitHub client
+     * @throws IOException if the token cannot be created
+     */
+    public GitHub getClient() throws IOException {
+        GitHub current = client;
+        if (current != null && !isExpiring(tokenExpiresAt)) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (client == null || isExpiring(tokenExpiresAt)) {
+                mintToken();
+            }
+            return client;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a valid installation token for clients that call GitHub directly
+     * Shares the token, and its renewal, with the authenticated client
+     *
+     * @return installation access token
+     * @throws IOException if the token cannot be created
+     */
+    public String getToken() throws IOException {
+        String current = token;
+        if (current != null && !isExpiring(tokenExpiresAt)) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (token == null || isExpiring(tokenExpiresAt)) {
+                mintToken();
+            }
+            return token;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Connector for calls the GitHub client library does not offer, such as GraphQL and bulk actions
+     * Like the installation client it keeps the rate limit each response reports
+     *
+     * @return HTTP connector shared by the clients, observing rate limits
+     */
+    public GitHubConnector getConnector() {
+        return this::sendObservingRateLimit;
+    }
+
+    /**
+     * @return when the currently held installation token expires, if one has been minted
+     */
+    public Optional<Instant> getTokenExpiresAt() {
+        return Optional.ofNullable(tokenExpiresAt);
+    }
+
+    /**
+     * Core rate limit reported by the most recent GitHub response to an installation call
+     * Read from the X-RateLimit-* headers as responses pass through, so it never calls GitHub
+     *
+     * @return last observed core rate limit, if any response carried one
+     */
+    public Optional<GHRateLimit.Record> lastRateLimit() {
+        return lastRateLimit("core");
+    }
+
+    /**
+     * @param resource rate-limit resource as GitHub names it, e.g. "core" or "graphql"
+     * @return last observed rate limit of the resource, if any response carried one
+     */
+    public Optional<GHRateLimit.Record> lastRateLimit(String resource) {
+        return Optional.ofNullable(lastRateLimits.get(resource));
+    }
+
+    /**
+     * Drop the held token so the next call mints a fresh one
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            client = null;
+            token = null;
+            lastRateLimits.clear();
+            tokenExpiresAt = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void mintToken() throws IOException {
+        String installationId = installationIdSupplier.get();
+
+        GitHub gitHubApp = new GitHubBuilder()
+                .withEndpoint(apiUrl)
+                .withConnector(connector)
+                .withJwtToken(jwtSupplier.get())
+                .build();
+
+        GHAppInstallationToken token = gitHubApp.getApp()
+                .getInstallationById(Long.parseLong(installationId))
+                .createToken()
+                .create();
+
+        client = new GitHubBuilder()
+                .withEndpoint(apiUrl)
+                .withConnector(this::sendObservingRateLimit)
+                .withAppInstallationToken(token.getToken())
+                .build();
+        this.token = token.getToken();
+        // Installation tokens last one hour when GitHub omits the expiry
+        tokenExpiresAt = token.getExpiresAt() != null ? token.getExpiresAt() : Instant.now().plus(Duration.ofHours(1));
+
+        log.debug("Minted installation token for installation {} expiring at {}", installationId, tokenExpiresAt);
+    }
+
+    /**
+     * Send through the shared connector, keeping the rate limit the response reports under its resource
+     * GraphQL and search responses report their own budgets, apart from the core one
+     */
+    private GitHubConnectorResponse sendObservingRateLimit(GitHubConnectorRequest request) throws IOException {
+        GitHubConnectorResponse response = connector.send(request);
+        String resource = response.header("X-RateLimit-Resource");
+        String limit = response.header("X-RateLimit-Limit");
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if (limit != null && remaining != null && reset != null) {
+            try {
+                lastRateLimits.put(resource != null ? resource : "core", new GHRateLimit.Record(
+                        Integer.parseInt(limit), Integer.parseInt(remaining), Long.parseLong(reset)));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed rate-limit headers: {}/{} reset {}", remaining, limit, reset);
+            }
+        }
+        return response;
+    }
+
+    private boolean isExpiring(Instant expiresAt) {
+        return expiresAt == null || Instant.now().plus(refreshSkew).isAfter(expiresAt);
+    }
+}
@@ -0,0 +1,131 @@
+package com.dependabot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * SharedCacheStore on a database every replica connects to, e.g. an H2 file in AUTO_SERVER mode
+ * Events are rows in a log that each node polls past the last id it has seen. An event committed after one
+ * with a higher id can be skipped by a poll in between; the cost is a local entry living out its TTL
+ */
+public class JdbcSharedCacheStore implements SharedCacheStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcSharedCacheStore.class);
+
+    private static final Duration EVENT_RETENTION = Duration.ofHours(1);
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Consumer<SharedCacheEvent>> listeners = new CopyOnWriteArrayList<>();
+    private long lastEventId;
+    private Instant lastPurge = Instant.MIN;
+
+    /**
+     * Create the tables if missing and start listening from the newest event
+     *
+     * @param dataSource shared database; closed with the store if it is closeable
+     */
+    public JdbcSharedCacheStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/shared-cache-schema.sql")).execute(dataSource);
+        Long newest = jdbc.queryForObject("SELECT MAX(id) FROM shared_cache_event", Long.class);
+        this.lastEventId = newest != null ? newest : 0;
+    }
+
+    @Override
+    public Optional<byte[]> get(String cacheName, String key) {
+        List<byte[]> payloads = jdbc.query(
+                "SELECT payload FROM shared_cache_entry WHERE cache_name = ? AND cache_key = ? AND expires_at > ?",
+                (rs, row) -> rs.getBytes("payload"), cacheName, key, timestamp(Instant.now()));
+        return payloads.stream().findFirst();
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, Duration ttl) {
+        jdbc.update("MERGE INTO shared_cache_entry (cache_name, cache_key, payload, expires_at) KEY (cache_name, cache_key) "
+                + "VALUES (?, ?, ?, ?)", cacheName, key, value, timestamp(Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        jdbc.update("DELETE FROM shared_cache_entry WHERE cache_name = ? AND cache_key = ?", cacheName, key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        jdbc.update("DELETE FROM shared_cache_entry WHERE cache_name = ?", cacheName);
+    }
+
+    @Override
+    public void publish(SharedCacheEvent event) {
+        jdbc.update("INSERT INTO shared_cache_event (cache_name, cache_key, event_type, origin, created_at) VALUES (?, ?, ?, ?, ?)",
+                event.cacheName(), event.key(), event.type().name(), origin, timestamp(Instant.now()));
+    }
+
+    @Override
+    public void subscribe(Consumer<SharedCacheEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Deliver the events other nodes have published since the last poll, and now and then purge expired rows
+     */
+    @Scheduled(fixedDelayString = "${cache.shared.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        List<Object[]> rows = jdbc.query(
+                "SELECT id, cache_name, cache_key, event_type, origin FROM shared_cache_event WHERE id > ? ORDER BY id",
+                (rs, row) -> new Object[]{rs.getLong("id"), new SharedCacheEvent(
+                        SharedCacheEvent.Type.valueOf(rs.getString("event_type")),
+                        rs.getString("cache_name"), rs.getString("cache_key")), rs.getString("origin")},
+                lastEventId);
+        for (Object[] row : rows) {
+            lastEventId = (Long) row[0];
+            if (!origin.equals(row[2])) {
+                SharedCacheEvent event = (SharedCacheEvent) row[1];
+                for (Consumer<SharedCacheEvent> listener : listeners) {
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        log.warn("Shared cache listener failed on {}: {}", event, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Instant now = Instant.now();
+        if (lastPurge.plus(PURGE_INTERVAL).isBefore(now)) {
+            lastPurge = now;
+            jdbc.update("DELETE FROM shared_cache_entry WHERE expires_at <= ?", timestamp(now));
+            jdbc.update("DELETE FROM shared_cache_event WHERE created_at < ?", timestamp(now.minus(EVENT_RETENTION)));
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,59 @@
+package com.dependabot.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SyncLeaderLock on a database every replica connects to, e.g. the H2 file of the shared cache tier
+ * Leases are timed by the database clock, so clock drift between nodes does not matter
+ */
+public class JdbcSyncLeaderLock implements SyncLeaderLock, AutoCloseable {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Create the lock table if missing
+     *
+     * @param dataSource shared database; closed with the lock if it is closeable
+     */
+    public JdbcSyncLeaderLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/sync-leader-schema.sql")).execute(dataSource);
+    }
+
+    @Override
+    public boolean tryAcquire(String name, String owner, Duration lease) {
+        int updated = jdbc.update("UPDATE sync_leader_lock SET owner = ?, expires_at = DATEADD('MILLISECOND', ?, CURRENT_TIMESTAMP) "
+                + "WHERE name = ? AND (owner = ? OR expires_at <= CURRENT_TIMESTAMP)", owner, lease.toMillis(), name, owner);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbc.update("INSERT INTO sync_leader_lock (name, owner, expires_at) VALUES (?, ?, DATEADD('MILLISECOND', ?, CURRENT_TIMESTAMP))",
+                    name, owner, lease.toMillis());
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Another node holds an unexpired lease
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        jdbc.update("DELETE FROM sync_leader_lock WHERE name = ? AND owner = ?", name, owner);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GitHub connector on java.net.http with connect and response timeouts
+ * The library's own HttpClient connector sets no response timeout, so a degraded GitHub could hold a caller indefinitely
+ */
+public class JdkHttpGitHubConnector implements GitHubConnector {
+
+    private final HttpClient httpClient;
+    private final Duration responseTimeout;
+
+    public JdkHttpGitHubConnector(Duration connectTimeout, Duration responseTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.responseTimeout = responseTimeout;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(responseTimeout);
+        try {
+            builder.uri(request.url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid GitHub URL: " + request.url(), e);
+        }
+
+        for (Map.Entry<String, List<String>> header : request.allHeaders().entrySet()) {
+            if (header.getValue() != null) {
+                builder.header(header.getKey(), String.join(", ", header.getValue()));
+            }
+        }
+
+        HttpRequest.BodyPublisher body = request.hasBody()
+                ? HttpRequest.BodyPublishers.ofByteArray(request.body().readAllBytes())
+                : HttpRequest.BodyPublishers.noBody();
+        builder.method(request.method(), body);
+
+        try {
+            HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            return new JdkHttpResponse(request, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        }
+    }
+
+    private static final class JdkHttpResponse extends GitHubConnectorResponse {
+
+        private final HttpResponse<InputStream> response;
+
+        private JdkHttpResponse(GitHubConnectorRequest request, HttpResponse<InputStream> response) {
+            super(request, response.statusCode(), response.headers().map());
+            this.response = response;
+        }
+
+        @Override
+        protected InputStream rawBodyStream() {
+            return response.body();
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            response.body().close();
+        }
+    }
+}
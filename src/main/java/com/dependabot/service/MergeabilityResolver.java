@@ -0,0 +1,115 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-checks PRs whose mergeability GitHub was still computing when they were fetched
+ * Only those PRs are polled, in the background with exponential backoff, and each answer is put into the cached
+ * list, so requests never wait for it. With leader election only the sync leader polls
+ */
+@Service
+public class MergeabilityResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(MergeabilityResolver.class);
+
+    private final GitHubService gitHubService;
+    private final SyncLeaderElection leaderElection;
+    private final Executor executor;
+    private final long initialDelayMs;
+    private final int maxAttempts;
+
+    /**
+     * Latest pending PR per "repository#number"; a key is present while a poll for it is scheduled
+     */
+    private final Map<String, PRDto> pending = new ConcurrentHashMap<>();
+
+    public MergeabilityResolver(GitHubService gitHubService,
+                                SyncLeaderElection leaderElection,
+                                @Qualifier("cacheRefreshExecutor") Executor executor,
+                                @Value("${github.mergeability.initial-delay-ms:2000}") long initialDelayMs,
+                                @Value("${github.mergeability.max-attempts:5}") int maxAttempts) {
+        this.gitHubService = gitHubService;
+        this.leaderElection = leaderElection;
+        this.executor = executor;
+        this.initialDelayMs = initialDelayMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Schedule a poll for every pending PR of a sync that is not already being polled
+     * A later sync of the same PR replaces the one the running poll will update
+     */
+    @EventListener
+    public void onSync(PRsSyncedEvent event) {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        for (PRDto pr : event.prs()) {
+            if (Boolean.TRUE.equals(pr.getMergeabilityPending()) && pr.getNumber() != null) {
+                String key = event.repository() + "#" + pr.getNumber();
+                if (pending.put(key, pr) == null) {
+                    schedule(event.repository(), pr.getNumber(), key, 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of PRs waiting for GitHub to compute their mergeability
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void schedule(String repository, int number, String key, int attempt) {
+        long delayMs = initialDelayMs << (attempt - 1);
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // The next sync will find the PR still pending and try again
+                pending.remove(key);
+                log.debug("Mergeability poll of {} rejected", key);
+            }
+        }).execute(() -> poll(repository, number, key, attempt));
+    }
+
+    private void poll(String repository, int number, String key, int attempt) {
+        Boolean mergeable;
+        try {
+            mergeable = gitHubService.getPullRequestMergeable(repository, number);
+        } catch (Exception e) {
+            log.debug("Mergeability poll of {} failed (attempt {} of {}): {}", key, attempt, maxAttempts, e.getMessage());
+            mergeable = null;
+        }
+
+        if (mergeable == null) {
+            if (attempt < maxAttempts) {
+                schedule(repository, number, key, attempt + 1);
+            } else {
+                pending.remove(key);
+                log.info("Mergeability of {} still unknown after {} attempts; leaving it pending until the next sync",
+                        key, maxAttempts);
+            }
+            return;
+        }
+
+        PRDto target = pending.remove(key);
+        if (target != null && gitHubService.resolveMergeability(repository, target, mergeable)) {
+            log.debug("Resolved mergeability of {} after {} attempts: {}", key, attempt, mergeable ? "clean" : "conflicts");
+        }
+    }
+}
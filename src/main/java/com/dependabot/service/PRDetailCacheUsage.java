@@ -0,0 +1,18 @@
+package com.dependabot.service;
+
+/**
+ * How a fetch of one repository got its PR details
+ *
+ * @param reused PRs served from the detail cache because they had not been updated since they were built
+ * @param fetched PRs that needed detail calls to GitHub
+ */
+public record PRDetailCacheUsage(int reused, int fetched) {
+
+    /**
+     * @return share of PRs served from the detail cache, or 0 when the repository had none
+     */
+    public double hitRate() {
+        int total = reused + fetched;
+        return total > 0 ? (double) reused / total : 0.0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.OpenCountDto;
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRTransitionDto;
+import com.dependabot.dto.TimeToMergeDto;
+import com.dependabot.service.PRHistoryStore.Change;
+import com.dependabot.service.PRHistoryStore.OpenPR;
+import com.dependabot.service.PRHistoryStore.Transition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Service recording Dependabot PR state transitions and answering trend queries
+ * Each sync is diffed against the last recorded state: new PRs are opened, changed ones updated,
+ * and PRs no longer listed are looked up on GitHub to tell a merge from a close
+ */
+@Service
+public class PRHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PRHistoryService.class);
+    private static final String UNKNOWN_DEPENDENCY = "unknown";
+
+    private final PRHistoryStore store;
+    private final GitHubService gitHubService;
+    private final Executor historyExecutor;
+    private final int retentionDays;
+    private final Clock clock;
+
+    @Autowired
+    public PRHistoryService(PRHistoryStore store,
+                            GitHubService gitHubService,
+                            @Qualifier("historyExecutor") Executor historyExecutor,
+                            @Value("${history.retention-days:400}") int retentionDays) {
+        this(store, gitHubService, historyExecutor, retentionDays, Clock.systemUTC());
+    }
+
+    PRHistoryService(PRHistoryStore store, GitHubService gitHubService, Executor historyExecutor, int retentionDays,
+                     Clock clock) {
+        this.store = store;
+        this.gitHubService = gitHubService;
+        this.historyExecutor = historyExecutor;
+        this.retentionDays = retentionDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Queue a sync for recording, so the fetch that produced it is not held up by the store
+     */
+    @EventListener
+    public void onSync(PRsSyncedEvent event) {
+        historyExecutor.execute(() -> {
+            try {
+                record(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to record PR history for {}", event.repository(), e);
+            }
+        });
+    }
+
+    /**
+     * Diff a sync against the stored state and apply the transitions
+     *
+     * @param event the sync to record
+     */
+    void record(PRsSyncedEvent event) {
+        String repository = event.repository();
+        Map<Integer, OpenPR> open = store.findOpen(repository);
+        List<Change> changes = new ArrayList<>();
+
+        for (PRDto pr : event.prs()) {
+            OpenPR known = open.remove(pr.getNumber());
+            Instant createdAt = pr.getCreatedAt() != null ? pr.getCreatedAt() : event.syncedAt();
+            Instant updatedAt = pr.getUpdatedAt() != null ? pr.getUpdatedAt() : createdAt;
+            if (known == null) {
+                changes.add(new Change(pr.getNumber(), dependency(pr), Transition.OPENED, createdAt,
+                        createdAt, updatedAt));
+            } else if (!Objects.equals(known.updatedAt(), updatedAt)) {
+                changes.add(new Change(pr.getNumber(), known.dependency(), Transition.UPDATED, updatedAt,
+                        known.createdAt(), updatedAt));
+            }
+        }
+
+        // Whatever is left was open at the last sync and is gone now
+        for (OpenPR gone : open.values()) {
+            try {
+                PullRequestOutcome outcome = gitHubService.getPullRequestOutcome(repository, gone.number());
+                if (outcome.isOpen()) {
+                    continue;
+                }
+                Instant at = outcome.merged() ? outcome.mergedAt() : outcome.closedAt();
+                changes.add(new Change(gone.number(), gone.dependency(),
+                        outcome.merged() ? Transition.MERGED : Transition.CLOSED, at, gone.createdAt(), at));
+            } catch (IOException e) {
+                // Stays open in the store, so the next sync looks it up again
+                log.warn("Cannot tell how PR #{} of {} ended: {}", gone.number(), repository, e.getMessage());
+            }
+        }
+
+        store.apply(repository, changes, event.prs().size(), event.syncedAt());
+        if (!changes.isEmpty()) {
+            log.debug("Recorded {} PR transitions for {}", changes.size(), repository);
+        }
+    }
+
+    /**
+     * Open Dependabot PRs per repository and day
+     * Days without a sync have no entry
+     *
+     * @param days window length ending today (UTC), capped at the retention
+     * @param repository repository name or "owner/repo", or null for every repository
+     * @return open counts ordered by repository then day
+     */
+    public List<OpenCountDto> getOpenCounts(int days, String repository) {
+        return store.openCounts(windowStart(days), repository != null ? canonical(repository) : null);
+    }
+
+    /**
+     * Mean time from opening to merge per dependency, over PRs merged within the window
+     *
+     * @param days window length ending today (UTC), capped at the retention
+     * @param dependency dependency name, or null for every dependency
+     * @return time to merge ordered by dependency
+     */
+    public List<TimeToMergeDto> getTimeToMerge(int days, String dependency) {
+        return store.timeToMerge(windowStart(days), dependency);
+    }
+
+    /**
+     * @param repository repository name or "owner/repo"
+     * @param number pull request number
+     * @return recorded transitions of the pull request, oldest first
+     */
+    public List<PRTransitionDto> getTransitions(String repository, int number) {
+        return store.transitions(canonical(repository), number);
+    }
+
+    /**
+     * Drop history older than the retention, a day at a time
+     */
+    @Scheduled(cron = "${history.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        int deleted = store.purgeBefore(today().minusDays(retentionDays));
+        log.info("Purged {} PR history rows older than {} days", deleted, retentionDays);
+    }
+
+    /**
+     * History is recorded under "owner/repo", whichever form the syncs were requested under
+     */
+    private String canonical(String repository) {
+        try {
+            return gitHubService.canonicalRepository(repository);
+        } catch (IllegalArgumentException e) {
+            // No installation for the owner, so nothing was recorded for it
+            return repository;
+        }
+    }
+
+    private LocalDate windowStart(int days) {
+        int window = Math.max(1, Math.min(days, retentionDays));
+        return today().minusDays(window - 1L);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock.withZone(ZoneOffset.UTC));
+    }
+
+    private static String dependency(PRDto pr) {
+        return pr.getDependency() != null ? pr.getDependency() : UNKNOWN_DEPENDENCY;
+    }
+}
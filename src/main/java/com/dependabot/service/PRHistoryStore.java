@@ -0,0 +1,203 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.OpenCountDto;
+import com.dependabot.dto.PRTransitionDto;
+import com.dependabot.dto.TimeToMergeDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded store of PR state transitions with daily rollups
+ * Open counts and merge durations are aggregated per day as transitions are written,
+ * so trend queries read one row per day in their window instead of the transition log
+ */
+@Repository
+public class PRHistoryStore {
+
+    /**
+     * State transitions of a pull request
+     */
+    public enum Transition {
+        OPENED, UPDATED, CLOSED, MERGED
+    }
+
+    /**
+     * Last recorded state of an open pull request
+     */
+    public record OpenPR(int number, String dependency, Instant createdAt, Instant updatedAt) {
+    }
+
+    /**
+     * A transition detected by diffing a sync against the stored state
+     *
+     * @param at when it happened on GitHub
+     */
+    public record Change(int number, String dependency, Transition transition, Instant at,
+                         Instant createdAt, Instant updatedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public PRHistoryStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @param repository repository identifier
+     * @return PRs last recorded as open, by number
+     */
+    public Map<Integer, OpenPR> findOpen(String repository) {
+        Map<Integer, OpenPR> open = new HashMap<>();
+        jdbc.query("SELECT number, dependency, created_at, updated_at FROM pr_state WHERE repository = ? AND state = 'OPEN'",
+                rs -> {
+                    OpenPR pr = new OpenPR(rs.getInt("number"), rs.getString("dependency"),
+                            instant(rs, "created_at"), instant(rs, "updated_at"));
+                    open.put(pr.number(), pr);
+                }, repository);
+        return open;
+    }
+
+    /**
+     * Apply the transitions of one sync and record the repository's open count for the day
+     *
+     * @param repository repository identifier
+     * @param changes transitions detected by the sync
+     * @param openCount open PRs after the sync
+     * @param syncedAt when the sync completed
+     */
+    @Transactional
+    public void apply(String repository, List<Change> changes, int openCount, Instant syncedAt) {
+        for (Change change : changes) {
+            String state = switch (change.transition()) {
+                case OPENED, UPDATED -> "OPEN";
+                case CLOSED, MERGED -> change.transition().name();
+            };
+            jdbc.update("MERGE INTO pr_state (repository, number, dependency, state, created_at, updated_at) "
+                            + "KEY (repository, number) VALUES (?, ?, ?, ?, ?, ?)",
+                    repository, change.number(), change.dependency(), state,
+                    timestamp(change.createdAt()), timestamp(change.updatedAt()));
+            jdbc.update("INSERT INTO pr_transition (bucket_day, occurred_at, repository, number, dependency, transition) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    day(change.at()), timestamp(change.at()), repository, change.number(), change.dependency(),
+                    change.transition().name());
+
+            if (change.transition() == Transition.MERGED) {
+                recordMerge(change.dependency(), day(change.at()),
+                        change.at().toEpochMilli() - change.createdAt().toEpochMilli());
+            }
+        }
+        jdbc.update("MERGE INTO pr_open_daily (bucket_day, repository, open_count) KEY (bucket_day, repository) VALUES (?, ?, ?)",
+                day(syncedAt), repository, openCount);
+    }
+
+    private void recordMerge(String dependency, Date day, long mergeMs) {
+        int updated = jdbc.update("UPDATE pr_merge_daily SET merged_count = merged_count + 1, "
+                + "total_merge_ms = total_merge_ms + ? WHERE bucket_day = ? AND dependency = ?", mergeMs, day, dependency);
+        if (updated == 0) {
+            jdbc.update("INSERT INTO pr_merge_daily (bucket_day, dependency, merged_count, total_merge_ms) VALUES (?, ?, 1, ?)",
+                    day, dependency, mergeMs);
+        }
+    }
+
+    /**
+     * @param from first day to include
+     * @param repository repository identifier, or null for every repository
+     * @return open counts per repository and day, ordered by repository then day
+     */
+    public List<OpenCountDto> openCounts(LocalDate from, String repository) {
+        String sql = "SELECT bucket_day, repository, open_count FROM pr_open_daily WHERE bucket_day >= ?"
+                + (repository == null ? "" : " AND repository = ?")
+                + " ORDER BY repository, bucket_day";
+        Object[] args = repository == null ? new Object[]{Date.valueOf(from)} : new Object[]{Date.valueOf(from), repository};
+        return jdbc.query(sql, (rs, row) -> OpenCountDto.builder()
+                .repository(rs.getString("repository"))
+                .day(rs.getDate("bucket_day").toLocalDate())
+                .openCount(rs.getInt("open_count"))
+                .build(), args);
+    }
+
+    /**
+     * @param from first day to include
+     * @param dependency dependency name, or null for every dependency
+     * @return mean time to merge per dependency over merges since the given day, ordered by dependency
+     */
+    public List<TimeToMergeDto> timeToMerge(LocalDate from, String dependency) {
+        String sql = "SELECT dependency, SUM(merged_count) AS merged, SUM(total_merge_ms) AS total "
+                + "FROM pr_merge_daily WHERE bucket_day >= ?"
+                + (dependency == null ? "" : " AND dependency = ?")
+                + " GROUP BY dependency ORDER BY dependency";
+        Object[] args = dependency == null ? new Object[]{Date.valueOf(from)} : new Object[]{Date.valueOf(from), dependency};
+        return jdbc.query(sql, (rs, row) -> {
+            long merged = rs.getLong("merged");
+            return TimeToMergeDto.builder()
+                    .dependency(rs.getString("dependency"))
+                    .mergedCount(merged)
+                    .meanTimeToMergeMs(rs.getLong("total") / merged)
+                    .build();
+        }, args);
+    }
+
+    /**
+     * @param repository repository identifier
+     * @param number pull request number
+     * @return recorded transitions of the pull request, oldest first
+     */
+    public List<PRTransitionDto> transitions(String repository, int number) {
+        return jdbc.query("SELECT repository, number, dependency, transition, occurred_at FROM pr_transition "
+                        + "WHERE repository = ? AND number = ? ORDER BY occurred_at, id",
+                (rs, row) -> PRTransitionDto.builder()
+                        .repository(rs.getString("repository"))
+                        .number(rs.getInt("number"))
+                        .dependency(rs.getString("dependency"))
+                        .transition(rs.getString("transition"))
+                        .occurredAt(instant(rs, "occurred_at"))
+                        .build(),
+                repository, number);
+    }
+
+    /**
+     * Drop every day before the cutoff, and PRs that were closed before it
+     *
+     * @param cutoff first day to keep
+     * @return rows deleted
+     */
+    @Transactional
+    public int purgeBefore(LocalDate cutoff) {
+        Date day = Date.valueOf(cutoff);
+        int deleted = 0;
+        for (String statement : List.of(
+                "DELETE FROM pr_transition WHERE bucket_day < ?",
+                "DELETE FROM pr_open_daily WHERE bucket_day < ?",
+                "DELETE FROM pr_merge_daily WHERE bucket_day < ?")) {
+            deleted += jdbc.update(statement, day);
+        }
+        deleted += jdbc.update("DELETE FROM pr_state WHERE state <> 'OPEN' AND updated_at < ?",
+                timestamp(cutoff.atStartOfDay(ZoneOffset.UTC).toInstant()));
+        return deleted;
+    }
+
+    private static Date day(Instant instant) {
+        return Date.valueOf(LocalDate.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        return value == null ? null : value.toInstant();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * JSON codec for the PR lists of the github-prs cache
+ * Version codes are not serialized, so they are parsed again from the version strings on decode
+ */
+public class PRListCodec implements SharedCacheCodec {
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+    private final JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, PRDto.class);
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode PR list", e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        List<PRDto> prs;
+        try {
+            prs = mapper.readValue(bytes, listType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode PR list", e);
+        }
+        for (PRDto pr : prs) {
+            pr.setCurrentVersionCode(SemanticVersion.parse(pr.getCurrentVersion()));
+            pr.setProposedVersionCode(SemanticVersion.parse(pr.getProposedVersion()));
+        }
+        return List.copyOf(prs);
+    }
+}
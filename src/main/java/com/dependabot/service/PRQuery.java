@@ -0,0 +1,123 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BumpType;
+import com.dependabot.dto.PRDto;
+import io.swagger.v3.oas.annotations.Parameter;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Server-side filtering and ordering of PR lists
+ * Versions are compared by the codes parsed when the DTOs were built, so sorting never parses a version
+ *
+ * Read from the bumpType, sort and order request parameters by resolvers registered in WebConfig
+ *
+ * @param bumpType keep only PRs with one of these bump types, or every PR when empty
+ * @param sort field to order by, or null to keep the fetched order
+ * @param order direction of the ordering
+ */
+public record PRQuery(
+        @Parameter(description = "Keep only PRs with these bump types", example = "MINOR,PATCH")
+        Set<BumpType> bumpType,
+        @Parameter(description = "Field to order by; fetched order when omitted", example = "PROPOSED_VERSION")
+        SortField sort,
+        @Parameter(description = "Sort direction", example = "DESC")
+        Order order) {
+
+    /**
+     * Fields PR lists can be ordered by
+     */
+    public enum SortField {
+        CREATED_AT, UPDATED_AT, CURRENT_VERSION, PROPOSED_VERSION
+    }
+
+    /**
+     * Sort direction
+     */
+    public enum Order {
+        ASC, DESC
+    }
+
+    private static final Comparator<Instant> INSTANTS = Comparator.nullsLast(Comparator.naturalOrder());
+
+    public PRQuery {
+        bumpType = bumpType == null ? Set.of() : Set.copyOf(bumpType);
+        order = order == null ? Order.ASC : order;
+    }
+
+    /**
+     * Build a query from raw request parameters, reading them the way data binding would
+     * Bump types may be repeated or comma-separated; blank values count as absent
+     *
+     * @param bumpTypes values of every bumpType parameter, or null
+     * @param sort value of the sort parameter, or null
+     * @param order value of the order parameter, or null
+     * @return the query
+     * @throws IllegalArgumentException if a value names no constant
+     */
+    public static PRQuery parse(String[] bumpTypes, String sort, String order) {
+        Set<BumpType> types = EnumSet.noneOf(BumpType.class);
+        if (bumpTypes != null) {
+            for (String value : bumpTypes) {
+                for (String type : value.split(",")) {
+                    BumpType bumpType = constant(BumpType.class, "bumpType", type);
+                    if (bumpType != null) {
+                        types.add(bumpType);
+                    }
+                }
+            }
+        }
+        return new PRQuery(types, constant(SortField.class, "sort", sort), constant(Order.class, "order", order));
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String parameter, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for parameter " + parameter, e);
+        }
+    }
+
+    /**
+     * @return whether the query changes the list at all
+     */
+    public boolean isEmpty() {
+        return bumpType.isEmpty() && sort == null;
+    }
+
+    /**
+     * @param prs PRs in fetched order
+     * @return the matching PRs in the requested order
+     */
+    public List<PRDto> apply(List<PRDto> prs) {
+        if (isEmpty()) {
+            return prs;
+        }
+        var stream = prs.stream();
+        if (!bumpType.isEmpty()) {
+            stream = stream.filter(pr -> pr.getBumpType() != null && bumpType.contains(pr.getBumpType()));
+        }
+        if (sort != null) {
+            stream = stream.sorted(order == Order.DESC ? comparator().reversed() : comparator());
+        }
+        return stream.toList();
+    }
+
+    private Comparator<PRDto> comparator() {
+        return switch (sort) {
+            case CREATED_AT -> Comparator.comparing(PRDto::getCreatedAt, INSTANTS);
+            case UPDATED_AT -> Comparator.comparing(PRDto::getUpdatedAt, INSTANTS);
+            case CURRENT_VERSION -> (a, b) -> SemanticVersion.compare(
+                    a.getCurrentVersionCode(), a.getCurrentVersion(), b.getCurrentVersionCode(), b.getCurrentVersion());
+            case PROPOSED_VERSION -> (a, b) -> SemanticVersion.compare(
+                    a.getProposedVersionCode(), a.getProposedVersion(), b.getProposedVersionCode(), b.getProposedVersion());
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRRefDto;
+import com.dependabot.dto.PRSummaryDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Counts of open Dependabot PRs per repository, dependency, age and conflict state
+ * Counters move by one per PR added or removed by a sync, so summarising costs the same at any PR volume.
+ * Ages change without any sync, so PRs are counted per creation day and bucketed when summarised
+ */
+@Component
+public class PRSummaryView extends IncrementalPRView {
+
+    static final String UNKNOWN_DEPENDENCY = "unknown";
+
+    /**
+     * Age buckets, youngest first
+     */
+    enum AgeBucket {
+        UNDER_7_DAYS("<7d", 7),
+        UNDER_30_DAYS("7-30d", 30),
+        UNDER_90_DAYS("30-90d", 90),
+        OLDER("90d+", Long.MAX_VALUE);
+
+        private final String label;
+        private final long maxDaysExclusive;
+
+        AgeBucket(String label, long maxDaysExclusive) {
+            this.label = label;
+            this.maxDaysExclusive = maxDaysExclusive;
+        }
+
+        static AgeBucket of(long ageDays) {
+            for (AgeBucket bucket : values()) {
+                if (ageDays < bucket.maxDaysExclusive) {
+                    return bucket;
+                }
+            }
+            return OLDER;
+        }
+    }
+
+    private final Clock clock;
+    private final Map<String, Long> byRepository = new HashMap<>();
+    private final Map<String, Long> byDependency = new HashMap<>();
+    private final Map<String, Long> conflictsByRepository = new HashMap<>();
+    private final Map<LocalDate, Long> byCreatedDay = new HashMap<>();
+    private final Map<String, PRRefDto> oldestByRepository = new HashMap<>();
+    private long total;
+    private long withConflicts;
+
+    public PRSummaryView() {
+        this(Clock.systemUTC());
+    }
+
+    PRSummaryView(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    protected void apply(String repository, PRDto pr) {
+        count(repository, pr, 1);
+    }
+
+    @Override
+    protected void retract(String repository, PRDto pr) {
+        count(repository, pr, -1);
+    }
+
+    private void count(String repository, PRDto pr, long delta) {
+        total += delta;
+        add(byRepository, repository, delta);
+        add(byDependency, pr.getDependency() != null ? pr.getDependency() : UNKNOWN_DEPENDENCY, delta);
+        if (Boolean.TRUE.equals(pr.getHasConflicts())) {
+            withConflicts += delta;
+            add(conflictsByRepository, repository, delta);
+        }
+        if (pr.getCreatedAt() != null) {
+            add(byCreatedDay, LocalDate.ofInstant(pr.getCreatedAt(), ZoneOffset.UTC), delta);
+        }
+    }
+
+    @Override
+    protected void repositoryChanged(String repository, List<PRDto> prs) {
+        prs.stream()
+                .filter(pr -> pr.getCreatedAt() != null)
+                .min(Comparator.comparing(PRDto::getCreatedAt))
+                .ifPresentOrElse(oldest -> oldestByRepository.put(repository, PRRefDto.of(repository, oldest)),
+                        () -> oldestByRepository.remove(repository));
+    }
+
+    /**
+     * Summarise the latest sync of every repository
+     * Repositories appear once they have been synced
+     *
+     * @return counts and oldest PRs, with maps sorted by key
+     */
+    public synchronized PRSummaryDto summarize() {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        Map<String, Long> byAge = new LinkedHashMap<>();
+        for (AgeBucket bucket : AgeBucket.values()) {
+            byAge.put(bucket.label, 0L);
+        }
+        byCreatedDay.forEach((day, count) ->
+                byAge.merge(AgeBucket.of(Math.max(0, ChronoUnit.DAYS.between(day, today))).label, count, Long::sum));
+
+        return PRSummaryDto.builder()
+                .total(total)
+                .byRepository(new TreeMap<>(byRepository))
+                .byDependency(new TreeMap<>(byDependency))
+                .byAge(byAge)
+                .withConflicts(withConflicts)
+                .conflictsByRepository(new TreeMap<>(conflictsByRepository))
+                .oldestByRepository(new TreeMap<>(oldestByRepository))
+                .build();
+    }
+
+    private static <K> void add(Map<K, Long> counts, K key, long delta) {
+        counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+}
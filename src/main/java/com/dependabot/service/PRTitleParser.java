@@ -0,0 +1,112 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses dependency and version information out of Dependabot PR titles
+ * Shared by the blocking and reactive GitHub paths
+ */
+final class PRTitleParser {
+
+    private static final Logger log = LoggerFactory.getLogger(PRTitleParser.class);
+
+    private PRTitleParser() {
+    }
+
+    /**
+     * Set the dependency, both versions, their codes and the bump type parsed from a PR title
+     * Versions are parsed once here, so sorting and filtering by them never parse again
+     *
+     * @param builder DTO under construction
+     * @param title PR title, may be null
+     * @return the builder
+     */
+    static PRDto.PRDtoBuilder withTitleDetails(PRDto.PRDtoBuilder builder, String title) {
+        if (title == null) {
+            return builder;
+        }
+        String currentVersion = extractCurrentVersion(title);
+        String proposedVersion = extractProposedVersion(title);
+        long currentCode = SemanticVersion.parse(currentVersion);
+        long proposedCode = SemanticVersion.parse(proposedVersion);
+        return builder
+                .dependency(extractDependency(title))
+                .currentVersion(currentVersion)
+                .proposedVersion(proposedVersion)
+                .currentVersionCode(currentCode)
+                .proposedVersionCode(proposedCode)
+                .bumpType(SemanticVersion.bumpType(currentCode, proposedCode));
+    }
+
+    /**
+     * Extract dependency name from PR title
+     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "spring-boot"
+     *
+     * @param title PR title
+     * @return dependency name or null
+     */
+    static String extractDependency(String title) {
+        try {
+            if (title.toLowerCase().startsWith("bump ")) {
+                String withoutBump = title.substring(5); // Remove "Bump "
+                int fromIndex = withoutBump.toLowerCase().indexOf(" from ");
+                if (fromIndex > 0) {
+                    return withoutBump.substring(0, fromIndex).trim();
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not extract dependency from title: {}", title);
+        }
+        return null;
+    }
+
+    /**
+     * Extract current version from PR title
+     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "3.1.0"
+     *
+     * @param title PR title
+     * @return current version or null
+     */
+    static String extractCurrentVersion(String title) {
+        try {
+            int fromIndex = title.toLowerCase().indexOf(" from ");
+            int toIndex = title.toLowerCase().indexOf(" to ");
+            if (fromIndex > 0 && toIndex > fromIndex) {
+                return title.substring(fromIndex + 6, toIndex).trim();
+            }
+        } catch (Exception e) {
+            log.debug("Could not extract current version from title: {}", title);
+        }
+        return null;
+    }
+
+    /**
+     * Extract proposed version from PR title
+     * Example: "Bump spring-boot from 3.1.0 to 3.2.1" -> "3.2.1"
+     *
+     * @param title PR title
+     * @return proposed version or null
+     */
+    static String extractProposedVersion(String title) {
+        try {
+            int toIndex = title.toLowerCase().indexOf(" to ");
+            if (toIndex > 0) {
+                String afterTo = title.substring(toIndex + 4).trim();
+                // Remove any trailing text in parentheses or brackets
+                int endIndex = afterTo.length();
+                for (char c : new char[]{'(', '[', ' ', '\n'}) {
+                    int idx = afterTo.indexOf(c);
+                    if (idx > 0 && idx < endIndex) {
+                        endIndex = idx;
+                    }
+                }
+                return afterTo.substring(0, endIndex).trim();
+            }
+        } catch (Exception e) {
+            log.debug("Could not extract proposed version from title: {}", title);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published after every successful GitHub fetch of a repository, on either the blocking or the reactive path
+ *
+ * @param repository canonical "owner/repo" identifier, whichever form the fetch was requested under
+ * @param prs open Dependabot PRs as fetched
+ * @param syncedAt when the fetch completed
+ */
+public record PRsSyncedEvent(String repository, List<PRDto> prs, Instant syncedAt) {
+}
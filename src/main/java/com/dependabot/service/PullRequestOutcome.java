@@ -0,0 +1,20 @@
+package com.dependabot.service;
+
+import java.time.Instant;
+
+/**
+ * How a pull request that is no longer open ended
+ *
+ * @param merged whether it was merged rather than closed
+ * @param closedAt when it was closed, or null while it is open
+ * @param mergedAt when it was merged, or null if it was not
+ */
+public record PullRequestOutcome(boolean merged, Instant closedAt, Instant mergedAt) {
+
+    /**
+     * @return whether the pull request is still open
+     */
+    public boolean isOpen() {
+        return closedAt == null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking GitHub REST client built on WebClient
+ * Requests hold no thread while waiting on GitHub; only token minting runs on a worker thread.
+ * Calls share the circuit breaker and bulkhead of the blocking client. When recording or replaying, calls go
+ * through the blocking connector on a worker thread instead, so the archive covers both clients
+ */
+@Component
+public class ReactiveGitHubClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGitHubClient.class);
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final boolean viaConnector;
+
+    public ReactiveGitHubClient(WebClient.Builder webClientBuilder,
+                                GitHubService gitHubService,
+                                GitHubProperties gitHubProperties,
+                                @Value("${github.reactive.max-in-memory-size:4194304}") int maxInMemorySize) {
+        this.circuitBreaker = gitHubService.getCircuitBreaker();
+        this.bulkhead = gitHubService.getBulkhead();
+        GitHubProperties.ReplaySettings replay = gitHubProperties.getReplay();
+        this.viaConnector = replay != null && replay.getMode() != GitHubProperties.ReplaySettings.Mode.OFF;
+        this.webClient = webClientBuilder
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
+                .defaultHeader("X-GitHub-Api-Version", "2022-11-28")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .filter(this::resilient)
+                .build();
+    }
+
+    /**
+     * List open pull requests of a repository, following pagination
+     *
+     * @param installation installation that can read the repository
+     * @param repository bare repository name
+     * @return pull requests as returned by GitHub's list endpoint
+     */
+    public Flux<JsonNode> listOpenPullRequests(GitHubInstallation installation, String repository) {
+        String url = installation.getApiUrl() + "/repos/" + installation.getOwner() + "/" + repository
+                + "/pulls?state=open&per_page=100";
+
+        return fetchPage(installation, url)
+                .expand(page -> page.next() != null ? fetchPage(installation, page.next()) : Mono.empty())
+                .concatMapIterable(Page::items);
+    }
+
+    /**
+     * Get a single pull request, including commit, file and mergeability details
+     *
+     * @param installation installation that can read the repository
+     * @param repository bare repository name
+     * @param number pull request number
+     * @return pull request as returned by GitHub's detail endpoint
+     */
+    public Mono<JsonNode> getPullRequest(GitHubInstallation installation, String repository, int number) {
+        String url = installation.getApiUrl() + "/repos/" + installation.getOwner() + "/" + repository
+                + "/pulls/" + number;
+
+        return exchange(installation, HttpMethod.GET, url, null).mapNotNull(ResponseEntity::getBody);
+    }
+
+    /**
+     * Run a GraphQL query against the installation's GraphQL endpoint
+     *
+     * @param installation installation to authenticate as
+     * @param query GraphQL query text
+     * @param variables values of the query's variables
+     * @return response document, which may carry errors next to or instead of data
+     */
+    public Mono<JsonNode> graphql(GitHubInstallation installation, String query, Map<String, Object> variables) {
+        return exchange(installation, HttpMethod.POST, installation.getGraphQLUrl(),
+                Map.of("query", query, "variables", variables))
+                .mapNotNull(ResponseEntity::getBody);
+    }
+
+    /**
+     * Send a request, failing on any response other than 2xx
+     */
+    private Mono<ResponseEntity<JsonNode>> exchange(GitHubInstallation installation, HttpMethod method, String url,
+                                                    Object body) {
+        if (viaConnector) {
+            return Mono.fromCallable(() -> installation.send(method.name(), url, body))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .handle((response, sink) -> {
+                        if (!response.isSuccessful()) {
+                            sink.error(new IOException("GitHub answered HTTP " + response.status() + " to " + method + " " + url));
+                            return;
+                        }
+                        HttpHeaders headers = new HttpHeaders();
+                        response.headers().forEach((name, values) -> {
+                            if (name != null) {
+                                headers.addAll(name, values);
+                            }
+                        });
+                        sink.next(ResponseEntity.status(response.status()).headers(headers).body(response.body()));
+                    });
+        }
+        return accessToken(installation).flatMap(token -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(URI.create(url))
+                    .headers(headers -> headers.setBearerAuth(token));
+            return (body != null ? request.bodyValue(body) : request)
+                    .retrieve()
+                    .toEntity(JsonNode.class);
+        });
+    }
+
+    /**
+     * Token minting is blocking but rare, so it is moved off the event loop
+     */
+    private Mono<String> accessToken(GitHubInstallation installation) {
+        return Mono.fromCallable(installation::getAccessToken)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Apply the circuit breaker and bulkhead shared with the blocking client
+     * The event loop cannot wait for a slot, so a call finding every slot busy is rejected at once
+     */
+    private Mono<ClientResponse> resilient(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new GitHubCallRejectedException("GitHub circuit open until "
+                        + circuitBreaker.getRetryAt().map(Object::toString).orElse("the next probe")));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(new GitHubCallRejectedException("All " + bulkhead.getMaxConcurrentCalls()
+                        + " GitHub call slots busy"));
+            }
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnError(e -> circuitBreaker.onFailure())
+                    // A subscriber giving up says nothing about GitHub's health
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private Mono<Page> fetchPage(GitHubInstallation installation, String url) {
+        log.debug("GET {}", url);
+        return exchange(installation, HttpMethod.GET, url, null).map(ReactiveGitHubClient::toPage);
+    }
+
+    private static Page toPage(ResponseEntity<JsonNode> response) {
+        List<JsonNode> items = new ArrayList<>();
+        if (response.getBody() != null) {
+            response.getBody().forEach(items::add);
+        }
+        return new Page(items, nextLink(response.getHeaders().getFirst(HttpHeaders.LINK)));
+    }
+
+    /**
+     * Extract the rel="next" URL from a GitHub Link header
+     *
+     * @param linkHeader Link header value, may be null
+     * @return next page URL or null on the last page
+     */
+    static String nextLink(String linkHeader) {
+        if (linkHeader == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private record Page(List<JsonNode> items, String next) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.CIStatus;
+import com.dependabot.dto.PRDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking counterpart of GitHubService
+ * Shares the github-prs, github-pr-details and github-ci-status caches; concurrent requests for an uncached repository wait on
+ * one in-flight fetch. Shares the last known good lists too, so either path serves them while GitHub is failing
+ */
+@Service
+public class ReactiveGitHubService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGitHubService.class);
+
+    private final GitHubService gitHubService;
+    private final ReactiveGitHubClient client;
+    private final CacheManager cacheManager;
+    private final int repositoryConcurrency;
+    private final int detailConcurrency;
+
+    public ReactiveGitHubService(GitHubService gitHubService,
+                                 ReactiveGitHubClient client,
+                                 CacheManager cacheManager,
+                                 @Value("${github.reactive.repository-concurrency:8}") int repositoryConcurrency,
+                                 @Value("${github.reactive.detail-concurrency:8}") int detailConcurrency) {
+        this.gitHubService = gitHubService;
+        this.client = client;
+        this.cacheManager = cacheManager;
+        this.repositoryConcurrency = repositoryConcurrency;
+        this.detailConcurrency = detailConcurrency;
+    }
+
+    /**
+     * Get Dependabot pull requests for a specific repository
+     * Served from the cache when present; failed fetches are not cached. A node that is not the sync leader
+     * never fetches, and serves what the leader shared or the last known good list instead
+     *
+     * @param repositoryName repository name, or "owner/repo" to pick the installation explicitly
+     * @return Dependabot PRs; when GitHub cannot be read, the last known good list or else an empty list
+     */
+    public Mono<List<PRDto>> getDependabotPRs(String repositoryName) {
+        if (!gitHubService.isSyncLeader()) {
+            return Mono.fromCallable(() -> gitHubService.getCachedDependabotPRs(repositoryName).orElse(List.of()))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        return Mono.defer(() -> Mono.fromFuture(prCache().retrieve(repositoryName, () -> fetchDependabotPRs(repositoryName).toFuture()), true))
+                .flatMap(prs -> withCurrentCIStatuses(repositoryName, prs))
+                .onErrorResume(e -> !(e instanceof IllegalArgumentException), e -> {
+                    Optional<List<PRDto>> fallback = gitHubService.getLastKnownGood(repositoryName);
+                    if (fallback.isPresent()) {
+                        log.warn("Serving last known good PRs for {} fetched at {}: {}", repositoryName,
+                                gitHubService.getLastSuccessfulSyncs().get(repositoryName), e.getMessage());
+                        return Mono.just(fallback.get());
+                    }
+                    if (GitHubService.isRejected(e)) {
+                        log.warn("GitHub call for {} rejected: {}", repositoryName, e.getMessage());
+                    } else {
+                        log.error("Error fetching PRs for repository: {}", repositoryName, e);
+                    }
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * Get all Dependabot PRs from configured repositories across every installation
+     * Repositories are fetched concurrently and emitted in configuration order
+     *
+     * @return stream of all Dependabot PRs
+     */
+    public Flux<PRDto> getAllDependabotPRs() {
+        return Flux.fromIterable(gitHubService.getRepositoryKeys())
+                .flatMapSequential(this::getDependabotPRs, repositoryConcurrency)
+                .flatMapIterable(prs -> prs);
+    }
+
+    /**
+     * Get Dependabot pull requests for a set of repositories, keyed by repository
+     * Cached repositories complete at once; misses are fetched concurrently, at most repository-concurrency at a time
+     *
+     * @param repositories repository names or "owner/repo" identifiers; duplicates are ignored
+     * @return PRs per repository, in the order given
+     */
+    public Mono<Map<String, List<PRDto>>> getDependabotPRsByRepository(Collection<String> repositories) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(repositories));
+        return Flux.fromIterable(distinct)
+                .flatMapSequential(this::getDependabotPRs, repositoryConcurrency)
+                .collectList()
+                .map(results -> {
+                    Map<String, List<PRDto>> byRepository = new LinkedHashMap<>();
+                    for (int i = 0; i < distinct.size(); i++) {
+                        byRepository.put(distinct.get(i), results.get(i));
+                    }
+                    return byRepository;
+                });
+    }
+
+    private Mono<List<PRDto>> fetchDependabotPRs(String repositoryName) {
+        return Mono.fromCallable(() -> gitHubService.resolve(repositoryName))
+                .flatMap(ref -> {
+                    String owner = ref.installation().getOwner();
+                    log.debug("Fetching Dependabot PRs for {}/{} (non-blocking)", owner, ref.name());
+                    AtomicInteger reused = new AtomicInteger();
+                    return client.listOpenPullRequests(ref.installation(), ref.name())
+                            .filter(pr -> GitHubService.isDependabotLogin(pr.path("user").path("login").asText(null)))
+                            .flatMapSequential(pr -> {
+                                PRDto cached = gitHubService.cachedPRDetails(owner, ref.name(), pr.path("number").asInt(),
+                                        instant(pr, "updated_at"), pr.path("base").path("sha").asText(null));
+                                if (cached != null) {
+                                    reused.incrementAndGet();
+                                    return Mono.just(cached);
+                                }
+                                return client.getPullRequest(ref.installation(), ref.name(), pr.path("number").asInt())
+                                        .map(detail -> convertAndCache(detail, owner, ref.name()));
+                            }, detailConcurrency)
+                            .collectList()
+                            .doOnNext(prs -> gitHubService.recordDetailCacheUsage(repositoryName,
+                                    new PRDetailCacheUsage(reused.get(), prs.size() - reused.get())))
+                            .flatMap(prs -> withCIStatuses(ref, prs));
+                })
+                .doOnSuccess(prs -> {
+                    gitHubService.recordLastKnownGood(repositoryName, prs);
+                    gitHubService.recordSuccessfulSync(repositoryName, prs);
+                });
+    }
+
+    /**
+     * Fill in the CI status of the PRs from the CI status cache, or else from batched GraphQL queries
+     * CI status only adds to the PRs: when it cannot be fetched they are returned without it
+     */
+    private Mono<List<PRDto>> withCIStatuses(GitHubService.RepositoryRef ref, List<PRDto> prs) {
+        if (prs.isEmpty()) {
+            return Mono.just(prs);
+        }
+        String owner = ref.installation().getOwner();
+        List<Integer> numbers = prs.stream().map(PRDto::getNumber).toList();
+        Map<Integer, CIStatus> cached = gitHubService.cachedCIStatuses(owner, ref.name(), numbers);
+        if (cached != null) {
+            return Mono.just(GitHubService.applyCIStatuses(prs, cached));
+        }
+
+        return fetchCIStatuses(ref, numbers)
+                .doOnNext(statuses -> gitHubService.cacheCIStatuses(owner, ref.name(), statuses))
+                .onErrorResume(e -> {
+                    log.warn("Could not fetch CI status for {}/{}: {}", owner, ref.name(), e.getMessage());
+                    return Mono.just(Map.of());
+                })
+                .map(statuses -> GitHubService.applyCIStatuses(prs, statuses));
+    }
+
+    /**
+     * Bring the CI status of a list up to date with the CI status cache, as the blocking path does
+     * Once the repository's entry has expired the sync leader fetches it again, sharing the fetch with concurrent
+     * requests; when that fetch fails, or on a follower, the list is served as it is
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<List<PRDto>> withCurrentCIStatuses(String repositoryName, List<PRDto> prs) {
+        Cache ciCache = cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE);
+        if (prs.isEmpty() || ciCache == null) {
+            return Mono.just(prs);
+        }
+        GitHubService.RepositoryRef ref = gitHubService.resolve(repositoryName);
+        String key = ref.installation().getOwner() + "/" + ref.name();
+        Cache.ValueWrapper cached = ciCache.get(key);
+        if (cached == null && !gitHubService.isSyncLeader()) {
+            return Mono.just(prs);
+        }
+        List<Integer> numbers = prs.stream().map(PRDto::getNumber).toList();
+        Mono<Map<Integer, CIStatus>> statuses = cached != null
+                ? Mono.just((Map<Integer, CIStatus>) cached.get())
+                : Mono.fromFuture(ciCache.retrieve(key, () -> fetchCIStatuses(ref, numbers).toFuture()), true);
+        return statuses
+                .map(current -> {
+                    List<PRDto> updated = GitHubService.applyCIStatuses(prs, current);
+                    gitHubService.replaceCachedList(repositoryName, prs, updated);
+                    return updated;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh CI status for {}: {}", key, e.getMessage());
+                    return Mono.just(prs);
+                });
+    }
+
+    /**
+     * Query the statusCheckRollup of the given PRs, one GraphQL call per batch of up to 100 PRs
+     */
+    private Mono<Map<Integer, CIStatus>> fetchCIStatuses(GitHubService.RepositoryRef ref, List<Integer> numbers) {
+        Map<String, Object> variables = CIStatusQuery.variables(ref.installation().getOwner(), ref.name());
+        return Flux.fromIterable(CIStatusQuery.batches(numbers))
+                .concatMap(batch -> client.graphql(ref.installation(), CIStatusQuery.query(batch), variables)
+                        .<Map<Integer, CIStatus>>handle((response, sink) -> {
+                            try {
+                                sink.next(CIStatusQuery.parse(response, batch));
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        }))
+                .collect(HashMap<Integer, CIStatus>::new, Map::putAll)
+                .map(Map::copyOf);
+    }
+
+    /**
+     * Convert a PR's detail document, keeping the result in the detail cache once GitHub knows its mergeability
+     */
+    private PRDto convertAndCache(JsonNode detail, String owner, String repositoryName) {
+        PRDto pr = convertToPRDto(detail, owner, repositoryName);
+        if (detail.path("mergeable").isBoolean()) {
+            gitHubService.cachePRDetails(pr, detail.path("base").path("sha").asText(null));
+        }
+        return pr;
+    }
+
+    /**
+     * Convert a GitHub pull request JSON document to DTO
+     *
+     * @param pr pull request from GitHub's detail endpoint
+     * @param owner repository owner
+     * @param repositoryName repository name
+     * @return PR DTO
+     */
+    static PRDto convertToPRDto(JsonNode pr, String owner, String repositoryName) {
+        String title = text(pr, "title");
+        JsonNode mergeable = pr.path("mergeable");
+
+        PRDto.PRDtoBuilder builder = PRDto.builder()
+                .number(pr.path("number").asInt())
+                .id(pr.path("id").asLong())
+                .title(title)
+                .author(pr.path("user").path("login").asText(null))
+                .owner(owner)
+                .repository(repositoryName)
+                .url(text(pr, "html_url"))
+                .state(pr.hasNonNull("state") ? pr.get("state").asText().toUpperCase(Locale.ROOT) : null)
+                .createdAt(instant(pr, "created_at"))
+                .updatedAt(instant(pr, "updated_at"))
+                .body(text(pr, "body"))
+                .commits(pr.hasNonNull("commits") ? pr.get("commits").asInt() : null)
+                .filesChanged(pr.hasNonNull("changed_files") ? pr.get("changed_files").asInt() : null)
+                .hasConflicts(mergeable.isBoolean() ? !mergeable.asBoolean() : null)
+                .mergeabilityPending(!mergeable.isBoolean());
+        return PRTitleParser.withTitleDetails(builder, title).build();
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static Instant instant(JsonNode node, String field) {
+        return node.hasNonNull(field) ? Instant.parse(node.get(field).asText()) : null;
+    }
+
+    private Cache prCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CacheConfig.GITHUB_PRS_CACHE + "' is not configured");
+        }
+        return cache;
+    }
+}
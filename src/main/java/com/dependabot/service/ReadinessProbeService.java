@@ -0,0 +1,208 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.ReadinessDto;
+import org.kohsuke.github.GHRateLimit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service computing readiness for the load balancer
+ * GitHub is probed on a background schedule; health requests only read the cached probe result
+ * GitHub problems only take a node out of rotation when it has no cached or last known good data to serve,
+ * since every replica shares the same GitHub and would otherwise go down together
+ */
+@Service
+public class ReadinessProbeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadinessProbeService.class);
+
+    private final GitHubService gitHubService;
+    private final CacheManager cacheManager;
+    private final StartupPrefetchService startupPrefetch;
+    private final int minRateLimitRemaining;
+    private final long tokenExpiryMarginMs;
+    private final boolean requireWarmCache;
+
+    private final AtomicReference<ProbeResult> lastProbe = new AtomicReference<>();
+
+    public ReadinessProbeService(GitHubService gitHubService,
+                                 CacheManager cacheManager,
+                                 StartupPrefetchService startupPrefetch,
+                                 @Value("${health.readiness.min-rate-limit-remaining:100}") int minRateLimitRemaining,
+                                 @Value("${health.readiness.token-expiry-margin-ms:60000}") long tokenExpiryMarginMs,
+                                 @Value("${health.readiness.require-warm-cache:false}") boolean requireWarmCache) {
+        this.gitHubService = gitHubService;
+        this.cacheManager = cacheManager;
+        this.startupPrefetch = startupPrefetch;
+        this.minRateLimitRemaining = minRateLimitRemaining;
+        this.tokenExpiryMarginMs = tokenExpiryMarginMs;
+        this.requireWarmCache = requireWarmCache;
+    }
+
+    /**
+     * Probe GitHub reachability, token validity and rate-limit budget for every installation
+     * Runs in the background so health polls never generate GitHub traffic
+     */
+    @Scheduled(fixedDelayString = "${health.probe.interval-ms:30000}")
+    public void probe() {
+        Instant checkedAt = Instant.now();
+        List<ReadinessDto.InstallationStatus> statuses = new ArrayList<>();
+
+        for (GitHubInstallation installation : gitHubService.getInstallations()) {
+            ReadinessDto.InstallationStatus.InstallationStatusBuilder status = ReadinessDto.InstallationStatus.builder()
+                    .name(installation.getName())
+                    .owner(installation.getOwner());
+            try {
+                GHRateLimit.Record core = installation.probeRateLimit();
+                status.reachable(true)
+                        .rateLimitLimit(core.getLimit())
+                        .rateLimitRemaining(core.getRemaining())
+                        .rateLimitResetAt(core.getResetInstant());
+                log.debug("GitHub probe for {} succeeded: {} of {} requests remaining",
+                        installation.getName(), core.getRemaining(), core.getLimit());
+            } catch (Exception e) {
+                log.warn("GitHub probe for {} failed: {}", installation.getName(), e.getMessage());
+                status.reachable(false).error(e.getMessage());
+            }
+            statuses.add(status.tokenExpiresAt(installation.getTokenExpiresAt().orElse(null)).build());
+        }
+
+        lastProbe.set(new ProbeResult(checkedAt, List.copyOf(statuses)));
+    }
+
+    /**
+     * Build the readiness report from the last probe and local cache state
+     *
+     * @return readiness report; status is UP when every readiness condition holds, DEGRADED when only GitHub
+     *         is failing and every repository can be served from cached or last known good data
+     */
+    public ReadinessDto getReadiness() {
+        ProbeResult probe = lastProbe.get();
+        Instant now = Instant.now();
+        List<String> reasons = new ArrayList<>();
+        List<String> githubProblems = new ArrayList<>();
+        List<ReadinessDto.InstallationStatus> installations = probe != null ? probe.installations() : List.of();
+
+        if (probe == null) {
+            reasons.add("GitHub has not been probed yet");
+        } else if (installations.isEmpty()) {
+            reasons.add("No GitHub installation is configured");
+        }
+        for (ReadinessDto.InstallationStatus installation : installations) {
+            if (!installation.getReachable()) {
+                githubProblems.add("GitHub unreachable for " + installation.getName() + ": " + installation.getError());
+            }
+            if (installation.getTokenExpiresAt() == null
+                    || installation.getTokenExpiresAt().isBefore(now.plusMillis(tokenExpiryMarginMs))) {
+                githubProblems.add("Installation token for " + installation.getName() + " missing or about to expire");
+            }
+            if (installation.getRateLimitRemaining() != null && installation.getRateLimitRemaining() < minRateLimitRemaining) {
+                githubProblems.add("Rate-limit budget for " + installation.getName() + " below " + minRateLimitRemaining);
+            }
+        }
+
+        CircuitBreaker circuitBreaker = gitHubService.getCircuitBreaker();
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            githubProblems.add("GitHub circuit open until " + circuitBreaker.getRetryAt().orElse(null));
+        }
+
+        String prefetchPending = startupPrefetch.pendingReason();
+        if (prefetchPending != null) {
+            reasons.add(prefetchPending);
+        }
+
+        List<ReadinessDto.RepositorySync> repositories = repositorySyncs(now);
+        boolean cacheWarm = repositories.stream().allMatch(ReadinessDto.RepositorySync::getCached);
+        if (requireWarmCache && !cacheWarm) {
+            reasons.add("Cache is not warm");
+        }
+
+        boolean servable = !repositories.isEmpty() && repositories.stream()
+                .allMatch(repository -> repository.getCached() || repository.getLastKnownGood());
+        List<String> degraded = servable ? githubProblems : List.of();
+        if (!servable) {
+            reasons.addAll(0, githubProblems);
+        }
+
+        ReadinessDto.InstallationStatus tightest = installations.stream()
+                .filter(installation -> installation.getRateLimitRemaining() != null)
+                .min(Comparator.comparing(ReadinessDto.InstallationStatus::getRateLimitRemaining))
+                .orElse(null);
+
+        return ReadinessDto.builder()
+                .status(!reasons.isEmpty() ? "DOWN" : !degraded.isEmpty() ? "DEGRADED" : "UP")
+                .service("dependabot-pr-service")
+                .reasons(reasons)
+                .degraded(degraded)
+                .checkedAt(probe != null ? probe.checkedAt() : null)
+                .githubReachable(probe != null && !installations.isEmpty()
+                        && installations.stream().allMatch(ReadinessDto.InstallationStatus::getReachable))
+                .githubError(installations.stream()
+                        .map(ReadinessDto.InstallationStatus::getError)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElse(null))
+                .githubCircuit(circuitBreaker.getState().name())
+                .githubCircuitRetryAt(circuitBreaker.getRetryAt().orElse(null))
+                .tokenExpiresAt(installations.stream()
+                        .map(ReadinessDto.InstallationStatus::getTokenExpiresAt)
+                        .filter(Objects::nonNull)
+                        .min(Comparator.naturalOrder())
+                        .orElse(null))
+                .rateLimitLimit(tightest != null ? tightest.getRateLimitLimit() : null)
+                .rateLimitRemaining(tightest != null ? tightest.getRateLimitRemaining() : null)
+                .rateLimitResetAt(tightest != null ? tightest.getRateLimitResetAt() : null)
+                .cacheWarm(cacheWarm)
+                .repositories(repositories)
+                .installations(installations)
+                .build();
+    }
+
+    private List<ReadinessDto.RepositorySync> repositorySyncs(Instant now) {
+        List<String> repos = gitHubService.getRepositoryKeys();
+        Map<String, Instant> syncs = gitHubService.getLastSuccessfulSyncs();
+        Cache cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+
+        List<ReadinessDto.RepositorySync> result = new ArrayList<>(repos.size());
+        for (String repo : repos) {
+            Instant lastSync = syncs.get(repo);
+            result.add(ReadinessDto.RepositorySync.builder()
+                    .repository(repo)
+                    .lastSuccessfulSync(lastSync)
+                    .syncAgeMs(lastSync != null ? Duration.between(lastSync, now).toMillis() : null)
+                    .cached(isCached(cache, repo))
+                    .lastKnownGood(gitHubService.getLastKnownGood(repo).isPresent())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Check presence without a lookup so health polls do not skew cache hit statistics
+     */
+    private boolean isCached(Cache cache, String repo) {
+        if (cache instanceof CaffeineCache caffeineCache) {
+            return caffeineCache.getNativeCache().asMap().containsKey(repo);
+        }
+        return cache != null && cache.get(repo) != null;
+    }
+
+    private record ProbeResult(Instant checkedAt, List<ReadinessDto.InstallationStatus> installations) {
+    }
+}
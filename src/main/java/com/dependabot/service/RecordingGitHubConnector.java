@@ -0,0 +1,128 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Passes GitHub calls through and appends every exchange to an archive for later replay
+ * Installation tokens in token responses are masked before they reach the disk
+ */
+public class RecordingGitHubConnector implements GitHubConnector, Closeable {
+
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding",
+            "set-cookie", "connection");
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"[^\"]*\"");
+
+    private final GitHubConnector delegate;
+    private final GitHubExchangeArchive.Writer archive;
+
+    public RecordingGitHubConnector(GitHubConnector delegate, Path archive) throws IOException {
+        this.delegate = delegate;
+        this.archive = new GitHubExchangeArchive.Writer(archive);
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        byte[] requestBody = requestBody(request);
+        if (requestBody.length > 0) {
+            // Read once for the hash, so the delegate gets a copy it can read again
+            request = new BufferedRequest(request, requestBody);
+        }
+        long started = System.nanoTime();
+        byte[] body;
+        GitHubConnectorResponse response = delegate.send(request);
+        try (response) {
+            try (InputStream in = response.bodyStream()) {
+                body = in != null ? in.readAllBytes() : new byte[0];
+            }
+        }
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.allHeaders().forEach((name, values) -> {
+            if (name != null && !DROPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+
+        String path = GitHubExchangeArchive.Exchange.path(request.url());
+        String recorded = new String(body, StandardCharsets.UTF_8);
+        if (path.endsWith("/access_tokens")) {
+            recorded = TOKEN.matcher(recorded).replaceAll("\"token\":\"replayed-token\"");
+        }
+        archive.append(new GitHubExchangeArchive.Exchange(request.method(), path,
+                GitHubExchangeArchive.Exchange.requestBodyHash(requestBody), response.statusCode(), headers,
+                durationMs, recorded));
+
+        return new BufferedGitHubResponse(request, response.statusCode(), headers, body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        archive.close();
+    }
+
+    static byte[] requestBody(GitHubConnectorRequest request) throws IOException {
+        if (!request.hasBody()) {
+            return new byte[0];
+        }
+        try (InputStream in = request.body()) {
+            return in != null ? in.readAllBytes() : new byte[0];
+        }
+    }
+
+    /**
+     * A request whose body has been read into memory
+     */
+    private record BufferedRequest(GitHubConnectorRequest request, byte[] bytes) implements GitHubConnectorRequest {
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return request.allHeaders();
+        }
+
+        @Override
+        public String header(String name) {
+            return request.header(name);
+        }
+
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        @Override
+        public boolean hasBody() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves GitHub calls from a recorded archive without touching the network
+ * Requests are matched by method, path and body. Repeated requests get their recorded responses in order;
+ * once those run out the last one is repeated
+ */
+public class ReplayGitHubConnector implements GitHubConnector {
+
+    private final Map<String, List<GitHubExchangeArchive.Exchange>> exchanges = new HashMap<>();
+    private final Map<String, AtomicInteger> served = new ConcurrentHashMap<>();
+    private final boolean originalTiming;
+
+    /**
+     * @param archive archive written by RecordingGitHubConnector
+     * @param originalTiming true to wait as long as GitHub took when recording, false to answer at once
+     */
+    public ReplayGitHubConnector(Path archive, boolean originalTiming) throws IOException {
+        for (GitHubExchangeArchive.Exchange exchange : GitHubExchangeArchive.read(archive)) {
+            exchanges.computeIfAbsent(exchange.key(), key -> new ArrayList<>()).add(exchange);
+        }
+        this.originalTiming = originalTiming;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        String key = GitHubExchangeArchive.Exchange.key(request.method(), GitHubExchangeArchive.Exchange.path(request.url()),
+                GitHubExchangeArchive.Exchange.requestBodyHash(RecordingGitHubConnector.requestBody(request)));
+        List<GitHubExchangeArchive.Exchange> recorded = exchanges.get(key);
+        if (recorded == null) {
+            throw new IOException("No recorded GitHub response for " + key);
+        }
+
+        int index = served.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        GitHubExchangeArchive.Exchange exchange = recorded.get(Math.min(index, recorded.size() - 1));
+
+        if (originalTiming && exchange.durationMs() > 0) {
+            try {
+                Thread.sleep(exchange.durationMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying " + key);
+            }
+        }
+        return new BufferedGitHubResponse(request, exchange.status(), exchange.headers(),
+                exchange.body().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return number of distinct requests in the archive
+     */
+    public int size() {
+        return exchanges.size();
+    }
+}
@@ -0,0 +1,215 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps each installation's repository list in step with the repositories the GitHub App can access
+ * The full list is read on the startup prefetch thread once the application is ready, and every refresh-interval;
+ * installation_repositories and repository webhooks apply single changes in between. Archived, disabled and inactive repositories are skipped, as Dependabot
+ * opens no PRs on them. Configured repositories are always synced
+ */
+@Service
+public class RepositoryDiscoveryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryDiscoveryService.class);
+
+    private final GitHubService gitHubService;
+    private final GitHubProperties.DiscoverySettings settings;
+    private final Clock clock;
+
+    @Autowired
+    public RepositoryDiscoveryService(GitHubService gitHubService, GitHubProperties gitHubProperties) {
+        this(gitHubService, gitHubProperties.getDiscovery(), Clock.systemUTC());
+    }
+
+    RepositoryDiscoveryService(GitHubService gitHubService, GitHubProperties.DiscoverySettings settings, Clock clock) {
+        this.gitHubService = gitHubService;
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * List every installation's repositories again
+     * An installation that cannot be listed keeps its previous repositories
+     */
+    @Scheduled(fixedDelayString = "${github.discovery.refresh-interval-ms:21600000}",
+            initialDelayString = "${github.discovery.refresh-interval-ms:21600000}")
+    public void refresh() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        for (GitHubInstallation installation : gitHubService.getInstallations()) {
+            try {
+                List<String> active = new ArrayList<>();
+                int skipped = 0;
+                for (GHRepository repository : installation.getClient().getInstallation().listRepositories().withPageSize(100)) {
+                    if (!repository.getOwnerName().equalsIgnoreCase(installation.getOwner())) {
+                        continue;
+                    }
+                    if (isActive(repository)) {
+                        active.add(repository.getName());
+                    } else {
+                        skipped++;
+                    }
+                }
+                replace(installation, active);
+                log.info("Discovered {} active repositories for installation {} ({} archived or inactive skipped)",
+                        active.size(), installation.getName(), skipped);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Repository discovery failed for installation {}; keeping {} known repositories: {}",
+                        installation.getName(), installation.getRepos().size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Apply an installation_repositories delivery: repositories granted to or withdrawn from the installation
+     * Granted repositories are looked up, as the delivery does not say whether they are archived or active
+     *
+     * @return number of repositories added or removed
+     */
+    public int onInstallationRepositories(JsonNode payload) {
+        Optional<GitHubInstallation> installation = installationFor(payload.path("installation").path("account").path("login").asText(""));
+        if (!settings.isEnabled() || installation.isEmpty()) {
+            return 0;
+        }
+        int changed = 0;
+        for (JsonNode repository : payload.path("repositories_removed")) {
+            changed += remove(installation.get(), repository.path("name").asText()) ? 1 : 0;
+        }
+        for (JsonNode repository : payload.path("repositories_added")) {
+            changed += addIfActive(installation.get(), repository.path("name").asText()) ? 1 : 0;
+        }
+        return changed;
+    }
+
+    /**
+     * Apply a repository delivery: archived and deleted repositories stop being synced, unarchived ones start again,
+     * renamed ones are synced under their new name, and transferred ones move from the previous owner's
+     * installation to the new owner's, if the App is installed there
+     *
+     * @return number of repositories added or removed
+     */
+    public int onRepository(JsonNode payload) {
+        String owner = payload.path("repository").path("owner").path("login").asText("");
+        String name = payload.path("repository").path("name").asText("");
+        if (!settings.isEnabled() || name.isEmpty()) {
+            return 0;
+        }
+        Optional<GitHubInstallation> installation = installationFor(owner);
+        String action = payload.path("action").asText();
+        if (action.equals("transferred")) {
+            JsonNode from = payload.path("changes").path("owner").path("from");
+            String previousOwner = from.path("organization").path("login").asText(from.path("user").path("login").asText(""));
+            return installationFor(previousOwner).map(previous -> remove(previous, name) ? 1 : 0).orElse(0)
+                    + installation.map(current -> addIfActive(current, name) ? 1 : 0).orElse(0);
+        }
+        if (installation.isEmpty()) {
+            return 0;
+        }
+        return switch (action) {
+            case "archived", "deleted" -> remove(installation.get(), name) ? 1 : 0;
+            case "unarchived" -> addIfActive(installation.get(), name) ? 1 : 0;
+            case "renamed" -> (remove(installation.get(), payload.path("changes").path("repository").path("name")
+                    .path("from").asText("")) ? 1 : 0) + (addIfActive(installation.get(), name) ? 1 : 0);
+            default -> 0;
+        };
+    }
+
+    private boolean addIfActive(GitHubInstallation installation, String name) {
+        if (name.isEmpty() || installation.getRepos().contains(name)) {
+            return false;
+        }
+        try {
+            GHRepository repository = installation.getClient().getRepository(installation.getOwner() + "/" + name);
+            if (!isActive(repository)) {
+                log.debug("Skipping archived or inactive repository {}/{}", installation.getOwner(), name);
+                return false;
+            }
+        } catch (GHFileNotFoundException e) {
+            return false;
+        } catch (IOException e) {
+            // Listed anyway; a repository that turns out archived costs one sync until the next full refresh
+            log.warn("Could not look up repository {}/{}: {}", installation.getOwner(), name, e.getMessage());
+        }
+        synchronized (installation) {
+            Set<String> discovered = new LinkedHashSet<>(known(installation));
+            discovered.add(name);
+            installation.setDiscoveredRepos(discovered);
+        }
+        log.info("Repository {}/{} discovered", installation.getOwner(), name);
+        return true;
+    }
+
+    private boolean remove(GitHubInstallation installation, String name) {
+        synchronized (installation) {
+            List<String> known = known(installation);
+            if (!known.contains(name) || installation.getConfiguredRepos().contains(name)) {
+                return false;
+            }
+            gitHubService.forgetRepository(installation.getOwner(), name);
+            installation.setDiscoveredRepos(known.stream().filter(repo -> !repo.equals(name)).toList());
+        }
+        log.info("Repository {}/{} no longer synced", installation.getOwner(), name);
+        return true;
+    }
+
+    /**
+     * Swap in a full listing, forgetting the repositories it no longer contains
+     */
+    private void replace(GitHubInstallation installation, List<String> active) {
+        synchronized (installation) {
+            List<String> previous = installation.getDiscoveredRepos();
+            if (previous != null) {
+                previous.stream()
+                        .filter(repo -> !active.contains(repo) && !installation.getConfiguredRepos().contains(repo))
+                        .forEach(repo -> gitHubService.forgetRepository(installation.getOwner(), repo));
+            }
+            installation.setDiscoveredRepos(active);
+        }
+    }
+
+    private static List<String> known(GitHubInstallation installation) {
+        List<String> discovered = installation.getDiscoveredRepos();
+        return discovered != null ? discovered : List.of();
+    }
+
+    private boolean isActive(GHRepository repository) {
+        if (repository.isArchived() || repository.isDisabled()) {
+            return false;
+        }
+        if (settings.getInactiveDays() <= 0) {
+            return true;
+        }
+        Instant pushedAt = repository.getPushedAt();
+        return pushedAt == null || pushedAt.isAfter(clock.instant().minus(Duration.ofDays(settings.getInactiveDays())));
+    }
+
+    private Optional<GitHubInstallation> installationFor(String owner) {
+        return gitHubService.getInstallations().stream()
+                .filter(installation -> installation.getOwner().equalsIgnoreCase(owner))
+                .findFirst();
+    }
+}
@@ -0,0 +1,10 @@
+package com.dependabot.service;
+
+/**
+ * Published when a repository stops being synced, e.g. because it was archived or the installation lost access
+ * Unlike an empty sync it says nothing about its PRs, so history records no transitions
+ *
+ * @param repository canonical "owner/repo" identifier
+ */
+public record RepositoryRemovedEvent(String repository) {
+}
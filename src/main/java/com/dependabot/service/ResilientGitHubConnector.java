@@ -0,0 +1,60 @@
+package com.dependabot.service;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+
+/**
+ * Wraps a GitHub connector in a circuit breaker and a bulkhead
+ * I/O errors and 5xx responses count as failures; any other response means GitHub is answering
+ * While the circuit is open, calls fail immediately instead of waiting for a timeout
+ */
+public class ResilientGitHubConnector implements GitHubConnector {
+
+    private final GitHubConnector delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientGitHubConnector(GitHubConnector delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        // Check the circuit first so an open circuit never waits for a bulkhead slot
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new GitHubCallRejectedException("GitHub circuit open until "
+                    + circuitBreaker.getRetryAt().map(Object::toString).orElse("the next probe"));
+        }
+        try {
+            bulkhead.acquire();
+        } catch (IOException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        try {
+            GitHubConnectorResponse response = delegate.send(request);
+            if (response.statusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            // A caller giving up (deadline, cancellation) says nothing about GitHub's health
+            if (Thread.currentThread().isInterrupted()) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
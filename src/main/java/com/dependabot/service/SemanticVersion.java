@@ -0,0 +1,136 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BumpType;
+
+/**
+ * Semantic versions packed into a long that compares like the version
+ * Parsing walks the characters once and comparing is a long comparison, so neither allocates.
+ * Layout from the high bits: major (25 bits), minor (19), patch (17), a release flag that sorts
+ * pre-releases before their release, and a marker bit so that no valid version encodes to NONE
+ */
+public final class SemanticVersion {
+
+    /**
+     * Code of anything that is not a semantic version, e.g. a date or a commit SHA
+     */
+    public static final long NONE = 0L;
+
+    private static final int PATCH_SHIFT = 2;
+    private static final int MINOR_SHIFT = 19;
+    private static final int MAJOR_SHIFT = 38;
+    private static final long MAX_MAJOR = (1L << 25) - 1;
+    private static final long MAX_MINOR = (1L << 19) - 1;
+    private static final long MAX_PATCH = (1L << 17) - 1;
+    private static final long RELEASE = 1L << 1;
+    private static final long MARKER = 1L;
+
+    private SemanticVersion() {
+    }
+
+    /**
+     * Encode a version such as "3.2.1", "v1.4", "2.0.0-rc.1" or "1.0.0+build.5"
+     * Missing minor and patch numbers count as 0; pre-release labels are not ordered among themselves
+     *
+     * @param version version string, may be null
+     * @return comparable code, or NONE if the string is not a semantic version or a number is too large
+     */
+    public static long parse(CharSequence version) {
+        if (version == null) {
+            return NONE;
+        }
+        int length = version.length();
+        int i = 0;
+        if (i < length && (version.charAt(i) == 'v' || version.charAt(i) == 'V')) {
+            i++;
+        }
+
+        long major = -1;
+        long minor = 0;
+        long patch = 0;
+        int component = 0;
+        long value = -1;
+        boolean release = true;
+
+        for (; i <= length; i++) {
+            char c = i < length ? version.charAt(i) : '\0';
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > MAX_MAJOR) {
+                    return NONE;
+                }
+                continue;
+            }
+            if (value < 0 || (c != '.' && c != '-' && c != '+' && c != '\0')) {
+                return NONE;
+            }
+            switch (component++) {
+                case 0 -> major = value;
+                case 1 -> minor = value;
+                case 2 -> patch = value;
+                default -> {
+                    return NONE;
+                }
+            }
+            value = -1;
+            if (c == '.') {
+                continue;
+            }
+            // Anything after '-' is a pre-release label and anything after '+' build metadata
+            release = c != '-';
+            break;
+        }
+
+        if (major < 0 || minor > MAX_MINOR || patch > MAX_PATCH) {
+            return NONE;
+        }
+        return major << MAJOR_SHIFT | minor << MINOR_SHIFT | patch << PATCH_SHIFT | (release ? RELEASE : 0) | MARKER;
+    }
+
+    public static int major(long code) {
+        return (int) (code >>> MAJOR_SHIFT);
+    }
+
+    public static int minor(long code) {
+        return (int) ((code >>> MINOR_SHIFT) & MAX_MINOR);
+    }
+
+    public static int patch(long code) {
+        return (int) ((code >>> PATCH_SHIFT) & MAX_PATCH);
+    }
+
+    /**
+     * Classify the bump between two encoded versions by the most significant number that changed
+     *
+     * @return the bump type, or null if either version is not a semantic version
+     */
+    public static BumpType bumpType(long from, long to) {
+        if (from == NONE || to == NONE) {
+            return null;
+        }
+        if (major(from) != major(to)) {
+            return BumpType.MAJOR;
+        }
+        if (minor(from) != minor(to)) {
+            return BumpType.MINOR;
+        }
+        return BumpType.PATCH;
+    }
+
+    /**
+     * Order two versions, semantic ones by their code and before any others, which compare as strings
+     *
+     * @return negative, zero or positive like a Comparator
+     */
+    public static int compare(long codeA, String rawA, long codeB, String rawB) {
+        if (codeA != NONE && codeB != NONE) {
+            return Long.compare(codeA, codeB);
+        }
+        if (codeA != NONE || codeB != NONE) {
+            return codeA != NONE ? -1 : 1;
+        }
+        if (rawA == null || rawB == null) {
+            return rawA == null ? (rawB == null ? 0 : 1) : -1;
+        }
+        return rawA.compareTo(rawB);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dependabot.service;
+
+/**
+ * Converts the values of one cache to and from the bytes kept in a SharedCacheStore
+ * Every node must use the same codec for a cache
+ */
+public interface SharedCacheCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
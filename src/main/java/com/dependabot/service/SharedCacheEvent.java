@@ -0,0 +1,22 @@
+package com.dependabot.service;
+
+/**
+ * Change to a shared cache made by one node, as broadcast to the others
+ * Nodes receiving one drop their local copy, so the next read comes from the shared tier.
+ * Received events are also published as application events, so listeners can act on another node's fetch
+ *
+ * @param type what changed
+ * @param cacheName name of the cache
+ * @param key cache key; null for CLEAR
+ */
+public record SharedCacheEvent(Type type, String cacheName, String key) {
+
+    public enum Type {
+        /**
+         * A value was stored, e.g. after a fetch from GitHub
+         */
+        PUT,
+        EVICT,
+        CLEAR
+    }
+}
@@ -0,0 +1,34 @@
+package com.dependabot.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Cache tier shared by every replica, behind each node's own Caffeine tier
+ * Implementations keep serialized values with an expiry and carry change events between nodes, e.g. a
+ * database table that every node polls, or a key-value store with publish/subscribe
+ */
+public interface SharedCacheStore {
+
+    /**
+     * @return the stored value, or empty if absent or expired
+     */
+    Optional<byte[]> get(String cacheName, String key);
+
+    void put(String cacheName, String key, byte[] value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+
+    /**
+     * Tell the other nodes about a change; a node never receives its own events
+     */
+    void publish(SharedCacheEvent event);
+
+    /**
+     * Register a listener for events published by other nodes
+     */
+    void subscribe(Consumer<SharedCacheEvent> listener);
+}
@@ -0,0 +1,187 @@
+package com.dependabot.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates concurrent loads of the same key
+ * The first caller starts the load; callers arriving while it is in flight wait for and share its outcome.
+ * Loads run on the given executor rather than a caller's thread, so interrupting one caller, e.g. when its
+ * deadline passes, only ends that caller's wait. Once every caller waiting on a load has given up, the load is
+ * cancelled and its thread interrupted, abandoning the work nobody waits for.
+ * Records how many callers each load absorbed
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * Upper bounds (inclusive) of the absorbed-callers histogram buckets; the last bucket is open-ended
+     */
+    private static final int[] BUCKET_BOUNDS = {0, 1, 4, 9, 49};
+
+    private final ConcurrentHashMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder absorbed = new LongAdder();
+    private final AtomicLong maxAbsorbed = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+    private final Executor executor;
+
+    /**
+     * @param executor executor the loads run on; must not run them on the submitting thread
+     */
+    public SingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Start the load for a key, or join the one already in flight, and wait for its outcome
+     *
+     * @param key key to load
+     * @param loader load to run when no load for the key is in flight
+     * @return the loaded value
+     * @throws InterruptedException if this caller is interrupted while waiting; the load carries on while others
+     *                              wait for it, and is cancelled if this caller was the last
+     * @throws RejectedExecutionException if the executor refuses the load
+     * @throws Exception the exception thrown by the load, rethrown to every caller that shared it
+     */
+    public V execute(K key, Callable<V> loader) throws Exception {
+        Flight mine = new Flight(key, loader);
+        Flight flight = inFlight.compute(key, (k, current) -> {
+            if (current == null) {
+                return mine;
+            }
+            current.followers.incrementAndGet();
+            current.waiters.incrementAndGet();
+            return current;
+        });
+
+        if (flight == mine) {
+            try {
+                executor.execute(mine);
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, mine);
+                mine.fail(e);
+            }
+        }
+        return await(flight);
+    }
+
+    /**
+     * Stop waiting for a flight; the last caller to leave cancels it
+     * Joining and leaving both run under the map's lock for the key, so nobody joins a flight being cancelled
+     */
+    private void leave(Flight flight) {
+        boolean[] abandoned = new boolean[1];
+        inFlight.computeIfPresent(flight.key, (k, current) -> {
+            if (current == flight && flight.waiters.decrementAndGet() == 0) {
+                abandoned[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (abandoned[0]) {
+            flight.cancel(true);
+        }
+    }
+
+    /**
+     * @return snapshot of coalescing statistics since startup
+     */
+    public Stats stats() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        int lower = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            histogram.put(lower == BUCKET_BOUNDS[i] ? String.valueOf(lower) : lower + "-" + BUCKET_BOUNDS[i], buckets.get(i));
+            lower = BUCKET_BOUNDS[i] + 1;
+        }
+        histogram.put(lower + "+", buckets.get(BUCKET_BOUNDS.length));
+
+        return new Stats(loads.sum(), absorbed.sum(), maxAbsorbed.get(), inFlight.size(), histogram);
+    }
+
+    private void record(int followers) {
+        loads.increment();
+        absorbed.add(followers);
+        maxAbsorbed.accumulateAndGet(followers, Math::max);
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && followers > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+    }
+
+    private V await(Flight flight) throws Exception {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            leave(flight);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One load and the callers waiting for it
+     */
+    private final class Flight extends FutureTask<V> {
+        private final K key;
+        private final AtomicInteger followers = new AtomicInteger();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+
+        private Flight(K key, Callable<V> loader) {
+            super(loader);
+            this.key = key;
+        }
+
+        /**
+         * Stop new callers joining the flight, then count the ones it absorbed, before any of them is released
+         */
+        @Override
+        protected void set(V value) {
+            finish();
+            super.set(value);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            finish();
+            super.setException(t);
+        }
+
+        private void finish() {
+            inFlight.remove(key, this);
+            record(followers.get());
+        }
+
+        private void fail(Throwable t) {
+            super.setException(t);
+        }
+    }
+
+    /**
+     * Coalescing statistics
+     *
+     * @param loads loads actually run
+     * @param absorbedCallers callers served by another caller's load
+     * @param maxAbsorbed most callers absorbed by a single load
+     * @param inFlight loads currently running
+     * @param absorbedHistogram number of loads by how many callers they absorbed
+     */
+    public record Stats(long loads, long absorbedCallers, long maxAbsorbed, int inFlight, Map<String, Long> absorbedHistogram) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.dependabot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primes the PR cache for every configured repository when the application starts
+ * Repositories are fetched concurrently, at most github.sync.concurrency at a time so requests still find room in
+ * the sync queue, and readiness stays down until they have all
+ * loaded or the budget runs out. Fetches still running then carry on in the background.
+ * Only the sync leader fetches from GitHub; other replicas only take in what the leader put in the shared cache.
+ * With discovery enabled, the repository list is read on the same thread first, so it never blocks startup
+ */
+@Service
+public class StartupPrefetchService {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupPrefetchService.class);
+
+    private final GitHubService gitHubService;
+    private final SyncLeaderElection leaderElection;
+    private final RepositoryDiscoveryService discovery;
+    private final int concurrency;
+    private final boolean enabled;
+    private final long budgetMs;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile int total;
+    private volatile boolean discovering;
+    private volatile boolean complete;
+
+    public StartupPrefetchService(GitHubService gitHubService,
+                                  SyncLeaderElection leaderElection,
+                                  RepositoryDiscoveryService discovery,
+                                  @Value("${github.sync.concurrency:4}") int concurrency,
+                                  @Value("${startup.prefetch.enabled:false}") boolean enabled,
+                                  @Value("${startup.prefetch.budget-ms:30000}") long budgetMs) {
+        this.gitHubService = gitHubService;
+        this.leaderElection = leaderElection;
+        this.discovery = discovery;
+        this.concurrency = concurrency;
+        this.enabled = enabled;
+        this.budgetMs = budgetMs;
+        this.complete = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            prefetch();
+        } else if (discovery.isEnabled()) {
+            Thread.ofPlatform().daemon().name("startup-discovery").start(discovery::refresh);
+        }
+    }
+
+    /**
+     * Start fetching every repository and complete the startup phase when all have loaded or the budget is spent
+     *
+     * @return completes when the startup phase ends, which may be before every fetch has finished
+     */
+    CompletableFuture<Void> prefetch() {
+        CompletableFuture<Void> fetched = CompletableFuture.runAsync(this::discoverAndFetchAll,
+                task -> Thread.ofPlatform().daemon().name("startup-prefetch").start(task));
+        fetched.whenComplete((result, error) ->
+                log.info("Startup prefetch finished: {} loaded, {} failed", loaded.get(), failed.get()));
+
+        return fetched.copy()
+                .completeOnTimeout(null, budgetMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    complete = true;
+                    if (discovering || loaded.get() + failed.get() < total) {
+                        log.warn("Startup prefetch budget of {} ms spent with {} of {} repositories loaded; going ready",
+                                budgetMs, loaded.get(), total);
+                    }
+                });
+    }
+
+    private void discoverAndFetchAll() {
+        if (discovery.isEnabled()) {
+            discovering = true;
+            try {
+                discovery.refresh();
+            } finally {
+                discovering = false;
+            }
+        }
+        List<String> repositories = gitHubService.getRepositoryKeys();
+        total = repositories.size();
+        log.info("Startup prefetch of {} repositories started, budget {} ms", total, budgetMs);
+        fetchAll(repositories);
+    }
+
+    /**
+     * The fetches run on the sync executor; each gets a virtual thread to wait on, and no more are started
+     * than the executor runs at once
+     */
+    private void fetchAll(List<String> repositories) {
+        Semaphore slots = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> fetches = new ArrayList<>(repositories.size());
+        for (String repository : repositories) {
+            slots.acquireUninterruptibly();
+            fetches.add(CompletableFuture.runAsync(() -> {
+                try {
+                    fetch(repository);
+                } finally {
+                    slots.release();
+                }
+            }, task -> Thread.ofVirtual().name("startup-prefetch-wait").start(task)));
+        }
+        CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void fetch(String repository) {
+        try {
+            if (leaderElection.isLeader()) {
+                gitHubService.refreshDependabotPRs(repository);
+            } else if (gitHubService.getCachedDependabotPRs(repository).isEmpty()) {
+                failed.incrementAndGet();
+                log.info("Startup prefetch of {} skipped: not in the shared cache yet, and only the sync leader "
+                        + "fetches from GitHub", repository);
+                return;
+            }
+            loaded.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("Startup prefetch of {} failed: {}", repository, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true once the startup phase has ended, or straight away when prefetching is disabled
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return why readiness is held back, or null once the startup phase has ended
+     */
+    public String pendingReason() {
+        if (complete) {
+            return null;
+        }
+        if (discovering) {
+            return "Startup prefetch in progress: discovering repositories";
+        }
+        return "Startup prefetch in progress: " + loaded.get() + " of " + total + " repositories loaded";
+    }
+}
@@ -0,0 +1,113 @@
+package com.dependabot.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Structured fan-out of blocking subtasks owned by one thread
+ * The first failure, a passed deadline or an interrupt of the owner cancels every subtask still running,
+ * and closing the scope guarantees no subtask outlives it
+ * Stands in for StructuredTaskScope.ShutdownOnFailure, which is a preview API in Java 21
+ *
+ * @param <T> subtask result type
+ */
+final class SubtaskScope<T> implements AutoCloseable {
+
+    private final Executor executor;
+    private final Instant deadline;
+    private final List<FutureTask<T>> subtasks = new ArrayList<>();
+    private final BlockingQueue<FutureTask<T>> completed = new LinkedBlockingQueue<>();
+
+    /**
+     * @param executor executor the subtasks run on
+     * @param deadline when to give up on unfinished subtasks, or null to wait indefinitely
+     */
+    SubtaskScope(Executor executor, Instant deadline) {
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Start a subtask
+     *
+     * @param task work to run
+     */
+    void fork(Callable<T> task) {
+        FutureTask<T> subtask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        subtasks.add(subtask);
+        try {
+            executor.execute(subtask);
+        } catch (RejectedExecutionException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for every subtask, cancelling the rest as soon as one fails
+     *
+     * @throws InterruptedException if the owning thread is interrupted; subtasks are cancelled
+     * @throws TimeoutException if the deadline passes first; subtasks are cancelled
+     * @throws ExecutionException if a subtask fails; the remaining subtasks are cancelled
+     */
+    void join() throws InterruptedException, TimeoutException, ExecutionException {
+        try {
+            for (int finished = 0; finished < subtasks.size(); finished++) {
+                FutureTask<T> subtask = nextCompleted();
+                if (subtask == null) {
+                    throw new TimeoutException("Deadline " + deadline + " passed with "
+                            + (subtasks.size() - finished) + " of " + subtasks.size() + " subtasks unfinished");
+                }
+                if (!subtask.isCancelled()) {
+                    subtask.get();
+                }
+            }
+        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    /**
+     * Results in fork order; only valid after join returned normally
+     *
+     * @return subtask results
+     */
+    List<T> results() {
+        List<T> results = new ArrayList<>(subtasks.size());
+        for (FutureTask<T> subtask : subtasks) {
+            results.add(subtask.resultNow());
+        }
+        return results;
+    }
+
+    /**
+     * Cancel, interrupting, any subtask still running
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private FutureTask<T> nextCompleted() throws InterruptedException {
+        if (deadline == null) {
+            return completed.take();
+        }
+        long remainingNanos = Duration.between(Instant.now(), deadline).toNanos();
+        return remainingNanos > 0 ? completed.poll(remainingNanos, TimeUnit.NANOSECONDS) : completed.poll();
+    }
+
+    private void cancelAll() {
+        for (FutureTask<T> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.dependabot.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Decides whether this replica is the one that syncs from GitHub
+ * Without a SyncLeaderLock every node leads. With one, nodes renew a lease well before it runs out, so a leader
+ * that stops renewing is replaced within a lease, and one that shuts down cleanly hands over at the next renewal.
+ * A node that cannot reach the lock steps down, since its lease may already belong to someone else
+ */
+@Service
+public class SyncLeaderElection implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncLeaderElection.class);
+
+    static final String LOCK_NAME = "github-sync";
+
+    private final SyncLeaderLock lock;
+    private final Duration lease;
+    private final String nodeId;
+    private volatile boolean leader;
+
+    @Autowired
+    public SyncLeaderElection(ObjectProvider<SyncLeaderLock> lock,
+                              @Value("${sync.leader.lease-ms:15000}") long leaseMs) {
+        this(lock.getIfAvailable(), Duration.ofMillis(leaseMs));
+    }
+
+    SyncLeaderElection(SyncLeaderLock lock, Duration lease) {
+        this.lock = lock;
+        this.lease = lease;
+        this.nodeId = System.getenv().getOrDefault("HOSTNAME", "node") + "-" + UUID.randomUUID();
+        this.leader = lock == null;
+    }
+
+    /**
+     * Hold the first election before the application starts, so startup work already knows its role
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        renew();
+    }
+
+    /**
+     * Take or extend the lease
+     */
+    @Scheduled(fixedDelayString = "${sync.leader.renew-interval-ms:5000}")
+    public void renew() {
+        if (lock == null) {
+            return;
+        }
+        boolean acquired;
+        try {
+            acquired = lock.tryAcquire(LOCK_NAME, nodeId, lease);
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the GitHub sync lease: {}", e.getMessage());
+            acquired = false;
+        }
+        if (acquired != leader) {
+            log.info(acquired ? "Node {} is now the GitHub sync leader" : "Node {} is no longer the GitHub sync leader", nodeId);
+        }
+        leader = acquired;
+    }
+
+    /**
+     * Hand over leadership on shutdown rather than letting the lease run out
+     */
+    @PreDestroy
+    public void release() {
+        if (lock == null || !leader) {
+            return;
+        }
+        leader = false;
+        try {
+            lock.release(LOCK_NAME, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release the GitHub sync lease: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return true if this node should run background GitHub syncs
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * @return identifier this node holds the lock under
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dependabot.service;
+
+import java.time.Duration;
+
+/**
+ * Lease-based lock deciding which replica syncs from GitHub
+ * Implementations keep one holder per lock name until its lease runs out, e.g. a row in a shared database
+ */
+public interface SyncLeaderLock {
+
+    /**
+     * Take the lock, or extend the lease if the owner already holds it
+     *
+     * @param name lock name
+     * @param owner identifier of the node asking
+     * @param lease how long the lock stays held without another call
+     * @return true if the owner holds the lock for the new lease
+     */
+    boolean tryAcquire(String name, String owner, Duration lease);
+
+    /**
+     * Give up the lock if the owner holds it, so another node can take over without waiting for the lease
+     */
+    void release(String name, String owner);
+}
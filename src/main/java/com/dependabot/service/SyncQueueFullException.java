@@ -0,0 +1,18 @@
+package com.dependabot.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the repository sync queue is full and a request's fetches cannot be started
+ * Fetches of the request already started have been cancelled when this is thrown
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SyncQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SyncQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,184 @@
+package com.dependabot.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine cache backed by a SharedCacheStore
+ * Local misses are looked up in the shared tier before the value loader runs, and every write or eviction
+ * goes to the shared tier and is broadcast, so a value fetched by one node serves the whole fleet.
+ * Still a CaffeineCache, so statistics and entry listings describe this node's local tier.
+ * When the shared tier fails the cache logs it and carries on as a local cache
+ */
+public class TwoTierCache extends CaffeineCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final SharedCacheStore store;
+    private final SharedCacheCodec codec;
+    private final Duration ttl;
+    private final Executor sharedTierExecutor;
+
+    /**
+     * @param sharedTierExecutor runs shared-tier calls for asynchronous retrievals, which must not block the caller
+     */
+    public TwoTierCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues,
+                        SharedCacheStore store, SharedCacheCodec codec, Duration ttl, Executor sharedTierExecutor) {
+        super(name, cache, allowNullValues);
+        this.store = store;
+        this.codec = codec;
+        this.ttl = ttl;
+        this.sharedTierExecutor = sharedTierExecutor;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            value = readShared(key);
+            if (value != null) {
+                super.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(key, () -> {
+            Object shared = readShared(key);
+            if (shared != null) {
+                return (T) shared;
+            }
+            T value = valueLoader.call();
+            writeShared(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> local = super.retrieve(key);
+        if (local != null) {
+            return local;
+        }
+        Object shared = readShared(key);
+        if (shared == null) {
+            return null;
+        }
+        super.put(key, shared);
+        return CompletableFuture.completedFuture(isAllowNullValues() ? toValueWrapper(shared) : shared);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return super.retrieve(key, () -> CompletableFuture.supplyAsync(() -> readShared(key), sharedTierExecutor)
+                .thenCompose(shared -> shared != null
+                        ? CompletableFuture.completedFuture((T) shared)
+                        : valueLoader.get().thenApplyAsync(value -> {
+                            writeShared(key, value);
+                            return value;
+                        }, sharedTierExecutor)));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        writeShared(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            writeShared(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        evictShared(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        evictShared(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        clearShared();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = super.invalidate();
+        clearShared();
+        return present;
+    }
+
+    /**
+     * Apply a change made by another node to the local tier only
+     */
+    void onRemoteEvent(SharedCacheEvent event) {
+        if (event.type() == SharedCacheEvent.Type.CLEAR) {
+            super.clear();
+        } else {
+            super.evict(event.key());
+        }
+    }
+
+    private Object readShared(Object key) {
+        try {
+            return store.get(getName(), key.toString()).map(codec::decode).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache read of {} in {} failed: {}", key, getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            store.put(getName(), key.toString(), codec.encode(value), ttl);
+            store.publish(new SharedCacheEvent(SharedCacheEvent.Type.PUT, getName(), key.toString()));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache write of {} in {} failed: {}", key, getName(), e.getMessage());
+        }
+    }
+
+    private void evictShared(Object key) {
+        try {
+            store.evict(getName(), key.toString());
+            store.publish(new SharedCacheEvent(SharedCacheEvent.Type.EVICT, getName(), key.toString()));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache eviction of {} in {} failed: {}", key, getName(), e.getMessage());
+        }
+    }
+
+    private void clearShared() {
+        try {
+            store.clear(getName());
+            store.publish(new SharedCacheEvent(SharedCacheEvent.Type.CLEAR, getName(), null));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache clear of {} failed: {}", getName(), e.getMessage());
+        }
+    }
+}
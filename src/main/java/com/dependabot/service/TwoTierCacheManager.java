@@ -0,0 +1,50 @@
+package com.dependabot.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Caffeine cache manager whose caches with a codec are backed by a SharedCacheStore
+ * Only applies in async cache mode; other caches stay local to the node.
+ * Events from other nodes are applied to the local tier, then published as application events
+ */
+public class TwoTierCacheManager extends CaffeineCacheManager {
+
+    private final SharedCacheStore store;
+    private final Map<String, SharedCacheCodec> codecs;
+    private final Duration ttl;
+    private final Executor sharedTierExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TwoTierCacheManager(SharedCacheStore store, Map<String, SharedCacheCodec> codecs, Duration ttl,
+                               Executor sharedTierExecutor, ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.codecs = Map.copyOf(codecs);
+        this.ttl = ttl;
+        this.sharedTierExecutor = sharedTierExecutor;
+        this.eventPublisher = eventPublisher;
+        store.subscribe(this::onRemoteEvent);
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+        SharedCacheCodec codec = codecs.get(name);
+        if (codec == null) {
+            return super.adaptCaffeineCache(name, cache);
+        }
+        return new TwoTierCache(name, cache, isAllowNullValues(), store, codec, ttl, sharedTierExecutor);
+    }
+
+    private void onRemoteEvent(SharedCacheEvent event) {
+        if (getCache(event.cacheName()) instanceof TwoTierCache cache) {
+            cache.onRemoteEvent(event);
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Bulk PR actions queued by BulkActionService
+-- The queue lives in the database so accepted work survives a restart
+
+CREATE TABLE IF NOT EXISTS bulk_action_job (
+    job_id         VARCHAR(36)                 PRIMARY KEY,
+    action         VARCHAR(16)                 NOT NULL,
+    merge_method   VARCHAR(16),
+    submitted_at   TIMESTAMP(9) WITH TIME ZONE NOT NULL
+);
+
+-- One row per PR; workers claim QUEUED rows whose not_before has passed
+CREATE TABLE IF NOT EXISTS bulk_action_item (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id         VARCHAR(36)                 NOT NULL,
+    repository     VARCHAR(255)                NOT NULL,
+    number         INT                         NOT NULL,
+    state          VARCHAR(16)                 NOT NULL,
+    retries        INT                         NOT NULL,
+    not_before     TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    error          VARCHAR(1000),
+    completed_at   TIMESTAMP(9) WITH TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS bulk_action_item_by_state ON bulk_action_item (state, not_before);
+CREATE INDEX IF NOT EXISTS bulk_action_item_by_job ON bulk_action_item (job_id);
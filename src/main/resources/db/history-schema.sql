@@ -0,0 +1,45 @@
+-- PR history store
+-- Every table that is queried by time leads its key with the day, so trend queries
+-- read only the partitions inside their window and purges drop whole days
+
+-- Last seen state per PR, the baseline each sync is diffed against
+CREATE TABLE IF NOT EXISTS pr_state (
+    repository     VARCHAR(255)                NOT NULL,
+    number         INT                         NOT NULL,
+    dependency     VARCHAR(255)                NOT NULL,
+    state          VARCHAR(16)                 NOT NULL,
+    created_at     TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP(9) WITH TIME ZONE,
+    PRIMARY KEY (repository, number)
+);
+CREATE INDEX IF NOT EXISTS pr_state_by_state ON pr_state (repository, state);
+
+-- Append-only log of transitions: OPENED, UPDATED, CLOSED, MERGED
+CREATE TABLE IF NOT EXISTS pr_transition (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_day     DATE                        NOT NULL,
+    occurred_at    TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    repository     VARCHAR(255)                NOT NULL,
+    number         INT                         NOT NULL,
+    dependency     VARCHAR(255)                NOT NULL,
+    transition     VARCHAR(16)                 NOT NULL
+);
+CREATE INDEX IF NOT EXISTS pr_transition_by_day ON pr_transition (bucket_day, repository);
+CREATE INDEX IF NOT EXISTS pr_transition_by_pr ON pr_transition (repository, number);
+
+-- Open PRs per repository as of the last sync of each day
+CREATE TABLE IF NOT EXISTS pr_open_daily (
+    bucket_day     DATE                        NOT NULL,
+    repository     VARCHAR(255)                NOT NULL,
+    open_count     INT                         NOT NULL,
+    PRIMARY KEY (bucket_day, repository)
+);
+
+-- Merges per dependency and day, with the summed time from opening to merge
+CREATE TABLE IF NOT EXISTS pr_merge_daily (
+    bucket_day     DATE                        NOT NULL,
+    dependency     VARCHAR(255)                NOT NULL,
+    merged_count   INT                         NOT NULL,
+    total_merge_ms BIGINT                      NOT NULL,
+    PRIMARY KEY (bucket_day, dependency)
+);
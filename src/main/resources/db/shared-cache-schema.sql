@@ -0,0 +1,22 @@
+-- Shared cache tier used by JdbcSharedCacheStore
+-- One database serves every replica: entries hold serialized values, events carry changes between nodes
+
+CREATE TABLE IF NOT EXISTS shared_cache_entry (
+    cache_name     VARCHAR(100)                NOT NULL,
+    cache_key      VARCHAR(512)                NOT NULL,
+    payload        BLOB                        NOT NULL,
+    expires_at     TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (cache_name, cache_key)
+);
+CREATE INDEX IF NOT EXISTS shared_cache_entry_by_expiry ON shared_cache_entry (expires_at);
+
+-- Append-only event log each node polls past the last id it has seen; old events are purged
+CREATE TABLE IF NOT EXISTS shared_cache_event (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache_name     VARCHAR(100)                NOT NULL,
+    cache_key      VARCHAR(512),
+    event_type     VARCHAR(16)                 NOT NULL,
+    origin         VARCHAR(64)                 NOT NULL,
+    created_at     TIMESTAMP(9) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS shared_cache_event_by_time ON shared_cache_event (created_at);
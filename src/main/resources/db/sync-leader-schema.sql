@@ -0,0 +1,8 @@
+-- Sync leader lease used by JdbcSyncLeaderLock
+-- One row per lock; the holder extends expires_at while alive, and any node may take an expired row
+
+CREATE TABLE IF NOT EXISTS sync_leader_lock (
+    name           VARCHAR(100)                PRIMARY KEY,
+    owner          VARCHAR(200)                NOT NULL,
+    expires_at     TIMESTAMP(9) WITH TIME ZONE NOT NULL
+);
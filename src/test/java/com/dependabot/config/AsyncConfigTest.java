@@ -0,0 +1,100 @@
+package com.dependabot.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"github.sync.concurrency=1", "github.sync.queue-capacity=1"})
+@DisplayName("Async Configuration Tests")
+class AsyncConfigTest {
+
+    @Autowired
+    @Qualifier("githubSyncExecutor")
+    private ThreadPoolTaskExecutor syncExecutor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<CompletableFuture<Thread>> blocked = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        // Free the shared executor for the next test; a worker is still busy for a moment after its task completes
+        blocked.forEach(CompletableFuture::join);
+        for (int i = 0; i < 500 && syncExecutor.getActiveCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("A saturated sync executor should queue work instead of running it on the caller")
+    void shouldQueueInsteadOfRunningOnCaller() throws Exception {
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> running = blockWorker();
+        CompletableFuture<Thread> queued = CompletableFuture.supplyAsync(Thread::currentThread, syncExecutor);
+        blocked.add(queued);
+
+        Instant start = Instant.now();
+        assertThatThrownBy(() -> queued.get(100, TimeUnit.MILLISECONDS))
+                .as("Caller gives up on queued work")
+                .isInstanceOf(TimeoutException.class);
+        assertThat(Duration.between(start, Instant.now()))
+                .as("Caller waited no longer than its timeout")
+                .isLessThan(Duration.ofSeconds(2));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotSameAs(caller);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotSameAs(caller);
+    }
+
+    @Test
+    @DisplayName("A full sync queue should refuse work instead of running it on the caller")
+    void shouldRejectWhenQueueFull() throws InterruptedException {
+        blockWorker();
+        block();
+
+        assertThatThrownBy(() -> syncExecutor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    /**
+     * Block the single worker, waiting until it has taken the task: an idle worker takes tasks from the queue,
+     * so until then the task holds the one queue slot
+     */
+    private CompletableFuture<Thread> blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Thread> task = block(started);
+        assertThat(started.await(5, TimeUnit.SECONDS)).as("Worker took the blocking task").isTrue();
+        return task;
+    }
+
+    private CompletableFuture<Thread> block() {
+        return block(new CountDownLatch(1));
+    }
+
+    private CompletableFuture<Thread> block(CountDownLatch started) {
+        CompletableFuture<Thread> task = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread();
+        }, syncExecutor);
+        blocked.add(task);
+        return task;
+    }
+}
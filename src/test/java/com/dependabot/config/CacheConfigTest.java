@@ -5,8 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -42,4 +45,17 @@ class CacheConfigTest {
                 .as("GitHub PRs cache")
                 .isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should bound every cache by estimated weight")
+    void shouldBoundCachesByWeight() {
+        for (String name : List.of(CacheConfig.GITHUB_PRS_CACHE, CacheConfig.GITHUB_PR_DETAILS_CACHE,
+                CacheConfig.GITHUB_CI_STATUS_CACHE)) {
+            var nativeCache = ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+
+            assertThat(nativeCache.policy().eviction())
+                    .as("Eviction policy of %s", name)
+                    .hasValueSatisfying(eviction -> assertThat(eviction.isWeighted()).isTrue());
+        }
+    }
+}
@@ -123,4 +123,80 @@ class GitHubPropertiesValidationTest {
                 )
                 .run(context -> assertThat(context).hasFailed());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should succeed with only a list of installations")
+    void shouldSucceedWithInstallationsOnly() {
+        contextRunner
+                .withPropertyValues(
+                        "github.app-id=test-app",
+                        "github.private-key=test-key",
+                        "github.installations[0].owner=org-one",
+                        "github.installations[0].installation-id=111",
+                        "github.installations[0].repos=repo1,repo2",
+                        "github.installations[1].name=second",
+                        "github.installations[1].owner=org-two",
+                        "github.installations[1].installation-id=222",
+                        "github.installations[1].repos=repo3",
+                        "github.installations[1].rate-limit-reserve=500"
+                )
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+
+                    GitHubProperties props = context.getBean(GitHubProperties.class);
+                    assertThat(props.getEffectiveInstallations())
+                            .extracting(GitHubProperties.Installation::getName)
+                            .containsExactly("org-one", "second");
+                    assertThat(props.getEffectiveInstallations().get(1).getRateLimitReserve()).isEqualTo(500);
+                });
+    }
+
+    @Test
+    @DisplayName("Should treat the top-level owner as the first installation")
+    void shouldCombineTopLevelAndListedInstallations() {
+        contextRunner
+                .withPropertyValues(
+                        "github.app-id=test-app",
+                        "github.installation-id=test-install",
+                        "github.private-key=test-key",
+                        "github.owner=test-owner",
+                        "github.repos=repo1",
+                        "github.installations[0].owner=org-two",
+                        "github.installations[0].installation-id=222",
+                        "github.installations[0].repos=repo2"
+                )
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+
+                    GitHubProperties props = context.getBean(GitHubProperties.class);
+                    assertThat(props.getEffectiveInstallations())
+                            .extracting(GitHubProperties.Installation::getOwner)
+                            .containsExactly("test-owner", "org-two");
+                    assertThat(props.getEffectiveInstallations().get(0).getRepos()).containsExactly("repo1");
+                });
+    }
+
+    @Test
+    @DisplayName("Should fail when no installation is configured")
+    void shouldRejectMissingInstallation() {
+        contextRunner
+                .withPropertyValues(
+                        "github.app-id=test-app",
+                        "github.private-key=test-key",
+                        "github.repos=repo1"
+                )
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    @DisplayName("Should fail when a listed installation has no owner")
+    void shouldRejectInstallationWithoutOwner() {
+        contextRunner
+                .withPropertyValues(
+                        "github.app-id=test-app",
+                        "github.private-key=test-key",
+                        "github.installations[0].installation-id=111"
+                )
+                .run(context -> assertThat(context).hasFailed());
+    }
+}
@@ -0,0 +1,152 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.BulkJobDto;
+import com.dependabot.service.BulkActionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BulkActionController.class, properties = "bulk.api-token=" + BulkActionControllerTest.TOKEN)
+@DisplayName("Bulk Action Controller Tests")
+class BulkActionControllerTest {
+
+    static final String TOKEN = "test-token";
+    private static final String AUTHORIZATION = "Bearer " + TOKEN;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkActionService bulkActionService;
+
+    private static BulkJobDto job(BulkJobDto.Status status, BulkJobDto.ItemState state) {
+        return BulkJobDto.builder()
+                .jobId("job-1")
+                .status(status)
+                .action(BulkAction.MERGE)
+                .mergeMethod(BulkActionRequest.MergeMethod.SQUASH)
+                .total(1)
+                .succeeded(state == BulkJobDto.ItemState.SUCCEEDED ? 1 : 0)
+                .failed(0)
+                .items(List.of(BulkJobDto.Item.builder()
+                        .repository("owner/test-repo")
+                        .number(1)
+                        .state(state)
+                        .retries(0)
+                        .build()))
+                .submittedAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/prs/bulk should queue the actions and return 202 with the job location")
+    void submit_shouldReturnAccepted() throws Exception {
+        when(bulkActionService.submit(any())).thenReturn(job(BulkJobDto.Status.PENDING, BulkJobDto.ItemState.QUEUED));
+
+        mockMvc.perform(post("/api/prs/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"MERGE\",\"mergeMethod\":\"SQUASH\",\"prs\":[{\"repository\":\"test-repo\",\"number\":1}]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/prs/bulk/job-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.items[0].repository").value("owner/test-repo"))
+                .andExpect(jsonPath("$.items[0].state").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("POST /api/prs/bulk should reject a request without PRs or with an invalid number")
+    void submit_shouldValidateRequest() throws Exception {
+        mockMvc.perform(post("/api/prs/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"APPROVE\",\"prs\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/prs/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"APPROVE\",\"prs\":[{\"repository\":\"test-repo\",\"number\":0}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkActionService);
+    }
+
+    @Test
+    @DisplayName("POST /api/prs/bulk should return 400 for a repository with no installation")
+    void submit_shouldRejectUnknownOwner() throws Exception {
+        when(bulkActionService.submit(any()))
+                .thenThrow(new IllegalArgumentException("No installation configured for owner: stranger"));
+
+        mockMvc.perform(post("/api/prs/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"action\":\"APPROVE\",\"prs\":[{\"repository\":\"stranger/repo\",\"number\":1}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/prs/bulk/{jobId} should return the job or 404")
+    void getJob_shouldReturnJobOrNotFound() throws Exception {
+        when(bulkActionService.getJob("job-1"))
+                .thenReturn(Optional.of(job(BulkJobDto.Status.COMPLETED, BulkJobDto.ItemState.SUCCEEDED)));
+        when(bulkActionService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/prs/bulk/job-1").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.succeeded").value(1));
+        mockMvc.perform(get("/api/prs/bulk/missing").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Bulk endpoints should return 401 without the configured API token")
+    void shouldRefuseRequestsWithoutToken() throws Exception {
+        String body = "{\"action\":\"MERGE\",\"prs\":[{\"repository\":\"test-repo\",\"number\":1}]}";
+
+        mockMvc.perform(post("/api/prs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/prs/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer wrong-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/prs/bulk/job-1"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(bulkActionService);
+    }
+
+    @Test
+    @DisplayName("Bulk endpoints should refuse every request while no API token is configured")
+    void shouldRefuseRequestsWithoutConfiguredToken() throws Exception {
+        BulkActionController controller = new BulkActionController(bulkActionService, "");
+
+        assertThat(controller.getJob("Bearer ", "job-1").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(controller.getJob(null, "job-1").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        verifyNoInteractions(bulkActionService);
+    }
+}
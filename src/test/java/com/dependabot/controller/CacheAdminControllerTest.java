@@ -0,0 +1,157 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.CacheEntryDto;
+import com.dependabot.dto.CacheStatsDto;
+import com.dependabot.dto.CoalescingStatsDto;
+import com.dependabot.dto.RefreshJobDto;
+import com.dependabot.service.CacheAdminService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheAdminController.class)
+@DisplayName("Cache Admin Controller Tests")
+class CacheAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheAdminService cacheAdminService;
+
+    private static RefreshJobDto job(RefreshJobDto.Status status) {
+        return RefreshJobDto.builder()
+                .jobId("job-1")
+                .status(status)
+                .repositories(List.of("test-repo"))
+                .completed(List.of())
+                .failed(Map.of())
+                .submittedAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/entries should list entries")
+    void getEntries_shouldListEntries() throws Exception {
+        when(cacheAdminService.listEntries()).thenReturn(List.of(
+                CacheEntryDto.builder().repository("test-repo").size(3).ageMs(1000L).expiresInMs(299000L).build()));
+
+        mockMvc.perform(get("/api/admin/cache/entries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].repository").value("test-repo"))
+                .andExpect(jsonPath("$[0].size").value(3))
+                .andExpect(jsonPath("$[0].ageMs").value(1000));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/stats should return statistics")
+    void getStats_shouldReturnStats() throws Exception {
+        when(cacheAdminService.getStats()).thenReturn(
+                CacheStatsDto.builder().cacheName("github-prs").hitCount(5L).missCount(1L).build());
+
+        mockMvc.perform(get("/api/admin/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cacheName").value("github-prs"))
+                .andExpect(jsonPath("$.hitCount").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/stats/{cacheName} should return the named cache's weight, or 404")
+    void getNamedStats_shouldReturnWeight() throws Exception {
+        when(cacheAdminService.getStats("github-pr-details")).thenReturn(Optional.of(
+                CacheStatsDto.builder().cacheName("github-pr-details").weightedSizeBytes(4096L)
+                        .maximumWeightBytes(33554432L).build()));
+        when(cacheAdminService.getStats("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/admin/cache/stats/github-pr-details"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weightedSizeBytes").value(4096))
+                .andExpect(jsonPath("$.maximumWeightBytes").value(33554432));
+        mockMvc.perform(get("/api/admin/cache/stats/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/coalescing should return coalescing statistics")
+    void getCoalescingStats_shouldReturnStats() throws Exception {
+        when(cacheAdminService.getCoalescingStats()).thenReturn(
+                CoalescingStatsDto.builder().loads(2L).absorbedCallers(49L).maxAbsorbedPerLoad(49L).build());
+
+        mockMvc.perform(get("/api/admin/cache/coalescing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loads").value(2))
+                .andExpect(jsonPath("$.maxAbsorbedPerLoad").value(49));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/admin/cache/entries/{repository} should return 204")
+    void invalidate_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/admin/cache/entries/test-repo"))
+                .andExpect(status().isNoContent());
+
+        verify(cacheAdminService).invalidate("test-repo");
+    }
+
+    @Test
+    @DisplayName("DELETE /api/admin/cache/entries should return 204")
+    void invalidateAll_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/admin/cache/entries"))
+                .andExpect(status().isNoContent());
+
+        verify(cacheAdminService).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/cache/refresh/{repository} should return 202 with job handle")
+    void refresh_shouldReturnAccepted() throws Exception {
+        when(cacheAdminService.refresh("test-repo")).thenReturn(job(RefreshJobDto.Status.PENDING));
+
+        mockMvc.perform(post("/api/admin/cache/refresh/test-repo"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/admin/cache/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/cache/refresh should return 202 with job handle")
+    void refreshAll_shouldReturnAccepted() throws Exception {
+        when(cacheAdminService.refreshAll()).thenReturn(job(RefreshJobDto.Status.PENDING));
+
+        mockMvc.perform(post("/api/admin/cache/refresh"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/jobs/{jobId} should return job status")
+    void getJob_shouldReturnJob() throws Exception {
+        when(cacheAdminService.getJob("job-1")).thenReturn(Optional.of(job(RefreshJobDto.Status.COMPLETED)));
+
+        mockMvc.perform(get("/api/admin/cache/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/cache/jobs/{jobId} should return 404 for unknown job")
+    void getJob_shouldReturn404ForUnknownJob() throws Exception {
+        when(cacheAdminService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/admin/cache/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,125 @@
+package com.dependabot.controller;
+
+import com.dependabot.service.GitHubService;
+import com.dependabot.service.RepositoryDiscoveryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = GitHubWebhookController.class, properties = "github.webhook.secret=" + GitHubWebhookControllerTest.SECRET)
+@DisplayName("GitHub Webhook Controller Tests")
+class GitHubWebhookControllerTest {
+
+    static final String SECRET = "webhook-secret";
+
+    private static final String CHECK_SUITE = """
+            {"action": "completed",
+             "check_suite": {"conclusion": "success", "pull_requests": [{"number": 7}]},
+             "repository": {"name": "repo-a", "owner": {"login": "owner"}}}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GitHubService gitHubService;
+
+    @MockBean
+    private RepositoryDiscoveryService discoveryService;
+
+    @TestConfiguration
+    static class DirectExecutor {
+
+        @Bean(name = "cacheRefreshExecutor")
+        Executor cacheRefreshExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    private static MockHttpServletRequestBuilder delivery(String event, String payload, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return post("/webhooks/github")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-GitHub-Event", event)
+                .header("X-Hub-Signature-256",
+                        "sha256=" + HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8))))
+                .content(payload);
+    }
+
+    @Test
+    @DisplayName("POST /webhooks/github should refresh CI status on a signed check_suite event")
+    void checkSuite_shouldRefreshCIStatus() throws Exception {
+        mockMvc.perform(delivery("check_suite", CHECK_SUITE, SECRET))
+                .andExpect(status().isAccepted());
+
+        verify(gitHubService).refreshCIStatuses("owner", "repo-a");
+    }
+
+    @Test
+    @DisplayName("POST /webhooks/github should refuse deliveries with a wrong or missing signature")
+    void badSignature_shouldReturn401() throws Exception {
+        mockMvc.perform(delivery("check_suite", CHECK_SUITE, "other-secret"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/webhooks/github")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-GitHub-Event", "check_suite")
+                        .content(CHECK_SUITE))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(gitHubService);
+    }
+
+    @Test
+    @DisplayName("POST /webhooks/github should acknowledge other events and suites without PRs")
+    void otherEvents_shouldReturn204() throws Exception {
+        mockMvc.perform(delivery("ping", "{\"zen\": \"Keep it logically awesome.\"}", SECRET))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delivery("check_suite", CHECK_SUITE.replace("{\"number\": 7}", ""), SECRET))
+                .andExpect(status().isNoContent());
+
+        verifyNoInteractions(gitHubService);
+    }
+
+    @Test
+    @DisplayName("POST /webhooks/github should pass repository changes to discovery only when it is enabled")
+    void installationRepositories_shouldUpdateDiscoveredRepositories() throws Exception {
+        String payload = """
+                {"action": "added",
+                 "installation": {"account": {"login": "owner"}},
+                 "repositories_added": [{"name": "repo-b", "full_name": "owner/repo-b"}],
+                 "repositories_removed": []}
+                """;
+
+        mockMvc.perform(delivery("installation_repositories", payload, SECRET))
+                .andExpect(status().isNoContent());
+        verify(discoveryService, never()).onInstallationRepositories(argThat(body -> true));
+
+        when(discoveryService.isEnabled()).thenReturn(true);
+        mockMvc.perform(delivery("installation_repositories", payload, SECRET))
+                .andExpect(status().isAccepted());
+        verify(discoveryService).onInstallationRepositories(
+                argThat(body -> body.path("repositories_added").get(0).path("name").asText().equals("repo-b")));
+    }
+}
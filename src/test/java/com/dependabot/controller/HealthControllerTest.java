@@ -1,12 +1,18 @@
 package com.dependabot.controller;
 
+import com.dependabot.dto.ReadinessDto;
+import com.dependabot.service.ReadinessProbeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,6 +24,9 @@ class HealthControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private ReadinessProbeService readinessProbeService;
+
     @Test
     @DisplayName("GET /health should return 200 OK")
     void health_shouldReturn200() throws Exception {
@@ -57,4 +66,62 @@ class HealthControllerTest {
                 .andExpect(jsonPath("$.status").exists())
                 .andExpect(jsonPath("$.service").exists());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /health/liveness should return status UP")
+    void liveness_shouldReturnStatusUp() throws Exception {
+        mockMvc.perform(get("/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.service").value("dependabot-pr-service"));
+    }
+
+    @Test
+    @DisplayName("GET /health/readiness should return 200 when ready")
+    void readiness_shouldReturn200WhenReady() throws Exception {
+        when(readinessProbeService.getReadiness()).thenReturn(ReadinessDto.builder()
+                .status("UP")
+                .reasons(List.of())
+                .githubReachable(true)
+                .rateLimitRemaining(4800)
+                .cacheWarm(true)
+                .build());
+
+        mockMvc.perform(get("/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.githubReachable").value(true))
+                .andExpect(jsonPath("$.rateLimitRemaining").value(4800));
+    }
+
+    @Test
+    @DisplayName("GET /health/readiness should return 200 when degraded")
+    void readiness_shouldReturn200WhenDegraded() throws Exception {
+        when(readinessProbeService.getReadiness()).thenReturn(ReadinessDto.builder()
+                .status("DEGRADED")
+                .reasons(List.of())
+                .degraded(List.of("GitHub unreachable: timeout"))
+                .githubReachable(false)
+                .build());
+
+        mockMvc.perform(get("/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DEGRADED"))
+                .andExpect(jsonPath("$.degraded[0]").value("GitHub unreachable: timeout"));
+    }
+
+    @Test
+    @DisplayName("GET /health/readiness should return 503 when not ready")
+    void readiness_shouldReturn503WhenNotReady() throws Exception {
+        when(readinessProbeService.getReadiness()).thenReturn(ReadinessDto.builder()
+                .status("DOWN")
+                .reasons(List.of("GitHub unreachable: timeout"))
+                .githubReachable(false)
+                .build());
+
+        mockMvc.perform(get("/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN"))
+                .andExpect(jsonPath("$.reasons[0]").value("GitHub unreachable: timeout"));
+    }
+}
@@ -1,9 +1,12 @@
 package com.dependabot.controller;
 
 import com.dependabot.dto.PRDto;
+import com.dependabot.service.DeadlineExceededException;
 import com.dependabot.service.GitHubService;
+import com.dependabot.service.SemanticVersion;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -11,11 +14,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PRController.class)
@@ -31,7 +41,7 @@ class PRControllerTest {
     @Test
     @DisplayName("GET /api/prs should return 200 OK")
     void getAllPRs_shouldReturn200() throws Exception {
-        when(gitHubService.getAllDependabotPRs()).thenReturn(List.of());
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class))).thenReturn(List.of());
 
         mockMvc.perform(get("/api/prs"))
                 .andExpect(status().isOk());
@@ -40,7 +50,7 @@ class PRControllerTest {
     @Test
     @DisplayName("GET /api/prs should return JSON")
     void getAllPRs_shouldReturnJson() throws Exception {
-        when(gitHubService.getAllDependabotPRs()).thenReturn(List.of());
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class))).thenReturn(List.of());
 
         mockMvc.perform(get("/api/prs"))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
@@ -58,7 +68,7 @@ class PRControllerTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(gitHubService.getAllDependabotPRs()).thenReturn(List.of(pr));
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class))).thenReturn(List.of(pr));
 
         mockMvc.perform(get("/api/prs"))
                 .andExpect(status().isOk())
@@ -104,4 +114,113 @@ class PRControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/prs/{owner}/{repository} should query the owner-qualified repository")
+    void getPRsByOwnerAndRepository_shouldQualifyRepository() throws Exception {
+        PRDto pr = PRDto.builder()
+                .number(7)
+                .title("Bump jackson from 2.15.0 to 2.16.0")
+                .owner("other-org")
+                .repository("test-repo")
+                .build();
+
+        when(gitHubService.getDependabotPRs("other-org/test-repo")).thenReturn(List.of(pr));
+
+        mockMvc.perform(get("/api/prs/other-org/test-repo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].owner").value("other-org"))
+                .andExpect(jsonPath("$[0].repository").value("test-repo"));
+    }
+
+    @Test
+    @DisplayName("GET /api/prs should pass a deadline capped by the request timeout header")
+    void getAllPRs_shouldPassRequestDeadline() throws Exception {
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class))).thenReturn(List.of());
+        Instant before = Instant.now();
+
+        mockMvc.perform(get("/api/prs").header(RequestDeadlineFilter.TIMEOUT_HEADER, "2000"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Instant> deadline = ArgumentCaptor.forClass(Instant.class);
+        verify(gitHubService).getAllDependabotPRs(deadline.capture());
+        assertThat(deadline.getValue()).isBetween(before.plusMillis(2000), Instant.now().plusMillis(2000));
+    }
+
+    @Test
+    @DisplayName("GET /api/prs should return 504 when the deadline passes")
+    void getAllPRs_shouldReturn504OnDeadline() throws Exception {
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class)))
+                .thenThrow(new DeadlineExceededException("Deadline passed before GitHub answered", null));
+
+        mockMvc.perform(get("/api/prs"))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    @DisplayName("GET /api/prs should filter by bump type and sort by proposed version")
+    void getAllPRs_shouldFilterAndSort() throws Exception {
+        when(gitHubService.getAllDependabotPRs(nullable(Instant.class))).thenReturn(List.of(
+                versioned(1, "3.1.0", "3.1.2"),
+                versioned(2, "1.9.0", "2.0.0"),
+                versioned(3, "3.1.0", "3.10.0"),
+                versioned(4, "3.1.0", "3.2.0")));
+
+        mockMvc.perform(get("/api/prs")
+                        .param("bumpType", "MINOR", "PATCH")
+                        .param("sort", "PROPOSED_VERSION")
+                        .param("order", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].number").value(3))
+                .andExpect(jsonPath("$[1].number").value(4))
+                .andExpect(jsonPath("$[2].number").value(1))
+                .andExpect(jsonPath("$[2].bumpType").value("PATCH"));
+    }
+
+    @Test
+    @DisplayName("GET /api/prs should reject an unknown bump type")
+    void getAllPRs_shouldRejectUnknownBumpType() throws Exception {
+        mockMvc.perform(get("/api/prs").param("bumpType", "HUGE"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/prs/batch should return PRs keyed by repository")
+    void getPRsForRepositories_shouldReturnMap() throws Exception {
+        Map<String, List<PRDto>> byRepository = new LinkedHashMap<>();
+        byRepository.put("repo-b", List.of(PRDto.builder().number(2).repository("repo-b").build()));
+        byRepository.put("repo-a", List.of());
+        when(gitHubService.getDependabotPRsByRepository(eq(List.of("repo-b", "repo-a")), nullable(Instant.class)))
+                .thenReturn(byRepository);
+
+        mockMvc.perform(post("/api/prs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"repositories\": [\"repo-b\", \"repo-a\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['repo-b'][0].number").value(2))
+                .andExpect(jsonPath("$['repo-a']").isEmpty());
+    }
+
+    @Test
+    @DisplayName("POST /api/prs/batch should reject an empty repository list")
+    void getPRsForRepositories_shouldRejectEmptyList() throws Exception {
+        mockMvc.perform(post("/api/prs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"repositories\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static PRDto versioned(int number, String from, String to) {
+        long fromCode = SemanticVersion.parse(from);
+        long toCode = SemanticVersion.parse(to);
+        return PRDto.builder()
+                .number(number)
+                .currentVersion(from)
+                .proposedVersion(to)
+                .currentVersionCode(fromCode)
+                .proposedVersionCode(toCode)
+                .bumpType(SemanticVersion.bumpType(fromCode, toCode))
+                .build();
+    }
+}
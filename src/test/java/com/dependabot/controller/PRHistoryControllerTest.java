@@ -0,0 +1,69 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.OpenCountDto;
+import com.dependabot.dto.PRTransitionDto;
+import com.dependabot.dto.TimeToMergeDto;
+import com.dependabot.service.PRHistoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PRHistoryController.class)
+@DisplayName("PR History Controller Tests")
+class PRHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PRHistoryService historyService;
+
+    @Test
+    @DisplayName("GET /api/history/open-counts should default to 90 days")
+    void getOpenCounts_shouldDefaultTo90Days() throws Exception {
+        when(historyService.getOpenCounts(90, null)).thenReturn(List.of(
+                OpenCountDto.builder().repository("test-repo").day(LocalDate.of(2024, 1, 15)).openCount(4).build()));
+
+        mockMvc.perform(get("/api/history/open-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].repository").value("test-repo"))
+                .andExpect(jsonPath("$[0].day").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].openCount").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/history/time-to-merge should filter by dependency")
+    void getTimeToMerge_shouldFilterByDependency() throws Exception {
+        when(historyService.getTimeToMerge(30, "lodash")).thenReturn(List.of(
+                TimeToMergeDto.builder().dependency("lodash").mergedCount(2L).meanTimeToMergeMs(3_600_000L).build()));
+
+        mockMvc.perform(get("/api/history/time-to-merge").param("days", "30").param("dependency", "lodash"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mergedCount").value(2))
+                .andExpect(jsonPath("$[0].meanTimeToMergeMs").value(3_600_000));
+    }
+
+    @Test
+    @DisplayName("GET /api/history/transitions/{repository}/{number} should list transitions")
+    void getTransitions_shouldListTransitions() throws Exception {
+        when(historyService.getTransitions("test-repo", 7)).thenReturn(List.of(
+                PRTransitionDto.builder().repository("test-repo").number(7).transition("MERGED")
+                        .occurredAt(Instant.parse("2024-01-16T14:20:00Z")).build()));
+
+        mockMvc.perform(get("/api/history/transitions/test-repo/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].transition").value("MERGED"))
+                .andExpect(jsonPath("$[0].occurredAt").value("2024-01-16T14:20:00Z"));
+    }
+}
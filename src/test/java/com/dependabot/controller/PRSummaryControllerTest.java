@@ -0,0 +1,81 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.DependencyRollupDto;
+import com.dependabot.dto.DependencyVersionsDto;
+import com.dependabot.dto.PRRefDto;
+import com.dependabot.dto.PRSummaryDto;
+import com.dependabot.service.DependencyRollupView;
+import com.dependabot.service.PRSummaryView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PRSummaryController.class)
+@DisplayName("PR Summary Controller Tests")
+class PRSummaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PRSummaryView summaryView;
+
+    @MockBean
+    private DependencyRollupView rollupView;
+
+    @Test
+    @DisplayName("GET /api/prs/summary should return the summary")
+    void getSummary_shouldReturnSummary() throws Exception {
+        when(summaryView.summarize()).thenReturn(PRSummaryDto.builder()
+                .total(3L)
+                .byRepository(Map.of("test-repo", 3L))
+                .withConflicts(1L)
+                .build());
+
+        mockMvc.perform(get("/api/prs/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byRepository.test-repo").value(3))
+                .andExpect(jsonPath("$.withConflicts").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/prs/rollup should group PRs by bump")
+    void getRollup_shouldGroupByBump() throws Exception {
+        when(rollupView.getRollup(null, 2)).thenReturn(List.of(DependencyRollupDto.builder()
+                .dependency("spring-boot")
+                .proposedVersion("3.2.1")
+                .repositories(List.of("repo-a", "repo-b"))
+                .prs(List.of(PRRefDto.builder().repository("repo-a").number(1).url("https://github.com/o/repo-a/pull/1").build()))
+                .build()));
+
+        mockMvc.perform(get("/api/prs/rollup").param("minRepositories", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dependency").value("spring-boot"))
+                .andExpect(jsonPath("$[0].repositories[1]").value("repo-b"))
+                .andExpect(jsonPath("$[0].prs[0].url").value("https://github.com/o/repo-a/pull/1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/prs/versions should return the version matrix")
+    void getVersionMatrix_shouldReturnMatrix() throws Exception {
+        when(rollupView.getVersionMatrix("spring-boot")).thenReturn(List.of(DependencyVersionsDto.builder()
+                .dependency("spring-boot")
+                .currentVersions(Map.of("repo-a", "3.1.0"))
+                .build()));
+
+        mockMvc.perform(get("/api/prs/versions").param("dependency", "spring-boot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentVersions.repo-a").value("3.1.0"));
+    }
+}
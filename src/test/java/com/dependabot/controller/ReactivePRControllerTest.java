@@ -0,0 +1,76 @@
+package com.dependabot.controller;
+
+import com.dependabot.dto.PRDto;
+import com.dependabot.service.ReactiveGitHubService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactivePRController.class)
+@DisplayName("Reactive PR Controller Tests")
+class ReactivePRControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveGitHubService reactiveGitHubService;
+
+    private static PRDto pr(int number, String repository) {
+        return PRDto.builder()
+                .number(number)
+                .title("Bump jackson from 2.15.0 to 2.16.1")
+                .repository(repository)
+                .author("dependabot[bot]")
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/prs should stream all PRs as a JSON array")
+    void getAllPRs_shouldReturnPRs() {
+        when(reactiveGitHubService.getAllDependabotPRs()).thenReturn(Flux.just(pr(1, "repo-a"), pr(2, "repo-b")));
+
+        webTestClient.get().uri("/api/reactive/prs")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].repository").isEqualTo("repo-a")
+                .jsonPath("$[1].number").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/prs/{repository} should return that repository's PRs")
+    void getPRsByRepository_shouldReturnPRs() {
+        when(reactiveGitHubService.getDependabotPRs("repo-a")).thenReturn(Mono.just(List.of(pr(1, "repo-a"))));
+
+        webTestClient.get().uri("/api/reactive/prs/repo-a")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].repository").isEqualTo("repo-a");
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/prs/{owner}/{repository} should query the owner's repository")
+    void getPRsByOwnerAndRepository_shouldQualifyRepository() {
+        when(reactiveGitHubService.getDependabotPRs("octo-org/repo-a")).thenReturn(Mono.just(List.of()));
+
+        webTestClient.get().uri("/api/reactive/prs/octo-org/repo-a")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.dependabot.fake;
+
+import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.CIStatus;
+import com.dependabot.dto.PRDto;
+import com.dependabot.service.CircuitBreaker;
+import com.dependabot.service.GitHubService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.dependabot.service.GitHubServiceTestSupport.newGitHubService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Fake GitHub Server Tests")
+class FakeGitHubServerTest {
+
+    private FakeGitHubServer server;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = FakeGitHubServer.builder()
+                .orgs(1)
+                .reposPerOrg(2)
+                .prsPerRepo(40)
+                .start();
+
+        GitHubProperties properties = new GitHubProperties();
+        properties.setAppId("1");
+        properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+        properties.setApiUrl(server.url());
+        properties.setOwner(FakeGitHubServer.owner(0));
+        properties.setInstallationId(FakeGitHubServer.installationId(0));
+        properties.setRepos(List.of(FakeGitHubServer.repository(0), FakeGitHubServer.repository(1)));
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        gitHubService = newGitHubService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("GitHubService should fetch Dependabot PRs across pages from the fake")
+    void shouldServeGitHubService() throws IOException {
+        List<PRDto> prs = gitHubService.refreshDependabotPRs(FakeGitHubServer.repository(0));
+
+        assertThat(prs).hasSize(server.dependabotPrsPerRepo());
+        assertThat(prs).allSatisfy(pr -> {
+            assertThat(pr.getAuthor()).isEqualTo("dependabot[bot]");
+            assertThat(pr.getOwner()).isEqualTo("org-0");
+            assertThat(pr.getDependency()).startsWith("lib-");
+            assertThat(pr.getCommits()).isEqualTo(1);
+            assertThat(pr.getCiStatus()).isEqualTo(pr.getNumber() % 5 == 0 ? CIStatus.FAILURE : CIStatus.SUCCESS);
+        });
+        assertThat(server.tokensIssued()).isEqualTo(1);
+        assertThat(server.requestsByRoute())
+                .containsEntry("GET /repos/{owner}/{repo}/pulls", 2L)
+                .containsEntry("POST /graphql", 1L)
+                .containsEntry("POST /app/installations/{id}/access_tokens", 1L);
+    }
+
+    @Test
+    @DisplayName("Injected errors should open the circuit and serve the last known good PRs")
+    void shouldInjectErrors() throws IOException {
+        String repo = FakeGitHubServer.repository(0);
+        gitHubService.refreshDependabotPRs(repo);
+
+        server.setErrorRate(1.0);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> gitHubService.refreshDependabotPRs(repo)).isInstanceOf(IOException.class);
+        }
+
+        assertThat(gitHubService.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        long before = server.requestCount();
+        assertThat(gitHubService.getAllDependabotPRs()).hasSize(server.dependabotPrsPerRepo());
+        assertThat(server.requestCount())
+                .as("requests while the circuit is open")
+                .isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Unknown repositories should return 404")
+    void shouldRejectUnknownRepositories() throws IOException {
+        assertThatThrownBy(() -> gitHubService.refreshDependabotPRs("repo-99"))
+                .isInstanceOf(IOException.class);
+        assertThat(gitHubService.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
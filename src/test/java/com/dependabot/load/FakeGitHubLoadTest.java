@@ -0,0 +1,92 @@
+package com.dependabot.load;
+
+import com.dependabot.DependabotApplication;
+import com.dependabot.fake.FakeGitHubServer;
+import com.dependabot.load.LoadDriver.LoadResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives /api/prs against the fake GitHub server and reports throughput and latency percentiles
+ * Cold runs expire the PR cache immediately so every request reaches GitHub; warm runs are served from the cache.
+ * Run with ./gradlew loadTest
+ */
+@Tag("load")
+@DisplayName("Fake GitHub Load Test")
+class FakeGitHubLoadTest {
+
+    private static final int REPOS = 10;
+    private static final int PRS_PER_REPO = 20;
+    private static final int CONCURRENCY = 32;
+    private static final int COLD_REQUESTS = 128;
+    private static final int WARM_REQUESTS = 3200;
+
+    @Test
+    @DisplayName("Should report throughput and latency with a fast and a degraded GitHub")
+    void shouldReportThroughputAndLatency() throws Exception {
+        System.out.printf("%n%s %12s%n", LoadResult.header(), "gh calls/req");
+
+        try (FakeGitHubServer github = FakeGitHubServer.builder()
+                .reposPerOrg(REPOS)
+                .prsPerRepo(PRS_PER_REPO)
+                .latency(Duration.ofMillis(5), Duration.ofMillis(5))
+                .start()) {
+            LoadResult cold = run(github, "fast cold", true, COLD_REQUESTS);
+            LoadResult warm = run(github, "fast warm", false, WARM_REQUESTS);
+
+            assertThat(cold.errors()).as("cold errors").isZero();
+            assertThat(warm.errors()).as("warm errors").isZero();
+            assertThat(warm.throughput()).as("warm throughput").isGreaterThan(cold.throughput());
+
+            github.setLatency(Duration.ofMillis(100), Duration.ofMillis(100));
+            github.setErrorRate(0.02);
+            LoadResult degraded = run(github, "degraded cold", true, COLD_REQUESTS);
+
+            assertThat(degraded.errors())
+                    .as("failed GitHub calls degrade to fallbacks or 504s, never 500s")
+                    .isEqualTo(degraded.timeouts());
+        }
+    }
+
+    private LoadResult run(FakeGitHubServer github, String name, boolean cold, int requests) throws Exception {
+        String repos = IntStream.range(0, REPOS)
+                .mapToObj(FakeGitHubServer::repository)
+                .collect(Collectors.joining(","));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DependabotApplication.class)
+                .profiles("test")
+                // Command-line arguments, so they win over application-test.yml
+                .run("--server.port=0",
+                        "--github.app-id=1",
+                        "--github.private-key=" + FakeGitHubServer.privateKeyPem(),
+                        "--github.api-url=" + github.url(),
+                        "--github.owner=" + FakeGitHubServer.owner(0),
+                        "--github.installation-id=" + FakeGitHubServer.installationId(0),
+                        "--github.repos=" + repos,
+                        "--cache.ttl-ms=" + (cold ? 1 : 300_000),
+                        "--health.probe.interval-ms=3600000",
+                        "--logging.level.com.dependabot=OFF",
+                        "--logging.level.org.kohsuke=OFF")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/prs");
+            LoadDriver driver = new LoadDriver(CONCURRENCY);
+
+            driver.drive(uri, CONCURRENCY);
+            github.resetCounters();
+            LoadResult result = driver.drive(uri, requests);
+
+            System.out.printf("%s %12.1f%n", result.format(name), (double) github.requestCount() / result.requests());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dependabot.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives GET requests at an endpoint from a fixed number of concurrent clients
+ * and reports throughput and latency percentiles
+ */
+final class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final int concurrency;
+
+    LoadDriver(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Send requests GETs to uri, split evenly across the concurrent clients
+     *
+     * @param uri endpoint to call
+     * @param requests total requests to send
+     * @return throughput, latency percentiles and number of non-200 and 504 responses
+     */
+    LoadResult drive(URI uri, int requests) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        List<Future<int[]>> outcomes = new ArrayList<>();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            int share = Math.max(1, requests / concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                outcomes.add(clients.submit(() -> {
+                    int failed = 0;
+                    int timedOut = 0;
+                    for (int i = 0; i < share; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - start);
+                        if (response.statusCode() != 200) {
+                            failed++;
+                        }
+                        if (response.statusCode() == 504) {
+                            timedOut++;
+                        }
+                    }
+                    return new int[]{failed, timedOut};
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        int failed = 0;
+        int timedOut = 0;
+        for (Future<int[]> outcome : outcomes) {
+            failed += outcome.get()[0];
+            timedOut += outcome.get()[1];
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new LoadResult(
+                sorted.size(),
+                sorted.size() / (elapsed / 1_000_000_000.0),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                failed,
+                timedOut);
+    }
+
+    static double percentile(List<Long> sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    /**
+     * Outcome of one load run
+     *
+     * @param requests requests sent
+     * @param throughput requests per second
+     * @param p50Ms median latency in milliseconds
+     * @param p99Ms 99th percentile latency in milliseconds
+     * @param errors responses other than 200
+     * @param timeouts 504 responses, i.e. requests that hit their deadline
+     */
+    record LoadResult(int requests, double throughput, double p50Ms, double p99Ms, int errors, int timeouts) {
+
+        static String header() {
+            return String.format("%-16s %12s %10s %10s %8s", "run", "req/s", "p50 ms", "p99 ms", "errors");
+        }
+
+        String format(String run) {
+            return String.format("%-16s %12.1f %10.1f %10.1f %8d", run, throughput, p50Ms, p99Ms, errors);
+        }
+    }
+}
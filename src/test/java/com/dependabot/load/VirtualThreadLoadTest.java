@@ -0,0 +1,105 @@
+package com.dependabot.load;
+
+import com.dependabot.DependabotApplication;
+import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.PRDto;
+import com.dependabot.load.LoadDriver.LoadResult;
+import com.dependabot.service.GitHubService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares /api/prs throughput on platform threads against the virtual-thread mode
+ * GitHub is simulated by a fixed per-repository latency, so the numbers measure thread handling only
+ * Run with ./gradlew loadTest
+ */
+@Tag("load")
+@DisplayName("Virtual Thread Load Test")
+class VirtualThreadLoadTest {
+
+    private static final long GITHUB_LATENCY_MS = 50;
+    private static final int TOMCAT_MAX_THREADS = 16;
+    private static final int CONCURRENCY = 64;
+    private static final int REQUESTS = 640;
+    private static final int WARMUP_REQUESTS = 64;
+
+    @Test
+    @DisplayName("Virtual threads should sustain higher throughput than the platform-thread pool")
+    void virtualThreadsShouldOutperformPlatformThreads() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("%n%s%n", LoadResult.header());
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.errors()).as("Platform errors").isZero();
+        assertThat(virtual.errors()).as("Virtual errors").isZero();
+        assertThat(virtual.throughput())
+                .as("Virtual-thread throughput")
+                .isGreaterThan(platform.throughput());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DependabotApplication.class, SlowGitHub.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "health.probe.interval-ms=3600000",
+                        "logging.level.com.dependabot=WARN")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/prs");
+
+            LoadDriver driver = new LoadDriver(CONCURRENCY);
+            driver.drive(uri, WARMUP_REQUESTS);
+            return driver.drive(uri, REQUESTS);
+        }
+    }
+
+    /**
+     * Replaces GitHub with a fixed latency per repository
+     * Deliberately not a @Configuration so component scanning in other tests never picks it up
+     */
+    static class SlowGitHub {
+
+        @Bean
+        @Primary
+        GitHubService slowGitHubService(GitHubProperties gitHubProperties,
+                                        @Qualifier("githubSyncExecutor") Executor syncExecutor) {
+            return new SlowGitHubService(gitHubProperties, syncExecutor);
+        }
+    }
+
+    static class SlowGitHubService extends GitHubService {
+
+        SlowGitHubService(GitHubProperties gitHubProperties, Executor syncExecutor) {
+            super(gitHubProperties, syncExecutor);
+        }
+
+        @Override
+        public List<PRDto> getDependabotPRs(String repositoryName) {
+            try {
+                Thread.sleep(GITHUB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+            return List.of(PRDto.builder().repository(repositoryName).title("Bump jackson from 2.15.0 to 2.16.1").build());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dependabot.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * SLO limits and recorded baselines for the performance suite
+ * A metric fails when it exceeds its SLO, or its baseline, by more than the configured tolerance.
+ * Metrics without an SLO or baseline entry are recorded but never fail
+ */
+final class PerfBudgets {
+
+    private static final String SLO_RESOURCE = "/perf/slo.properties";
+    private static final String BASELINE_RESOURCE = "/perf/baseline.properties";
+
+    private final Properties slos;
+    private final Properties baselines;
+    private final double sloTolerance;
+    private final double baselineTolerance;
+    private final Map<String, Double> measured = new TreeMap<>();
+    private final List<String> violations = new ArrayList<>();
+
+    private PerfBudgets(Properties slos, Properties baselines) {
+        this.slos = slos;
+        this.baselines = baselines;
+        this.sloTolerance = tolerance("perf.slo-tolerance", slos, "slo-tolerance");
+        this.baselineTolerance = tolerance("perf.baseline-tolerance", baselines, "baseline-tolerance");
+    }
+
+    static PerfBudgets load() throws IOException {
+        return new PerfBudgets(read(SLO_RESOURCE), read(BASELINE_RESOURCE));
+    }
+
+    /**
+     * Record a measurement and check it against its SLO and baseline
+     *
+     * @param metric metric key, e.g. "all.large.warm.p99-ms"
+     * @param value measured value; lower is better
+     */
+    void check(String metric, double value) {
+        measured.put(metric, value);
+        compare(metric, value, slos, sloTolerance, "SLO");
+        compare(metric, value, baselines, baselineTolerance, "baseline");
+    }
+
+    List<String> violations() {
+        return violations;
+    }
+
+    /**
+     * Write every measurement as a properties file, ready to become the new baseline
+     */
+    void write(Path output) throws IOException {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add("# Performance suite results; copy entries into " + BASELINE_RESOURCE + " to adopt them");
+        measured.forEach((metric, value) -> lines.add(metric + "=" + format(value)));
+        Files.write(output, lines);
+    }
+
+    String report() {
+        StringBuilder report = new StringBuilder(String.format("%-34s %14s %14s %14s%n", "metric", "measured", "slo", "baseline"));
+        measured.forEach((metric, value) -> report.append(String.format("%-34s %14s %14s %14s%n",
+                metric, format(value), slos.getProperty(metric, "-"), baselines.getProperty(metric, "-"))));
+        return report.toString();
+    }
+
+    private void compare(String metric, double value, Properties limits, double tolerance, String kind) {
+        String limit = limits.getProperty(metric);
+        if (limit == null) {
+            return;
+        }
+        double allowed = Double.parseDouble(limit) * (1 + tolerance);
+        if (value > allowed) {
+            violations.add(String.format("%s = %s exceeds %s %s by more than %.0f%%",
+                    metric, format(value), kind, limit, tolerance * 100));
+        }
+    }
+
+    private static double tolerance(String systemProperty, Properties file, String key) {
+        return Double.parseDouble(System.getProperty(systemProperty, file.getProperty(key, "0.25")));
+    }
+
+    private static Properties read(String resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = PerfBudgets.class.getResourceAsStream(resource)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,194 @@
+package com.dependabot.perf;
+
+import com.dependabot.DependabotApplication;
+import com.dependabot.fake.FakeGitHubServer;
+import com.dependabot.service.GitHubService;
+import com.dependabot.service.GitHubServiceTestSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Performance regression suite for /api/prs and /api/prs/{repository}
+ * Runs the service against the fake GitHub server at several organisation sizes and measures cold and warm
+ * latency percentiles, GitHub calls per request and heap allocation per request. Measurements are checked
+ * against src/test/resources/perf/slo.properties and baseline.properties, and written to perf.output.
+ * Run with ./gradlew perfTest
+ */
+@Tag("perf")
+@DisplayName("Performance Regression Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PerfRegressionTest {
+
+    private static final int COLD_SAMPLES = 10;
+    private static final int WARM_SAMPLES = 200;
+    private static final int WARMUP_REQUESTS = 50;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private PerfBudgets budgets;
+
+    /**
+     * Organisation sizes the suite runs at
+     */
+    enum OrgSize {
+        SMALL(3, 10),
+        MEDIUM(10, 30),
+        LARGE(25, 60);
+
+        final int repos;
+        final int prsPerRepo;
+
+        OrgSize(int repos, int prsPerRepo) {
+            this.repos = repos;
+            this.prsPerRepo = prsPerRepo;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    @BeforeAll
+    void loadBudgets() throws Exception {
+        budgets = PerfBudgets.load();
+    }
+
+    @AfterAll
+    void writeResults() throws Exception {
+        System.out.printf("%n%s", budgets.report());
+        budgets.write(Path.of(System.getProperty("perf.output", "build/perf/results.properties")));
+    }
+
+    @ParameterizedTest(name = "{0} organisation")
+    @EnumSource(OrgSize.class)
+    @DisplayName("PR endpoints should stay within their SLOs and baselines")
+    void shouldStayWithinBudgets(OrgSize size) throws Exception {
+        try (FakeGitHubServer github = FakeGitHubServer.builder()
+                .reposPerOrg(size.repos)
+                .prsPerRepo(size.prsPerRepo)
+                .latency(Duration.ofMillis(1), Duration.ZERO)
+                .start();
+             ConfigurableApplicationContext context = start(github, size)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            measure("all." + size.key(), URI.create("http://localhost:" + port + "/api/prs"), github, context);
+            measure("repo." + size.key(), URI.create("http://localhost:" + port + "/api/prs/" + FakeGitHubServer.repository(0)),
+                    github, context);
+        }
+
+        assertThat(budgets.violations())
+                .as("SLO and baseline violations")
+                .isEmpty();
+    }
+
+    private ConfigurableApplicationContext start(FakeGitHubServer github, OrgSize size) {
+        String repos = IntStream.range(0, size.repos)
+                .mapToObj(FakeGitHubServer::repository)
+                .collect(Collectors.joining(","));
+
+        return new SpringApplicationBuilder(DependabotApplication.class)
+                .profiles("test")
+                // Command-line arguments, so they win over application-test.yml
+                .run("--server.port=0",
+                        "--github.app-id=1",
+                        "--github.private-key=" + FakeGitHubServer.privateKeyPem(),
+                        "--github.api-url=" + github.url(),
+                        "--github.owner=" + FakeGitHubServer.owner(0),
+                        "--github.installation-id=" + FakeGitHubServer.installationId(0),
+                        "--github.repos=" + repos,
+                        "--health.probe.interval-ms=3600000",
+                        "--logging.level.com.dependabot=OFF",
+                        "--logging.level.org.kohsuke=OFF");
+    }
+
+    private void measure(String scenario, URI uri, FakeGitHubServer github, ConfigurableApplicationContext context) throws Exception {
+        // One untimed cold request mints the installation token and warms the JIT for this endpoint
+        clear(context);
+        get(uri);
+
+        List<Long> cold = new ArrayList<>();
+        long coldCalls = 0;
+        long coldAllocated = 0;
+        for (int i = 0; i < COLD_SAMPLES; i++) {
+            clear(context);
+            long calls = github.requestCount();
+            long allocated = threads.getTotalThreadAllocatedBytes();
+            cold.add(get(uri));
+            coldAllocated += threads.getTotalThreadAllocatedBytes() - allocated;
+            coldCalls += github.requestCount() - calls;
+        }
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            get(uri);
+        }
+        List<Long> warm = new ArrayList<>();
+        long calls = github.requestCount();
+        long allocated = threads.getTotalThreadAllocatedBytes();
+        for (int i = 0; i < WARM_SAMPLES; i++) {
+            warm.add(get(uri));
+        }
+        long warmAllocated = threads.getTotalThreadAllocatedBytes() - allocated;
+        long warmCalls = github.requestCount() - calls;
+
+        Collections.sort(cold);
+        Collections.sort(warm);
+        budgets.check(scenario + ".cold.p50-ms", percentile(cold, 0.50));
+        budgets.check(scenario + ".cold.p99-ms", percentile(cold, 0.99));
+        budgets.check(scenario + ".cold.github-calls", (double) coldCalls / COLD_SAMPLES);
+        budgets.check(scenario + ".cold.alloc-kb", coldAllocated / 1024.0 / COLD_SAMPLES);
+        budgets.check(scenario + ".warm.p50-ms", percentile(warm, 0.50));
+        budgets.check(scenario + ".warm.p99-ms", percentile(warm, 0.99));
+        budgets.check(scenario + ".warm.github-calls", (double) warmCalls / WARM_SAMPLES);
+        budgets.check(scenario + ".warm.alloc-kb", warmAllocated / 1024.0 / WARM_SAMPLES);
+    }
+
+    private long get(URI uri) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - start;
+        assertThat(response.statusCode()).as("status of " + uri).isEqualTo(200);
+        return elapsed;
+    }
+
+    /**
+     * Make the next request cold: empty every cache (PR lists, details and CI status) and the last known good lists
+     */
+    private static void clear(ConfigurableApplicationContext context) {
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        for (String name : cacheManager.getCacheNames()) {
+            Objects.requireNonNull(cacheManager.getCache(name)).clear();
+        }
+        GitHubServiceTestSupport.clearLastKnownGood(context.getBean(GitHubService.class));
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.dependabot.perf;
+
+import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.PRDto;
+import com.dependabot.fake.FakeGitHubServer;
+import com.dependabot.service.GitHubService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.dependabot.service.GitHubServiceTestSupport.newGitHubService;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Profiles parsing, PR conversion and JSON serialization against a recorded GitHub archive
+ * Set -Dperf.archive to replay an archive recorded from real GitHub with github.replay.mode=record;
+ * otherwise one is recorded from the fake GitHub server first. Nothing touches the network while measuring.
+ * Run with ./gradlew perfTest
+ */
+@Tag("perf")
+@DisplayName("Replay Benchmark")
+class ReplayBenchmarkTest {
+
+    private static final int ITERATIONS = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should report fetch, conversion and serialization cost per PR from a replayed archive")
+    void shouldProfileReplayedArchive() throws Exception {
+        String configured = System.getProperty("perf.archive");
+        Path archive = configured != null ? Path.of(configured) : recordFromFake();
+        List<String> repositories = List.of(System.getProperty("perf.archive.repos", "repo-0,repo-1,repo-2").split(","));
+
+        GitHubService replaying = newGitHubService(properties(repositories, GitHubProperties.ReplaySettings.Mode.REPLAY, archive));
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            fetchAll(replaying, repositories);
+        }
+
+        long fetchNanos = 0;
+        long serializeNanos = 0;
+        long bytes = 0;
+        int prs = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<PRDto> fetched = fetchAll(replaying, repositories);
+            long fetchedAt = System.nanoTime();
+            bytes += mapper.writeValueAsBytes(fetched).length;
+            serializeNanos += System.nanoTime() - fetchedAt;
+            fetchNanos += fetchedAt - start;
+            prs += fetched.size();
+        }
+
+        assertThat(prs).as("replayed PRs").isPositive();
+        System.out.printf("%nReplayed %s: %d PRs per iteration%n", archive.getFileName(), prs / ITERATIONS);
+        System.out.printf("fetch + parse + convert   %8.1f us/PR%n", fetchNanos / 1000.0 / prs);
+        System.out.printf("JSON serialization        %8.1f us/PR (%d bytes/PR)%n", serializeNanos / 1000.0 / prs, bytes / prs);
+    }
+
+    private static List<PRDto> fetchAll(GitHubService service, List<String> repositories) throws Exception {
+        List<PRDto> all = new ArrayList<>();
+        for (String repository : repositories) {
+            all.addAll(service.refreshDependabotPRs(repository));
+        }
+        return all;
+    }
+
+    private Path recordFromFake() throws Exception {
+        Path archive = tempDir.resolve("fake-github.jsonl.gz");
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(3).prsPerRepo(100).start()) {
+            GitHubProperties properties = properties(List.of("repo-0", "repo-1", "repo-2"),
+                    GitHubProperties.ReplaySettings.Mode.RECORD, archive);
+            properties.setApiUrl(github.url());
+            GitHubService recording = newGitHubService(properties);
+            fetchAll(recording, properties.getRepos());
+            recording.close();
+        }
+        assertThat(Files.size(archive)).isPositive();
+        return archive;
+    }
+
+    private static GitHubProperties properties(List<String> repositories, GitHubProperties.ReplaySettings.Mode mode, Path archive) {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setAppId(System.getProperty("perf.archive.app-id", "1"));
+        properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+        properties.setOwner(System.getProperty("perf.archive.owner", FakeGitHubServer.owner(0)));
+        properties.setInstallationId(System.getProperty("perf.archive.installation-id", FakeGitHubServer.installationId(0)));
+        properties.setRepos(repositories);
+        properties.getReplay().setMode(mode);
+        properties.getReplay().setArchive(archive.toString());
+        return properties;
+    }
+}
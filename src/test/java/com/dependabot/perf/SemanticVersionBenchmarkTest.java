@@ -0,0 +1,90 @@
+package com.dependabot.perf;
+
+import com.dependabot.service.SemanticVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures version parsing and comparison on the hot path
+ * Both must run without allocating: a few bytes of measurement noise are tolerated, a byte per call is not.
+ * Run with ./gradlew perfTest
+ */
+@Tag("perf")
+@DisplayName("Semantic Version Benchmark")
+class SemanticVersionBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final long MAX_ALLOCATED_BYTES = 4096;
+
+    private static final String[] VERSIONS = {
+            "3.2.1", "3.1.0", "v1.4", "2.0.0-rc.1", "1.0.0+build.5", "10.11.12", "0.0.1", "29.7.0",
+            "5.10.1", "4.13.2", "2.15.3", "1.18.30", "6.1.2", "0.12.3", "17", "not-a-version"
+    };
+    private static final int OPS_PER_ROUND = 100_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should parse and compare versions without allocating")
+    void shouldParseAndCompareWithoutAllocating() {
+        long[] codes = new long[VERSIONS.length];
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += parseRound(codes) + compareRound(codes);
+        }
+
+        long parseNanos = 0;
+        long compareNanos = 0;
+        long parseBytes = 0;
+        long compareBytes = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            sink += parseRound(codes);
+            parseNanos += System.nanoTime() - start;
+            parseBytes += threads.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            sink += compareRound(codes);
+            compareNanos += System.nanoTime() - start;
+            compareBytes += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+
+        long ops = (long) MEASURED_ROUNDS * OPS_PER_ROUND;
+        System.out.printf("%nop        ns/op  bytes total%n");
+        System.out.printf("parse   %7.1f  %11d%n", (double) parseNanos / ops, parseBytes);
+        System.out.printf("compare %7.1f  %11d%n", (double) compareNanos / ops, compareBytes);
+        System.out.println("(checksum " + sink + ")");
+
+        assertThat(parseBytes).as("bytes allocated by %d parses", ops).isLessThan(MAX_ALLOCATED_BYTES);
+        assertThat(compareBytes).as("bytes allocated by %d comparisons", ops).isLessThan(MAX_ALLOCATED_BYTES);
+    }
+
+    private static long parseRound(long[] codes) {
+        long sum = 0;
+        for (int i = 0; i < OPS_PER_ROUND; i++) {
+            int index = i % VERSIONS.length;
+            codes[index] = SemanticVersion.parse(VERSIONS[index]);
+            sum += codes[index];
+        }
+        return sum;
+    }
+
+    private static long compareRound(long[] codes) {
+        long sum = 0;
+        for (int i = 0; i < OPS_PER_ROUND; i++) {
+            int a = i % VERSIONS.length;
+            int b = (i * 7 + 3) % VERSIONS.length;
+            sum += SemanticVersion.compare(codes[a], VERSIONS[a], codes[b], VERSIONS[b]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,229 @@
+package com.dependabot.perf;
+
+import com.dependabot.DependabotApplication;
+import com.dependabot.fake.FakeGitHubServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures time-to-ready and time-to-first-/api/prs of a freshly launched JVM
+ * Each mode starts the service as a child process against the fake GitHub server: the current build, the
+ * same build with a class-data-sharing archive, and, when the Spring AOT initializer is on the classpath
+ * (./gradlew perfTest -PfastStartup), the fast-startup mode that combines both. Times are medians, from
+ * process launch, and recorded as {@code startup.<mode>.ready-ms} and {@code startup.<mode>.first-request-ms}.
+ * Run with ./gradlew perfTest
+ */
+@Tag("perf")
+@DisplayName("Startup Benchmark")
+class StartupBenchmarkTest {
+
+    private static final String AOT_INITIALIZER = DependabotApplication.class.getName() + "__ApplicationContextInitializer";
+    private static final int SAMPLES = Integer.getInteger("perf.startup.samples", 3);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    /**
+     * Launch modes, slowest expected first
+     */
+    enum Mode {
+        DEFAULT(false, false),
+        CDS(true, false),
+        FAST_STARTUP(true, true);
+
+        final boolean cds;
+        final boolean aot;
+
+        Mode(boolean cds, boolean aot) {
+            this.cds = cds;
+            this.aot = aot;
+        }
+
+        String key() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    record Startup(long readyMs, long firstRequestMs) {
+    }
+
+    @Test
+    @DisplayName("Should report time to ready and to the first PR response for each startup mode")
+    void shouldReportStartupTimes(@TempDir Path archives) throws Exception {
+        PerfBudgets budgets = PerfBudgets.load();
+        List<Mode> modes = new ArrayList<>(List.of(Mode.DEFAULT, Mode.CDS));
+        if (aotProcessed()) {
+            modes.add(Mode.FAST_STARTUP);
+        } else {
+            System.out.println("No AOT initializer on the classpath; run with -PfastStartup to benchmark fast-startup mode");
+        }
+
+        try (FakeGitHubServer github = FakeGitHubServer.builder()
+                .reposPerOrg(3)
+                .prsPerRepo(10)
+                .latency(Duration.ofMillis(1), Duration.ZERO)
+                .start()) {
+            String classPath = System.getProperty("java.class.path");
+            String jarredClassPath = jarDirectories(classPath, archives);
+            for (Mode mode : modes) {
+                Path archive = archives.resolve(mode.key() + ".jsa");
+                if (mode.cds) {
+                    // Training run; its times include writing the archive, so they are not measured
+                    launch(mode, jarredClassPath, archive, github);
+                }
+
+                List<Startup> samples = new ArrayList<>();
+                for (int i = 0; i < SAMPLES; i++) {
+                    samples.add(launch(mode, mode.cds ? jarredClassPath : classPath, archive, github));
+                }
+                budgets.check("startup." + mode.key() + ".ready-ms", median(samples.stream().map(Startup::readyMs).toList()));
+                budgets.check("startup." + mode.key() + ".first-request-ms",
+                        median(samples.stream().map(Startup::firstRequestMs).toList()));
+            }
+        }
+
+        System.out.printf("%n%s", budgets.report());
+        assertThat(budgets.violations())
+                .as("SLO and baseline violations")
+                .isEmpty();
+    }
+
+    private Startup launch(Mode mode, String classPath, Path archive, FakeGitHubServer github) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (mode.cds) {
+            command.add("-XX:+AutoCreateSharedArchive");
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        if (mode.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of(
+                "-cp", classPath,
+                DependabotApplication.class.getName(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--github.app-id=1",
+                "--github.private-key=" + FakeGitHubServer.privateKeyPem(),
+                "--github.api-url=" + github.url(),
+                "--github.owner=" + FakeGitHubServer.owner(0),
+                "--github.installation-id=" + FakeGitHubServer.installationId(0),
+                "--github.repos=" + IntStream.range(0, 3).mapToObj(FakeGitHubServer::repository).collect(Collectors.joining(",")),
+                "--logging.level.root=WARN"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitOk(process, URI.create("http://localhost:" + port + "/health/readiness"));
+            long readyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            awaitOk(process, URI.create("http://localhost:" + port + "/api/prs"));
+            long firstRequestMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            return new Startup(readyMs, firstRequestMs);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitOk(Process process, URI uri) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        String lastResponse = "no response";
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive())
+                    .as("service process alive while waiting for %s", uri)
+                    .isTrue();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+                lastResponse = response.statusCode() + " " + response.body();
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new AssertionError("No 200 from " + uri + " within " + STARTUP_TIMEOUT + "; last response: " + lastResponse);
+    }
+
+    /**
+     * Replace the class directories of a class path with jars, as a class-data-sharing archive only covers jars
+     */
+    private static String jarDirectories(String classPath, Path target) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+                continue;
+            }
+            Path jar = target.resolve("classes-" + entries.size() + ".jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+                 Stream<Path> files = Files.walk(path)) {
+                // Directory entries too, or component scanning finds no packages in the jar
+                for (Path file : files.filter(file -> !file.equals(path)).toList()) {
+                    String name = path.relativize(file).toString().replace(File.separatorChar, '/');
+                    boolean directory = Files.isDirectory(file);
+                    out.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                    if (!directory) {
+                        Files.copy(file, out);
+                    }
+                    out.closeEntry();
+                }
+            }
+            entries.add(jar.toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static boolean aotProcessed() {
+        try {
+            Class.forName(AOT_INITIALIZER, false, StartupBenchmarkTest.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
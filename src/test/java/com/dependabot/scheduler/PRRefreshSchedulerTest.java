@@ -0,0 +1,72 @@
+package com.dependabot.scheduler;
+
+import com.dependabot.service.GitHubService;
+import com.dependabot.service.SyncLeaderElection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PR Refresh Scheduler Tests")
+class PRRefreshSchedulerTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    @Mock
+    private SyncLeaderElection leaderElection;
+
+    @Test
+    @DisplayName("Should refresh every configured repository")
+    void shouldRefreshEveryRepository() throws Exception {
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        PRRefreshScheduler scheduler = new PRRefreshScheduler(gitHubService, leaderElection, 3, 0);
+
+        scheduler.refreshAll();
+
+        verify(gitHubService).refreshDependabotPRs("repo-a");
+        verify(gitHubService).refreshDependabotPRs("repo-b");
+    }
+
+    @Test
+    @DisplayName("Should leave the refresh to the sync leader when following")
+    void shouldSkipRefreshWhenFollowing() {
+        when(leaderElection.isLeader()).thenReturn(false);
+        PRRefreshScheduler scheduler = new PRRefreshScheduler(gitHubService, leaderElection, 3, 0);
+
+        scheduler.refreshAll();
+
+        verifyNoInteractions(gitHubService);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed refresh until it succeeds")
+    void shouldRetryFailedRefresh() throws Exception {
+        when(gitHubService.refreshDependabotPRs("repo-a"))
+                .thenThrow(new IOException("GitHub unavailable"))
+                .thenReturn(List.of());
+        PRRefreshScheduler scheduler = new PRRefreshScheduler(gitHubService, leaderElection, 3, 0);
+
+        assertThat(scheduler.refreshWithRetry("repo-a")).isTrue();
+        verify(gitHubService, times(2)).refreshDependabotPRs("repo-a");
+    }
+
+    @Test
+    @DisplayName("Should give up after max retries")
+    void shouldGiveUpAfterMaxRetries() throws Exception {
+        when(gitHubService.refreshDependabotPRs("repo-a")).thenThrow(new IOException("GitHub unavailable"));
+        PRRefreshScheduler scheduler = new PRRefreshScheduler(gitHubService, leaderElection, 2, 0);
+
+        assertThat(scheduler.refreshWithRetry("repo-a")).isFalse();
+        verify(gitHubService, times(3)).refreshDependabotPRs("repo-a");
+    }
+}
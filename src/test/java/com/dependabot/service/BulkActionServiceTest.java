@@ -0,0 +1,269 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.BulkJobDto;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bulk Action Service Tests")
+class BulkActionServiceTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private EmbeddedDatabase database;
+    private BulkActionStore store;
+    private final Set<String> otherPRs = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/bulk-action-schema.sql")
+                .build();
+        store = new BulkActionStore(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private BulkActionService service(Executor executor, int maxConcurrency, int maxAttempts) {
+        return service(new SyncLeaderElection(null, Duration.ZERO), executor, maxConcurrency, maxAttempts);
+    }
+
+    private BulkActionService service(SyncLeaderElection leaderElection, Executor executor, int maxConcurrency,
+                                      int maxAttempts) {
+        BulkActionService service = new BulkActionService(store, gitHubService, leaderElection, executor,
+                maxConcurrency, 0, maxAttempts, 0, Duration.ofDays(7).toMillis());
+        service.dispatch();
+        return service;
+    }
+
+    private BulkJobDto submit(BulkActionService service, BulkAction action, String... prs) {
+        when(gitHubService.configuredRepository(anyString())).thenAnswer(invocation -> "owner/" + invocation.getArgument(0));
+        when(gitHubService.isOpenDependabotPR(anyString(), anyInt())).thenAnswer(invocation ->
+                !otherPRs.contains(invocation.getArgument(0) + "#" + invocation.getArgument(1)));
+        return service.submit(BulkActionRequest.builder()
+                .action(action)
+                .mergeMethod(BulkActionRequest.MergeMethod.SQUASH)
+                .prs(Arrays.stream(prs)
+                        .map(pr -> pr.split("#"))
+                        .map(pr -> new BulkActionRequest.Target(pr[0], Integer.parseInt(pr[1])))
+                        .toList())
+                .build());
+    }
+
+    private static GitHubInstallation.Response response(int status, Map<String, List<String>> headers, String message) {
+        return new GitHubInstallation.Response(status, headers, message == null
+                ? JsonNodeFactory.instance.objectNode()
+                : JsonNodeFactory.instance.objectNode().put("message", message));
+    }
+
+    @Test
+    @DisplayName("Should merge every PR and drop each from the cached lists as it completes")
+    void shouldMergeAndUpdateCache() throws IOException {
+        when(gitHubService.performBulkAction(anyString(), anyInt(), eq(BulkAction.MERGE), eq(BulkActionRequest.MergeMethod.SQUASH)))
+                .thenReturn(response(200, Map.of(), null));
+        BulkActionService service = service(Runnable::run, 4, 5);
+
+        BulkJobDto job = submit(service, BulkAction.MERGE, "repo-a#1", "repo-a#2", "repo-b#7");
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.COMPLETED);
+        assertThat(job.getSucceeded()).isEqualTo(3);
+        assertThat(job.getCompletedAt()).isNotNull();
+        verify(gitHubService).removeFromCachedLists("owner/repo-a", 1);
+        verify(gitHubService).removeFromCachedLists("owner/repo-a", 2);
+        verify(gitHubService).removeFromCachedLists("owner/repo-b", 7);
+    }
+
+    @Test
+    @DisplayName("Should run one action per repository at a time within the global limit")
+    void shouldSerializePerRepository() throws IOException {
+        when(gitHubService.performBulkAction(anyString(), anyInt(), eq(BulkAction.APPROVE), any()))
+                .thenReturn(response(200, Map.of(), null));
+        List<Runnable> started = new ArrayList<>();
+        BulkActionService service = service(started::add, 2, 5);
+
+        BulkJobDto job = submit(service, BulkAction.APPROVE, "repo-a#1", "repo-a#2", "repo-b#1", "repo-c#1");
+
+        assertThat(started).as("repo-a#1 and repo-b#1; repo-a#2 waits for its repository, repo-c#1 for a slot").hasSize(2);
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.RUNNING);
+        assertThat(job.getItems()).extracting(BulkJobDto.Item::getState).containsExactly(
+                BulkJobDto.ItemState.RUNNING, BulkJobDto.ItemState.QUEUED,
+                BulkJobDto.ItemState.RUNNING, BulkJobDto.ItemState.QUEUED);
+
+        started.get(0).run();
+
+        assertThat(started).as("Finishing repo-a#1 frees repo-a#2").hasSize(3);
+        assertThat(service.getJob(job.getJobId()).orElseThrow().getItems())
+                .extracting(BulkJobDto.Item::getState)
+                .containsExactly(BulkJobDto.ItemState.SUCCEEDED, BulkJobDto.ItemState.RUNNING,
+                        BulkJobDto.ItemState.RUNNING, BulkJobDto.ItemState.QUEUED);
+    }
+
+    @Test
+    @DisplayName("Should queue a rate-limited action again for Retry-After and pause the queue")
+    void shouldWaitOutRateLimits() throws IOException {
+        when(gitHubService.performBulkAction(anyString(), anyInt(), eq(BulkAction.APPROVE), any()))
+                .thenReturn(response(403, Map.of("retry-after", List.of("120")), "You have exceeded a secondary rate limit"));
+        BulkActionService service = service(Runnable::run, 4, 5);
+
+        BulkJobDto job = submit(service, BulkAction.APPROVE, "repo-a#1", "repo-b#1");
+        service.dispatch();
+
+        verify(gitHubService, times(1)).performBulkAction(anyString(), anyInt(), any(), any());
+        BulkJobDto.Item limited = job.getItems().get(0);
+        assertThat(limited.getState()).isEqualTo(BulkJobDto.ItemState.QUEUED);
+        assertThat(limited.getRetries()).as("Rate limits are not failed attempts").isZero();
+        assertThat(limited.getError()).startsWith("Rate limited");
+        assertThat(limited.getNotBefore()).isAfter(Instant.now().plusSeconds(100));
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.RUNNING);
+    }
+
+    @Test
+    @DisplayName("Should retry server errors and fail the PR after the last attempt")
+    void shouldRetryServerErrors() throws IOException {
+        when(gitHubService.performBulkAction(anyString(), anyInt(), eq(BulkAction.REBASE), any()))
+                .thenReturn(response(502, Map.of(), null));
+        BulkActionService service = service(Runnable::run, 4, 3);
+
+        BulkJobDto job = submit(service, BulkAction.REBASE, "repo-a#1");
+
+        verify(gitHubService, times(3)).performBulkAction("owner/repo-a", 1, BulkAction.REBASE, null);
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.FAILED);
+        assertThat(job.getItems().get(0).getRetries()).isEqualTo(2);
+        assertThat(job.getItems().get(0).getError()).isEqualTo("GitHub answered HTTP 502");
+    }
+
+    @Test
+    @DisplayName("Should fail only the PR GitHub refuses, without retrying it")
+    void shouldFailRefusedPRs() throws IOException {
+        when(gitHubService.performBulkAction(eq("owner/repo-a"), eq(1), eq(BulkAction.MERGE), any()))
+                .thenReturn(response(405, Map.of(), "Pull Request is not mergeable"));
+        when(gitHubService.performBulkAction(eq("owner/repo-a"), eq(2), eq(BulkAction.MERGE), any()))
+                .thenReturn(response(200, Map.of(), null));
+        BulkActionService service = service(Runnable::run, 4, 5);
+
+        BulkJobDto job = submit(service, BulkAction.MERGE, "repo-a#1", "repo-a#2");
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.FAILED);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getSucceeded()).isEqualTo(1);
+        assertThat(job.getItems().get(0).getError()).isEqualTo("Pull Request is not mergeable");
+        verify(gitHubService, never()).removeFromCachedLists("owner/repo-a", 1);
+        verify(gitHubService).removeFromCachedLists("owner/repo-a", 2);
+    }
+
+    @Test
+    @DisplayName("Should fail PRs that are not open Dependabot PRs without calling GitHub")
+    void shouldRefuseOtherPRs() throws IOException {
+        otherPRs.add("owner/repo-a#2");
+        when(gitHubService.performBulkAction(eq("owner/repo-a"), eq(1), eq(BulkAction.MERGE), any()))
+                .thenReturn(response(200, Map.of(), null));
+        BulkActionService service = service(Runnable::run, 4, 5);
+
+        BulkJobDto job = submit(service, BulkAction.MERGE, "repo-a#1", "repo-a#2");
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobDto.Status.FAILED);
+        assertThat(job.getSucceeded()).isEqualTo(1);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(job.getItems().get(1).getState()).isEqualTo(BulkJobDto.ItemState.FAILED);
+        assertThat(job.getItems().get(1).getError()).isEqualTo("Not an open Dependabot PR");
+        verify(gitHubService, never()).performBulkAction(eq("owner/repo-a"), eq(2), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the queue to the leader, and recover its interrupted actions on taking over")
+    void shouldOnlyDispatchOnLeader() throws IOException {
+        SyncLeaderLock lock = mock(SyncLeaderLock.class);
+        SyncLeaderElection election = new SyncLeaderElection(lock, Duration.ofSeconds(15));
+        BulkActionService service = service(election, Runnable::run, 4, 5);
+        store.createJob(new BulkActionStore.Job("job-0", BulkAction.APPROVE, null, Instant.now()),
+                List.of(new BulkActionStore.Target("owner/repo-b", 1)));
+        assertThat(store.claim(store.findItems("job-0").get(0).id())).as("Left running by the previous leader").isTrue();
+
+        BulkJobDto job = submit(service, BulkAction.APPROVE, "repo-a#1");
+
+        assertThat(service.getJob(job.getJobId()).orElseThrow().getStatus()).isEqualTo(BulkJobDto.Status.PENDING);
+        verify(gitHubService, never()).performBulkAction(anyString(), anyInt(), any(), any());
+
+        when(gitHubService.performBulkAction(anyString(), anyInt(), eq(BulkAction.APPROVE), any()))
+                .thenReturn(response(200, Map.of(), null));
+        when(lock.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        election.renew();
+        service.dispatch();
+
+        assertThat(service.getJob(job.getJobId()).orElseThrow().getSucceeded()).isEqualTo(1);
+        assertThat(store.findItems("job-0").get(0).state()).isEqualTo(BulkJobDto.ItemState.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should start actions left running by a stopped node again on startup")
+    void shouldRecoverInterruptedActions() {
+        store.createJob(new BulkActionStore.Job("job-1", BulkAction.APPROVE, null, Instant.now()),
+                List.of(new BulkActionStore.Target("owner/repo-a", 1)));
+        BulkActionStore.Item item = store.findItems("job-1").get(0);
+        assertThat(store.claim(item.id())).isTrue();
+        assertThat(store.claim(item.id())).as("A claimed item cannot be claimed twice").isFalse();
+        List<Runnable> started = new ArrayList<>();
+
+        service(started::add, 4, 5);
+
+        assertThat(started).hasSize(1);
+        assertThat(store.findItems("job-1").get(0).state()).isEqualTo(BulkJobDto.ItemState.RUNNING);
+    }
+
+    @Test
+    @DisplayName("Should read rate limits from Retry-After or the rate-limit reset, and not from other 403s")
+    void shouldDetectRateLimits() {
+        Instant now = Instant.parse("2024-01-15T10:00:00Z");
+
+        assertThat(BulkActionService.rateLimitBackoff(response(429, Map.of("Retry-After", List.of("30")), null), now))
+                .contains(Duration.ofSeconds(30));
+        assertThat(BulkActionService.rateLimitBackoff(response(403, Map.of(
+                "x-ratelimit-remaining", List.of("0"),
+                "x-ratelimit-reset", List.of(String.valueOf(now.plusSeconds(90).getEpochSecond()))), null), now))
+                .contains(Duration.ofSeconds(90));
+        assertThat(BulkActionService.rateLimitBackoff(response(403, Map.of(), "Resource not accessible by integration"), now))
+                .isEmpty();
+        assertThat(BulkActionService.rateLimitBackoff(response(422, Map.of("Retry-After", List.of("30")), null), now))
+                .isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.CacheEntryDto;
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.RefreshJobDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Admin Service Tests")
+class CacheAdminServiceTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private CaffeineCacheManager cacheManager;
+    private CacheAdminService cacheAdminService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .recordStats());
+
+        // Run refreshes inline so job state can be asserted deterministically
+        cacheAdminService = new CacheAdminService(cacheManager, gitHubService, Runnable::run, 60_000);
+    }
+
+    private static PRDto pr(int number, String repository) {
+        return PRDto.builder().number(number).repository(repository).build();
+    }
+
+    @Test
+    @DisplayName("Should list cached entries with size and age")
+    void shouldListEntries() {
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-b", List.of(pr(1, "repo-b"), pr(2, "repo-b")));
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", List.of());
+
+        List<CacheEntryDto> entries = cacheAdminService.listEntries();
+
+        assertThat(entries).extracting(CacheEntryDto::getRepository).containsExactly("repo-a", "repo-b");
+        assertThat(entries.get(1).getSize()).isEqualTo(2);
+        assertThat(entries.get(1).getAgeMs()).isNotNull().isGreaterThanOrEqualTo(0L);
+        assertThat(entries.get(1).getExpiresInMs()).isNotNull().isLessThanOrEqualTo(TimeUnit.MINUTES.toMillis(5));
+    }
+
+    @Test
+    @DisplayName("Should report Caffeine statistics")
+    void shouldReportStats() {
+        var cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        cache.put("repo-a", List.of());
+        cache.get("repo-a");
+        cache.get("missing");
+
+        var stats = cacheAdminService.getStats();
+
+        assertThat(stats.getCacheName()).isEqualTo(CacheConfig.GITHUB_PRS_CACHE);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getEstimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should weigh entries by their PRs and evict by weight")
+    void shouldReportWeight() {
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(64 * 1024)
+                .weigher(new CacheEntryWeigher())
+                .executor(Runnable::run)
+                .recordStats());
+        var cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        String body = "x".repeat(1024);
+        cache.put("monorepo", IntStream.rangeClosed(1, 40)
+                .mapToObj(number -> pr(number, "monorepo").toBuilder().body(body).build())
+                .toList());
+        cache.put("repo-a", List.of());
+
+        List<CacheEntryDto> entries = cacheAdminService.listEntries();
+        var stats = cacheAdminService.getStats();
+
+        assertThat(entries).extracting(CacheEntryDto::getRepository).containsExactly("monorepo", "repo-a");
+        assertThat(entries.get(0).getWeightBytes()).isGreaterThan(40 * 1024);
+        assertThat(entries.get(1).getWeightBytes()).isLessThan(100);
+        assertThat(stats.getWeightedSizeBytes()).isEqualTo((long) entries.get(0).getWeightBytes() + entries.get(1).getWeightBytes());
+        assertThat(stats.getMaximumWeightBytes()).isEqualTo(64 * 1024);
+
+        cache.put("monorepo-2", cache.get("monorepo").get());
+
+        assertThat(cacheAdminService.getStats().getWeightedSizeBytes()).isLessThanOrEqualTo(64 * 1024);
+        assertThat(cacheAdminService.getStats().getEvictionCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report statistics of a named cache, or nothing for an unknown one")
+    void shouldReportNamedStats() {
+        assertThat(cacheAdminService.getStats(CacheConfig.GITHUB_PRS_CACHE))
+                .hasValueSatisfying(stats -> assertThat(stats.getCacheName()).isEqualTo(CacheConfig.GITHUB_PRS_CACHE));
+        assertThat(cacheAdminService.getStats("unknown")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should invalidate a single repository")
+    void shouldInvalidateRepository() {
+        var cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        cache.put("repo-a", List.of());
+        cache.put("repo-b", List.of());
+
+        assertThat(cacheAdminService.invalidate("repo-a")).isTrue();
+        assertThat(cacheAdminService.invalidate("repo-a")).isFalse();
+        assertThat(cache.get("repo-a")).isNull();
+        assertThat(cache.get("repo-b")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should invalidate all repositories")
+    void shouldInvalidateAll() {
+        var cache = cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        cache.put("repo-a", List.of());
+        cache.put("repo-b", List.of());
+
+        cacheAdminService.invalidateAll();
+
+        assertThat(cacheAdminService.listEntries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should complete refresh job and make it pollable")
+    void shouldCompleteRefreshJob() throws IOException {
+        RefreshJobDto job = cacheAdminService.refresh("repo-a");
+
+        verify(gitHubService).refreshDependabotPRs("repo-a");
+        assertThat(job.getStatus()).isEqualTo(RefreshJobDto.Status.COMPLETED);
+        assertThat(cacheAdminService.getJob(job.getJobId()))
+                .hasValueSatisfying(polled -> {
+                    assertThat(polled.getCompleted()).containsExactly("repo-a");
+                    assertThat(polled.getCompletedAt()).isNotNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should refresh all configured repositories and record failures")
+    void shouldRecordFailedRefresh() throws IOException {
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        when(gitHubService.refreshDependabotPRs("repo-a")).thenReturn(List.of(pr(1, "repo-a")));
+        when(gitHubService.refreshDependabotPRs("repo-b")).thenThrow(new IOException("rate limited"));
+
+        RefreshJobDto job = cacheAdminService.refreshAll();
+
+        assertThat(job.getStatus()).isEqualTo(RefreshJobDto.Status.FAILED);
+        assertThat(job.getCompleted()).containsExactly("repo-a");
+        assertThat(job.getFailed()).containsEntry("repo-b", "rate limited");
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown job")
+    void shouldReturnEmptyForUnknownJob() {
+        assertThat(cacheAdminService.getJob("does-not-exist")).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.DependencyRollupDto;
+import com.dependabot.dto.DependencyVersionsDto;
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRRefDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Dependency Rollup View Tests")
+class DependencyRollupViewTest {
+
+    private final DependencyRollupView view = new DependencyRollupView();
+
+    private static PRDto pr(int number, String dependency, String from, String to) {
+        return PRDto.builder()
+                .number(number)
+                .title("Bump " + dependency + " from " + from + " to " + to)
+                .url("https://github.com/o/r/pull/" + number)
+                .dependency(dependency)
+                .currentVersion(from)
+                .proposedVersion(to)
+                .build();
+    }
+
+    private void sync(String repository, PRDto... prs) {
+        view.onSync(new PRsSyncedEvent(repository, List.of(prs), Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should group the same bump across repositories")
+    void shouldGroupSameBump() {
+        sync("repo-b", pr(7, "spring-boot", "3.0.4", "3.2.1"), pr(8, "jest", "29.0.0", "29.7.0"));
+        sync("repo-a", pr(1, "spring-boot", "3.1.0", "3.2.1"));
+
+        List<DependencyRollupDto> rollup = view.getRollup(null, 1);
+
+        assertThat(rollup).extracting(DependencyRollupDto::getDependency).containsExactly("jest", "spring-boot");
+        assertThat(rollup.get(1).getRepositories()).containsExactly("repo-a", "repo-b");
+        assertThat(rollup.get(1).getPrs()).extracting(PRRefDto::getNumber).containsExactly(1, 7);
+        assertThat(view.getRollup(null, 2)).extracting(DependencyRollupDto::getDependency).containsExactly("spring-boot");
+        assertThat(view.getRollup("jest", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should report the current version per repository")
+    void shouldBuildVersionMatrix() {
+        sync("repo-a", pr(1, "spring-boot", "3.1.0", "3.2.1"));
+        sync("repo-b", pr(7, "spring-boot", "3.0.4", "3.2.1"));
+
+        assertThat(view.getVersionMatrix(null))
+                .extracting(DependencyVersionsDto::getDependency, DependencyVersionsDto::getCurrentVersions)
+                .containsExactly(tuple("spring-boot",
+                        Map.of("repo-a", "3.1.0", "repo-b", "3.0.4")));
+    }
+
+    @Test
+    @DisplayName("Should drop bumps and versions when their PRs are gone")
+    void shouldDropClosedPRs() {
+        sync("repo-a", pr(1, "spring-boot", "3.1.0", "3.2.1"), pr(2, "jest", "29.0.0", "29.7.0"));
+        sync("repo-b", pr(7, "spring-boot", "3.0.4", "3.2.1"));
+        sync("repo-a", pr(2, "jest", "29.0.0", "29.7.0"));
+
+        assertThat(view.getRollup("spring-boot", 1).get(0).getRepositories()).containsExactly("repo-b");
+        assertThat(view.getVersionMatrix("spring-boot").get(0).getCurrentVersions()).containsOnlyKeys("repo-b");
+
+        sync("repo-b");
+        assertThat(view.getRollup("spring-boot", 1)).isEmpty();
+        assertThat(view.getVersionMatrix("spring-boot")).isEmpty();
+    }
+}
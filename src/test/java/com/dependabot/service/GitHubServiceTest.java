@@ -1,21 +1,33 @@
 package com.dependabot.service;
 
+import com.dependabot.config.CacheConfig;
 import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.BulkAction;
+import com.dependabot.dto.BulkActionRequest;
+import com.dependabot.dto.CIStatus;
+import com.dependabot.dto.PRDto;
+import com.dependabot.fake.FakeGitHubServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 
+import static com.dependabot.service.GitHubServiceTestSupport.newGitHubService;
+import static com.dependabot.service.GitHubServiceTestSupport.syncExecutor;
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("GitHub Service Tests")
@@ -49,8 +61,12 @@ class GitHubServiceTest {
         lenient().when(gitHubProperties.getAppId()).thenReturn("123456");
         lenient().when(gitHubProperties.getInstallationId()).thenReturn("789012");
         lenient().when(gitHubProperties.getOwner()).thenReturn("test-owner");
+        lenient().when(gitHubProperties.getConnectTimeoutMs()).thenReturn(5000L);
+        lenient().when(gitHubProperties.getReadTimeoutMs()).thenReturn(10000L);
+        lenient().when(gitHubProperties.getCircuitBreaker()).thenReturn(new GitHubProperties.CircuitBreakerSettings());
+        lenient().when(gitHubProperties.getBulkhead()).thenReturn(new GitHubProperties.BulkheadSettings());
 
-        gitHubService = new GitHubService(gitHubProperties);
+        gitHubService = newGitHubService(gitHubProperties);
     }
     @Test
     @DisplayName("Should generate valid JWT token structure")
@@ -162,4 +178,371 @@ class GitHubServiceTest {
                 .as("JWT header should specify RS256 algorithm")
                 .contains("\"alg\":\"RS256\"");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should use plain repository keys for a single installation")
+    void shouldUsePlainKeysForSingleInstallation() {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1", "repo2"));
+
+        GitHubService service = newGitHubService(properties);
+
+        assertThat(service.getInstallations()).hasSize(1);
+        assertThat(service.getRepositoryKeys()).containsExactly("repo1", "repo2");
+    }
+
+    @Test
+    @DisplayName("Should qualify repository keys with the owner across installations")
+    void shouldQualifyKeysAcrossInstallations() {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1"));
+
+        GitHubProperties.Installation other = new GitHubProperties.Installation();
+        other.setOwner("other-org");
+        other.setInstallationId("345678");
+        other.setRepos(List.of("repo1", "repo2"));
+        properties.setInstallations(List.of(other));
+
+        GitHubService service = newGitHubService(properties);
+
+        assertThat(service.getInstallations())
+                .extracting(GitHubInstallation::getOwner)
+                .containsExactly("test-owner", "other-org");
+        assertThat(service.getRepositoryKeys())
+                .containsExactly("test-owner/repo1", "other-org/repo1", "other-org/repo2");
+    }
+
+    @Test
+    @DisplayName("Aggregate path should serve repositories from the PR cache")
+    void shouldServeAggregateFromCache() {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1", "repo2"));
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo1", List.of(PRDto.builder().number(1).build()));
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo2", List.of(PRDto.builder().number(2).build()));
+
+        GitHubService service = new GitHubService(properties, syncExecutor(), cacheManager);
+
+        assertThat(service.getAllDependabotPRs())
+                .extracting(PRDto::getNumber)
+                .containsExactly(1, 2);
+        assertThat(service.getCoalescingStats().loads())
+                .as("GitHub fetches")
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Batch should answer cached repositories and fetch only the misses")
+    void shouldFetchOnlyBatchMisses() throws IOException {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo1", List.of(PRDto.builder().number(1).build()));
+        GitHubService service = spy(new GitHubService(properties, syncExecutor(), cacheManager));
+        doReturn(List.of(PRDto.builder().number(2).build())).when(service).fetchDependabotPRs("repo2");
+
+        Map<String, List<PRDto>> prs = service.getDependabotPRsByRepository(List.of("repo2", "repo1", "repo2"), null);
+
+        assertThat(prs.keySet()).containsExactly("repo2", "repo1");
+        assertThat(prs.get("repo1")).extracting(PRDto::getNumber).containsExactly(1);
+        assertThat(prs.get("repo2")).extracting(PRDto::getNumber).containsExactly(2);
+        verify(service, never()).fetchDependabotPRs("repo1");
+        verify(service, times(1)).fetchDependabotPRs("repo2");
+    }
+
+    @Test
+    @DisplayName("Should serve the last known good PRs when GitHub fails")
+    void shouldFallBackToLastKnownGood() throws IOException {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1"));
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        GitHubService service = spy(new GitHubService(properties, syncExecutor(), cacheManager));
+        List<PRDto> fetched = List.of(PRDto.builder().number(7).build());
+        doReturn(fetched)
+                .doThrow(new GitHubCallRejectedException("GitHub circuit open"))
+                .when(service).fetchDependabotPRs("repo1");
+
+        service.refreshDependabotPRs("repo1");
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).clear();
+
+        assertThat(service.getDependabotPRs("repo1"))
+                .extracting(PRDto::getNumber)
+                .containsExactly(7);
+    }
+
+    @Test
+    @DisplayName("Should return an empty list when GitHub fails before any successful fetch")
+    void shouldReturnEmptyWithoutLastKnownGood() throws IOException {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1"));
+
+        GitHubService service = spy(newGitHubService(properties));
+        doThrow(new GitHubCallRejectedException("GitHub circuit open")).when(service).fetchDependabotPRs("repo1");
+
+        assertThat(service.getDependabotPRs("repo1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve cached or last known good PRs, never GitHub, when another replica leads")
+    void shouldNotFetchWhenFollowing() throws IOException {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1", "repo2"));
+
+        SyncLeaderElection follower = new SyncLeaderElection(mock(SyncLeaderLock.class), Duration.ofSeconds(15));
+        follower.renew();
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        GitHubService service = spy(new GitHubService(properties, syncExecutor(), cacheManager, event -> { }, follower));
+        service.recordLastKnownGood("repo1", List.of(PRDto.builder().number(7).build()));
+
+        assertThat(service.isSyncLeader()).isFalse();
+        assertThat(service.getDependabotPRs("repo1")).extracting(PRDto::getNumber).containsExactly(7);
+        assertThat(service.getDependabotPRs("repo2")).isEmpty();
+        assertThat(service.getCachedDependabotPRs("repo2")).isEmpty();
+        verify(service, never()).fetchDependabotPRs(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reuse built PRs until they or their base branch move instead of fetching their details again")
+    void shouldReuseUnchangedPRDetails() throws IOException {
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(12).start()) {
+            GitHubProperties properties = new GitHubProperties();
+            properties.setAppId("1");
+            properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+            properties.setApiUrl(github.url());
+            properties.setOwner(FakeGitHubServer.owner(0));
+            properties.setInstallationId(FakeGitHubServer.installationId(0));
+            properties.setRepos(List.of("repo-0"));
+            GitHubService service = new GitHubService(properties, syncExecutor(),
+                    new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE, CacheConfig.GITHUB_PR_DETAILS_CACHE));
+
+            List<PRDto> first = service.refreshDependabotPRs("repo-0");
+            assertThat(service.getLastDetailCacheUsage("repo-0"))
+                    .contains(new PRDetailCacheUsage(0, first.size()));
+
+            github.resetCounters();
+            List<PRDto> second = service.refreshDependabotPRs("repo-0");
+
+            assertThat(second).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(first);
+            assertThat(github.requestsByRoute())
+                    .as("Detail calls on the second refresh")
+                    .doesNotContainKey("GET /repos/{owner}/{repo}/pulls/{number}");
+            assertThat(service.getLastDetailCacheUsage("repo-0"))
+                    .hasValueSatisfying(usage -> assertThat(usage.hitRate()).isEqualTo(1.0));
+
+            github.advanceBase();
+            service.refreshDependabotPRs("repo-0");
+            assertThat(service.getLastDetailCacheUsage("repo-0"))
+                    .as("A moved base branch changes mergeability without changing updated_at")
+                    .contains(new PRDetailCacheUsage(0, first.size()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace a pending PR in the cached list once its mergeability is known")
+    void shouldResolveMergeabilityInCache() {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1"));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        List<Object> events = new java.util.ArrayList<>();
+        GitHubService service = new GitHubService(properties, syncExecutor(), cacheManager, events::add);
+        PRDto pending = PRDto.builder().number(1).mergeabilityPending(true).build();
+        PRDto other = PRDto.builder().number(2).hasConflicts(false).mergeabilityPending(false).build();
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo1", List.of(pending, other));
+
+        assertThat(service.resolveMergeability("repo1", pending, false)).isTrue();
+
+        assertThat(service.getDependabotPRs("repo1"))
+                .extracting(PRDto::getNumber, PRDto::getHasConflicts, PRDto::getMergeabilityPending)
+                .containsExactly(tuple(1, true, false), tuple(2, false, false));
+        assertThat(events).singleElement().isInstanceOf(PRsSyncedEvent.class);
+        assertThat(service.resolveMergeability("repo1", pending, false))
+                .as("Stale PR no longer in the cached list")
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count a repository once in views when it is synced under its plain name and as owner/repo")
+    void shouldPublishSyncsUnderCanonicalRepository() {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setOwner("test-owner");
+        properties.setInstallationId("789012");
+        properties.setRepos(List.of("repo1"));
+        PRSummaryView summary = new PRSummaryView();
+        DependencyRollupView rollup = new DependencyRollupView();
+        GitHubService service = new GitHubService(properties, syncExecutor(),
+                new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE), event -> {
+                    if (event instanceof PRsSyncedEvent synced) {
+                        summary.onSync(synced);
+                        rollup.onSync(synced);
+                    }
+                });
+        PRDto pr = PRDto.builder()
+                .number(1)
+                .title("Bump jackson from 2.15.0 to 2.16.1")
+                .dependency("jackson")
+                .currentVersion("2.15.0")
+                .proposedVersion("2.16.1")
+                .createdAt(java.time.Instant.now())
+                .build();
+
+        service.recordSuccessfulSync("repo1", List.of(pr));
+        service.recordSuccessfulSync("test-owner/repo1", List.of(pr));
+
+        assertThat(summary.summarize().getTotal()).isEqualTo(1);
+        assertThat(summary.summarize().getByRepository()).containsOnlyKeys("test-owner/repo1");
+        assertThat(rollup.getRollup("jackson", 2)).as("Repositories bumping jackson, at least two").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read CI status in one GraphQL call per repository and refresh it alone on a check suite change")
+    void shouldFetchAndRefreshCIStatus() throws IOException {
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(12).start()) {
+            GitHubProperties properties = new GitHubProperties();
+            properties.setAppId("1");
+            properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+            properties.setApiUrl(github.url());
+            properties.setOwner(FakeGitHubServer.owner(0));
+            properties.setInstallationId(FakeGitHubServer.installationId(0));
+            properties.setRepos(List.of("repo-0"));
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE,
+                    CacheConfig.GITHUB_PR_DETAILS_CACHE, CacheConfig.GITHUB_CI_STATUS_CACHE);
+            List<Object> events = new java.util.ArrayList<>();
+            GitHubService service = new GitHubService(properties, syncExecutor(), cacheManager, events::add);
+
+            List<PRDto> prs = service.refreshDependabotPRs("repo-0");
+            assertThat(prs).extracting(PRDto::getCiStatus)
+                    .doesNotContainNull()
+                    .contains(CIStatus.SUCCESS, CIStatus.FAILURE);
+            assertThat(github.requestsByRoute()).containsEntry("POST /graphql", 1L);
+
+            cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-0",
+                    prs.stream().map(pr -> pr.toBuilder().ciStatus(CIStatus.PENDING).build()).toList());
+            github.resetCounters();
+            events.clear();
+
+            assertThat(service.refreshCIStatuses(FakeGitHubServer.owner(0), "repo-0")).isEqualTo(1);
+
+            assertThat(service.getDependabotPRs("repo-0")).extracting(PRDto::getCiStatus)
+                    .containsExactlyElementsOf(prs.stream().map(PRDto::getCiStatus).toList());
+            assertThat(github.requestsByRoute()).containsOnlyKeys("POST /graphql");
+            assertThat(events).singleElement().isInstanceOf(PRsSyncedEvent.class);
+            assertThat(service.refreshCIStatuses("someone-else", "repo-0"))
+                    .as("Lists updated for an owner without an installation")
+                    .isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fetch CI status of a cached list again once its CI status entry has expired")
+    void shouldRefreshExpiredCIStatusOfCachedList() throws IOException {
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(12).start()) {
+            GitHubProperties properties = new GitHubProperties();
+            properties.setAppId("1");
+            properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+            properties.setApiUrl(github.url());
+            properties.setOwner(FakeGitHubServer.owner(0));
+            properties.setInstallationId(FakeGitHubServer.installationId(0));
+            properties.setRepos(List.of("repo-0"));
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE,
+                    CacheConfig.GITHUB_PR_DETAILS_CACHE, CacheConfig.GITHUB_CI_STATUS_CACHE);
+            GitHubService service = new GitHubService(properties, syncExecutor(), cacheManager);
+
+            List<PRDto> prs = service.refreshDependabotPRs("repo-0");
+            cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-0",
+                    prs.stream().map(pr -> pr.toBuilder().ciStatus(CIStatus.PENDING).build()).toList());
+            cacheManager.getCache(CacheConfig.GITHUB_CI_STATUS_CACHE).clear();
+            github.resetCounters();
+
+            assertThat(service.getDependabotPRs("repo-0")).extracting(PRDto::getCiStatus)
+                    .containsExactlyElementsOf(prs.stream().map(PRDto::getCiStatus).toList());
+            assertThat(service.getDependabotPRs("repo-0")).extracting(PRDto::getCiStatus)
+                    .as("Refreshed list kept in the cache")
+                    .containsExactlyElementsOf(prs.stream().map(PRDto::getCiStatus).toList());
+            assertThat(github.requestsByRoute()).containsExactly(Map.entry("POST /graphql", 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should count calls made around the client library against the rate-limit budget")
+    void shouldObserveRateLimitOfDirectCalls() throws IOException {
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(3).start()) {
+            GitHubProperties properties = new GitHubProperties();
+            properties.setAppId("1");
+            properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+            properties.setApiUrl(github.url());
+            properties.setOwner(FakeGitHubServer.owner(0));
+            properties.setInstallationId(FakeGitHubServer.installationId(0));
+            properties.setRepos(List.of("repo-0"));
+            // The fake reports all but one request of its limit remaining
+            properties.setRateLimitReserve(5000);
+            GitHubInstallation installation = new GitHubService(properties, syncExecutor()).getInstallations().get(0);
+
+            GitHubInstallation.Response response = installation.call("GET",
+                    "/repos/" + FakeGitHubServer.owner(0) + "/repo-0/pulls/1", null);
+
+            assertThat(response.isSuccessful()).isTrue();
+            assertThatThrownBy(() -> installation.call("GET",
+                    "/repos/" + FakeGitHubServer.owner(0) + "/repo-0/pulls/1", null))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Rate-limit budget");
+        }
+    }
+
+    @Test
+    @DisplayName("Should check the PR, merge through the installation's connector and drop the PR from the cached list")
+    void shouldMergeAndDropFromCache() throws IOException {
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(3).start()) {
+            GitHubProperties properties = new GitHubProperties();
+            properties.setAppId("1");
+            properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+            properties.setApiUrl(github.url());
+            properties.setOwner(FakeGitHubServer.owner(0));
+            properties.setInstallationId(FakeGitHubServer.installationId(0));
+            properties.setRepos(List.of("repo-0"));
+            ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+            List<Object> events = new java.util.ArrayList<>();
+            GitHubService service = new GitHubService(properties, syncExecutor(), cacheManager, events::add);
+            service.refreshDependabotPRs("repo-0");
+            events.clear();
+            String repository = service.configuredRepository("repo-0");
+            assertThat(service.isOpenDependabotPR(repository, 2)).isTrue();
+            assertThat(service.isOpenDependabotPR(repository, 99)).isFalse();
+            assertThatThrownBy(() -> service.configuredRepository("unlisted-repo"))
+                    .as("Plain names do not fall back to the first installation")
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.configuredRepository(FakeGitHubServer.owner(0) + "/unlisted-repo"))
+                    .as("An installation's owner alone does not make its other repositories writable")
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            GitHubInstallation.Response response = service.performBulkAction(repository, 2, BulkAction.MERGE,
+                    BulkActionRequest.MergeMethod.SQUASH);
+
+            assertThat(response.isSuccessful()).isTrue();
+            assertThat(response.body().path("merged").asBoolean()).isTrue();
+            assertThat(github.requestsByRoute()).containsEntry("PUT /repos/{owner}/{repo}/pulls/{number}/merge", 1L);
+            assertThat(service.removeFromCachedLists(repository, 2)).isEqualTo(1);
+            assertThat(service.getDependabotPRs("repo-0")).extracting(PRDto::getNumber).doesNotContain(2).hasSize(2);
+            assertThat(events).singleElement().isInstanceOf(PRsSyncedEvent.class);
+            assertThat(service.removeFromCachedLists(repository, 2)).as("Already removed").isZero();
+            assertThat(service.isOpenDependabotPR(repository, 2)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Test access to GitHubService internals for tests outside this package
+ */
+public final class GitHubServiceTestSupport {
+
+    private GitHubServiceTestSupport() {
+    }
+
+    /**
+     * A service whose sync subtasks run on virtual threads, as with spring.threads.virtual.enabled,
+     * and never on the caller's thread
+     */
+    public static GitHubService newGitHubService(GitHubProperties gitHubProperties) {
+        return new GitHubService(gitHubProperties, syncExecutor());
+    }
+
+    /**
+     * The virtual-thread sync executor the application uses, for tests that build the service themselves
+     */
+    public static Executor syncExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("github-sync-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Drop every last known good list, so the next request cannot be served from an earlier sync
+     */
+    public static void clearLastKnownGood(GitHubService gitHubService) {
+        gitHubService.clearLastKnownGood();
+    }
+}
@@ -0,0 +1,101 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mergeability Resolver Tests")
+class MergeabilityResolverTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private final SyncLeaderElection leader = new SyncLeaderElection(null, Duration.ZERO);
+
+    private MergeabilityResolver resolver(int maxAttempts) {
+        return new MergeabilityResolver(gitHubService, leader, Runnable::run, 1, maxAttempts);
+    }
+
+    private static PRDto pr(int number, boolean pending) {
+        return PRDto.builder()
+                .number(number)
+                .hasConflicts(pending ? null : false)
+                .mergeabilityPending(pending)
+                .build();
+    }
+
+    private static PRsSyncedEvent sync(PRDto... prs) {
+        return new PRsSyncedEvent("repo-a", List.of(prs), Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should poll only pending PRs, backing off until GitHub knows, then update the cache")
+    void shouldResolvePendingPRs() throws IOException {
+        PRDto pending = pr(1, true);
+        when(gitHubService.getPullRequestMergeable("repo-a", 1)).thenReturn(null, null, false);
+        when(gitHubService.resolveMergeability("repo-a", pending, false)).thenReturn(true);
+        MergeabilityResolver resolver = resolver(5);
+
+        resolver.onSync(sync(pending, pr(2, false)));
+
+        verify(gitHubService, timeout(5000)).resolveMergeability("repo-a", pending, false);
+        verify(gitHubService, times(3)).getPullRequestMergeable("repo-a", 1);
+        verify(gitHubService, never()).getPullRequestMergeable("repo-a", 2);
+        assertThat(resolver.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give up after max attempts and leave the PR pending")
+    void shouldGiveUpAfterMaxAttempts() throws IOException {
+        when(gitHubService.getPullRequestMergeable("repo-a", 1)).thenReturn(null);
+        MergeabilityResolver resolver = resolver(3);
+
+        resolver.onSync(sync(pr(1, true)));
+
+        verify(gitHubService, timeout(5000).times(3)).getPullRequestMergeable("repo-a", 1);
+        verify(gitHubService, after(100).times(3)).getPullRequestMergeable("repo-a", 1);
+        verify(gitHubService, never()).resolveMergeability(anyString(), any(), anyBoolean());
+        assertThat(resolver.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should update the latest copy of a PR a newer sync delivered while it was being polled")
+    void shouldUpdateLatestSyncedCopy() throws Exception {
+        PRDto first = pr(1, true);
+        PRDto second = pr(1, true);
+        MergeabilityResolver resolver = new MergeabilityResolver(gitHubService, leader, Runnable::run, 200, 5);
+        when(gitHubService.getPullRequestMergeable("repo-a", 1)).thenReturn(true);
+
+        resolver.onSync(sync(first));
+        resolver.onSync(sync(second));
+
+        verify(gitHubService, timeout(5000)).resolveMergeability("repo-a", second, true);
+        verify(gitHubService, times(1)).getPullRequestMergeable("repo-a", 1);
+    }
+
+    @Test
+    @DisplayName("Should leave polling to the sync leader")
+    void shouldSkipWhenFollowing() {
+        SyncLeaderElection follower = new SyncLeaderElection(mock(SyncLeaderLock.class), Duration.ofSeconds(15));
+        follower.renew();
+        MergeabilityResolver resolver = new MergeabilityResolver(gitHubService, follower, Runnable::run, 1, 5);
+
+        resolver.onSync(sync(pr(1, true)));
+
+        assertThat(resolver.pendingCount()).isZero();
+        verifyNoInteractions(gitHubService);
+    }
+}
@@ -0,0 +1,159 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.OpenCountDto;
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRTransitionDto;
+import com.dependabot.dto.TimeToMergeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PR History Service Tests")
+class PRHistoryServiceTest {
+
+    // Noon, so offsets of a few hours either way stay on the same day
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:00Z");
+
+    // Syncs arrive under "owner/repo"; queries may use the plain name
+    private static final String REPOSITORY = "owner/repo-a";
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private EmbeddedDatabase database;
+    private PRHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(gitHubService.canonicalRepository("repo-a")).thenReturn(REPOSITORY);
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/history-schema.sql")
+                .build();
+        historyService = new PRHistoryService(new PRHistoryStore(new JdbcTemplate(database)),
+                gitHubService, Runnable::run, 400, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private static PRDto pr(int number, String dependency, Instant createdAt, Instant updatedAt) {
+        return PRDto.builder()
+                .number(number)
+                .repository("repo-a")
+                .dependency(dependency)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private void sync(PRDto... prs) {
+        historyService.onSync(new PRsSyncedEvent(REPOSITORY, List.of(prs), NOW));
+    }
+
+    @Test
+    @DisplayName("Should record opened and updated PRs and today's open count")
+    void shouldRecordOpenedAndUpdated() throws IOException {
+        Instant created = NOW.minus(Duration.ofHours(2));
+        sync(pr(1, "lodash", created, created), pr(2, "jest", created, created));
+        sync(pr(1, "lodash", created, NOW.minusSeconds(60)), pr(2, "jest", created, created));
+
+        assertThat(historyService.getTransitions("repo-a", 1))
+                .extracting(PRTransitionDto::getTransition)
+                .containsExactly("OPENED", "UPDATED");
+        assertThat(historyService.getTransitions("repo-a", 2))
+                .extracting(PRTransitionDto::getTransition)
+                .containsExactly("OPENED");
+        assertThat(historyService.getOpenCounts(90, "repo-a"))
+                .extracting(OpenCountDto::getDay, OpenCountDto::getOpenCount)
+                .containsExactly(tuple(LocalDate.ofInstant(NOW, ZoneOffset.UTC), 2));
+        verify(gitHubService, never()).getPullRequestOutcome(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should tell merged from closed PRs and average time to merge per dependency")
+    void shouldRecordMergesAndCloses() throws IOException {
+        Instant created = NOW.minus(Duration.ofHours(10));
+        sync(pr(1, "lodash", created, created), pr(2, "lodash", created, created), pr(3, "jest", created, created));
+        when(gitHubService.getPullRequestOutcome(REPOSITORY, 1))
+                .thenReturn(new PullRequestOutcome(true, NOW.minus(Duration.ofHours(6)), NOW.minus(Duration.ofHours(6))));
+        when(gitHubService.getPullRequestOutcome(REPOSITORY, 2))
+                .thenReturn(new PullRequestOutcome(true, NOW.minus(Duration.ofHours(2)), NOW.minus(Duration.ofHours(2))));
+        when(gitHubService.getPullRequestOutcome(REPOSITORY, 3))
+                .thenReturn(new PullRequestOutcome(false, NOW.minusSeconds(1), null));
+
+        sync();
+
+        assertThat(historyService.getTimeToMerge(90, null))
+                .extracting(TimeToMergeDto::getDependency, TimeToMergeDto::getMergedCount, TimeToMergeDto::getMeanTimeToMergeMs)
+                .containsExactly(tuple("lodash", 2L, Duration.ofHours(6).toMillis()));
+        assertThat(historyService.getTransitions("repo-a", 3))
+                .extracting(PRTransitionDto::getTransition)
+                .containsExactly("OPENED", "CLOSED");
+
+        sync();
+        verify(gitHubService, times(1)).getPullRequestOutcome(REPOSITORY, 1);
+    }
+
+    @Test
+    @DisplayName("Should keep a PR open and look it up again when GitHub cannot say how it ended")
+    void shouldRetryUnknownOutcome() throws IOException {
+        Instant created = NOW.minus(Duration.ofHours(1));
+        sync(pr(1, "lodash", created, created));
+        when(gitHubService.getPullRequestOutcome(REPOSITORY, 1))
+                .thenThrow(new IOException("GitHub unavailable"))
+                .thenReturn(new PullRequestOutcome(true, NOW, NOW));
+
+        sync();
+        assertThat(historyService.getTransitions("repo-a", 1)).hasSize(1);
+
+        sync();
+        assertThat(historyService.getTransitions("repo-a", 1))
+                .extracting(PRTransitionDto::getTransition)
+                .containsExactly("OPENED", "MERGED");
+    }
+
+    @Test
+    @DisplayName("Should only answer from days inside the window")
+    void shouldLimitQueriesToWindow() throws IOException {
+        Instant longAgo = NOW.minus(Duration.ofDays(30));
+        historyService.onSync(new PRsSyncedEvent(REPOSITORY, List.of(pr(1, "lodash", longAgo, longAgo)), longAgo));
+        when(gitHubService.getPullRequestOutcome(REPOSITORY, 1))
+                .thenReturn(new PullRequestOutcome(true, longAgo.plusSeconds(60), longAgo.plusSeconds(60)));
+        historyService.onSync(new PRsSyncedEvent(REPOSITORY, List.of(), longAgo.plusSeconds(60)));
+        sync();
+
+        assertThat(historyService.getOpenCounts(7, null))
+                .extracting(OpenCountDto::getOpenCount)
+                .containsExactly(0);
+        assertThat(historyService.getOpenCounts(90, null)).hasSize(2);
+        assertThat(historyService.getTimeToMerge(7, "lodash")).isEmpty();
+        assertThat(historyService.getTimeToMerge(90, "lodash"))
+                .extracting(TimeToMergeDto::getMeanTimeToMergeMs)
+                .containsExactly(60_000L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.PRDto;
+import com.dependabot.dto.PRSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PR Summary View Tests")
+class PRSummaryViewTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T12:00:00Z");
+
+    private PRSummaryView view;
+
+    @BeforeEach
+    void setUp() {
+        view = new PRSummaryView(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static PRDto pr(int number, String dependency, int ageDays, boolean conflicts) {
+        return PRDto.builder()
+                .number(number)
+                .title("Bump " + dependency)
+                .dependency(dependency)
+                .createdAt(NOW.minus(Duration.ofDays(ageDays)))
+                .hasConflicts(conflicts)
+                .build();
+    }
+
+    private void sync(String repository, PRDto... prs) {
+        view.onSync(new PRsSyncedEvent(repository, List.of(prs), NOW));
+    }
+
+    @Test
+    @DisplayName("Should count PRs per repository, dependency, age and conflict state")
+    void shouldCountPRs() {
+        sync("repo-a", pr(1, "lodash", 1, false), pr(2, "jest", 10, true), pr(3, null, 100, false));
+        sync("repo-b", pr(1, "lodash", 40, true));
+
+        PRSummaryDto summary = view.summarize();
+
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(summary.getByRepository()).isEqualTo(Map.of("repo-a", 3L, "repo-b", 1L));
+        assertThat(summary.getByDependency()).isEqualTo(Map.of("lodash", 2L, "jest", 1L, "unknown", 1L));
+        assertThat(summary.getByAge()).containsExactly(
+                Map.entry("<7d", 1L), Map.entry("7-30d", 1L), Map.entry("30-90d", 1L), Map.entry("90d+", 1L));
+        assertThat(summary.getWithConflicts()).isEqualTo(2);
+        assertThat(summary.getConflictsByRepository()).isEqualTo(Map.of("repo-a", 1L, "repo-b", 1L));
+        assertThat(summary.getOldestByRepository().get("repo-a").getNumber()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should replace a repository's contribution when it syncs again")
+    void shouldReplaceRepositoryOnSync() {
+        sync("repo-a", pr(1, "lodash", 1, true), pr(2, "jest", 10, false));
+        sync("repo-b", pr(1, "lodash", 2, false));
+        sync("repo-a", pr(2, "jest", 10, false));
+
+        PRSummaryDto summary = view.summarize();
+
+        assertThat(summary.getTotal()).isEqualTo(2);
+        assertThat(summary.getByDependency()).isEqualTo(Map.of("lodash", 1L, "jest", 1L));
+        assertThat(summary.getWithConflicts()).isZero();
+        assertThat(summary.getConflictsByRepository()).isEmpty();
+
+        sync("repo-a");
+
+        summary = view.summarize();
+        assertThat(summary.getByRepository()).isEqualTo(Map.of("repo-b", 1L));
+        assertThat(summary.getOldestByRepository()).containsOnlyKeys("repo-b");
+    }
+
+    @Test
+    @DisplayName("Should move PRs between age buckets as time passes without a sync")
+    void shouldAgeWithoutSync() {
+        PRSummaryView later = new PRSummaryView(Clock.fixed(NOW.plus(Duration.ofDays(5)), ZoneOffset.UTC));
+        later.onSync(new PRsSyncedEvent("repo-a", List.of(pr(1, "lodash", 3, false)), NOW));
+
+        assertThat(later.summarize().getByAge()).containsEntry("7-30d", 1L).containsEntry("<7d", 0L);
+    }
+
+    @Test
+    @DisplayName("Should drop a repository that is no longer synced")
+    void shouldDropRemovedRepository() {
+        sync("repo-a", pr(1, "lodash", 1, true));
+        sync("repo-b", pr(1, "jest", 2, false));
+
+        view.onRemoved(new RepositoryRemovedEvent("repo-a"));
+
+        PRSummaryDto summary = view.summarize();
+        assertThat(summary.getTotal()).isEqualTo(1);
+        assertThat(summary.getByRepository()).isEqualTo(Map.of("repo-b", 1L));
+        assertThat(summary.getWithConflicts()).isZero();
+        assertThat(summary.getOldestByRepository()).containsOnlyKeys("repo-b");
+    }
+}
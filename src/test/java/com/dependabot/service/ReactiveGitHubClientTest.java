@@ -0,0 +1,77 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Reactive GitHub Client Tests")
+class ReactiveGitHubClientTest {
+
+    private final GitHubService gitHubService = mock(GitHubService.class);
+    private final GitHubInstallation installation = mock(GitHubInstallation.class);
+    private final CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1), 1);
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(installation.getApiUrl()).thenReturn("https://api.github.com");
+        when(installation.getOwner()).thenReturn("owner");
+        when(installation.getAccessToken()).thenReturn("token");
+        when(gitHubService.getCircuitBreaker()).thenReturn(breaker);
+    }
+
+    private ReactiveGitHubClient client(Bulkhead bulkhead, HttpStatus status) {
+        when(gitHubService.getBulkhead()).thenReturn(bulkhead);
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            exchanges.incrementAndGet();
+            return Mono.just(ClientResponse.create(status).build());
+        });
+        return new ReactiveGitHubClient(builder, gitHubService, new GitHubProperties(), 1024);
+    }
+
+    @Test
+    @DisplayName("Should open the shared circuit on 5xx responses and then fail fast without calling GitHub")
+    void shouldShareCircuitBreaker() {
+        ReactiveGitHubClient client = client(new Bulkhead(4, Duration.ZERO), HttpStatus.SERVICE_UNAVAILABLE);
+
+        StepVerifier.create(client.getPullRequest(installation, "repo", 1)).expectError().verify();
+        StepVerifier.create(client.getPullRequest(installation, "repo", 1)).expectError().verify();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        StepVerifier.create(client.getPullRequest(installation, "repo", 1))
+                .expectError(GitHubCallRejectedException.class)
+                .verify();
+        assertThat(exchanges).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject at once when every shared bulkhead slot is busy and release slots after each call")
+    void shouldShareBulkhead() throws IOException {
+        Bulkhead bulkhead = new Bulkhead(1, Duration.ZERO);
+        ReactiveGitHubClient client = client(bulkhead, HttpStatus.NOT_FOUND);
+
+        bulkhead.acquire();
+        StepVerifier.create(client.getPullRequest(installation, "repo", 1))
+                .expectError(GitHubCallRejectedException.class)
+                .verify();
+        bulkhead.release();
+
+        StepVerifier.create(client.getPullRequest(installation, "repo", 1)).expectError().verify();
+        assertThat(exchanges).hasValue(1);
+        assertThat(bulkhead.getActiveCalls()).isZero();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,296 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.CIStatus;
+import com.dependabot.dto.PRDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reactive GitHub Service Tests")
+class ReactiveGitHubServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private GitHubService gitHubService;
+
+    @Mock
+    private ReactiveGitHubClient client;
+
+    @Mock
+    private GitHubInstallation installation;
+
+    private CaffeineCacheManager cacheManager;
+    private ReactiveGitHubService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .recordStats());
+        cacheManager.setAsyncCacheMode(true);
+
+        service = new ReactiveGitHubService(gitHubService, client, cacheManager, 4, 4);
+        lenient().when(gitHubService.isSyncLeader()).thenReturn(true);
+    }
+
+    private static JsonNode json(String content) {
+        try {
+            return MAPPER.readTree(content);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static JsonNode pr(int number, String login) {
+        return json("""
+                {"number": %d, "id": %d, "title": "Bump jackson from 2.15.0 to 2.16.1",
+                 "user": {"login": "%s"}, "html_url": "https://github.com/owner/repo-a/pull/%d",
+                 "state": "open", "created_at": "2024-01-15T10:30:00Z", "updated_at": "2024-01-16T14:20:00Z",
+                 "commits": 1, "changed_files": 2, "mergeable": false}
+                """.formatted(number, number * 100L, login, number));
+    }
+
+    private void stubRepository(String repository) {
+        when(gitHubService.resolve(repository)).thenReturn(new GitHubService.RepositoryRef(installation, repository));
+        when(installation.getOwner()).thenReturn("owner");
+    }
+
+    @Test
+    @DisplayName("Should fetch only Dependabot PRs with their details")
+    void shouldFetchDependabotPRs() {
+        stubRepository("repo-a");
+        when(client.listOpenPullRequests(installation, "repo-a"))
+                .thenReturn(Flux.just(pr(1, "dependabot[bot]"), pr(2, "octocat")));
+        when(client.getPullRequest(installation, "repo-a", 1)).thenReturn(Mono.just(pr(1, "dependabot[bot]")));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> {
+                    assertThat(prs).hasSize(1);
+                    PRDto dto = prs.get(0);
+                    assertThat(dto.getNumber()).isEqualTo(1);
+                    assertThat(dto.getOwner()).isEqualTo("owner");
+                    assertThat(dto.getRepository()).isEqualTo("repo-a");
+                    assertThat(dto.getState()).isEqualTo("OPEN");
+                    assertThat(dto.getCreatedAt()).isEqualTo(Instant.parse("2024-01-15T10:30:00Z"));
+                    assertThat(dto.getDependency()).isEqualTo("jackson");
+                    assertThat(dto.getCurrentVersion()).isEqualTo("2.15.0");
+                    assertThat(dto.getProposedVersion()).isEqualTo("2.16.1");
+                    assertThat(dto.getFilesChanged()).isEqualTo(2);
+                    assertThat(dto.getHasConflicts()).isTrue();
+                })
+                .verifyComplete();
+
+        verify(client, never()).getPullRequest(installation, "repo-a", 2);
+        verify(gitHubService).recordSuccessfulSync(eq("repo-a"), anyList());
+    }
+
+    @Test
+    @DisplayName("Should fill in CI status from one GraphQL query and cache it")
+    void shouldFetchCIStatus() {
+        stubRepository("repo-a");
+        when(gitHubService.cachedCIStatuses(eq("owner"), eq("repo-a"), anyList())).thenReturn(null);
+        when(client.listOpenPullRequests(installation, "repo-a"))
+                .thenReturn(Flux.just(pr(1, "dependabot[bot]"), pr(2, "dependabot[bot]")));
+        when(client.getPullRequest(installation, "repo-a", 1)).thenReturn(Mono.just(pr(1, "dependabot[bot]")));
+        when(client.getPullRequest(installation, "repo-a", 2)).thenReturn(Mono.just(pr(2, "dependabot[bot]")));
+        when(client.graphql(eq(installation), anyString(), eq(Map.of("owner", "owner", "name", "repo-a"))))
+                .thenReturn(Mono.just(json("""
+                        {"data": {"repository": {
+                          "pr1": {"commits": {"nodes": [{"commit": {"statusCheckRollup": {"state": "FAILURE"}}}]}},
+                          "pr2": {"commits": {"nodes": [{"commit": {"statusCheckRollup": null}}]}}}}}
+                        """)));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).extracting(PRDto::getCiStatus)
+                        .containsExactly(CIStatus.FAILURE, CIStatus.NONE))
+                .verifyComplete();
+
+        verify(client, times(1)).graphql(eq(installation), anyString(), anyMap());
+        verify(gitHubService).cacheCIStatuses("owner", "repo-a", Map.of(1, CIStatus.FAILURE, 2, CIStatus.NONE));
+    }
+
+    @Test
+    @DisplayName("Should fetch CI status of a cached list again once its CI status entry has expired")
+    void shouldRefreshExpiredCIStatusOfCachedList() {
+        CaffeineCacheManager withCIStatus = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE,
+                CacheConfig.GITHUB_CI_STATUS_CACHE);
+        withCIStatus.setAsyncCacheMode(true);
+        service = new ReactiveGitHubService(gitHubService, client, withCIStatus, 4, 4);
+        List<PRDto> cached = List.of(PRDto.builder().number(1).repository("repo-a").ciStatus(CIStatus.PENDING).build());
+        withCIStatus.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", cached);
+        stubRepository("repo-a");
+        when(client.graphql(eq(installation), anyString(), eq(Map.of("owner", "owner", "name", "repo-a"))))
+                .thenReturn(Mono.just(json("""
+                        {"data": {"repository": {
+                          "pr1": {"commits": {"nodes": [{"commit": {"statusCheckRollup": {"state": "SUCCESS"}}}]}}}}}
+                        """)));
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(service.getDependabotPRs("repo-a"))
+                    .assertNext(prs -> assertThat(prs).extracting(PRDto::getCiStatus).containsExactly(CIStatus.SUCCESS))
+                    .verifyComplete();
+        }
+
+        verify(client, times(1)).graphql(eq(installation), anyString(), anyMap());
+        verify(gitHubService, atLeastOnce()).replaceCachedList(eq("repo-a"), same(cached), anyList());
+        verify(client, never()).listOpenPullRequests(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve PRs without CI status when the GraphQL query fails")
+    void shouldTolerateCIStatusFailure() {
+        stubRepository("repo-a");
+        when(gitHubService.cachedCIStatuses(eq("owner"), eq("repo-a"), anyList())).thenReturn(null);
+        when(client.listOpenPullRequests(installation, "repo-a")).thenReturn(Flux.just(pr(1, "dependabot[bot]")));
+        when(client.getPullRequest(installation, "repo-a", 1)).thenReturn(Mono.just(pr(1, "dependabot[bot]")));
+        when(client.graphql(eq(installation), anyString(), anyMap()))
+                .thenReturn(Mono.just(json("{\"errors\": [{\"message\": \"Something went wrong\"}]}")));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).singleElement()
+                        .satisfies(pr -> assertThat(pr.getCiStatus()).isNull()))
+                .verifyComplete();
+
+        verify(gitHubService, never()).cacheCIStatuses(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests for an uncached repository should share one GitHub fetch")
+    void shouldCoalesceConcurrentLoads() {
+        stubRepository("repo-a");
+        Sinks.One<JsonNode> detail = Sinks.one();
+        when(client.listOpenPullRequests(installation, "repo-a")).thenReturn(Flux.just(pr(1, "dependabot[bot]")));
+        when(client.getPullRequest(installation, "repo-a", 1)).thenReturn(detail.asMono());
+
+        List<Mono<List<PRDto>>> requests = List.of(
+                service.getDependabotPRs("repo-a").cache(),
+                service.getDependabotPRs("repo-a").cache(),
+                service.getDependabotPRs("repo-a").cache());
+        requests.forEach(Mono::subscribe);
+
+        detail.tryEmitValue(pr(1, "dependabot[bot]"));
+
+        requests.forEach(request -> StepVerifier.create(request)
+                .assertNext(prs -> assertThat(prs).hasSize(1))
+                .verifyComplete());
+        verify(client, times(1)).listOpenPullRequests(installation, "repo-a");
+    }
+
+    @Test
+    @DisplayName("Should serve cached entries written by the blocking path")
+    void shouldServeCachedEntries() {
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", List.of(PRDto.builder().number(7).build()));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).extracting(PRDto::getNumber).containsExactly(7))
+                .verifyComplete();
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("Should return empty list on failure without caching it")
+    void shouldNotCacheFailures() {
+        stubRepository("repo-a");
+        when(client.listOpenPullRequests(installation, "repo-a"))
+                .thenReturn(Flux.error(new IOException("GitHub unavailable")))
+                .thenReturn(Flux.just(pr(1, "dependabot[bot]")));
+        when(client.getPullRequest(installation, "repo-a", 1)).thenReturn(Mono.just(pr(1, "dependabot[bot]")));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).isEmpty())
+                .verifyComplete();
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).hasSize(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should serve the last known good list when GitHub fails")
+    void shouldServeLastKnownGoodOnFailure() {
+        PRDto lastKnown = PRDto.builder().number(7).repository("repo-a").build();
+        stubRepository("repo-a");
+        when(client.listOpenPullRequests(installation, "repo-a"))
+                .thenReturn(Flux.error(new GitHubCallRejectedException("GitHub circuit open")));
+        when(gitHubService.getLastKnownGood("repo-a")).thenReturn(Optional.of(List.of(lastKnown)));
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).containsExactly(lastKnown))
+                .verifyComplete();
+        assertThat(cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).get("repo-a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve what the leader shared, never GitHub, when another replica leads")
+    void shouldNotFetchWhenFollowing() {
+        PRDto shared = PRDto.builder().number(7).repository("repo-a").build();
+        when(gitHubService.isSyncLeader()).thenReturn(false);
+        when(gitHubService.getCachedDependabotPRs("repo-a")).thenReturn(Optional.of(List.of(shared)));
+        when(gitHubService.getCachedDependabotPRs("repo-b")).thenReturn(Optional.empty());
+
+        StepVerifier.create(service.getDependabotPRs("repo-a"))
+                .assertNext(prs -> assertThat(prs).containsExactly(shared))
+                .verifyComplete();
+        StepVerifier.create(service.getDependabotPRs("repo-b"))
+                .assertNext(prs -> assertThat(prs).isEmpty())
+                .verifyComplete();
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("Should stream PRs of every configured repository in configuration order")
+    void shouldStreamAllRepositories() {
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        stubRepository("repo-a");
+        stubRepository("repo-b");
+        when(client.listOpenPullRequests(installation, "repo-a")).thenReturn(Flux.just(pr(1, "dependabot[bot]")));
+        when(client.listOpenPullRequests(installation, "repo-b")).thenReturn(Flux.just(pr(2, "dependabot[bot]")));
+        when(client.getPullRequest(eq(installation), anyString(), anyInt()))
+                .thenAnswer(invocation -> Mono.just(pr(invocation.getArgument(2), "dependabot[bot]")));
+
+        StepVerifier.create(service.getAllDependabotPRs())
+                .assertNext(dto -> assertThat(dto.getRepository()).isEqualTo("repo-a"))
+                .assertNext(dto -> assertThat(dto.getRepository()).isEqualTo("repo-b"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should extract the next page URL from a Link header")
+    void shouldParseNextLink() {
+        String header = "<https://api.github.com/repositories/1/pulls?page=1>; rel=\"prev\", "
+                + "<https://api.github.com/repositories/1/pulls?page=3>; rel=\"next\"";
+
+        assertThat(ReactiveGitHubClient.nextLink(header)).isEqualTo("https://api.github.com/repositories/1/pulls?page=3");
+        assertThat(ReactiveGitHubClient.nextLink(null)).isNull();
+    }
+}
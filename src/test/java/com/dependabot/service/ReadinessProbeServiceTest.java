@@ -0,0 +1,225 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.ReadinessDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.github.GHRateLimit;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Readiness Probe Service Tests")
+class ReadinessProbeServiceTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    @Mock
+    private GitHubInstallation installation;
+
+    private CaffeineCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        lenient().when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        lenient().when(gitHubService.getInstallations()).thenReturn(List.of(installation));
+        lenient().when(gitHubService.getLastSuccessfulSyncs()).thenReturn(Map.of());
+        lenient().when(gitHubService.getLastKnownGood(anyString())).thenReturn(Optional.empty());
+        lenient().when(gitHubService.getCircuitBreaker()).thenReturn(new CircuitBreaker(5, Duration.ofSeconds(30), 1));
+        lenient().when(installation.getName()).thenReturn("test-owner");
+        lenient().when(installation.getOwner()).thenReturn("test-owner");
+    }
+
+    private ReadinessProbeService service(boolean requireWarmCache) {
+        return service(requireWarmCache, new StartupPrefetchService(gitHubService, new SyncLeaderElection(null, Duration.ZERO),
+                mock(RepositoryDiscoveryService.class), 4, false, 0));
+    }
+
+    private ReadinessProbeService service(boolean requireWarmCache, StartupPrefetchService startupPrefetch) {
+        return new ReadinessProbeService(gitHubService, cacheManager, startupPrefetch, 100, 60_000, requireWarmCache);
+    }
+
+    private void stubHealthyGitHub(int remaining) throws IOException {
+        when(installation.probeRateLimit())
+                .thenReturn(new GHRateLimit.Record(5000, remaining, Instant.now().plusSeconds(3600).getEpochSecond()));
+        when(installation.getTokenExpiresAt()).thenReturn(Optional.of(Instant.now().plusSeconds(3000)));
+    }
+
+    @Test
+    @DisplayName("Should not be ready before the first probe")
+    void shouldNotBeReadyBeforeFirstProbe() {
+        ReadinessDto readiness = service(false).getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("DOWN");
+        assertThat(readiness.getReasons()).contains("GitHub has not been probed yet");
+        verifyNoInteractions(installation);
+    }
+
+    @Test
+    @DisplayName("Should be ready after a healthy probe")
+    void shouldBeReadyAfterHealthyProbe() throws IOException {
+        stubHealthyGitHub(4800);
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("UP");
+        assertThat(readiness.getGithubReachable()).isTrue();
+        assertThat(readiness.getRateLimitRemaining()).isEqualTo(4800);
+        assertThat(readiness.getTokenExpiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not be ready while the startup prefetch is running")
+    void shouldNotBeReadyDuringStartupPrefetch() throws IOException {
+        stubHealthyGitHub(4800);
+        StartupPrefetchService startupPrefetch = mock(StartupPrefetchService.class);
+        when(startupPrefetch.pendingReason())
+                .thenReturn("Startup prefetch in progress: 1 of 2 repositories loaded")
+                .thenReturn(null);
+        ReadinessProbeService probeService = service(false, startupPrefetch);
+
+        probeService.probe();
+
+        assertThat(probeService.getReadiness().getReasons())
+                .containsExactly("Startup prefetch in progress: 1 of 2 repositories loaded");
+        assertThat(probeService.getReadiness().getStatus()).isEqualTo("UP");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated polls from the cached probe")
+    void shouldNotCallGitHubOnPoll() throws IOException {
+        stubHealthyGitHub(4800);
+        ReadinessProbeService probeService = service(false);
+        probeService.probe();
+
+        for (int i = 0; i < 10; i++) {
+            probeService.getReadiness();
+        }
+
+        verify(installation, times(1)).probeRateLimit();
+    }
+
+    @Test
+    @DisplayName("Should not be ready when GitHub is unreachable")
+    void shouldNotBeReadyWhenUnreachable() throws IOException {
+        when(installation.probeRateLimit()).thenThrow(new IOException("connect timed out"));
+        when(installation.getTokenExpiresAt()).thenReturn(Optional.empty());
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("DOWN");
+        assertThat(readiness.getGithubReachable()).isFalse();
+        assertThat(readiness.getGithubError()).isEqualTo("connect timed out");
+        assertThat(readiness.getInstallations())
+                .singleElement()
+                .satisfies(status -> assertThat(status.getReachable()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Should stay ready, degraded, when GitHub is unreachable but every repository has data to serve")
+    void shouldBeDegradedWhenUnreachableWithData() throws IOException {
+        when(installation.probeRateLimit()).thenThrow(new IOException("connect timed out"));
+        when(installation.getTokenExpiresAt()).thenReturn(Optional.of(Instant.now().plusSeconds(3000)));
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", List.of());
+        when(gitHubService.getLastKnownGood("repo-b")).thenReturn(Optional.of(List.of()));
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("DEGRADED");
+        assertThat(readiness.getReasons()).isEmpty();
+        assertThat(readiness.getDegraded()).containsExactly("GitHub unreachable for test-owner: connect timed out");
+        assertThat(readiness.getRepositories().get(1).getLastKnownGood()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report an open circuit as degraded while cached data is served")
+    void shouldBeDegradedWhenCircuitOpen() throws IOException {
+        stubHealthyGitHub(4800);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(30), 1);
+        circuitBreaker.onFailure();
+        when(gitHubService.getCircuitBreaker()).thenReturn(circuitBreaker);
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", List.of());
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-b", List.of());
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("DEGRADED");
+        assertThat(readiness.getDegraded()).singleElement().asString().startsWith("GitHub circuit open until");
+    }
+
+    @Test
+    @DisplayName("Should not be ready when the rate-limit budget is exhausted")
+    void shouldNotBeReadyWhenRateLimitLow() throws IOException {
+        stubHealthyGitHub(10);
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+
+        assertThat(probeService.getReadiness().getStatus()).isEqualTo("DOWN");
+    }
+
+    @Test
+    @DisplayName("Should report the tightest budget across installations")
+    void shouldReportTightestInstallationBudget() throws IOException {
+        stubHealthyGitHub(4800);
+        GitHubInstallation other = mock(GitHubInstallation.class);
+        when(other.getName()).thenReturn("other-org");
+        when(other.getOwner()).thenReturn("other-org");
+        when(other.probeRateLimit())
+                .thenReturn(new GHRateLimit.Record(5000, 50, Instant.now().plusSeconds(3600).getEpochSecond()));
+        when(other.getTokenExpiresAt()).thenReturn(Optional.of(Instant.now().plusSeconds(3000)));
+        when(gitHubService.getInstallations()).thenReturn(List.of(installation, other));
+        ReadinessProbeService probeService = service(false);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getStatus()).isEqualTo("DOWN");
+        assertThat(readiness.getRateLimitRemaining()).isEqualTo(50);
+        assertThat(readiness.getInstallations()).hasSize(2);
+        assertThat(readiness.getReasons()).containsExactly("Rate-limit budget for other-org below 100");
+    }
+
+    @Test
+    @DisplayName("Should report sync age and cache warmth per repository")
+    void shouldReportRepositorySyncState() throws IOException {
+        stubHealthyGitHub(4800);
+        Instant synced = Instant.now().minusSeconds(60);
+        when(gitHubService.getLastSuccessfulSyncs()).thenReturn(Map.of("repo-a", synced));
+        cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).put("repo-a", List.of());
+        ReadinessProbeService probeService = service(true);
+
+        probeService.probe();
+        ReadinessDto readiness = probeService.getReadiness();
+
+        assertThat(readiness.getCacheWarm()).isFalse();
+        assertThat(readiness.getStatus()).isEqualTo("DOWN");
+        assertThat(readiness.getRepositories()).hasSize(2);
+        assertThat(readiness.getRepositories().get(0).getCached()).isTrue();
+        assertThat(readiness.getRepositories().get(0).getSyncAgeMs()).isGreaterThanOrEqualTo(60_000L);
+        assertThat(readiness.getRepositories().get(1).getLastSuccessfulSync()).isNull();
+    }
+}
@@ -0,0 +1,211 @@
+package com.dependabot.service;
+
+import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.PRDto;
+import com.dependabot.fake.FakeGitHubServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.dependabot.service.GitHubServiceTestSupport.newGitHubService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Record and Replay Tests")
+class RecordReplayTest {
+
+    private static final String PRIVATE_KEY = FakeGitHubServer.privateKeyPem();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Replay should serve the recorded PRs without reaching GitHub")
+    void shouldReplayRecordedExchanges() throws IOException {
+        Path archive = tempDir.resolve("github.jsonl.gz");
+        String apiUrl;
+        List<PRDto> recorded;
+
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(40).start()) {
+            apiUrl = github.url();
+            GitHubService recording = newGitHubService(properties(apiUrl, GitHubProperties.ReplaySettings.Mode.RECORD, archive));
+            recorded = recording.refreshDependabotPRs("repo-0");
+            recording.close();
+        }
+
+        GitHubService replaying = newGitHubService(properties(apiUrl, GitHubProperties.ReplaySettings.Mode.REPLAY, archive));
+
+        assertThat(replaying.refreshDependabotPRs("repo-0"))
+                .hasSize(30)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(recorded);
+    }
+
+    @Test
+    @DisplayName("Recording should mask installation tokens")
+    void shouldMaskTokens() throws IOException {
+        Path archive = tempDir.resolve("github.jsonl.gz");
+
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(2).start()) {
+            GitHubService recording = newGitHubService(properties(github.url(), GitHubProperties.ReplaySettings.Mode.RECORD, archive));
+            recording.refreshDependabotPRs("repo-0");
+            recording.close();
+        }
+
+        List<GitHubExchangeArchive.Exchange> exchanges = GitHubExchangeArchive.read(archive);
+        assertThat(exchanges)
+                .extracting(exchange -> exchange.method() + " " + exchange.path())
+                .contains("POST /app/installations/1000/access_tokens", "GET /repos/org-0/repo-0/pulls?state=open");
+        assertThat(exchanges)
+                .filteredOn(exchange -> exchange.path().endsWith("/access_tokens"))
+                .singleElement()
+                .satisfies(exchange -> assertThat(exchange.body())
+                        .contains("\"token\":\"replayed-token\"")
+                        .doesNotContain("ghs_fake"));
+    }
+
+    @Test
+    @DisplayName("Replay should keep the recorded timing only when asked to")
+    void shouldHonourTiming() throws IOException {
+        Path archive = tempDir.resolve("github.jsonl.gz");
+        try (FakeGitHubServer github = FakeGitHubServer.builder()
+                .latency(Duration.ofMillis(100), Duration.ZERO)
+                .start()) {
+            RecordingGitHubConnector recorder = new RecordingGitHubConnector(
+                    new JdkHttpGitHubConnector(Duration.ofSeconds(5), Duration.ofSeconds(5)), archive);
+            new GitHubBuilder().withEndpoint(github.url()).withConnector(recorder)
+                    .withAppInstallationToken("token").build()
+                    .getRepository("org-0/repo-0");
+            recorder.close();
+        }
+
+        assertThat(timeGetRepository(new ReplayGitHubConnector(archive, true))).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(timeGetRepository(new ReplayGitHubConnector(archive, false))).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Replay should answer each GraphQL query with its own recorded response, in any order")
+    void shouldMatchRequestBodies() throws IOException {
+        Path archive = tempDir.resolve("github.jsonl.gz");
+        GraphQLRequest known;
+        GraphQLRequest missing;
+        String knownBody;
+        String missingBody;
+        try (FakeGitHubServer github = FakeGitHubServer.builder().reposPerOrg(1).prsPerRepo(2).start()) {
+            known = new GraphQLRequest(github.url(), "repo-0");
+            missing = new GraphQLRequest(github.url(), "missing-repo");
+            RecordingGitHubConnector recorder = new RecordingGitHubConnector(
+                    new JdkHttpGitHubConnector(Duration.ofSeconds(5), Duration.ofSeconds(5)), archive);
+            knownBody = body(recorder.send(known));
+            missingBody = body(recorder.send(missing));
+            recorder.close();
+        }
+        ReplayGitHubConnector replay = new ReplayGitHubConnector(archive, false);
+
+        assertThat(body(replay.send(missing))).isEqualTo(missingBody).contains("NOT_FOUND");
+        assertThat(body(replay.send(known))).isEqualTo(knownBody).contains("SUCCESS");
+    }
+
+    @Test
+    @DisplayName("Replay should fail requests that were never recorded")
+    void shouldFailUnrecordedRequests() throws IOException {
+        Path archive = tempDir.resolve("github.jsonl.gz");
+        new RecordingGitHubConnector(new JdkHttpGitHubConnector(Duration.ofSeconds(1), Duration.ofSeconds(1)), archive).close();
+
+        GitHubService replaying = newGitHubService(properties("https://api.github.com",
+                GitHubProperties.ReplaySettings.Mode.REPLAY, archive));
+
+        assertThatThrownBy(() -> replaying.refreshDependabotPRs("repo-0"))
+                .isInstanceOf(IOException.class)
+                .hasStackTraceContaining("No recorded GitHub response for GET /app");
+    }
+
+    private static String body(GitHubConnectorResponse response) throws IOException {
+        try (response; InputStream in = response.bodyStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * CI status query for the first PR of a repository, as GitHubInstallation sends it
+     */
+    private record GraphQLRequest(String apiUrl, String repository) implements GitHubConnectorRequest {
+
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            return Map.of("Authorization", List.of("Bearer token"), "Content-Type", List.of(contentType()));
+        }
+
+        @Override
+        public String header(String name) {
+            return allHeaders().getOrDefault(name, List.of()).stream().findFirst().orElse(null);
+        }
+
+        @Override
+        public String method() {
+            return "POST";
+        }
+
+        @Override
+        public String contentType() {
+            return "application/json";
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(("{\"query\":\"{ pr1: pullRequest(number: 1) { number } }\","
+                    + "\"variables\":{\"owner\":\"org-0\",\"name\":\"" + repository + "\"}}")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public URL url() {
+            try {
+                return URI.create(apiUrl + "/graphql").toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        @Override
+        public boolean hasBody() {
+            return true;
+        }
+    }
+
+    private static Duration timeGetRepository(ReplayGitHubConnector connector) throws IOException {
+        long start = System.nanoTime();
+        new GitHubBuilder().withEndpoint("https://api.github.com").withConnector(connector)
+                .withAppInstallationToken("token").build()
+                .getRepository("org-0/repo-0");
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static GitHubProperties properties(String apiUrl, GitHubProperties.ReplaySettings.Mode mode, Path archive) {
+        GitHubProperties properties = new GitHubProperties();
+        properties.setAppId("1");
+        properties.setPrivateKey(PRIVATE_KEY);
+        properties.setApiUrl(apiUrl);
+        properties.setOwner(FakeGitHubServer.owner(0));
+        properties.setInstallationId(FakeGitHubServer.installationId(0));
+        properties.setRepos(List.of("repo-0"));
+        properties.getReplay().setMode(mode);
+        properties.getReplay().setArchive(archive.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,135 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.config.GitHubProperties;
+import com.dependabot.dto.PRDto;
+import com.dependabot.fake.FakeGitHubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.dependabot.service.GitHubServiceTestSupport.syncExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Repository Discovery Service Tests")
+class RepositoryDiscoveryServiceTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private FakeGitHubServer github;
+    private ConcurrentMapCacheManager cacheManager;
+    private List<Object> events;
+    private GitHubService gitHubService;
+    private RepositoryDiscoveryService discovery;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        github = FakeGitHubServer.builder().reposPerOrg(3).prsPerRepo(2).start();
+        GitHubProperties properties = new GitHubProperties();
+        properties.setAppId("1");
+        properties.setPrivateKey(FakeGitHubServer.privateKeyPem());
+        properties.setApiUrl(github.url());
+        properties.setOwner(FakeGitHubServer.owner(0));
+        properties.setInstallationId(FakeGitHubServer.installationId(0));
+        properties.setRepos(List.of("repo-0"));
+        properties.getDiscovery().setEnabled(true);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.GITHUB_PRS_CACHE);
+        events = new ArrayList<>();
+        gitHubService = new GitHubService(properties, syncExecutor(), cacheManager, events::add);
+        discovery = new RepositoryDiscoveryService(gitHubService, properties.getDiscovery(), Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        github.close();
+    }
+
+    private static JsonNode payload(String json) throws IOException {
+        return JSON.readTree(json);
+    }
+
+    private static JsonNode repositoryEvent(String action, String name) throws IOException {
+        return payload("""
+                {"action": "%s", "repository": {"name": "%s", "owner": {"login": "org-0"}}}
+                """.formatted(action, name));
+    }
+
+    @Test
+    @DisplayName("Should sync every active repository the installation can access, skipping archived and inactive ones")
+    void shouldDiscoverActiveRepositories() {
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0");
+
+        discovery.refresh();
+
+        assertThat(gitHubService.getRepositoryKeys())
+                .containsExactly("repo-0", "repo-1", "repo-2")
+                .doesNotContain(FakeGitHubServer.ARCHIVED_REPOSITORY, FakeGitHubServer.DORMANT_REPOSITORY);
+        assertThat(github.requestsByRoute()).containsEntry("GET /installation/repositories", 1L);
+    }
+
+    @Test
+    @DisplayName("Should add and remove single repositories from webhook deliveries without listing them all again")
+    void shouldApplyRepositoryChanges() throws IOException {
+        discovery.refresh();
+        List<PRDto> prs = gitHubService.getDependabotPRs("repo-1");
+        assertThat(prs).isNotEmpty();
+        github.resetCounters();
+
+        assertThat(discovery.onRepository(repositoryEvent("archived", "repo-1"))).isEqualTo(1);
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0", "repo-2");
+        assertThat(cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE).get("repo-1")).isNull();
+        assertThat(events).contains(new RepositoryRemovedEvent("org-0/repo-1"));
+
+        assertThat(discovery.onRepository(repositoryEvent("unarchived", "repo-1"))).isEqualTo(1);
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0", "repo-2", "repo-1");
+
+        assertThat(discovery.onInstallationRepositories(payload("""
+                {"action": "removed", "installation": {"account": {"login": "org-0"}},
+                 "repositories_added": [{"name": "%s"}],
+                 "repositories_removed": [{"name": "repo-2"}]}
+                """.formatted(FakeGitHubServer.ARCHIVED_REPOSITORY))))
+                .as("Removed repo-2; the added repository cannot be read and is skipped")
+                .isEqualTo(1);
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0", "repo-1");
+        assertThat(github.requestsByRoute()).doesNotContainKey("GET /installation/repositories");
+    }
+
+    @Test
+    @DisplayName("Should stop syncing a repository transferred away under the previous owner's installation")
+    void shouldRemoveTransferredRepository() throws IOException {
+        discovery.refresh();
+
+        assertThat(discovery.onRepository(payload("""
+                {"action": "transferred", "repository": {"name": "repo-1", "owner": {"login": "elsewhere"}},
+                 "changes": {"owner": {"from": {"organization": {"login": "org-0"}}}}}
+                """)))
+                .as("The new owner has no installation, so the repository is only removed")
+                .isEqualTo(1);
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0", "repo-2");
+        assertThat(events).contains(new RepositoryRemovedEvent("org-0/repo-1"));
+    }
+
+    @Test
+    @DisplayName("Should keep configured repositories, and the known list when discovery fails")
+    void shouldKeepConfiguredAndKnownRepositories() throws IOException {
+        discovery.refresh();
+
+        assertThat(discovery.onRepository(repositoryEvent("archived", "repo-0")))
+                .as("Configured repositories are synced whatever discovery finds")
+                .isZero();
+
+        github.setErrorRate(1.0);
+        discovery.refresh();
+
+        assertThat(gitHubService.getRepositoryKeys()).containsExactly("repo-0", "repo-1", "repo-2");
+    }
+}
@@ -0,0 +1,94 @@
+package com.dependabot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Resilient GitHub Connector Tests")
+class ResilientGitHubConnectorTest {
+
+    private final GitHubConnector delegate = mock(GitHubConnector.class);
+    private final GitHubConnectorRequest request = mock(GitHubConnectorRequest.class);
+    private final CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1), 1);
+
+    @Test
+    @DisplayName("Should fail fast without calling GitHub once the circuit opens")
+    void shouldFailFastWhenOpen() throws IOException {
+        ResilientGitHubConnector connector = new ResilientGitHubConnector(delegate, breaker, new Bulkhead(4, Duration.ZERO));
+        when(delegate.send(any())).thenThrow(new IOException("connect timed out"));
+
+        assertThatThrownBy(() -> connector.send(request)).hasMessage("connect timed out");
+        assertThatThrownBy(() -> connector.send(request)).hasMessage("connect timed out");
+        assertThatThrownBy(() -> connector.send(request))
+                .isInstanceOf(GitHubCallRejectedException.class)
+                .hasMessageContaining("circuit open");
+
+        verify(delegate, times(2)).send(any());
+    }
+
+    @Test
+    @DisplayName("Should count 5xx responses as failures and 4xx responses as successes")
+    void shouldClassifyResponses() throws IOException {
+        ResilientGitHubConnector connector = new ResilientGitHubConnector(delegate, breaker, new Bulkhead(4, Duration.ZERO));
+        GitHubConnectorResponse notFound = response(404);
+        GitHubConnectorResponse unavailable = response(503);
+        when(delegate.send(any())).thenReturn(unavailable, notFound, unavailable, unavailable);
+
+        connector.send(request);
+        connector.send(request);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        connector.send(request);
+        connector.send(request);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit")
+    void shouldRejectBeyondBulkhead() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, Duration.ofMillis(50));
+        ResilientGitHubConnector connector = new ResilientGitHubConnector(delegate, breaker, bulkhead);
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GitHubConnectorResponse ok = response(200);
+        when(delegate.send(any())).thenAnswer(invocation -> {
+            inCall.countDown();
+            release.await();
+            return ok;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<GitHubConnectorResponse> first = executor.submit(() -> connector.send(request));
+            assertThat(inCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> connector.send(request))
+                    .isInstanceOf(GitHubCallRejectedException.class)
+                    .hasMessageContaining("slots busy");
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(ok);
+        }
+
+        assertThat(bulkhead.getActiveCalls()).isZero();
+        assertThat(breaker.getState())
+                .as("a rejected call is not a GitHub failure")
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static GitHubConnectorResponse response(int status) {
+        GitHubConnectorResponse response = mock(GitHubConnectorResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        return response;
+    }
+}
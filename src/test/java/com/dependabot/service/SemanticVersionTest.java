@@ -0,0 +1,84 @@
+package com.dependabot.service;
+
+import com.dependabot.dto.BumpType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Semantic Version Tests")
+class SemanticVersionTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "3.2.1, 3, 2, 1",
+            "v1.4, 1, 4, 0",
+            "7, 7, 0, 0",
+            "2.0.0-rc.1, 2, 0, 0",
+            "1.0.0+build.5, 1, 0, 0",
+            "20240115.1.0, 20240115, 1, 0"
+    })
+    @DisplayName("Should parse semantic versions into their numbers")
+    void shouldParse(String version, int major, int minor, int patch) {
+        long code = SemanticVersion.parse(version);
+
+        assertThat(code).isNotEqualTo(SemanticVersion.NONE);
+        assertThat(SemanticVersion.major(code)).isEqualTo(major);
+        assertThat(SemanticVersion.minor(code)).isEqualTo(minor);
+        assertThat(SemanticVersion.patch(code)).isEqualTo(patch);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"v", "1.", "1..2", "1.2.3.4", "latest", "a1b2c3d", "1.2.x", "99999999999.0.0"})
+    @DisplayName("Should not parse anything else")
+    void shouldRejectNonSemver(String version) {
+        assertThat(SemanticVersion.parse(version)).isEqualTo(SemanticVersion.NONE);
+    }
+
+    @Test
+    @DisplayName("Should order codes like versions, pre-releases before releases")
+    void shouldOrderLikeVersions() {
+        List<String> ordered = List.of("0.9.12", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.2.0", "1.10.0", "10.0.0");
+
+        List<Long> codes = new ArrayList<>();
+        ordered.forEach(version -> codes.add(SemanticVersion.parse(version)));
+
+        assertThat(codes).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should sort semantic versions before others, which compare as strings")
+    void shouldFallBackToStrings() {
+        long semver = SemanticVersion.parse("2.0.0");
+
+        assertThat(SemanticVersion.compare(semver, "2.0.0", SemanticVersion.NONE, "abc")).isNegative();
+        assertThat(SemanticVersion.compare(SemanticVersion.NONE, "b", SemanticVersion.NONE, "a")).isPositive();
+        assertThat(SemanticVersion.compare(SemanticVersion.NONE, null, SemanticVersion.NONE, "a")).isPositive();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "3.1.0, 4.0.0, MAJOR",
+            "3.1.0, 3.2.1, MINOR",
+            "3.1.0, 3.1.4, PATCH",
+            "1.0.0-rc.1, 1.0.0, PATCH"
+    })
+    @DisplayName("Should classify bumps by the most significant number that changed")
+    void shouldClassifyBumps(String from, String to, BumpType expected) {
+        assertThat(SemanticVersion.bumpType(SemanticVersion.parse(from), SemanticVersion.parse(to))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should not classify bumps involving non-semantic versions")
+    void shouldNotClassifyNonSemver() {
+        assertThat(SemanticVersion.bumpType(SemanticVersion.parse("1.0.0"), SemanticVersion.parse("abc123"))).isNull();
+    }
+}
@@ -0,0 +1,168 @@
+package com.dependabot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(task -> Thread.ofVirtual().start(task));
+
+    @Test
+    @DisplayName("Concurrent callers for the same key should share one load")
+    void shouldCoalesceConcurrentCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 50;
+
+        CountDownLatch arrived = new CountDownLatch(callers);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return singleFlight.execute("repo-a", () -> {
+                        loads.incrementAndGet();
+                        release.await();
+                        return "prs";
+                    });
+                }));
+            }
+            // Give every caller time to join the in-flight load before it completes
+            assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("prs");
+            }
+        }
+
+        SingleFlight.Stats stats = singleFlight.stats();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(stats.loads()).isEqualTo(1);
+        assertThat(stats.absorbedCallers()).isEqualTo(callers - 1);
+        assertThat(stats.maxAbsorbed()).isEqualTo(callers - 1);
+        assertThat(stats.absorbedHistogram()).containsEntry("10-49", 1L);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("A caller giving up should not fail the load another caller is waiting for")
+    void shouldKeepLoadingWhenOneCallerTimesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger interruptedLoads = new AtomicInteger();
+        Callable<String> loader = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interruptedLoads.incrementAndGet();
+                throw e;
+            }
+            return "prs";
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> impatient = executor.submit(() -> singleFlight.execute("repo-a", loader));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> patient = executor.submit(() -> singleFlight.execute("repo-a", () -> "own load"));
+            // Give the second caller time to join the in-flight load
+            Thread.sleep(200);
+
+            // What SubtaskScope does to a subtask when its request's deadline passes
+            impatient.cancel(true);
+            release.countDown();
+
+            assertThat(patient.get(5, TimeUnit.SECONDS)).isEqualTo("prs");
+        }
+        assertThat(interruptedLoads.get()).isZero();
+        assertThat(singleFlight.stats().loads()).isEqualTo(1);
+        assertThat(singleFlight.stats().absorbedCallers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A load should be cancelled once every caller waiting for it has given up")
+    void shouldCancelAbandonedLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "prs";
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> singleFlight.execute("repo-a", loader));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> second = executor.submit(() -> singleFlight.execute("repo-a", () -> "own load"));
+            // Give the second caller time to join the in-flight load
+            Thread.sleep(200);
+
+            first.cancel(true);
+            assertThat(interrupted.await(200, TimeUnit.MILLISECONDS)).as("Still awaited by the second caller").isFalse();
+            second.cancel(true);
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).as("Load interrupted once nobody waits").isTrue();
+        }
+        assertThat(singleFlight.stats().inFlight()).isZero();
+        assertThat(singleFlight.execute("repo-a", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("A load the executor refuses should fail its caller and not block later loads")
+    void shouldFailRejectedLoad() throws Exception {
+        SingleFlight<String, String> refusing = new SingleFlight<>(task -> {
+            throw new RejectedExecutionException("Queue full");
+        });
+
+        assertThatThrownBy(() -> refusing.execute("repo-a", () -> "prs"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(refusing.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sequential callers should each run their own load")
+    void shouldNotCoalesceSequentialCallers() throws Exception {
+        singleFlight.execute("repo-a", () -> "first");
+        String second = singleFlight.execute("repo-a", () -> "second");
+
+        assertThat(second).isEqualTo("second");
+        assertThat(singleFlight.stats().loads()).isEqualTo(2);
+        assertThat(singleFlight.stats().absorbedHistogram()).containsEntry("0", 2L);
+    }
+
+    @Test
+    @DisplayName("Different keys should load independently")
+    void shouldLoadKeysIndependently() throws Exception {
+        assertThat(singleFlight.execute("repo-a", () -> "a")).isEqualTo("a");
+        assertThat(singleFlight.execute("repo-b", () -> "b")).isEqualTo("b");
+        assertThat(singleFlight.stats().loads()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A failed load should be rethrown and not block later loads")
+    void shouldPropagateFailure() throws Exception {
+        assertThatThrownBy(() -> singleFlight.execute("repo-a", () -> {
+            throw new IOException("GitHub unavailable");
+        })).isInstanceOf(IOException.class).hasMessage("GitHub unavailable");
+
+        assertThat(singleFlight.execute("repo-a", () -> "recovered")).isEqualTo("recovered");
+        assertThat(singleFlight.stats().inFlight()).isZero();
+    }
+}
@@ -0,0 +1,145 @@
+package com.dependabot.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Startup Prefetch Service Tests")
+class StartupPrefetchServiceTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    @Mock
+    private RepositoryDiscoveryService discovery;
+
+    private final SyncLeaderElection leader = new SyncLeaderElection(null, Duration.ZERO);
+
+    @Test
+    @DisplayName("Should be complete at once and fetch nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, leader, discovery, 4, false, 1000);
+
+        prefetch.onApplicationReady();
+
+        assertThat(prefetch.isComplete()).isTrue();
+        assertThat(prefetch.pendingReason()).isNull();
+        verifyNoInteractions(gitHubService);
+    }
+
+    @Test
+    @DisplayName("Should fetch every repository concurrently and complete once all have loaded")
+    void shouldCompleteWhenAllLoaded() throws Exception {
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b", "repo-c"));
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(gitHubService.refreshDependabotPRs(anyString())).thenAnswer(invocation -> {
+            allStarted.countDown();
+            // Sequential fetches would each wait out the timeout, and the phase would not end in time
+            allStarted.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, leader, discovery, 4, true, 10_000);
+        assertThat(prefetch.isComplete()).isFalse();
+
+        prefetch.prefetch().get(5, TimeUnit.SECONDS);
+
+        assertThat(prefetch.isComplete()).isTrue();
+        verify(gitHubService).refreshDependabotPRs("repo-a");
+        verify(gitHubService).refreshDependabotPRs("repo-b");
+        verify(gitHubService).refreshDependabotPRs("repo-c");
+    }
+
+    @Test
+    @DisplayName("Should discover repositories on the prefetch thread before fetching them")
+    void shouldDiscoverBeforeFetching() throws Exception {
+        when(discovery.isEnabled()).thenReturn(true);
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a"));
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, leader, discovery, 4, true, 10_000);
+
+        prefetch.prefetch().get(5, TimeUnit.SECONDS);
+
+        InOrder order = inOrder(discovery, gitHubService);
+        order.verify(discovery).refresh();
+        order.verify(gitHubService).getRepositoryKeys();
+        order.verify(gitHubService).refreshDependabotPRs("repo-a");
+    }
+
+    @Test
+    @DisplayName("Should go ready when the budget is spent and keep loading in the background")
+    void shouldCompleteWhenBudgetSpent() throws Exception {
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-slow"));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowLoaded = new CountDownLatch(1);
+        when(gitHubService.refreshDependabotPRs("repo-a")).thenReturn(List.of());
+        when(gitHubService.refreshDependabotPRs("repo-slow")).thenAnswer(invocation -> {
+            release.await();
+            slowLoaded.countDown();
+            return List.of();
+        });
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, leader, discovery, 4, true, 200);
+
+        prefetch.prefetch().get(5, TimeUnit.SECONDS);
+
+        assertThat(prefetch.isComplete()).isTrue();
+        assertThat(slowLoaded.getCount()).as("slow repository still loading").isOne();
+        release.countDown();
+        assertThat(slowLoaded.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report progress while running and complete despite failed fetches")
+    void shouldReportProgressAndTolerateFailures() throws Exception {
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        CountDownLatch release = new CountDownLatch(1);
+        when(gitHubService.refreshDependabotPRs("repo-a")).thenReturn(List.of());
+        when(gitHubService.refreshDependabotPRs("repo-b")).thenAnswer(invocation -> {
+            release.await();
+            throw new IOException("GitHub unavailable");
+        });
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, leader, discovery, 4, true, 10_000);
+
+        CompletableFuture<Void> phase = prefetch.prefetch();
+        verify(gitHubService, timeout(5000)).refreshDependabotPRs("repo-b");
+        verify(gitHubService, timeout(5000)).refreshDependabotPRs("repo-a");
+        assertThat(prefetch.pendingReason()).startsWith("Startup prefetch in progress");
+
+        release.countDown();
+        phase.get(5, TimeUnit.SECONDS);
+
+        assertThat(prefetch.isComplete()).isTrue();
+        assertThat(prefetch.pendingReason()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should only read the shared cache, never GitHub, when another replica leads")
+    void shouldReadSharedCacheWhenFollowing() throws Exception {
+        SyncLeaderLock heldElsewhere = mock(SyncLeaderLock.class);
+        SyncLeaderElection follower = new SyncLeaderElection(heldElsewhere, Duration.ofSeconds(15));
+        follower.renew();
+        when(gitHubService.getRepositoryKeys()).thenReturn(List.of("repo-a", "repo-b"));
+        when(gitHubService.getCachedDependabotPRs("repo-a")).thenReturn(Optional.of(List.of()));
+        when(gitHubService.getCachedDependabotPRs("repo-b")).thenReturn(Optional.empty());
+        StartupPrefetchService prefetch = new StartupPrefetchService(gitHubService, follower, discovery, 4, true, 10_000);
+
+        prefetch.prefetch().get(5, TimeUnit.SECONDS);
+
+        assertThat(prefetch.isComplete()).isTrue();
+        verify(gitHubService, never()).refreshDependabotPRs(anyString());
+        verify(gitHubService, never()).getDependabotPRs(anyString());
+    }
+}
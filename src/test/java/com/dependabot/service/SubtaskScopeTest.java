@@ -0,0 +1,134 @@
+package com.dependabot.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Subtask Scope Tests")
+class SubtaskScopeTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return results in fork order")
+    void shouldReturnResultsInForkOrder() throws Exception {
+        try (SubtaskScope<String> scope = new SubtaskScope<>(executor, null)) {
+            scope.fork(() -> {
+                Thread.sleep(50);
+                return "slow";
+            });
+            scope.fork(() -> "fast");
+            scope.join();
+
+            assertThat(scope.results()).containsExactly("slow", "fast");
+        }
+    }
+
+    @Test
+    @DisplayName("Should cancel running subtasks when the deadline passes")
+    void shouldCancelOnDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (SubtaskScope<String> scope = new SubtaskScope<>(executor, Instant.now().plusMillis(100))) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "never";
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(TimeoutException.class);
+        }
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+                .as("Subtask interrupted")
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should cancel sibling subtasks when one fails")
+    void shouldCancelSiblingsOnFailure() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (SubtaskScope<String> scope = new SubtaskScope<>(executor, null)) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "never";
+            });
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+                .as("Sibling interrupted")
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should cancel subtasks when the owning thread is interrupted")
+    void shouldCancelWhenOwnerInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Thread owner = Thread.ofVirtual().start(() -> {
+            try (SubtaskScope<String> scope = new SubtaskScope<>(executor, null)) {
+                scope.fork(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return "never";
+                });
+                scope.join();
+            } catch (Exception e) {
+                // expected: InterruptedException
+            }
+        });
+
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        owner.interrupt();
+
+        assertThat(interrupted.await(1, TimeUnit.SECONDS))
+                .as("Subtask interrupted with its owner")
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run inline on a direct executor")
+    void shouldRunInlineOnDirectExecutor() throws Exception {
+        try (SubtaskScope<Integer> scope = new SubtaskScope<>(Runnable::run, Instant.now().plusSeconds(5))) {
+            List.of(1, 2, 3).forEach(i -> scope.fork(() -> i * 10));
+            scope.join();
+
+            assertThat(scope.results()).containsExactly(10, 20, 30);
+        }
+    }
+}
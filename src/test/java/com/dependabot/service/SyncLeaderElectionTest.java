@@ -0,0 +1,110 @@
+package com.dependabot.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Sync Leader Election Tests")
+class SyncLeaderElectionTest {
+
+    private EmbeddedDatabase database;
+    private JdbcSyncLeaderLock lock;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        lock = new JdbcSyncLeaderLock(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should lead on its own when no lock is configured")
+    void shouldLeadWithoutLock() {
+        SyncLeaderElection election = new SyncLeaderElection(null, Duration.ofSeconds(15));
+
+        election.renew();
+
+        assertThat(election.isLeader()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should elect exactly one leader and keep it while it renews")
+    void shouldElectOneLeader() {
+        SyncLeaderElection a = new SyncLeaderElection(lock, Duration.ofSeconds(15));
+        SyncLeaderElection b = new SyncLeaderElection(lock, Duration.ofSeconds(15));
+
+        a.renew();
+        b.renew();
+        a.renew();
+        b.renew();
+
+        assertThat(a.isLeader()).isTrue();
+        assertThat(b.isLeader()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hand over at the next renewal when the leader shuts down")
+    void shouldHandOverOnRelease() {
+        SyncLeaderElection a = new SyncLeaderElection(lock, Duration.ofSeconds(15));
+        SyncLeaderElection b = new SyncLeaderElection(lock, Duration.ofSeconds(15));
+        a.renew();
+        b.renew();
+
+        a.release();
+        b.renew();
+
+        assertThat(a.isLeader()).isFalse();
+        assertThat(b.isLeader()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should take over once a vanished leader's lease runs out")
+    void shouldTakeOverExpiredLease() throws Exception {
+        SyncLeaderElection a = new SyncLeaderElection(lock, Duration.ofMillis(100));
+        SyncLeaderElection b = new SyncLeaderElection(lock, Duration.ofMillis(100));
+        a.renew();
+        b.renew();
+        assertThat(b.isLeader()).isFalse();
+
+        Thread.sleep(200);
+        b.renew();
+        a.renew();
+
+        assertThat(b.isLeader()).isTrue();
+        assertThat(a.isLeader()).as("Former leader steps down").isFalse();
+    }
+
+    @Test
+    @DisplayName("Should step down when the lock cannot be reached")
+    void shouldStepDownWhenLockFails() {
+        SyncLeaderLock failing = mock(SyncLeaderLock.class);
+        when(failing.tryAcquire(any(), any(), any()))
+                .thenReturn(true)
+                .thenThrow(new IllegalStateException("database down"));
+        SyncLeaderElection election = new SyncLeaderElection(failing, Duration.ofSeconds(15));
+
+        election.renew();
+        assertThat(election.isLeader()).isTrue();
+        election.renew();
+
+        assertThat(election.isLeader()).isFalse();
+    }
+}
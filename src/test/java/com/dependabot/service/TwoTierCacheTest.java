@@ -0,0 +1,168 @@
+package com.dependabot.service;
+
+import com.dependabot.config.CacheConfig;
+import com.dependabot.dto.PRDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Two-Tier Cache Tests")
+class TwoTierCacheTest {
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * One replica: its own local tier and store connection on the shared database
+     */
+    private record Node(JdbcSharedCacheStore store, TwoTierCacheManager cacheManager, List<Object> events) {
+
+        static Node on(DataSource database) {
+            return on(new JdbcSharedCacheStore(database));
+        }
+
+        static Node on(SharedCacheStore store) {
+            List<Object> events = new CopyOnWriteArrayList<>();
+            TwoTierCacheManager cacheManager = new TwoTierCacheManager(store,
+                    Map.of(CacheConfig.GITHUB_PRS_CACHE, new PRListCodec()), Duration.ofMinutes(5), Runnable::run, events::add);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+            cacheManager.setAsyncCacheMode(true);
+            cacheManager.setCacheNames(List.of(CacheConfig.GITHUB_PRS_CACHE));
+            return new Node(store instanceof JdbcSharedCacheStore jdbc ? jdbc : null, cacheManager, events);
+        }
+
+        Cache prs() {
+            return cacheManager.getCache(CacheConfig.GITHUB_PRS_CACHE);
+        }
+    }
+
+    private static List<PRDto> prs(int number) {
+        return List.of(PRDto.builder()
+                .number(number)
+                .repository("repo-a")
+                .dependency("lodash")
+                .currentVersion("4.17.20")
+                .proposedVersion("4.17.21")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should serve a value loaded on one node to another without loading it again")
+    void shouldShareLoadedValues() {
+        Node a = Node.on(database);
+        Node b = Node.on(database);
+        AtomicInteger loads = new AtomicInteger();
+
+        a.prs().get("repo-a", () -> {
+            loads.incrementAndGet();
+            return prs(1);
+        });
+        List<PRDto> onB = b.prs().get("repo-a", () -> {
+            loads.incrementAndGet();
+            return prs(2);
+        });
+
+        assertThat(onB).extracting(PRDto::getNumber).containsExactly(1);
+        assertThat(loads.get()).as("Loads across both nodes").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep parsed version codes through the shared tier")
+    void shouldRestoreVersionCodes() {
+        Node a = Node.on(database);
+        Node b = Node.on(database);
+
+        a.prs().put("repo-a", prs(1));
+        PRDto onB = (PRDto) b.prs().get("repo-a", List.class).get(0);
+
+        assertThat(onB.getCurrentVersionCode()).isEqualTo(SemanticVersion.parse("4.17.20"));
+        assertThat(onB.getProposedVersionCode()).isEqualTo(SemanticVersion.parse("4.17.21"));
+    }
+
+    @Test
+    @DisplayName("Should drop a stale local entry when another node refreshes it")
+    void shouldPropagateRefreshes() {
+        Node a = Node.on(database);
+        Node b = Node.on(database);
+        a.prs().put("repo-a", prs(1));
+        assertThat(b.prs().get("repo-a")).isNotNull();
+        b.store().poll();
+        b.events().clear();
+
+        a.prs().put("repo-a", prs(2));
+        b.store().poll();
+
+        assertThat(b.events()).containsExactly(
+                new SharedCacheEvent(SharedCacheEvent.Type.PUT, CacheConfig.GITHUB_PRS_CACHE, "repo-a"));
+        assertThat((List<?>) b.prs().get("repo-a").get())
+                .extracting(pr -> ((PRDto) pr).getNumber())
+                .containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should evict on every node when one node evicts")
+    void shouldPropagateEvictions() {
+        Node a = Node.on(database);
+        Node b = Node.on(database);
+        a.prs().put("repo-a", prs(1));
+        assertThat(b.prs().get("repo-a")).isNotNull();
+        b.store().poll();
+
+        a.prs().evict("repo-a");
+        b.store().poll();
+
+        assertThat(b.prs().get("repo-a")).isNull();
+        assertThat(a.events()).as("Own events are not delivered back").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep caching locally when the shared tier fails")
+    void shouldDegradeToLocalCache() {
+        SharedCacheStore store = mock(SharedCacheStore.class);
+        when(store.get(any(), any())).thenThrow(new IllegalStateException("database down"));
+        doThrow(new IllegalStateException("database down")).when(store).put(any(), any(), any(), any());
+        Node node = Node.on(store);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            node.prs().get("repo-a", () -> {
+                loads.incrementAndGet();
+                return prs(1);
+            });
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(node.prs().get("repo-a")).isNotNull();
+    }
+}